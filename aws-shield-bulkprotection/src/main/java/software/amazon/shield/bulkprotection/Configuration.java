@@ -0,0 +1,8 @@
+package software.amazon.shield.bulkprotection;
+
+class Configuration extends BaseConfiguration {
+
+    public Configuration() {
+        super("aws-shield-bulkprotection.json");
+    }
+}
@@ -0,0 +1,188 @@
+package software.amazon.shield.bulkprotection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.Checkpoints;
+import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.ErrorClassifier;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.Tracer;
+
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.listProtections;
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.protect;
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.runBatch;
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.unprotect;
+
+@RequiredArgsConstructor
+public class CreateHandler extends BaseHandler<CallbackContext> {
+
+    private final ShieldClient shieldClient;
+    private final CallTuning tuning;
+
+    public CreateHandler() {
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public CreateHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
+    }
+
+    @Override
+    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "BulkProtection:CreateHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        logger.log(String.format(
+                "CreateHandler: Name = %s, ResourceArns = %d, ClientToken = %s",
+                request.getDesiredResourceState().getName(),
+                request.getDesiredResourceState().getResourceArns().size(),
+                request.getClientRequestToken()
+            )
+        );
+        final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
+
+        if (callbackContext.getRollbackErrorCode() != null) {
+            // re-invoked while rolling back, resume the compensating deletes.
+            return rollback(
+                proxy,
+                proxyClient,
+                ProgressEvent.failed(
+                    request.getDesiredResourceState(),
+                    callbackContext,
+                    callbackContext.getRollbackErrorCode(),
+                    callbackContext.getRollbackMessage()
+                ),
+                logger,
+                this.tuning
+            );
+        }
+
+        ProgressEvent<ResourceModel, CallbackContext> progress =
+            ProgressEvent.defaultInProgressHandler(callbackContext, 0, request.getDesiredResourceState());
+
+        // protections named after this resource make it exist already, unless this create made them.
+        if (!Checkpoints.hasCompletedSteps(callbackContext)) {
+            final List<String> existing = new ArrayList<>();
+            progress = listProtections(
+                "CreateHandler",
+                request.getDesiredResourceState().getName(),
+                null,
+                proxy,
+                proxyClient,
+                request.getDesiredResourceState(),
+                callbackContext,
+                logger,
+                this.tuning,
+                protection -> existing.add(protection.resourceArn())
+            ).then(p -> existing.isEmpty()
+                ? p
+                : ProgressEvent.failed(
+                p.getResourceModel(),
+                p.getCallbackContext(),
+                HandlerErrorCode.AlreadyExists,
+                String.format("Protections named %s already exist", p.getResourceModel().getName())
+            ));
+            if (progress.isFailed()) {
+                return progress;
+            }
+        }
+
+        final Map<String, Function<ProgressEvent<ResourceModel, CallbackContext>,
+            ProgressEvent<ResourceModel, CallbackContext>>> steps = new LinkedHashMap<>();
+        for (String resourceArn : request.getDesiredResourceState().getResourceArns()) {
+            steps.put("protect:" + resourceArn, p -> protect(
+                "CreateHandler",
+                resourceArn,
+                proxy,
+                proxyClient,
+                p,
+                logger,
+                this.tuning
+            ));
+        }
+        final ProgressEvent<ResourceModel, CallbackContext> createProgress = progress
+            .then(p -> runBatch(steps, p, this.tuning))
+            .then(p -> ProgressEvent.defaultSuccessHandler(p.getResourceModel()));
+
+        // delete the protections created so far if the rest of the workflow failed
+        if (
+            createProgress.isFailed()
+                && !ErrorClassifier.classify(createProgress.getErrorCode()).isRetriable()
+                && !createProgress.getCallbackContext().getProtectionIds().isEmpty()
+        ) {
+            createProgress.getCallbackContext().setRollbackErrorCode(createProgress.getErrorCode());
+            createProgress.getCallbackContext().setRollbackMessage(createProgress.getMessage());
+            return rollback(proxy, proxyClient, createProgress, logger, this.tuning);
+        }
+        return createProgress;
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> rollback(
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ProgressEvent<ResourceModel, CallbackContext> failed,
+        final Logger logger,
+        final CallTuning tuning
+    ) {
+        final CallbackContext context = failed.getCallbackContext();
+        final Map<String, Function<ProgressEvent<ResourceModel, CallbackContext>,
+            ProgressEvent<ResourceModel, CallbackContext>>> steps = new LinkedHashMap<>();
+        context.getProtectionIds().forEach((resourceArn, protectionId) ->
+            steps.put("unprotect:" + resourceArn, p -> unprotect(
+                "CreateHandler",
+                resourceArn,
+                protectionId,
+                proxy,
+                proxyClient,
+                p,
+                logger,
+                tuning
+            )));
+
+        return runBatch(
+                steps,
+                ProgressEvent.defaultInProgressHandler(context, 0, failed.getResourceModel()),
+                tuning
+            )
+            .then(p -> ProgressEvent.failed(
+                p.getResourceModel(),
+                p.getCallbackContext(),
+                // NotFound can only appear when Subscription does not exist. Convert to InvalidRequest in this
+                // case.
+                failed.getErrorCode() == HandlerErrorCode.NotFound
+                    ? HandlerErrorCode.InvalidRequest
+                    : failed.getErrorCode(),
+                failed.getMessage()
+            ));
+    }
+}
@@ -0,0 +1,110 @@
+package software.amazon.shield.bulkprotection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.Checkpoints;
+import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.Tracer;
+
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.listProtections;
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.runBatch;
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.unprotect;
+
+@RequiredArgsConstructor
+public class DeleteHandler extends BaseHandler<CallbackContext> {
+
+    private final ShieldClient shieldClient;
+    private final CallTuning tuning;
+
+    public DeleteHandler() {
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public DeleteHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
+    }
+
+    @Override
+    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "BulkProtection:DeleteHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        logger.log(String.format(
+                "DeleteHandler: Name = %s, ClientToken = %s",
+                request.getDesiredResourceState().getName(),
+                request.getClientRequestToken()
+            )
+        );
+        final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
+
+        final CallbackContext context = callbackContext;
+        return listProtections(
+            "DeleteHandler",
+            request.getDesiredResourceState().getName(),
+            null,
+            proxy,
+            proxyClient,
+            request.getDesiredResourceState(),
+            context,
+            logger,
+            this.tuning,
+            protection -> context.getProtectionIds().put(protection.resourceArn(), protection.id())
+        )
+            .then(progress -> {
+                // a re-invoked delete sees its own partial removal, which is not a missing resource.
+                if (progress.getCallbackContext().getProtectionIds().isEmpty()
+                    && !Checkpoints.hasCompletedSteps(progress.getCallbackContext())) {
+                    return ProgressEvent.failed(
+                        progress.getResourceModel(),
+                        progress.getCallbackContext(),
+                        HandlerErrorCode.NotFound,
+                        String.format("No protections named %s", progress.getResourceModel().getName())
+                    );
+                }
+                final Map<String, Function<ProgressEvent<ResourceModel, CallbackContext>,
+                    ProgressEvent<ResourceModel, CallbackContext>>> steps = new LinkedHashMap<>();
+                progress.getCallbackContext().getProtectionIds().forEach((resourceArn, protectionId) ->
+                    steps.put("unprotect:" + resourceArn, p -> unprotect(
+                        "DeleteHandler",
+                        resourceArn,
+                        protectionId,
+                        proxy,
+                        proxyClient,
+                        p,
+                        logger,
+                        this.tuning
+                    )));
+                return runBatch(steps, progress, this.tuning);
+            })
+            .then(progress -> ProgressEvent.defaultSuccessHandler(progress.getResourceModel()));
+    }
+}
@@ -0,0 +1,100 @@
+package software.amazon.shield.bulkprotection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.Protection;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.Tracer;
+
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.listProtections;
+
+@RequiredArgsConstructor
+public class ListHandler extends BaseHandler<CallbackContext> {
+
+    private final ShieldClient shieldClient;
+    private final CallTuning tuning;
+
+    public ListHandler() {
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public ListHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
+    }
+
+    @Override
+    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "BulkProtection:ListHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        logger.log(String.format(
+                "ListHandler: AccountID = %s, ClientToken = %s",
+                request.getAwsAccountId(),
+                request.getClientRequestToken()
+            )
+        );
+        final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
+
+        // a bulk protection spans pages, so all pages are listed before grouping by name.
+        final Map<String, List<Protection>> protectionsByName = new TreeMap<>();
+        return listProtections(
+            "ListHandler",
+            null,
+            null,
+            proxy,
+            proxyClient,
+            request.getDesiredResourceState(),
+            callbackContext,
+            logger,
+            this.tuning,
+            protection -> protectionsByName
+                .computeIfAbsent(protection.name(), ignored -> new ArrayList<>())
+                .add(protection)
+        )
+            .then(progress -> ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .status(OperationStatus.SUCCESS)
+                .resourceModels(protectionsByName.entrySet()
+                    .stream()
+                    .map(entry -> ResourceModel.builder()
+                        .name(entry.getKey())
+                        .resourceArns(entry.getValue()
+                            .stream()
+                            .map(Protection::resourceArn)
+                            .sorted()
+                            .collect(Collectors.toList()))
+                        .build())
+                    .collect(Collectors.toList()))
+                .build());
+    }
+}
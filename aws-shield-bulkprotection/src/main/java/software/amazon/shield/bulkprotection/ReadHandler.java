@@ -0,0 +1,156 @@
+package software.amazon.shield.bulkprotection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.Protection;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.Arn;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.HandlerHelper;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.Tracer;
+
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.listProtections;
+
+@RequiredArgsConstructor
+public class ReadHandler extends BaseHandler<CallbackContext> {
+
+    private final ShieldClient shieldClient;
+    private final CallTuning tuning;
+
+    public ReadHandler() {
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public ReadHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
+    }
+
+    @Override
+    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "BulkProtection:ReadHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        logger.log(String.format(
+                "ReadHandler: Name = %s, ClientToken = %s",
+                request.getDesiredResourceState().getName(),
+                request.getClientRequestToken()
+            )
+        );
+        final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
+
+        final List<Protection> protections = new ArrayList<>();
+        return listProtections(
+            "ReadHandler",
+            request.getDesiredResourceState().getName(),
+            null,
+            proxy,
+            proxyClient,
+            request.getDesiredResourceState(),
+            callbackContext,
+            logger,
+            this.tuning,
+            protections::add
+        )
+            .then(progress -> {
+                if (protections.isEmpty()) {
+                    return ProgressEvent.failed(
+                        progress.getResourceModel(),
+                        progress.getCallbackContext(),
+                        HandlerErrorCode.NotFound,
+                        String.format("No protections named %s", progress.getResourceModel().getName())
+                    );
+                }
+                // tags and health checks are set alike on every member, one member stands for all of them, which
+                // the schema documents. reading every member would cost a ListTagsForResource per resource.
+                final Protection representative = representative(protections);
+                return HandlerHelper.getTagsChainable(
+                    representative.protectionArn(),
+                    tag -> Tag.builder()
+                        .key(tag.key())
+                        .value(tag.value())
+                        .build(),
+                    "BulkProtection",
+                    "ReadHandler",
+                    proxy,
+                    proxyClient,
+                    transformToModel(
+                        request.getAwsPartition(),
+                        progress.getResourceModel().getName(),
+                        protections,
+                        representative
+                    ),
+                    progress.getCallbackContext(),
+                    logger,
+                    null,
+                    this.tuning
+                );
+            })
+            .then(progress -> {
+                final ResourceModel m = progress.getResourceModel();
+                final List<Tag> tags = progress.getCallbackContext().getTags();
+                if (tags.size() > 0) {
+                    m.setTags(tags);
+                }
+                return ProgressEvent.defaultSuccessHandler(m);
+            });
+    }
+
+    /**
+     * the member protecting the resource whose ARN sorts first, so that reads report the same member whatever order
+     * ListProtections returns them in.
+     */
+    private static Protection representative(final List<Protection> protections) {
+        return Collections.min(protections, Comparator.comparing(Protection::resourceArn));
+    }
+
+    private static ResourceModel transformToModel(
+        final String partition,
+        final String name,
+        final List<Protection> protections,
+        final Protection representative
+    ) {
+        final List<String> healthCheckArns = representative.healthCheckIds()
+            .stream()
+            .map(x -> Arn.route53HealthCheck(partition, x))
+            .collect(Collectors.toList());
+
+        return ResourceModel.builder()
+            .name(name)
+            .resourceArns(protections.stream()
+                .map(Protection::resourceArn)
+                .sorted()
+                .collect(Collectors.toList()))
+            .healthCheckArns(healthCheckArns.size() > 0 ? healthCheckArns : null)
+            .build();
+    }
+}
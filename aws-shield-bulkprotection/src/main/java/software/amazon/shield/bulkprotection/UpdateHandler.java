@@ -0,0 +1,181 @@
+package software.amazon.shield.bulkprotection;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.Arn;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.Checkpoints;
+import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.Tracer;
+import software.amazon.shield.common.UpdatePlan;
+
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.listProtections;
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.planProtect;
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.planUpdate;
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.protect;
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.runBatch;
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.unprotect;
+import static software.amazon.shield.bulkprotection.helper.HandlerHelper.update;
+
+@RequiredArgsConstructor
+public class UpdateHandler extends BaseHandler<CallbackContext> {
+
+    private final ShieldClient shieldClient;
+    private final CallTuning tuning;
+
+    public UpdateHandler() {
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public UpdateHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
+    }
+
+    @Override
+    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "BulkProtection:UpdateHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        logger.log(String.format(
+                "UpdateHandler: Name = %s, ResourceArns = %d, ClientToken = %s",
+                request.getDesiredResourceState().getName(),
+                request.getDesiredResourceState().getResourceArns().size(),
+                request.getClientRequestToken()
+            )
+        );
+        final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
+
+        final ResourceModel desired = request.getDesiredResourceState();
+        final ResourceModel previous = Optional.ofNullable(request.getPreviousResourceState())
+            .orElseGet(() -> ResourceModel.builder().build());
+        final Map<String, String> currentProtectionIds = new LinkedHashMap<>();
+
+        return listProtections(
+            "UpdateHandler",
+            desired.getName(),
+            null,
+            proxy,
+            proxyClient,
+            desired,
+            callbackContext,
+            logger,
+            this.tuning,
+            protection -> currentProtectionIds.put(protection.resourceArn(), protection.id())
+        )
+            .then(progress -> {
+                final CallbackContext context = progress.getCallbackContext();
+                final Set<String> desiredResourceArns = new HashSet<>(desired.getResourceArns());
+                final Map<String, Function<ProgressEvent<ResourceModel, CallbackContext>,
+                    ProgressEvent<ResourceModel, CallbackContext>>> steps = new LinkedHashMap<>();
+
+                for (String resourceArn : desired.getResourceArns()) {
+                    final String protectionId = currentProtectionIds.get(resourceArn);
+                    // a protection this update created is listed on re-invocation, it is still protected, not updated.
+                    if (protectionId == null || Checkpoints.isCompleted(context, "createProtection:" + resourceArn)) {
+                        steps.put("protect:" + resourceArn, p -> protect(
+                            "UpdateHandler",
+                            resourceArn,
+                            proxy,
+                            proxyClient,
+                            p,
+                            logger,
+                            this.tuning
+                        ));
+                    } else {
+                        steps.put("update:" + resourceArn, p -> update(
+                            "UpdateHandler",
+                            Arn.shieldProtection(request.getAwsPartition(), request.getAwsAccountId(), protectionId),
+                            protectionId,
+                            desired,
+                            previous,
+                            proxy,
+                            proxyClient,
+                            p,
+                            logger,
+                            this.tuning
+                        ));
+                    }
+                }
+                currentProtectionIds.forEach((resourceArn, protectionId) -> {
+                    if (!desiredResourceArns.contains(resourceArn)) {
+                        steps.put("unprotect:" + resourceArn, p -> unprotect(
+                            "UpdateHandler",
+                            resourceArn,
+                            protectionId,
+                            proxy,
+                            proxyClient,
+                            p,
+                            logger,
+                            this.tuning
+                        ));
+                    }
+                });
+                return runBatch(steps, progress, this.tuning);
+            })
+            .then(progress -> ProgressEvent.defaultSuccessHandler(desired));
+    }
+
+    /**
+     * Calls {@link #handleRequest} would make to update {@code previousState} to {@code desiredState}, taking the
+     * resources of the previous state as the protected ones where the handler lists them. Every listed page is a call,
+     * one is counted.
+     */
+    public static UpdatePlan plan(
+        @Nullable final ResourceModel previousState,
+        @NonNull final ResourceModel desiredState
+    ) {
+        final ResourceModel previous = Optional.ofNullable(previousState)
+            .orElseGet(() -> ResourceModel.builder().build());
+        final Set<String> previousResourceArns = previous.getResourceArns() == null
+            ? Collections.emptySet()
+            : new LinkedHashSet<>(previous.getResourceArns());
+        final Set<String> desiredResourceArns = new LinkedHashSet<>(desiredState.getResourceArns());
+
+        final UpdatePlan.Builder plan = UpdatePlan.builder().call("listProtections", desiredState.getName());
+        for (String resourceArn : desiredResourceArns) {
+            if (previousResourceArns.contains(resourceArn)) {
+                planUpdate(plan, resourceArn, desiredState, previous);
+            } else {
+                planProtect(plan, resourceArn, desiredState);
+            }
+        }
+        previousResourceArns.stream()
+            .filter(resourceArn -> !desiredResourceArns.contains(resourceArn))
+            .forEach(resourceArn -> plan.call("deleteProtection", resourceArn));
+        return plan.build();
+    }
+}
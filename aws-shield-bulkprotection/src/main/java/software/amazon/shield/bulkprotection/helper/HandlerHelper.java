@@ -0,0 +1,532 @@
+package software.amazon.shield.bulkprotection.helper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.AssociateHealthCheckRequest;
+import software.amazon.awssdk.services.shield.model.AssociateHealthCheckResponse;
+import software.amazon.awssdk.services.shield.model.CreateProtectionRequest;
+import software.amazon.awssdk.services.shield.model.CreateProtectionResponse;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionResponse;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DisassociateHealthCheckRequest;
+import software.amazon.awssdk.services.shield.model.DisassociateHealthCheckResponse;
+import software.amazon.awssdk.services.shield.model.InclusionProtectionFilters;
+import software.amazon.awssdk.services.shield.model.ListProtectionsRequest;
+import software.amazon.awssdk.services.shield.model.ListProtectionsResponse;
+import software.amazon.awssdk.services.shield.model.Protection;
+import software.amazon.awssdk.services.shield.model.ResourceNotFoundException;
+import software.amazon.awssdk.utils.CollectionUtils;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.shield.bulkprotection.CallbackContext;
+import software.amazon.shield.bulkprotection.ResourceModel;
+import software.amazon.shield.bulkprotection.Tag;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.Checkpoints;
+import software.amazon.shield.common.ListDiff;
+import software.amazon.shield.common.RetryBudget;
+import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.StepGraph;
+import software.amazon.shield.common.UpdatePlan;
+
+public class HandlerHelper {
+
+    /**
+     * resources handled per invocation, keeps an invocation within the handler timeout despite the jitter and
+     * stabilization of every call. the remaining resources are handled after a callback.
+     */
+    public static final int MAX_RESOURCES_PER_INVOCATION = 50;
+    public static final int NEXT_BATCH_DELAY_SEC = 1;
+
+    /**
+     * runs the steps not yet checkpointed concurrently, at most {@link #MAX_RESOURCES_PER_INVOCATION} of them.
+     * returns IN_PROGRESS with {@link #NEXT_BATCH_DELAY_SEC} when steps are left for the next invocation.
+     */
+    public static ProgressEvent<ResourceModel, CallbackContext> runBatch(
+        @NonNull final Map<String, Function<ProgressEvent<ResourceModel, CallbackContext>,
+            ProgressEvent<ResourceModel, CallbackContext>>> steps,
+        @NonNull final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final CallTuning tuning
+    ) {
+        final StepGraph<ResourceModel, CallbackContext> graph = new StepGraph<>(
+            HandlerHelper::fork,
+            HandlerHelper::join,
+            HandlerHelper::copy,
+            tuning.getMaxConcurrentCalls()
+        );
+        int batched = 0;
+        boolean hasNextBatch = false;
+        for (Map.Entry<String, Function<ProgressEvent<ResourceModel, CallbackContext>,
+            ProgressEvent<ResourceModel, CallbackContext>>> step : steps.entrySet()) {
+            if (Checkpoints.isCompleted(progress.getCallbackContext(), StepGraph.checkpointId(step.getKey()))) {
+                continue;
+            }
+            if (batched == MAX_RESOURCES_PER_INVOCATION) {
+                hasNextBatch = true;
+                break;
+            }
+            graph.step(step.getKey(), step.getValue());
+            batched++;
+        }
+
+        final ProgressEvent<ResourceModel, CallbackContext> ret = graph.run(progress);
+        if (hasNextBatch && ret.isInProgress() && ret.getCallbackDelaySeconds() == 0) {
+            return ProgressEvent.defaultInProgressHandler(
+                ret.getCallbackContext(),
+                NEXT_BATCH_DELAY_SEC,
+                ret.getResourceModel()
+            );
+        }
+        return ret;
+    }
+
+    /**
+     * lists all protections, or the protections with the given name, and hands each of them to the consumer.
+     * a throttled page is retried from the first page on the next invocation, so the consumer must be idempotent.
+     */
+    public static ProgressEvent<ResourceModel, CallbackContext> listProtections(
+        final String handlerName,
+        @Nullable final String name,
+        @Nullable final String nextToken,
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ResourceModel model,
+        final CallbackContext context,
+        final Logger logger,
+        final CallTuning tuning,
+        final Consumer<Protection> consumer
+    ) {
+        final ProgressEvent<ResourceModel, CallbackContext> page = isolated(
+            ProgressEvent.defaultInProgressHandler(context, 0, model),
+            progress -> ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, ListProtectionsRequest,
+                    ListProtectionsResponse>builder()
+                .resourceType("BulkProtection")
+                .handlerName(handlerName)
+                .apiName("listProtections")
+                .proxy(proxy)
+                .proxyClient(proxyClient)
+                .model(progress.getResourceModel())
+                .context(progress.getCallbackContext())
+                .logger(logger)
+                .tuning(tuning)
+                .translateToServiceRequest(m -> {
+                    final ListProtectionsRequest.Builder builder = ListProtectionsRequest.builder()
+                        .nextToken(nextToken);
+                    if (name != null) {
+                        builder.inclusionFilters(InclusionProtectionFilters.builder()
+                            .protectionNames(name)
+                            .build());
+                    }
+                    return builder.build();
+                })
+                .getRequestFunction(c -> c::listProtections)
+                .onSuccess((req, res, c, m, ctx) -> {
+                    res.protections().forEach(consumer);
+                    return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .status(OperationStatus.IN_PROGRESS)
+                        .resourceModel(m)
+                        .callbackContext(ctx)
+                        .nextToken(res.nextToken())
+                        .build();
+                })
+                .build()
+                .initiate()
+        );
+        if (page.isInProgress() && page.getCallbackDelaySeconds() == 0 && page.getNextToken() != null) {
+            return listProtections(
+                handlerName,
+                name,
+                page.getNextToken(),
+                proxy,
+                proxyClient,
+                model,
+                context,
+                logger,
+                tuning,
+                consumer
+            );
+        }
+        page.setNextToken(null);
+        return page;
+    }
+
+    /**
+     * creates the protection of one resource and associates the health checks with it.
+     */
+    public static ProgressEvent<ResourceModel, CallbackContext> protect(
+        final String handlerName,
+        @NonNull final String resourceArn,
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final Logger logger,
+        final CallTuning tuning
+    ) {
+        return isolated(progress, p -> ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
+                CreateProtectionRequest, CreateProtectionResponse>builder()
+            .resourceType("BulkProtection")
+            .handlerName(handlerName)
+            .apiName("createProtection")
+            .proxy(proxy)
+            .proxyClient(proxyClient)
+            .model(p.getResourceModel())
+            .context(p.getCallbackContext())
+            .logger(logger)
+            .tuning(tuning)
+            .translateToServiceRequest(m -> {
+                final CreateProtectionRequest.Builder builder = CreateProtectionRequest.builder()
+                    .name(m.getName())
+                    .resourceArn(resourceArn);
+                if (!CollectionUtils.isNullOrEmpty(m.getTags())) {
+                    builder.tags(toServiceTags(m.getTags()));
+                }
+                return builder.build();
+            })
+            .getRequestFunction(c -> c::createProtection)
+            .checkpoint("createProtection:" + resourceArn)
+            .onSuccess((req, res, c, m, ctx) -> {
+                logger.log(String.format(
+                    "%s: new protection created id = %s, resourceArn = %s",
+                    handlerName,
+                    res.protectionId(),
+                    resourceArn
+                ));
+                ctx.getProtectionIds().put(resourceArn, res.protectionId());
+                return null;
+            })
+            .stabilize((c, m, ctx) -> {
+                // wait for ddb eventually consistent.
+                try {
+                    c.injectCredentialsAndInvokeV2(
+                        DescribeProtectionRequest.builder()
+                            .protectionId(ctx.getProtectionIds().get(resourceArn))
+                            .build(),
+                        c.client()::describeProtection
+                    );
+                } catch (ResourceNotFoundException ignored) {
+                    return false;
+                }
+                return true;
+            })
+            .build()
+            .initiate()
+            .then(created -> associateHealthChecks(
+                handlerName,
+                created.getCallbackContext().getProtectionIds().get(resourceArn),
+                created.getResourceModel().getHealthCheckArns(),
+                proxy,
+                proxyClient,
+                created,
+                logger,
+                tuning
+            )));
+    }
+
+    /**
+     * deletes the protection of one resource. a protection that is already gone counts as deleted.
+     */
+    public static ProgressEvent<ResourceModel, CallbackContext> unprotect(
+        final String handlerName,
+        @NonNull final String resourceArn,
+        @NonNull final String protectionId,
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final Logger logger,
+        final CallTuning tuning
+    ) {
+        final ProgressEvent<ResourceModel, CallbackContext> ret = isolated(
+            progress,
+            p -> ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DeleteProtectionRequest,
+                    DeleteProtectionResponse>builder()
+                .resourceType("BulkProtection")
+                .handlerName(handlerName)
+                .apiName("deleteProtection")
+                .proxy(proxy)
+                .proxyClient(proxyClient)
+                .model(p.getResourceModel())
+                .context(p.getCallbackContext())
+                .logger(logger)
+                .tuning(tuning)
+                .translateToServiceRequest(m -> DeleteProtectionRequest.builder()
+                    .protectionId(protectionId)
+                    .build())
+                .getRequestFunction(c -> c::deleteProtection)
+                .checkpoint("deleteProtection:" + resourceArn)
+                .build()
+                .initiate()
+        );
+        if (ret.isFailed() && ret.getErrorCode() == HandlerErrorCode.NotFound) {
+            return ProgressEvent.defaultInProgressHandler(ret.getCallbackContext(), 0, ret.getResourceModel());
+        }
+        return ret;
+    }
+
+    public static ProgressEvent<ResourceModel, CallbackContext> associateHealthChecks(
+        final String handlerName,
+        @NonNull final String protectionId,
+        @Nullable final List<String> healthCheckArns,
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final Logger logger,
+        final CallTuning tuning
+    ) {
+        ProgressEvent<ResourceModel, CallbackContext> ret = progress;
+        if (CollectionUtils.isNullOrEmpty(healthCheckArns)) {
+            return ret;
+        }
+        for (String arn : healthCheckArns) {
+            ret = ret.then(p -> isolated(p, q -> ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
+                    AssociateHealthCheckRequest, AssociateHealthCheckResponse>builder()
+                .resourceType("BulkProtection")
+                .handlerName(handlerName)
+                .apiName("associateHealthCheck")
+                .proxy(proxy)
+                .proxyClient(proxyClient)
+                .model(q.getResourceModel())
+                .context(q.getCallbackContext())
+                .logger(logger)
+                .tuning(tuning)
+                .translateToServiceRequest(m -> AssociateHealthCheckRequest.builder()
+                    .protectionId(protectionId)
+                    .healthCheckArn(arn)
+                    .build())
+                .getRequestFunction(c -> c::associateHealthCheck)
+                .checkpoint("associateHealthCheck:" + protectionId + ":" + arn)
+                .build()
+                .initiate()));
+        }
+        return ret;
+    }
+
+    public static ProgressEvent<ResourceModel, CallbackContext> disassociateHealthChecks(
+        final String handlerName,
+        @NonNull final String protectionId,
+        @Nullable final List<String> healthCheckArns,
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final Logger logger,
+        final CallTuning tuning
+    ) {
+        ProgressEvent<ResourceModel, CallbackContext> ret = progress;
+        if (CollectionUtils.isNullOrEmpty(healthCheckArns)) {
+            return ret;
+        }
+        for (String arn : healthCheckArns) {
+            ret = ret.then(p -> isolated(p, q -> ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
+                    DisassociateHealthCheckRequest, DisassociateHealthCheckResponse>builder()
+                .resourceType("BulkProtection")
+                .handlerName(handlerName)
+                .apiName("disassociateHealthCheck")
+                .proxy(proxy)
+                .proxyClient(proxyClient)
+                .model(q.getResourceModel())
+                .context(q.getCallbackContext())
+                .logger(logger)
+                .tuning(tuning)
+                .translateToServiceRequest(m -> DisassociateHealthCheckRequest.builder()
+                    .protectionId(protectionId)
+                    .healthCheckArn(arn)
+                    .build())
+                .getRequestFunction(c -> c::disassociateHealthCheck)
+                .checkpoint("disassociateHealthCheck:" + protectionId + ":" + arn)
+                .build()
+                .initiate()));
+        }
+        return ret;
+    }
+
+    /**
+     * moves the protection of one resource from the previous to the desired health checks and tags.
+     */
+    public static ProgressEvent<ResourceModel, CallbackContext> update(
+        final String handlerName,
+        @NonNull final String protectionArn,
+        final String protectionId,
+        final ResourceModel desired,
+        final ResourceModel previous,
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final Logger logger,
+        final CallTuning tuning
+    ) {
+        final ListDiff<String, String> healthChecks = healthCheckDiff(desired, previous);
+
+        return isolated(progress, q -> disassociateHealthChecks(
+            handlerName,
+            protectionId,
+            healthChecks.getRemoved(),
+            proxy,
+            proxyClient,
+            q,
+            logger,
+            tuning
+        )
+            .then(p -> associateHealthChecks(
+                handlerName,
+                protectionId,
+                healthChecks.getAdded(),
+                proxy,
+                proxyClient,
+                p,
+                logger,
+                tuning
+            ))
+            .then(p -> software.amazon.shield.common.HandlerHelper.updateTagsChainable(
+                desired.getTags(),
+                Tag::getKey,
+                Tag::getValue,
+                previous.getTags(),
+                Tag::getKey,
+                Tag::getValue,
+                protectionArn,
+                ignored -> new CallbackContext(),
+                "BulkProtection",
+                handlerName,
+                proxy,
+                proxyClient,
+                p.getResourceModel(),
+                p.getCallbackContext(),
+                logger,
+                tuning
+            )));
+    }
+
+    /**
+     * Adds the calls {@link #protect} makes for one resource to the plan, counting one stabilizer poll.
+     */
+    public static UpdatePlan.Builder planProtect(
+        final UpdatePlan.Builder plan,
+        @NonNull final String resourceArn,
+        final ResourceModel desired
+    ) {
+        return plan.call("createProtection", resourceArn)
+            .call("describeProtection", resourceArn)
+            .call("associateHealthCheck", resourceArn, size(desired.getHealthCheckArns()));
+    }
+
+    /**
+     * Adds the calls {@link #update} makes for the protection of one resource to the plan.
+     */
+    public static UpdatePlan.Builder planUpdate(
+        final UpdatePlan.Builder plan,
+        @NonNull final String resourceArn,
+        final ResourceModel desired,
+        final ResourceModel previous
+    ) {
+        final ListDiff<String, String> healthChecks = healthCheckDiff(desired, previous);
+        plan.call("disassociateHealthCheck", resourceArn, healthChecks.getRemoved().size())
+            .call("associateHealthCheck", resourceArn, healthChecks.getAdded().size());
+        return software.amazon.shield.common.HandlerHelper.planTagUpdate(
+            plan,
+            desired.getTags(),
+            Tag::getKey,
+            Tag::getValue,
+            previous.getTags(),
+            Tag::getKey,
+            Tag::getValue,
+            resourceArn
+        );
+    }
+
+    private static ListDiff<String, String> healthCheckDiff(final ResourceModel desired, final ResourceModel previous) {
+        return ListDiff.of(desired.getHealthCheckArns(), previous.getHealthCheckArns());
+    }
+
+    private static int size(@Nullable final List<String> list) {
+        return list == null ? 0 : list.size();
+    }
+
+    public static List<software.amazon.awssdk.services.shield.model.Tag> toServiceTags(final List<Tag> tags) {
+        return tags.stream()
+            .map(tag -> software.amazon.awssdk.services.shield.model.Tag.builder()
+                .key(tag.getKey())
+                .value(tag.getValue())
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * a branch context with the state of {@code parent} but without its call graph memoization, which would serialize
+     * the calls of concurrent branches. checkpoints and retries are forked by the step graph.
+     */
+    private static CallbackContext fork(final CallbackContext parent) {
+        final CallbackContext branch = new CallbackContext();
+        branch.setTags(parent.getTags() == null ? null : new ArrayList<>(parent.getTags()));
+        branch.setProtectionIds(new HashMap<>(parent.getProtectionIds()));
+        branch.setRollbackErrorCode(parent.getRollbackErrorCode());
+        branch.setRollbackMessage(parent.getRollbackMessage());
+        branch.setTraceId(parent.getTraceId());
+        return branch;
+    }
+
+    /**
+     * merges the protections a branch created and the first rollback a branch started into the parent context.
+     */
+    private static void join(final CallbackContext parent, final CallbackContext branch) {
+        parent.getProtectionIds().putAll(branch.getProtectionIds());
+        if (parent.getRollbackErrorCode() == null && branch.getRollbackErrorCode() != null) {
+            parent.setRollbackErrorCode(branch.getRollbackErrorCode());
+            parent.setRollbackMessage(branch.getRollbackMessage());
+        }
+    }
+
+    @Nullable
+    private static ResourceModel copy(@Nullable final ResourceModel model) {
+        if (model == null) {
+            return null;
+        }
+        return ResourceModel.builder()
+            .name(model.getName())
+            .resourceArns(model.getResourceArns() == null ? null : new ArrayList<>(model.getResourceArns()))
+            .healthCheckArns(model.getHealthCheckArns() == null ? null : new ArrayList<>(model.getHealthCheckArns()))
+            .tags(model.getTags() == null ? null : new ArrayList<>(model.getTags()))
+            .build();
+    }
+
+    /**
+     * runs the calls of one resource on a fresh context and merges their outcome back.
+     * a context memoizes the request and response of every call graph, so calls of different resources sharing one
+     * context would replay the first resource's call. checkpoints and retries carry over, so a re-invoked call draws
+     * from the retry budget it left.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> isolated(
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final Function<ProgressEvent<ResourceModel, CallbackContext>,
+            ProgressEvent<ResourceModel, CallbackContext>> calls
+    ) {
+        final CallbackContext context = progress.getCallbackContext();
+        final CallbackContext isolated = new CallbackContext();
+        Checkpoints.fork(context, isolated);
+        RetryBudget.fork(context, isolated);
+        isolated.setProtectionIds(new HashMap<>(context.getProtectionIds()));
+
+        final ProgressEvent<ResourceModel, CallbackContext> ret =
+            calls.apply(ProgressEvent.defaultInProgressHandler(isolated, 0, progress.getResourceModel()));
+
+        Checkpoints.join(context, isolated);
+        RetryBudget.join(context, isolated);
+        context.getProtectionIds().putAll(isolated.getProtectionIds());
+        if (ret.getCallbackContext() != null) {
+            ret.setCallbackContext(context);
+        }
+        return ret;
+    }
+}
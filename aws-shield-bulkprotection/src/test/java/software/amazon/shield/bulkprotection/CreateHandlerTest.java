@@ -0,0 +1,230 @@
+package software.amazon.shield.bulkprotection;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.AssociateHealthCheckRequest;
+import software.amazon.awssdk.services.shield.model.AssociateHealthCheckResponse;
+import software.amazon.awssdk.services.shield.model.CreateProtectionRequest;
+import software.amazon.awssdk.services.shield.model.CreateProtectionResponse;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionResponse;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionResponse;
+import software.amazon.awssdk.services.shield.model.InvalidParameterException;
+import software.amazon.awssdk.services.shield.model.ListProtectionsRequest;
+import software.amazon.awssdk.services.shield.model.ListProtectionsResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.bulkprotection.helper.BulkProtectionTestData;
+import software.amazon.shield.bulkprotection.helper.HandlerHelper;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.StepGraph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class CreateHandlerTest {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private Logger logger;
+
+    private CreateHandler createHandler;
+
+    @BeforeEach
+    public void setup() {
+        proxy = spy(new AmazonWebServicesClientProxy(
+            new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()
+        ));
+        this.logger = mock(Logger.class);
+
+        this.createHandler = new CreateHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
+    }
+
+    @Test
+    public void handleRequest_Success() {
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BulkProtectionTestData.RESOURCE_MODEL.toBuilder().build())
+                .build();
+
+        stubListProtections();
+        stubCreateProtection(null);
+        doReturn(DescribeProtectionResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        doReturn(AssociateHealthCheckResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(AssociateHealthCheckRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.createHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+        verify(this.proxy, times(2)).injectCredentialsAndInvokeV2(any(CreateProtectionRequest.class), any());
+        verify(this.proxy, times(2)).injectCredentialsAndInvokeV2(any(AssociateHealthCheckRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_AlreadyExists() {
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BulkProtectionTestData.RESOURCE_MODEL.toBuilder().build())
+                .build();
+
+        doReturn(ListProtectionsResponse.builder()
+            .protections(BulkProtectionTestData.protection(
+                BulkProtectionTestData.PROTECTION_ID_1,
+                BulkProtectionTestData.RESOURCE_ARN_1
+            ))
+            .build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.createHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+    }
+
+    @Test
+    public void handleRequest_RollbackOnFailure() {
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BulkProtectionTestData.RESOURCE_MODEL.toBuilder()
+                    .healthCheckArns(null)
+                    .build())
+                .build();
+
+        stubListProtections();
+        stubCreateProtection(BulkProtectionTestData.RESOURCE_ARN_2);
+        doReturn(DescribeProtectionResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        doReturn(DeleteProtectionResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DeleteProtectionRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.createHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(response.getMessage()).isEqualTo("invalid resource");
+        assertThat(response.getCallbackContext().getRollbackErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        verify(this.proxy, times(1)).injectCredentialsAndInvokeV2(any(DeleteProtectionRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_ResumeFromCheckpoint() {
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BulkProtectionTestData.RESOURCE_MODEL.toBuilder()
+                    .healthCheckArns(null)
+                    .build())
+                .build();
+
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setCompletedSteps(Sets.newHashSet(
+            StepGraph.checkpointId("protect:" + BulkProtectionTestData.RESOURCE_ARN_1)));
+        callbackContext.setProtectionIds(new HashMap<>());
+        callbackContext.getProtectionIds()
+            .put(BulkProtectionTestData.RESOURCE_ARN_1, BulkProtectionTestData.PROTECTION_ID_1);
+
+        stubCreateProtection(null);
+        doReturn(DescribeProtectionResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.createHandler.handleRequest(this.proxy, request, callbackContext, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(this.proxy, times(1)).injectCredentialsAndInvokeV2(any(CreateProtectionRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_NextBatch() {
+        final List<String> resourceArns = IntStream.rangeClosed(0, HandlerHelper.MAX_RESOURCES_PER_INVOCATION)
+            .mapToObj(i -> BulkProtectionTestData.RESOURCE_ARN_1 + i)
+            .collect(Collectors.toList());
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                    .name(BulkProtectionTestData.NAME)
+                    .resourceArns(resourceArns)
+                    .build())
+                .build();
+
+        stubListProtections();
+        stubCreateProtection(null);
+        doReturn(DescribeProtectionResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.createHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(HandlerHelper.NEXT_BATCH_DELAY_SEC);
+        assertThat(response.getCallbackContext().getProtectionIds())
+            .hasSize(HandlerHelper.MAX_RESOURCES_PER_INVOCATION);
+        verify(this.proxy, times(HandlerHelper.MAX_RESOURCES_PER_INVOCATION))
+            .injectCredentialsAndInvokeV2(any(CreateProtectionRequest.class), any());
+    }
+
+    private void stubListProtections() {
+        doReturn(ListProtectionsResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+    }
+
+    private void stubCreateProtection(final String invalidResourceArn) {
+        doAnswer(invocation -> {
+            final CreateProtectionRequest createProtectionRequest = invocation.getArgument(0);
+            if (createProtectionRequest.resourceArn().equals(invalidResourceArn)) {
+                throw InvalidParameterException.builder().message("invalid resource").build();
+            }
+            return CreateProtectionResponse.builder()
+                .protectionId("id-" + createProtectionRequest.resourceArn())
+                .build();
+        })
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(CreateProtectionRequest.class), any());
+    }
+}
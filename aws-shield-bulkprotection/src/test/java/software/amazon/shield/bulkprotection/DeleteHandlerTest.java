@@ -0,0 +1,157 @@
+package software.amazon.shield.bulkprotection;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionResponse;
+import software.amazon.awssdk.services.shield.model.InternalErrorException;
+import software.amazon.awssdk.services.shield.model.ListProtectionsRequest;
+import software.amazon.awssdk.services.shield.model.ListProtectionsResponse;
+import software.amazon.awssdk.services.shield.model.ResourceNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.bulkprotection.helper.BulkProtectionTestData;
+import software.amazon.shield.common.CallTuning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class DeleteHandlerTest {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private Logger logger;
+
+    private DeleteHandler deleteHandler;
+
+    @BeforeEach
+    public void setup() {
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()));
+        this.logger = mock(Logger.class);
+
+        this.deleteHandler = new DeleteHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
+    }
+
+    @Test
+    public void handleRequest_SimpleSuccess() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(BulkProtectionTestData.RESOURCE_MODEL)
+                        .build();
+
+        doReturn(ListProtectionsResponse.builder()
+            .protections(
+                BulkProtectionTestData.protection(
+                    BulkProtectionTestData.PROTECTION_ID_1,
+                    BulkProtectionTestData.RESOURCE_ARN_1
+                ),
+                BulkProtectionTestData.protection(
+                    BulkProtectionTestData.PROTECTION_ID_2,
+                    BulkProtectionTestData.RESOURCE_ARN_2
+                ))
+            .build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+        // a protection deleted out of band counts as deleted.
+        doAnswer(invocation -> {
+            final DeleteProtectionRequest deleteProtectionRequest = invocation.getArgument(0);
+            if (deleteProtectionRequest.protectionId().equals(BulkProtectionTestData.PROTECTION_ID_2)) {
+                throw ResourceNotFoundException.builder().message("not found").build();
+            }
+            return DeleteProtectionResponse.builder().build();
+        })
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DeleteProtectionRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                this.deleteHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+        verify(this.proxy, times(2)).injectCredentialsAndInvokeV2(any(DeleteProtectionRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_RetriesUntilBudgetIsSpent() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(BulkProtectionTestData.RESOURCE_MODEL)
+                        .build();
+
+        doReturn(ListProtectionsResponse.builder()
+            .protections(BulkProtectionTestData.protection(
+                BulkProtectionTestData.PROTECTION_ID_1,
+                BulkProtectionTestData.RESOURCE_ARN_1
+            ))
+            .build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+        doThrow(InternalErrorException.builder().message("internal error").build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DeleteProtectionRequest.class), any());
+
+        // each retry is a re-invocation with the context of the last one, which keeps the retries taken.
+        CallbackContext context = null;
+        for (int retry = 0; retry < CallTuning.NO_JITTER.getMaxRetries(); retry++) {
+            final ProgressEvent<ResourceModel, CallbackContext> response =
+                    this.deleteHandler.handleRequest(this.proxy, request, context, this.logger);
+            assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+            assertThat(response.getCallbackDelaySeconds()).isPositive();
+            context = response.getCallbackContext();
+        }
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                this.deleteHandler.handleRequest(this.proxy, request, context, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+        verify(this.proxy, times(CallTuning.NO_JITTER.getMaxRetries() + 1))
+            .injectCredentialsAndInvokeV2(any(DeleteProtectionRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_NotFound() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(BulkProtectionTestData.RESOURCE_MODEL)
+                        .build();
+
+        doReturn(ListProtectionsResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                this.deleteHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+}
@@ -0,0 +1,101 @@
+package software.amazon.shield.bulkprotection;
+
+import java.time.Duration;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.ListProtectionsRequest;
+import software.amazon.awssdk.services.shield.model.ListProtectionsResponse;
+import software.amazon.awssdk.services.shield.model.Protection;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.bulkprotection.helper.BulkProtectionTestData;
+import software.amazon.shield.common.CallTuning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+@ExtendWith(MockitoExtension.class)
+public class ListHandlerTest {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private Logger logger;
+
+    private ListHandler listHandler;
+
+    @BeforeEach
+    public void setup() {
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()));
+        this.logger = mock(Logger.class);
+
+        this.listHandler = new ListHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
+    }
+
+    @Test
+    public void handleRequest_SimpleSuccess() {
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+
+        doReturn(ListProtectionsResponse.builder()
+            .protections(
+                BulkProtectionTestData.protection(
+                    BulkProtectionTestData.PROTECTION_ID_2,
+                    BulkProtectionTestData.RESOURCE_ARN_2
+                ),
+                Protection.builder()
+                    .id(BulkProtectionTestData.PROTECTION_ID_3)
+                    .name("other")
+                    .resourceArn(BulkProtectionTestData.RESOURCE_ARN_3)
+                    .build(),
+                BulkProtectionTestData.protection(
+                    BulkProtectionTestData.PROTECTION_ID_1,
+                    BulkProtectionTestData.RESOURCE_ARN_1
+                ))
+            .build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.listHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel()).isNull();
+        assertThat(response.getNextToken()).isNull();
+        assertThat(response.getResourceModels()).containsExactly(
+            ResourceModel.builder()
+                .name(BulkProtectionTestData.NAME)
+                .resourceArns(Lists.newArrayList(
+                    BulkProtectionTestData.RESOURCE_ARN_1,
+                    BulkProtectionTestData.RESOURCE_ARN_2
+                ))
+                .build(),
+            ResourceModel.builder()
+                .name("other")
+                .resourceArns(Lists.newArrayList(BulkProtectionTestData.RESOURCE_ARN_3))
+                .build()
+        );
+    }
+}
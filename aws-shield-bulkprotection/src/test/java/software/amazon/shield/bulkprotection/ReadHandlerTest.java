@@ -0,0 +1,127 @@
+package software.amazon.shield.bulkprotection;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.ListProtectionsRequest;
+import software.amazon.awssdk.services.shield.model.ListProtectionsResponse;
+import software.amazon.awssdk.services.shield.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.shield.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.shield.model.Tag;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.bulkprotection.helper.BulkProtectionTestData;
+import software.amazon.shield.common.CallTuning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadHandlerTest {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private Logger logger;
+
+    private ReadHandler readHandler;
+
+    @BeforeEach
+    public void setup() {
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()));
+        this.logger = mock(Logger.class);
+
+        this.readHandler = new ReadHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
+    }
+
+    @Test
+    public void handleRequest_SimpleSuccess() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().name(BulkProtectionTestData.NAME).build())
+                        .build();
+
+        // the second resource is on the first page, the model lists resource ARNs in order regardless.
+        doAnswer(invocation -> {
+            final ListProtectionsRequest listProtectionsRequest = invocation.getArgument(0);
+            return listProtectionsRequest.nextToken() == null
+                ? ListProtectionsResponse.builder()
+                .protections(BulkProtectionTestData.protection(
+                    BulkProtectionTestData.PROTECTION_ID_2,
+                    BulkProtectionTestData.RESOURCE_ARN_2
+                ))
+                .nextToken("page2")
+                .build()
+                : ListProtectionsResponse.builder()
+                .protections(BulkProtectionTestData.protection(
+                    BulkProtectionTestData.PROTECTION_ID_1,
+                    BulkProtectionTestData.RESOURCE_ARN_1
+                ))
+                .build();
+        })
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+        doReturn(ListTagsForResourceResponse.builder()
+            .tags(
+                Tag.builder().key("k1").value("v1").build(),
+                Tag.builder().key("k2").value("v2").build())
+            .build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                this.readHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel()).isEqualTo(BulkProtectionTestData.RESOURCE_MODEL);
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+        // the tags are those of the member whose resource ARN sorts first, not of the first listed.
+        verify(this.proxy).injectCredentialsAndInvokeV2(
+            argThat((ListTagsForResourceRequest listTagsRequest) -> listTagsRequest.resourceARN()
+                .equals(BulkProtectionTestData.PROTECTION_ARN_TEMPLATE + BulkProtectionTestData.PROTECTION_ID_1)),
+            any()
+        );
+    }
+
+    @Test
+    public void handleRequest_NotFound() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().name(BulkProtectionTestData.NAME).build())
+                        .build();
+
+        doReturn(ListProtectionsResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                this.readHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+}
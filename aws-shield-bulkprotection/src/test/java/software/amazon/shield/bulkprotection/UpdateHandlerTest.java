@@ -0,0 +1,201 @@
+package software.amazon.shield.bulkprotection;
+
+import java.time.Duration;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.AssociateHealthCheckRequest;
+import software.amazon.awssdk.services.shield.model.AssociateHealthCheckResponse;
+import software.amazon.awssdk.services.shield.model.CreateProtectionRequest;
+import software.amazon.awssdk.services.shield.model.CreateProtectionResponse;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionResponse;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionResponse;
+import software.amazon.awssdk.services.shield.model.DisassociateHealthCheckRequest;
+import software.amazon.awssdk.services.shield.model.DisassociateHealthCheckResponse;
+import software.amazon.awssdk.services.shield.model.ListProtectionsRequest;
+import software.amazon.awssdk.services.shield.model.ListProtectionsResponse;
+import software.amazon.awssdk.services.shield.model.TagResourceRequest;
+import software.amazon.awssdk.services.shield.model.TagResourceResponse;
+import software.amazon.awssdk.services.shield.model.UntagResourceRequest;
+import software.amazon.awssdk.services.shield.model.UntagResourceResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.bulkprotection.helper.BulkProtectionTestData;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.UpdatePlan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class UpdateHandlerTest {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private Logger logger;
+
+    private UpdateHandler updateHandler;
+
+    @BeforeEach
+    public void setup() {
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()));
+        this.logger = mock(Logger.class);
+
+        this.updateHandler = new UpdateHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
+    }
+
+    @Test
+    public void handleRequest_SimpleSuccess() {
+        // resource 1 is kept and updated, resource 2 is removed and resource 3 is added.
+        final ResourceModel desired = ResourceModel.builder()
+            .name(BulkProtectionTestData.NAME)
+            .resourceArns(Lists.newArrayList(
+                BulkProtectionTestData.RESOURCE_ARN_1,
+                BulkProtectionTestData.RESOURCE_ARN_3
+            ))
+            .healthCheckArns(Lists.newArrayList(BulkProtectionTestData.HEALTH_CHECK_ARN_TEMPLATE + "healthCheckId2"))
+            .tags(Lists.newArrayList(BulkProtectionTestData.TAG_1))
+            .build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(desired)
+                .previousResourceState(BulkProtectionTestData.RESOURCE_MODEL)
+                .build();
+
+        doReturn(ListProtectionsResponse.builder()
+            .protections(
+                BulkProtectionTestData.protection(
+                    BulkProtectionTestData.PROTECTION_ID_1,
+                    BulkProtectionTestData.RESOURCE_ARN_1
+                ),
+                BulkProtectionTestData.protection(
+                    BulkProtectionTestData.PROTECTION_ID_2,
+                    BulkProtectionTestData.RESOURCE_ARN_2
+                ))
+            .build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+        doReturn(CreateProtectionResponse.builder().protectionId(BulkProtectionTestData.PROTECTION_ID_3).build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(CreateProtectionRequest.class), any());
+        doReturn(DescribeProtectionResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        doReturn(AssociateHealthCheckResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(AssociateHealthCheckRequest.class), any());
+        doReturn(DisassociateHealthCheckResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DisassociateHealthCheckRequest.class), any());
+        doReturn(UntagResourceResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+        doReturn(DeleteProtectionResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DeleteProtectionRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.updateHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel()).isEqualTo(desired);
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+        verify(this.proxy, times(1)).injectCredentialsAndInvokeV2(any(CreateProtectionRequest.class), any());
+        verify(this.proxy, times(1)).injectCredentialsAndInvokeV2(any(DeleteProtectionRequest.class), any());
+        verify(this.proxy, times(1)).injectCredentialsAndInvokeV2(any(DisassociateHealthCheckRequest.class), any());
+        // the added resource and the kept resource both get the new health check.
+        verify(this.proxy, times(2)).injectCredentialsAndInvokeV2(any(AssociateHealthCheckRequest.class), any());
+        verify(this.proxy, times(1)).injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+        verify(this.proxy, times(0)).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+    }
+
+    @Test
+    public void plan_SimpleSuccess() {
+        // same update as handleRequest_SimpleSuccess, planned from the previous state instead of listed protections.
+        final UpdatePlan plan = UpdateHandler.plan(BulkProtectionTestData.RESOURCE_MODEL, ResourceModel.builder()
+            .name(BulkProtectionTestData.NAME)
+            .resourceArns(Lists.newArrayList(
+                BulkProtectionTestData.RESOURCE_ARN_1,
+                BulkProtectionTestData.RESOURCE_ARN_3
+            ))
+            .healthCheckArns(Lists.newArrayList(BulkProtectionTestData.HEALTH_CHECK_ARN_TEMPLATE + "healthCheckId2"))
+            .tags(Lists.newArrayList(BulkProtectionTestData.TAG_1))
+            .build());
+
+        assertThat(plan.getCallCount()).isEqualTo(8);
+        assertThat(plan.getCallCount("listProtections")).isEqualTo(1);
+        assertThat(plan.getCallCount("createProtection")).isEqualTo(1);
+        assertThat(plan.getCallCount("describeProtection")).isEqualTo(1);
+        assertThat(plan.getCallCount("deleteProtection")).isEqualTo(1);
+        assertThat(plan.getCallCount("disassociateHealthCheck")).isEqualTo(1);
+        assertThat(plan.getCallCount("associateHealthCheck")).isEqualTo(2);
+        assertThat(plan.getCallCount("untagResource")).isEqualTo(1);
+        assertThat(plan.getCallCount("tagResource")).isEqualTo(0);
+        assertThat(plan.estimateDuration(Duration.ofMillis(250), CallTuning.NO_JITTER))
+            .isEqualTo(Duration.ofSeconds(2));
+        assertThat(plan.estimateDuration(Duration.ofMillis(250))).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void handleRequest_TagsOnly() {
+        final ResourceModel desired = BulkProtectionTestData.RESOURCE_MODEL.toBuilder()
+            .tags(Lists.newArrayList(
+                BulkProtectionTestData.TAG_1,
+                Tag.builder().key("k2").value("v2-updated").build()
+            ))
+            .build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(desired)
+                .previousResourceState(BulkProtectionTestData.RESOURCE_MODEL)
+                .build();
+
+        doReturn(ListProtectionsResponse.builder()
+            .protections(
+                BulkProtectionTestData.protection(
+                    BulkProtectionTestData.PROTECTION_ID_1,
+                    BulkProtectionTestData.RESOURCE_ARN_1
+                ),
+                BulkProtectionTestData.protection(
+                    BulkProtectionTestData.PROTECTION_ID_2,
+                    BulkProtectionTestData.RESOURCE_ARN_2
+                ))
+            .build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+        doReturn(TagResourceResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.updateHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(this.proxy, times(2)).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+    }
+}
@@ -0,0 +1,50 @@
+package software.amazon.shield.bulkprotection.helper;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import software.amazon.awssdk.services.shield.model.Protection;
+import software.amazon.shield.bulkprotection.ResourceModel;
+import software.amazon.shield.bulkprotection.Tag;
+
+public class BulkProtectionTestData {
+    public static final String NAME = "TEST_NAME_fleet";
+    public static final String ACCOUNT_ID = "123456789012";
+    public static final String RESOURCE_ARN_1 = "arn:aws:cloudfront::" + ACCOUNT_ID + ":distribution/A12B3CD4E5FG67";
+    public static final String RESOURCE_ARN_2 =
+            "arn:aws:elasticloadbalancing:us-east-1:" + ACCOUNT_ID + ":loadbalancer/app/alb/12a3bc4567de890f";
+    public static final String RESOURCE_ARN_3 =
+            "arn:aws:elasticloadbalancing:us-east-1:" + ACCOUNT_ID + ":loadbalancer/app/alb/98f7ed6543cb210a";
+
+    public static final String PROTECTION_ID_1 = "TEST_PROTECTION_ID_1";
+    public static final String PROTECTION_ID_2 = "TEST_PROTECTION_ID_2";
+    public static final String PROTECTION_ID_3 = "TEST_PROTECTION_ID_3";
+    public static final String PROTECTION_ARN_TEMPLATE = "arn:aws:shield::" + ACCOUNT_ID + ":protection/";
+
+    public static final String HEALTH_CHECK_ARN_TEMPLATE = "arn:aws:route53:::healthcheck/";
+    public static final String HEALTH_CHECK_ID = "healthCheckId1";
+    public static final List<String> HEALTH_CHECK_ARNS =
+            Lists.newArrayList(HEALTH_CHECK_ARN_TEMPLATE + HEALTH_CHECK_ID);
+
+    public static final Tag TAG_1 = Tag.builder().key("k1").value("v1").build();
+    public static final Tag TAG_2 = Tag.builder().key("k2").value("v2").build();
+    public static final List<Tag> TAGS = Lists.newArrayList(TAG_1, TAG_2);
+
+    public static final ResourceModel RESOURCE_MODEL =
+            ResourceModel.builder()
+                    .name(NAME)
+                    .resourceArns(Lists.newArrayList(RESOURCE_ARN_1, RESOURCE_ARN_2))
+                    .tags(TAGS)
+                    .healthCheckArns(HEALTH_CHECK_ARNS)
+                    .build();
+
+    public static Protection protection(final String protectionId, final String resourceArn) {
+        return Protection.builder()
+                .id(protectionId)
+                .name(NAME)
+                .resourceArn(resourceArn)
+                .protectionArn(PROTECTION_ARN_TEMPLATE + protectionId)
+                .healthCheckIds(HEALTH_CHECK_ID)
+                .build();
+    }
+}
@@ -0,0 +1,218 @@
+package software.amazon.shield.common;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+
+/**
+ * An ARN of the form {@code arn:partition:service:region:account-id:resource}.
+ * <p>
+ * Parsing only records the separator offsets; segments are cut from the original string when asked for. Equality and
+ * hashing use the full ARN string, whose hash code is cached by {@link String}, so ARNs are cheap set and map keys.
+ * Builders share one interned prefix per partition, service and account, so formatting a batch of ARNs of the same
+ * kind allocates the resource ID concatenation only.
+ */
+public final class Arn implements Comparable<Arn> {
+
+    public static final String DEFAULT_PARTITION = "aws";
+
+    private static final String PREFIX = "arn:";
+    private static final int SEGMENTS = 5;
+    private static final int MAX_INTERNED_PREFIXES = 256;
+
+    private final String value;
+    // offsets of the colons ending partition, service, region and account, then the start of the resource ID
+    private final int[] offsets;
+
+    private Arn(final String value, final int[] offsets) {
+        this.value = value;
+        this.offsets = offsets;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not an ARN.
+     */
+    public static Arn parse(@NonNull final String value) {
+        final Arn arn = tryParse(value);
+        if (arn == null) {
+            throw new IllegalArgumentException(String.format("%s is not a valid ARN", value));
+        }
+        return arn;
+    }
+
+    /**
+     * @return the parsed ARN, or null if the value is not an ARN.
+     */
+    @Nullable
+    public static Arn tryParse(@Nullable final String value) {
+        if (value == null || !value.startsWith(PREFIX)) {
+            return null;
+        }
+        final int[] offsets = new int[SEGMENTS];
+        int from = PREFIX.length();
+        for (int i = 0; i < SEGMENTS - 1; i++) {
+            final int colon = value.indexOf(':', from);
+            if (colon < 0) {
+                return null;
+            }
+            offsets[i] = colon;
+            from = colon + 1;
+        }
+        if (from == value.length()) {
+            return null;
+        }
+        offsets[SEGMENTS - 1] = resourceIdStart(value, from);
+        return new Arn(value, offsets);
+    }
+
+    /**
+     * The resource ID of an ARN, i.e. the part after the resource type. Values that are not ARNs are assumed to be
+     * IDs already and returned as is.
+     */
+    public static String resourceIdOf(@NonNull final String value) {
+        final Arn arn = tryParse(value);
+        return arn == null ? value : arn.resourceId();
+    }
+
+    /**
+     * @return the partition of a handler request, or {@link #DEFAULT_PARTITION} if the request does not carry one.
+     */
+    public static String partitionOrDefault(@Nullable final String partition) {
+        return partition == null || partition.isEmpty() ? DEFAULT_PARTITION : partition;
+    }
+
+    public static String shieldProtection(
+        @Nullable final String partition,
+        @NonNull final String accountId,
+        @NonNull final String protectionId
+    ) {
+        return prefix(partition, Kind.PROTECTION, accountId) + protectionId;
+    }
+
+    public static String shieldProtectionGroup(
+        @Nullable final String partition,
+        @NonNull final String accountId,
+        @NonNull final String protectionGroupId
+    ) {
+        return prefix(partition, Kind.PROTECTION_GROUP, accountId) + protectionGroupId;
+    }
+
+    public static String route53HealthCheck(@Nullable final String partition, @NonNull final String healthCheckId) {
+        return prefix(partition, Kind.HEALTH_CHECK, "") + healthCheckId;
+    }
+
+    public String partition() {
+        return this.value.substring(PREFIX.length(), this.offsets[0]);
+    }
+
+    public String service() {
+        return this.value.substring(this.offsets[0] + 1, this.offsets[1]);
+    }
+
+    public String region() {
+        return this.value.substring(this.offsets[1] + 1, this.offsets[2]);
+    }
+
+    public String accountId() {
+        return this.value.substring(this.offsets[2] + 1, this.offsets[3]);
+    }
+
+    /**
+     * The resource segment, e.g. {@code protection/<id>}.
+     */
+    public String resource() {
+        return this.value.substring(this.offsets[3] + 1);
+    }
+
+    /**
+     * The resource type, or an empty string if the resource has none.
+     */
+    public String resourceType() {
+        final int resourceStart = this.offsets[3] + 1;
+        return this.offsets[4] == resourceStart
+            ? ""
+            : this.value.substring(resourceStart, this.offsets[4] - 1);
+    }
+
+    public String resourceId() {
+        return this.value.substring(this.offsets[4]);
+    }
+
+    public boolean isService(@NonNull final String service) {
+        return segmentEquals(this.offsets[0] + 1, this.offsets[1], service);
+    }
+
+    public boolean isResourceType(@NonNull final String resourceType) {
+        final int resourceStart = this.offsets[3] + 1;
+        return this.offsets[4] > resourceStart && segmentEquals(resourceStart, this.offsets[4] - 1, resourceType);
+    }
+
+    @Override
+    public int compareTo(@NonNull final Arn other) {
+        return this.value.compareTo(other.value);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof Arn && this.value.equals(((Arn) other).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+
+    private boolean segmentEquals(final int start, final int end, final String segment) {
+        return end - start == segment.length() && this.value.regionMatches(start, segment, 0, segment.length());
+    }
+
+    private static int resourceIdStart(final String value, final int resourceStart) {
+        for (int i = resourceStart; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '/' || c == ':') {
+                return i + 1;
+            }
+        }
+        return resourceStart;
+    }
+
+    private static String prefix(@Nullable final String partition, final Kind kind, final String accountId) {
+        final ConcurrentMap<String, String> byAccount =
+            kind.prefixes.computeIfAbsent(partitionOrDefault(partition), p -> new ConcurrentHashMap<>());
+        final String interned = byAccount.get(accountId);
+        if (interned != null) {
+            return interned;
+        }
+        final String prefix = PREFIX + partitionOrDefault(partition) + ':' + kind.service + "::" + accountId + ':'
+            + kind.resourceType;
+        // a warm container only ever sees a handful of accounts; stop interning rather than grow unbounded.
+        if (byAccount.size() >= MAX_INTERNED_PREFIXES) {
+            return prefix;
+        }
+        final String raced = byAccount.putIfAbsent(accountId, prefix);
+        return raced == null ? prefix : raced;
+    }
+
+    private enum Kind {
+        PROTECTION("shield", "protection/"),
+        PROTECTION_GROUP("shield", "protection-group/"),
+        HEALTH_CHECK("route53", "healthcheck/");
+
+        private final String service;
+        private final String resourceType;
+        // partition -> account ID -> ARN prefix
+        private final ConcurrentMap<String, ConcurrentMap<String, String>> prefixes = new ConcurrentHashMap<>();
+
+        Kind(final String service, final String resourceType) {
+            this.service = service;
+            this.resourceType = resourceType;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package software.amazon.shield.common;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+import software.amazon.shield.common.ShieldAPIChainableRemoteCall.MutationListener;
+
+/**
+ * How a handler paces its Shield calls: the self-throttling jitter, the backoff on rate exceeded, the retries of
+ * transient errors, the stabilizer polling policy, the calls kept in flight at once and who hears of the mutations.
+ * <p>
+ * Immutable, so one instance is safely shared by handlers running concurrently in one JVM. A handler is constructed
+ * with the tuning of its resource type, {@link #DEFAULT} unless given one, and hands it to every call it makes, see
+ * {@link ShieldAPIChainableRemoteCall#tuning} and {@link InvocationContext}.
+ */
+@Value
+@Builder(toBuilder = true)
+public class CallTuning {
+
+    /**
+     * keeps {@link SubscriptionCache#shared()} and {@link ReadCache#shared()} in step with the calls made.
+     */
+    public static final CallTuning DEFAULT = CallTuning.builder()
+        .mutationListener(SubscriptionCache.shared()::onMutation)
+        .mutationListener(ReadCache.shared()::onMutation)
+        .build();
+
+    /**
+     * {@link #DEFAULT} without jitter, e.g. for tests and replays.
+     */
+    public static final CallTuning NO_JITTER = DEFAULT.toBuilder().jitter(Duration.ZERO).build();
+
+    /**
+     * upper bound of the random sleep before each call, to remedy low Shield API rate limits; none when zero.
+     */
+    @Builder.Default
+    @NonNull Duration jitter = Duration.ofSeconds(2);
+
+    /**
+     * callback delay of the IN_PROGRESS, or Throttling, event a rate exceeded call is answered with.
+     */
+    @Builder.Default
+    int rateExceededDelaySeconds = 5;
+
+    /**
+     * times a call failing with a transient or conflict error is retried before the handler fails, see
+     * {@link RetryBudget}.
+     */
+    @Builder.Default
+    int maxRetries = 3;
+
+    /**
+     * callback delay of the first retry of a transient or conflict error, doubled for each further one.
+     */
+    @Builder.Default
+    int retryDelaySeconds = 5;
+
+    /**
+     * callback delay after the first unsuccessful stabilizer poll, doubled after each further one.
+     */
+    @Builder.Default
+    int stabilizeInitialDelaySeconds = 5;
+
+    @Builder.Default
+    int stabilizeMaxDelaySeconds = 60;
+
+    /**
+     * time, counted from the first poll, after which stabilizing fails with NotStabilized.
+     */
+    @Builder.Default
+    @NonNull Duration stabilizeTimeBudget = Duration.ofMinutes(15);
+
+    /**
+     * calls in flight at once in an invocation, concurrent step graph branches included.
+     */
+    @Builder.Default
+    int maxConcurrentCalls = StepGraph.DEFAULT_MAX_CONCURRENCY;
+
+    /**
+     * notified after every successful call that is not a read, e.g. to invalidate state cached across invocations.
+     */
+    @Singular
+    List<MutationListener> mutationListeners;
+
+    /**
+     * a random jitter, at most {@link #jitter}.
+     */
+    public Duration nextJitter() {
+        final long maxMillis = this.jitter.toMillis();
+        return maxMillis > 0 ? Duration.ofMillis(ThreadLocalRandom.current().nextLong(maxMillis)) : Duration.ZERO;
+    }
+}
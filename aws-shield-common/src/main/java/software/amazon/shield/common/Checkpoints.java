@@ -0,0 +1,94 @@
+package software.amazon.shield.common;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Records completed step IDs in the callback context so that a re-invoked handler skips the calls it already made.
+ * <p>
+ * CloudFormation re-invokes a handler with the callback context of the last IN_PROGRESS event, e.g. after a rate
+ * exceeded error midway through a chain. Without checkpoints the chain starts over and re-issues every successful
+ * call. Contexts that do not implement {@link CheckpointContext} are never checkpointed.
+ * <p>
+ * A skipped call does not run its onSuccess callback, so anything a later step reads from the response has to be
+ * recorded in the model or the callback context by the invocation that made the call.
+ */
+public class Checkpoints {
+
+    public interface CheckpointContext {
+        Set<String> getCompletedSteps();
+
+        void setCompletedSteps(Set<String> completedSteps);
+    }
+
+    public static boolean isCompleted(@Nullable final Object context, @NonNull final String stepId) {
+        if (!(context instanceof CheckpointContext)) {
+            return false;
+        }
+        final Set<String> completedSteps = ((CheckpointContext) context).getCompletedSteps();
+        return completedSteps != null && completedSteps.contains(stepId);
+    }
+
+    /**
+     * Whether any step was completed by an earlier invocation of the same operation.
+     */
+    public static boolean hasCompletedSteps(@Nullable final Object context) {
+        if (!(context instanceof CheckpointContext)) {
+            return false;
+        }
+        final Set<String> completedSteps = ((CheckpointContext) context).getCompletedSteps();
+        return completedSteps != null && !completedSteps.isEmpty();
+    }
+
+    public static void complete(@Nullable final Object context, @NonNull final String stepId) {
+        if (!(context instanceof CheckpointContext)) {
+            return;
+        }
+        final CheckpointContext checkpointContext = (CheckpointContext) context;
+        if (checkpointContext.getCompletedSteps() == null) {
+            checkpointContext.setCompletedSteps(new LinkedHashSet<>());
+        }
+        checkpointContext.getCompletedSteps().add(stepId);
+    }
+
+    /**
+     * Marks the step completed if the progress event lets the chain continue.
+     */
+    public static <M, C> ProgressEvent<M, C> completeIfDone(
+        @NonNull final String stepId,
+        @NonNull final ProgressEvent<M, C> progress
+    ) {
+        if (progress.isSuccess() || (progress.isInProgress() && progress.getCallbackDelaySeconds() == 0)) {
+            complete(progress.getCallbackContext(), stepId);
+        }
+        return progress;
+    }
+
+    /**
+     * Copies the completed steps of a parent context into a forked one, so a concurrent branch sees them.
+     */
+    public static void fork(@Nullable final Object parent, @Nullable final Object branch) {
+        if (parent instanceof CheckpointContext && branch instanceof CheckpointContext) {
+            final Set<String> completedSteps = ((CheckpointContext) parent).getCompletedSteps();
+            ((CheckpointContext) branch).setCompletedSteps(new LinkedHashSet<>(
+                completedSteps == null ? Collections.<String>emptySet() : completedSteps));
+        }
+    }
+
+    /**
+     * Merges the steps a concurrent branch completed back into the parent context.
+     */
+    public static void join(@Nullable final Object parent, @Nullable final Object branch) {
+        if (parent instanceof CheckpointContext && branch instanceof CheckpointContext) {
+            final Set<String> completedSteps = ((CheckpointContext) branch).getCompletedSteps();
+            if (completedSteps != null) {
+                completedSteps.forEach(stepId -> complete(parent, stepId));
+            }
+        }
+    }
+}
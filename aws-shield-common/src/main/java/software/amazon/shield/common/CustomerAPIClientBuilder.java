@@ -49,6 +49,7 @@ public class CustomerAPIClientBuilder {
         return ShieldClient.builder()
             .overrideConfiguration(ClientOverrideConfiguration.builder()
                 .retryPolicy(RETRY_POLICY)
+                .addExecutionInterceptor(new TracingInterceptor())
                 .build())
             .httpClient(LambdaWrapper.HTTP_CLIENT)
             .build();
@@ -0,0 +1,176 @@
+package software.amazon.shield.common;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.services.shield.model.InternalErrorException;
+import software.amazon.awssdk.services.shield.model.LockedSubscriptionException;
+import software.amazon.awssdk.services.shield.model.OptimisticLockException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+/**
+ * Sorts a failed call into the few categories that decide how a handler reacts to it.
+ * <p>
+ * The category comes from what the SDK already parsed, through its public exception API only: the throttling
+ * detection of the SDK (HTTP 429 and the throttling error codes), {@link SdkServiceException#retryable()}, clock skew,
+ * the HTTP status, the timeout error codes and the exception class, matched along its superclasses. Only an exception
+ * carrying neither error details nor a status code, i.e. one not unmarshalled from a response, is recognized as
+ * throttled by its message.
+ */
+public final class ErrorClassifier {
+
+    private static final String RATE_EXCEEDED_MSG = "rate exceeded";
+    private static final int HTTP_CONFLICT = 409;
+    // the 5xx statuses the SDK retries itself.
+    private static final Set<Integer> TRANSIENT_STATUS_CODES =
+        Collections.unmodifiableSet(new HashSet<>(Arrays.asList(500, 502, 503, 504)));
+    // error codes of a request that timed out or overlapped an earlier one, whatever their status.
+    private static final Set<String> TRANSIENT_ERROR_CODES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "RequestTimeout",
+        "RequestTimeoutException",
+        "PriorRequestNotComplete"
+    )));
+
+    private ErrorClassifier() {
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Category {
+        /**
+         * rate limited; backed off in-progress by {@link ShieldAPIChainableRemoteCall}.
+         */
+        THROTTLE("Throttles", HandlerErrorCode.Throttling),
+        /**
+         * network failures, timeouts and 5xx; worth retrying as is, backed off within a {@link RetryBudget}. the call
+         * may have been applied, so only reads and checkpointed mutations are retried, see
+         * {@link ShieldAPIChainableRemoteCall#checkpoint}.
+         */
+        TRANSIENT("TransientErrors", HandlerErrorCode.ServiceInternalError),
+        /**
+         * a concurrent change of the same resource or subscription; worth retrying once it settled, backed off within a
+         * {@link RetryBudget}.
+         */
+        CONFLICT("Conflicts", HandlerErrorCode.ResourceConflict),
+        /**
+         * retrying cannot help.
+         */
+        TERMINAL("TerminalErrors", HandlerErrorCode.GeneralServiceException);
+
+        /**
+         * suffix of the per API error count metric, e.g. {@code describeProtection.Throttles}.
+         */
+        private final String metricName;
+        /**
+         * CloudFormation error code of the category, used when the exception class has no mapping of its own.
+         */
+        private final HandlerErrorCode defaultErrorCode;
+
+        public boolean isRetriable() {
+            return this != TERMINAL;
+        }
+    }
+
+    public static Category classify(@NonNull final Throwable error) {
+        if (error instanceof SdkServiceException) {
+            return classifyServiceException((SdkServiceException) error);
+        }
+        if (error instanceof SdkClientException) {
+            // timeouts, connection failures and other failures before a response was read.
+            return Category.TRANSIENT;
+        }
+        return Category.TERMINAL;
+    }
+
+    /**
+     * Category of a failed progress event, by its error code: the Retriable error codes of the handler contract are
+     * THROTTLE, TRANSIENT or CONFLICT, anything else TERMINAL.
+     */
+    public static Category classify(@Nullable final HandlerErrorCode errorCode) {
+        if (errorCode == null) {
+            return Category.TERMINAL;
+        }
+        switch (errorCode) {
+            case Throttling:
+                return Category.THROTTLE;
+            case NetworkFailure:
+            case ServiceInternalError:
+                return Category.TRANSIENT;
+            case ResourceConflict:
+                return Category.CONFLICT;
+            default:
+                return Category.TERMINAL;
+        }
+    }
+
+    /**
+     * CloudFormation error code of a failed call: the mapping of the closest mapped class of the exception, or of its
+     * error code, else the default of its category.
+     */
+    public static HandlerErrorCode toErrorCode(@NonNull final Throwable error) {
+        final HandlerErrorCode mapped = ExceptionConverter.mappedErrorCode(error);
+        if (mapped != null) {
+            return mapped;
+        }
+        final Category category = classify(error);
+        if (category == Category.TRANSIENT && error instanceof SdkClientException) {
+            return HandlerErrorCode.NetworkFailure;
+        }
+        return category.getDefaultErrorCode();
+    }
+
+    private static Category classifyServiceException(final SdkServiceException error) {
+        if (error.isThrottlingException()) {
+            return Category.THROTTLE;
+        }
+        final String errorCode = errorCode(error);
+        if (errorCode == null && error.statusCode() == 0) {
+            return containsIgnoreCase(error.getMessage(), RATE_EXCEEDED_MSG) ? Category.THROTTLE : Category.TERMINAL;
+        }
+        if (error instanceof OptimisticLockException
+            || error instanceof LockedSubscriptionException
+            || error.statusCode() == HTTP_CONFLICT) {
+            return Category.CONFLICT;
+        }
+        if (error instanceof InternalErrorException
+            || error.retryable()
+            || error.isClockSkewException()
+            || TRANSIENT_STATUS_CODES.contains(error.statusCode())
+            || TRANSIENT_ERROR_CODES.contains(errorCode)) {
+            return Category.TRANSIENT;
+        }
+        return Category.TERMINAL;
+    }
+
+    @Nullable
+    static String errorCode(final SdkException error) {
+        if (!(error instanceof AwsServiceException)) {
+            return null;
+        }
+        final AwsErrorDetails details = ((AwsServiceException) error).awsErrorDetails();
+        return details == null ? null : details.errorCode();
+    }
+
+    private static boolean containsIgnoreCase(@Nullable final String message, final String part) {
+        if (message == null) {
+            return false;
+        }
+        for (int i = 0; i + part.length() <= message.length(); i++) {
+            if (message.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
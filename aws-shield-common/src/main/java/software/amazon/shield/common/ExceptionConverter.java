@@ -1,8 +1,11 @@
 package software.amazon.shield.common;
 
 import java.util.Map;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 import com.google.common.collect.ImmutableMap;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.shield.model.AccessDeniedException;
 import software.amazon.awssdk.services.shield.model.AccessDeniedForDependencyException;
 import software.amazon.awssdk.services.shield.model.InternalErrorException;
@@ -38,11 +41,37 @@ public class ExceptionConverter<T> {
             .put(ResourceNotFoundException.class, HandlerErrorCode.NotFound)
             .build();
 
+    /**
+     * Shield error codes are the simple names of the modeled exceptions.
+     */
+    private static final Map<String, HandlerErrorCode> ERROR_CODE_MAPPING = MAPPING.entrySet()
+        .stream()
+        .collect(Collectors.toMap(e -> e.getKey().getSimpleName(), Map.Entry::getValue));
+
+    /**
+     * see {@link ErrorClassifier#toErrorCode(Throwable)}.
+     */
     public static HandlerErrorCode convertToErrorCode(RuntimeException error) {
-        HandlerErrorCode translatedErrorCode = MAPPING.get(error.getClass());
+        return ErrorClassifier.toErrorCode(error);
+    }
 
-        return translatedErrorCode == null
-            ? HandlerErrorCode.GeneralServiceException
-            : translatedErrorCode;
+    /**
+     * mapping of the closest mapped superclass of {@code error}, else of its error code; null when neither is mapped.
+     */
+    @Nullable
+    static HandlerErrorCode mappedErrorCode(final Throwable error) {
+        for (Class<?> type = error.getClass(); type != null; type = type.getSuperclass()) {
+            final HandlerErrorCode mapped = MAPPING.get(type);
+            if (mapped != null) {
+                return mapped;
+            }
+        }
+        if (error instanceof SdkException) {
+            final String errorCode = ErrorClassifier.errorCode((SdkException) error);
+            if (errorCode != null) {
+                return ERROR_CODE_MAPPING.get(errorCode);
+            }
+        }
+        return null;
     }
 }
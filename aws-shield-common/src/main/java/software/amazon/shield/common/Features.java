@@ -0,0 +1,73 @@
+package software.amazon.shield.common;
+
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Opt-in behaviour of the handlers, each off unless switched on by an environment variable of the handler function
+ * set to {@code true}, e.g. {@code SHIELD_PROTECTION_INDEX=true}.
+ * <p>
+ * The handler constructors Lambda uses read the switches of their container through {@link #fromEnvironment()}.
+ * Handlers built with a tuning of their own, as in tests, run with {@link #NONE} unless given features.
+ */
+@Value
+@Builder(toBuilder = true)
+public class Features {
+
+    public static final String READ_CACHE = "SHIELD_READ_CACHE";
+    public static final String PROTECTION_INDEX = "SHIELD_PROTECTION_INDEX";
+    public static final String STABILIZE_APP_LAYER_AUTO_RESPONSE = "SHIELD_STABILIZE_APP_LAYER_AUTO_RESPONSE";
+    public static final String TRACE_LOG = "SHIELD_TRACE_LOG";
+
+    /**
+     * every feature off.
+     */
+    public static final Features NONE = Features.builder().build();
+
+    private static final Features ENVIRONMENT = of(System.getenv());
+
+    /**
+     * serve back-to-back Reads of a resource from {@link ReadCache#shared()}.
+     */
+    boolean readCache;
+
+    /**
+     * serve protection Reads from an index of the ListProtections pages of the container instead of a
+     * DescribeProtection each.
+     */
+    boolean protectionIndex;
+
+    /**
+     * wait, after enabling or updating the automatic application layer response of a protection, until
+     * DescribeProtection reports it.
+     */
+    boolean stabilizeAppLayerAutoResponse;
+
+    /**
+     * write every ended span, remote calls and SDK attempts included, to the handler log, see {@link LogSpanExporter}.
+     */
+    boolean traceLog;
+
+    /**
+     * the features switched on in the environment of this container.
+     */
+    public static Features fromEnvironment() {
+        return ENVIRONMENT;
+    }
+
+    public static Features of(@NonNull final Map<String, String> environment) {
+        return Features.builder()
+            .readCache(isOn(environment, READ_CACHE))
+            .protectionIndex(isOn(environment, PROTECTION_INDEX))
+            .stabilizeAppLayerAutoResponse(isOn(environment, STABILIZE_APP_LAYER_AUTO_RESPONSE))
+            .traceLog(isOn(environment, TRACE_LOG))
+            .build();
+    }
+
+    private static boolean isOn(final Map<String, String> environment, final String name) {
+        return Boolean.parseBoolean(environment.get(name));
+    }
+}
@@ -1,15 +1,18 @@
 package software.amazon.shield.common;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import lombok.NonNull;
 import software.amazon.awssdk.services.shield.ShieldClient;
 import software.amazon.awssdk.services.shield.model.ListTagsForResourceRequest;
@@ -20,22 +23,18 @@ import software.amazon.awssdk.services.shield.model.TagResourceResponse;
 import software.amazon.awssdk.services.shield.model.UntagResourceRequest;
 import software.amazon.awssdk.services.shield.model.UntagResourceResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
-import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.StdCallbackContext;
 
 public class HandlerHelper {
-    public static boolean isRetriableErrorCode(HandlerErrorCode errorCode) {
-        // Type: Retriable in https://docs.aws.amazon.com/cloudformation-cli/latest/userguide/resource-type-test-contract-errors.html
-        return ImmutableList.of(
-            HandlerErrorCode.NetworkFailure,
-            HandlerErrorCode.ResourceConflict,
-            HandlerErrorCode.ServiceInternalError,
-            HandlerErrorCode.Throttling
-        ).contains(errorCode);
-    }
+    /**
+     * tags per TagResource and tag keys per UntagResource call, the maximum of the Tags and TagKeys members in the
+     * AWS Shield API reference. A resource holds fewer tags, 50 at most, which the service enforces.
+     */
+    public static final int MAX_TAGS_PER_REQUEST = 200;
+
 
     public interface TagsContext<T> {
         List<T> getTags();
@@ -54,16 +53,47 @@ public class HandlerHelper {
         @NonNull final M model,
         @NonNull final C callbackContext,
         @NonNull final Logger logger
+    ) {
+        return getTagsChainable(
+            resourceArn,
+            converter,
+            resourceType,
+            handlerName,
+            proxy,
+            proxyClient,
+            model,
+            callbackContext,
+            logger,
+            null,
+            null
+        );
+    }
+
+    public static <T, M, C extends StdCallbackContext & TagsContext<T>> ProgressEvent<M, C> getTagsChainable(
+        @NonNull final String resourceArn,
+        @NonNull final Function<Tag, T> converter,
+
+        @NonNull final String resourceType,
+        @NonNull final String handlerName,
+        @NonNull final AmazonWebServicesClientProxy proxy,
+        @NonNull final ProxyClient<ShieldClient> proxyClient,
+        @NonNull final M model,
+        @NonNull final C callbackContext,
+        @NonNull final Logger logger,
+        @Nullable final ReadCache readCache,
+        @Nullable final CallTuning tuning
     ) {
         return ShieldAPIChainableRemoteCall.<M, C, ListTagsForResourceRequest, ListTagsForResourceResponse>builder()
             .resourceType(resourceType)
             .handlerName(handlerName)
-            .apiName("tagResource")
+            .apiName("listTagsForResource")
             .proxy(proxy)
             .proxyClient(proxyClient)
             .model(model)
             .context(callbackContext)
             .logger(logger)
+            .readCache(readCache)
+            .tuning(tuning)
             .translateToServiceRequest(m -> ListTagsForResourceRequest.builder().resourceARN(resourceArn).build())
             .getRequestFunction(c -> c::listTagsForResource)
             .onSuccess((req, res, c, m, ctx) -> {
@@ -91,52 +121,99 @@ public class HandlerHelper {
         @NonNull final C callbackContext,
         @NonNull final Logger logger
     ) {
-        final Map<String, String> currentTagsMap = Optional.ofNullable(currentTags)
-            .orElse(Collections.emptyList())
-            .stream()
-            .collect(Collectors.toMap(currentTagKeyGetter, currentTagValueGetter));
-
-        final List<software.amazon.awssdk.services.shield.model.Tag> tagsToSet = new ArrayList<>();
-
-        Optional.ofNullable(desiredTags).orElse(Collections.emptyList()).forEach(tag -> {
-            final String desiredKey = desiredTagKeyGetter.apply(tag);
-            final String currentValueAtDesiredKey = currentTagsMap.get(desiredKey);
-            final String desiredValue = desiredTagValueGetter.apply(tag);
-            if (!(desiredValue.equals(currentValueAtDesiredKey))) {
-                tagsToSet.add(software.amazon.awssdk.services.shield.model.Tag.builder()
-                    .key(desiredKey)
-                    .value(desiredValue)
-                    .build());
-            }
-            currentTagsMap.remove(desiredKey);
-        });
+        return updateTagsChainable(
+            desiredTags,
+            desiredTagKeyGetter,
+            desiredTagValueGetter,
+            currentTags,
+            currentTagKeyGetter,
+            currentTagValueGetter,
+            resourceArn,
+            null,
+            resourceType,
+            handlerName,
+            proxy,
+            proxyClient,
+            model,
+            callbackContext,
+            logger,
+            null
+        );
+    }
 
-        final List<String> tagsToRemove = new ArrayList<>(currentTagsMap.keySet());
+    /**
+     * Tags the added and changed tags and untags the removed ones, in chunks of at most
+     * {@link #MAX_TAGS_PER_REQUEST}.
+     * <p>
+     * Every chunk is checkpointed by a step ID derived from its content, so a re-invocation after a partial failure
+     * only sends the chunks left. The desired and previous tags of an operation do not change across its invocations,
+     * so each invocation cuts the same chunks; a chunk that did differ would be sent again, never skipped. Tagged and
+     * untagged keys are disjoint, so with {@code forkContext} the chunks run concurrently on a
+     * {@link StepGraph}, at most {@link CallTuning#getMaxConcurrentCalls()} at once; without one they run in sequence.
+     */
+    public static <T, S, M, C extends StdCallbackContext> ProgressEvent<M, C> updateTagsChainable(
+        @Nullable final List<? extends T> desiredTags,
+        Function<? super T, String> desiredTagKeyGetter,
+        Function<? super T, String> desiredTagValueGetter,
+        @Nullable final List<? extends S> currentTags,
+        Function<? super S, String> currentTagKeyGetter,
+        Function<? super S, String> currentTagValueGetter,
+        @NonNull final String resourceArn,
+        @Nullable final UnaryOperator<C> forkContext,
 
-        ProgressEvent<M, C> ret = ProgressEvent.defaultInProgressHandler(callbackContext, 0, model);
+        @NonNull final String resourceType,
+        @NonNull final String handlerName,
+        @NonNull final AmazonWebServicesClientProxy proxy,
+        @NonNull final ProxyClient<ShieldClient> proxyClient,
+        @NonNull final M model,
+        @NonNull final C callbackContext,
+        @NonNull final Logger logger,
+        @Nullable final CallTuning tuning
+    ) {
+        final ListDiff<T, S> diff = tagDiff(desiredTags, desiredTagKeyGetter, desiredTagValueGetter,
+            currentTags, currentTagKeyGetter, currentTagValueGetter);
+        final List<List<Tag>> tagChunks = Lists.partition(
+            tagsToSet(diff, desiredTagKeyGetter, desiredTagValueGetter),
+            MAX_TAGS_PER_REQUEST
+        );
+        final List<List<String>> untagChunks = Lists.partition(
+            tagsToRemove(diff, currentTagKeyGetter),
+            MAX_TAGS_PER_REQUEST
+        );
 
-        if (tagsToSet.size() > 0) {
-            ret =
-                ret.then(progress -> ShieldAPIChainableRemoteCall.<M, C, TagResourceRequest, TagResourceResponse>builder()
-                    .resourceType(resourceType)
-                    .handlerName(handlerName)
-                    .apiName("tagResource")
-                    .proxy(proxy)
-                    .proxyClient(proxyClient)
-                    .model(progress.getResourceModel())
-                    .context(progress.getCallbackContext())
-                    .logger(logger)
-                    .translateToServiceRequest(ignored -> TagResourceRequest.builder()
-                        .tags(tagsToSet)
-                        .resourceARN(resourceArn)
-                        .build())
-                    .getRequestFunction(c -> c::tagResource)
-                    .build()
-                    .initiate());
+        final Map<String, Function<ProgressEvent<M, C>, ProgressEvent<M, C>>> chunks = new LinkedHashMap<>();
+        for (int i = 0; i < tagChunks.size(); i++) {
+            final List<Tag> tags = tagChunks.get(i);
+            final String chunk = chunkId(tags.stream()
+                .map(tag -> tag.key() + "=" + tag.value())
+                .collect(Collectors.toList()));
+            final String stepId = "tagResource:" + resourceArn + ":" + chunk;
+            chunks.put(stepId, progress -> ShieldAPIChainableRemoteCall.<M, C, TagResourceRequest,
+                    TagResourceResponse>builder()
+                .resourceType(resourceType)
+                .handlerName(handlerName)
+                .apiName("tagResource")
+                .proxy(proxy)
+                .proxyClient(proxyClient)
+                .model(progress.getResourceModel())
+                .context(progress.getCallbackContext())
+                .logger(logger)
+                .translateToServiceRequest(ignored -> TagResourceRequest.builder()
+                    .tags(tags)
+                    .resourceARN(resourceArn)
+                    .build())
+                .getRequestFunction(c -> c::tagResource)
+                .checkpoint(stepId)
+                .callGraphSuffix(chunk)
+                .tuning(tuning)
+                .build()
+                .initiate());
         }
-
-        if (tagsToRemove.size() > 0) {
-            ret = ret.then(progress -> ShieldAPIChainableRemoteCall.<M, C, UntagResourceRequest,
+        for (int i = 0; i < untagChunks.size(); i++) {
+            final List<String> tagKeys = untagChunks.get(i);
+            final String chunk = chunkId(tagKeys);
+            final String stepId = "untagResource:" + resourceArn + ":" + chunk;
+            chunks.put(stepId, progress -> ShieldAPIChainableRemoteCall.<M, C, UntagResourceRequest,
                     UntagResourceResponse>builder()
                 .resourceType(resourceType)
                 .handlerName(handlerName)
@@ -147,18 +224,111 @@ public class HandlerHelper {
                 .context(progress.getCallbackContext())
                 .logger(logger)
                 .translateToServiceRequest(ignored -> UntagResourceRequest.builder()
-                    .tagKeys(tagsToRemove)
+                    .tagKeys(tagKeys)
                     .resourceARN(resourceArn)
                     .build())
                 .getRequestFunction(c -> c::untagResource)
+                .checkpoint(stepId)
+                .callGraphSuffix(chunk)
+                .tuning(tuning)
                 .build()
                 .initiate());
         }
-        return ret;
+
+        ProgressEvent<M, C> ret = ProgressEvent.defaultInProgressHandler(callbackContext, 0, model);
+        if (forkContext == null || chunks.size() < 2) {
+            for (Function<ProgressEvent<M, C>, ProgressEvent<M, C>> chunk : chunks.values()) {
+                ret = ret.then(chunk);
+            }
+            return ret;
+        }
+        final StepGraph<M, C> graph = new StepGraph<>(
+            forkContext,
+            (parent, branch) -> {
+            },
+            (tuning != null ? tuning : CallTuning.DEFAULT).getMaxConcurrentCalls()
+        );
+        chunks.forEach((stepId, chunk) -> graph.step(stepId, chunk));
+        return graph.run(ret);
+    }
+
+    /**
+     * Adds the calls {@link #updateTagsChainable} makes to the plan: a {@code tagResource} per chunk of added and
+     * changed tags, an {@code untagResource} per chunk of removed ones.
+     */
+    public static <T, S> UpdatePlan.Builder planTagUpdate(
+        @NonNull final UpdatePlan.Builder plan,
+        @Nullable final List<? extends T> desiredTags,
+        Function<? super T, String> desiredTagKeyGetter,
+        Function<? super T, String> desiredTagValueGetter,
+        @Nullable final List<? extends S> currentTags,
+        Function<? super S, String> currentTagKeyGetter,
+        Function<? super S, String> currentTagValueGetter,
+        @NonNull final String resourceArn
+    ) {
+        final ListDiff<T, S> diff = tagDiff(desiredTags, desiredTagKeyGetter, desiredTagValueGetter,
+            currentTags, currentTagKeyGetter, currentTagValueGetter);
+        final int tags = tagsToSet(diff, desiredTagKeyGetter, desiredTagValueGetter).size();
+        final int tagKeys = tagsToRemove(diff, currentTagKeyGetter).size();
+        return plan.call("tagResource", resourceArn, chunks(tags))
+            .call("untagResource", resourceArn, chunks(tagKeys));
+    }
+
+    /**
+     * name-based UUID of the entries of a chunk, short enough for a step ID whatever the tags.
+     */
+    private static String chunkId(final List<String> entries) {
+        return UUID.nameUUIDFromBytes(String.join("\n", entries).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static int chunks(final int tags) {
+        return (tags + MAX_TAGS_PER_REQUEST - 1) / MAX_TAGS_PER_REQUEST;
+    }
+
+    private static <T, S> ListDiff<T, S> tagDiff(
+        @Nullable final List<? extends T> desiredTags,
+        Function<? super T, String> desiredTagKeyGetter,
+        Function<? super T, String> desiredTagValueGetter,
+        @Nullable final List<? extends S> currentTags,
+        Function<? super S, String> currentTagKeyGetter,
+        Function<? super S, String> currentTagValueGetter
+    ) {
+        // duplicate keys are tolerated, the first tag with a key wins.
+        return ListDiff.<T, S, String>of(
+            desiredTags,
+            desiredTagKeyGetter,
+            currentTags,
+            currentTagKeyGetter,
+            (desired, current) -> desiredTagValueGetter.apply(desired).equals(currentTagValueGetter.apply(current))
+        );
+    }
+
+    private static <T, S> List<Tag> tagsToSet(
+        final ListDiff<T, S> diff,
+        Function<? super T, String> desiredTagKeyGetter,
+        Function<? super T, String> desiredTagValueGetter
+    ) {
+        final List<Tag> tagsToSet = new ArrayList<>();
+        for (List<T> tags : ImmutableList.of(diff.getAdded(), diff.getChanged())) {
+            tags.forEach(tag -> tagsToSet.add(Tag.builder()
+                .key(desiredTagKeyGetter.apply(tag))
+                .value(desiredTagValueGetter.apply(tag))
+                .build()));
+        }
+        return tagsToSet;
+    }
+
+    private static <T, S> List<String> tagsToRemove(
+        final ListDiff<T, S> diff,
+        Function<? super S, String> currentTagKeyGetter
+    ) {
+        return diff.getRemoved()
+            .stream()
+            .map(currentTagKeyGetter)
+            .collect(Collectors.toList());
     }
 
     public static String protectionArnToId(@NonNull final String protectionArn) {
-        final int index = protectionArn.indexOf('/');
-        return protectionArn.substring(index + 1);
+        return Arn.resourceIdOf(protectionArn);
     }
 }
@@ -0,0 +1,32 @@
+package software.amazon.shield.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.NonNull;
+
+/**
+ * Keeps the ended spans in memory, in the order they ended, for tests.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final List<Tracer.Span> spans = new ArrayList<>();
+
+    @Override
+    public synchronized void export(@NonNull final Tracer.Span span) {
+        this.spans.add(span);
+    }
+
+    public synchronized List<Tracer.Span> getFinishedSpans() {
+        return new ArrayList<>(this.spans);
+    }
+
+    public synchronized List<String> getFinishedSpanNames() {
+        return this.spans.stream().map(Tracer.Span::getName).collect(Collectors.toList());
+    }
+
+    public synchronized void reset() {
+        this.spans.clear();
+    }
+}
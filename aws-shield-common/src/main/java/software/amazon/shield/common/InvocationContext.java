@@ -0,0 +1,178 @@
+package software.amazon.shield.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+
+/**
+ * Everything a handler invocation shares across its helpers, created once at the start of handleRequest.
+ * <p>
+ * Holds the proxy client, so it is not rebuilt per call, the logger, the deadline of the invocation, the metrics
+ * sink, the invocation span when traced, the latency of the operation, the call tuning of the handler, a limiter on
+ * concurrent remote calls and a cache for values computed once per invocation. The model and callback context are not
+ * part of it: they change along the chain and are passed with each progress event. Remote calls start from
+ * {@link #remoteCall(String)}, and {@link #finish(ProgressEvent)} closes the invocation.
+ */
+@Getter
+public final class InvocationContext<M, C extends StdCallbackContext> {
+
+    public static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(60);
+
+    private final String resourceType;
+    private final String handlerName;
+    private final AmazonWebServicesClientProxy proxy;
+    private final ProxyClient<ShieldClient> proxyClient;
+    private final Logger logger;
+    /**
+     * {@link LogMetricsSink} of the resource type unless the handler was given one.
+     */
+    private final MetricsSink metrics;
+    /**
+     * pacing of the remote calls; {@link CallTuning#DEFAULT} unless the handler was given one.
+     */
+    private final CallTuning tuning;
+    /**
+     * bounds the remote calls in flight, concurrent step graph branches included.
+     */
+    private final Semaphore limiter;
+    private final Clock clock;
+    private final Instant startedAt;
+    private final Instant deadline;
+    /**
+     * root span of the invocation, parent of the spans of its remote calls; null when not traced.
+     */
+    private final Tracer.Span span;
+    /**
+     * latency of the resource operation across invocations; untracked unless the callback context carries it.
+     */
+    private final OperationLatency operationLatency;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Object> cache = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final List<Consumer<ProgressEvent<M, C>>> finishHooks = new CopyOnWriteArrayList<>();
+
+    @lombok.Builder
+    private InvocationContext(
+        @NonNull final String resourceType,
+        @NonNull final String handlerName,
+        @NonNull final AmazonWebServicesClientProxy proxy,
+        final ShieldClient shieldClient,
+        final ProxyClient<ShieldClient> proxyClient,
+        @NonNull final Logger logger,
+        final MetricsSink metrics,
+        final CallTuning tuning,
+        final Integer maxConcurrentCalls,
+        final Duration timeBudget,
+        final Clock clock,
+        final Tracer tracer,
+        final Tracer.TraceContext traceContext,
+        final OperationLatency.OperationContext operationContext
+    ) {
+        this.resourceType = resourceType;
+        this.handlerName = handlerName;
+        this.proxy = proxy;
+        if (proxyClient == null && shieldClient == null) {
+            throw new IllegalArgumentException("either proxyClient or shieldClient is required");
+        }
+        this.proxyClient = proxyClient != null ? proxyClient : proxy.newProxy(() -> shieldClient);
+        this.logger = logger;
+        this.metrics = metrics == null ? new LogMetricsSink(logger, resourceType) : metrics;
+        this.tuning = tuning == null ? CallTuning.DEFAULT : tuning;
+        this.limiter = new Semaphore(
+            maxConcurrentCalls == null ? this.tuning.getMaxConcurrentCalls() : maxConcurrentCalls
+        );
+        this.clock = clock == null ? Clock.systemUTC() : clock;
+        this.startedAt = this.clock.instant();
+        this.deadline = this.startedAt.plus(timeBudget == null ? DEFAULT_TIME_BUDGET : timeBudget);
+        this.span = tracer == null ? null : tracer.startInvocation(resourceType + ":" + handlerName, traceContext);
+        this.operationLatency = OperationLatency.start(resourceType, handlerName, operationContext, this.clock);
+    }
+
+    /**
+     * Builder of a remote call with everything but the model, callback context and request filled in.
+     */
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+        ShieldAPIChainableRemoteCall.ShieldAPIChainableRemoteCallBuilder<M, C, RequestT, ResponseT> remoteCall(
+        @NonNull final String apiName
+    ) {
+        return ShieldAPIChainableRemoteCall.<M, C, RequestT, ResponseT>builder()
+            .resourceType(this.resourceType)
+            .handlerName(this.handlerName)
+            .apiName(apiName)
+            .proxy(this.proxy)
+            .proxyClient(this.proxyClient)
+            .logger(this.logger)
+            .metrics(this.metrics)
+            .limiter(this.limiter)
+            .tracer(this.span == null ? null : this.span.getTracer())
+            .parentSpan(this.span)
+            .operationLatency(this.operationLatency)
+            .tuning(this.tuning);
+    }
+
+    public Duration remainingTime() {
+        final Duration remaining = Duration.between(this.clock.instant(), this.deadline);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    public boolean isPastDeadline() {
+        return !this.clock.instant().isBefore(this.deadline);
+    }
+
+    /**
+     * Value computed at most once per invocation under {@code key}, e.g. a describe response several steps read.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T cached(@NonNull final String key, @NonNull final Supplier<T> compute) {
+        return (T) this.cache.computeIfAbsent(key, ignored -> compute.get());
+    }
+
+    public void invalidate(@NonNull final String key) {
+        this.cache.remove(key);
+    }
+
+    /**
+     * Registers a hook run by {@link #finish(ProgressEvent)} with the final event of the invocation.
+     */
+    public void onFinish(@NonNull final Consumer<ProgressEvent<M, C>> hook) {
+        this.finishHooks.add(hook);
+    }
+
+    /**
+     * Records the invocation duration, ends the invocation span, runs the finish hooks and hands back
+     * {@code progress}; on the final event of the operation also its latency, see {@link OperationLatency}. Called
+     * once, on the event handleRequest returns.
+     */
+    public ProgressEvent<M, C> finish(@NonNull final ProgressEvent<M, C> progress) {
+        this.metrics.record(
+            this.handlerName + ".Duration",
+            Duration.between(this.startedAt, this.clock.instant()).toMillis(),
+            "Milliseconds"
+        );
+        if (this.span != null) {
+            ShieldAPIChainableRemoteCall.endSpan(this.span, progress);
+        }
+        this.finishHooks.forEach(hook -> hook.accept(progress));
+        return this.operationLatency.finish(progress, this.metrics, this.logger);
+    }
+}
@@ -0,0 +1,143 @@
+package software.amazon.shield.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Entries added, removed and changed going from a current list-valued property to the desired one.
+ * <p>
+ * Entries are matched by key in linear time. Duplicate keys are tolerated: on either side the first entry with a key
+ * wins and later ones are ignored. Added and changed entries keep the order of the desired list, removed entries the
+ * order of the current list.
+ *
+ * @param <D> desired entry type
+ * @param <C> current entry type
+ */
+@Getter
+public final class ListDiff<D, C> {
+
+    /**
+     * desired entries whose key is not current.
+     */
+    private final List<D> added;
+    /**
+     * current entries whose key is not desired.
+     */
+    private final List<C> removed;
+    /**
+     * desired entries whose key is current, but with a different value.
+     */
+    private final List<D> changed;
+
+    private ListDiff(final List<D> added, final List<C> removed, final List<D> changed) {
+        this.added = Collections.unmodifiableList(added);
+        this.removed = Collections.unmodifiableList(removed);
+        this.changed = Collections.unmodifiableList(changed);
+    }
+
+    /**
+     * Diff of two lists of plain values, such as ARNs, compared by equality. Nothing is ever changed.
+     */
+    public static <T> ListDiff<T, T> of(
+        @Nullable final Collection<? extends T> desired,
+        @Nullable final Collection<? extends T> current
+    ) {
+        return ListDiff.<T, T, T>of(desired, Function.identity(), current, Function.identity(), (d, c) -> true);
+    }
+
+    /**
+     * Diff of two lists of keyed entries, such as tags, which may be of different types.
+     *
+     * @param unchanged tells whether a desired entry has the same value as the current entry with its key.
+     */
+    public static <D, C, K> ListDiff<D, C> of(
+        @Nullable final Collection<? extends D> desired,
+        @NonNull final Function<? super D, ? extends K> desiredKey,
+        @Nullable final Collection<? extends C> current,
+        @NonNull final Function<? super C, ? extends K> currentKey,
+        @NonNull final BiPredicate<? super D, ? super C> unchanged
+    ) {
+        final Map<K, C> currentByKey = new LinkedHashMap<>();
+        if (current != null) {
+            for (C entry : current) {
+                currentByKey.putIfAbsent(currentKey.apply(entry), entry);
+            }
+        }
+
+        final List<D> added = new ArrayList<>();
+        final List<D> changed = new ArrayList<>();
+        final Set<K> desiredKeys = new HashSet<>();
+        if (desired != null) {
+            for (D entry : desired) {
+                final K key = desiredKey.apply(entry);
+                if (!desiredKeys.add(key)) {
+                    continue;
+                }
+                final C currentEntry = currentByKey.get(key);
+                if (currentEntry == null) {
+                    added.add(entry);
+                } else if (!unchanged.test(entry, currentEntry)) {
+                    changed.add(entry);
+                }
+            }
+        }
+
+        final List<C> removed = new ArrayList<>();
+        currentByKey.forEach((key, entry) -> {
+            if (!desiredKeys.contains(key)) {
+                removed.add(entry);
+            }
+        });
+        return new ListDiff<>(added, removed, changed);
+    }
+
+    /**
+     * Diff of two lists that are already sorted by {@code order} and free of duplicates, in a single merge walk
+     * without hashing. Nothing is ever changed.
+     */
+    public static <T> ListDiff<T, T> ofSorted(
+        @NonNull final List<? extends T> desired,
+        @NonNull final List<? extends T> current,
+        @NonNull final Comparator<? super T> order
+    ) {
+        final List<T> added = new ArrayList<>();
+        final List<T> removed = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < desired.size() && j < current.size()) {
+            final int cmp = order.compare(desired.get(i), current.get(j));
+            if (cmp == 0) {
+                i++;
+                j++;
+            } else if (cmp < 0) {
+                added.add(desired.get(i++));
+            } else {
+                removed.add(current.get(j++));
+            }
+        }
+        while (i < desired.size()) {
+            added.add(desired.get(i++));
+        }
+        while (j < current.size()) {
+            removed.add(current.get(j++));
+        }
+        return new ListDiff<>(added, removed, new ArrayList<>());
+    }
+
+    public boolean isEmpty() {
+        return this.added.isEmpty() && this.removed.isEmpty() && this.changed.isEmpty();
+    }
+}
@@ -0,0 +1,55 @@
+package software.amazon.shield.common;
+
+import java.time.Clock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Writes each metric as one line of the handler log in the CloudWatch embedded metric format, which Lambda ships to
+ * CloudWatch Logs where the line is extracted into a metric of {@link #NAMESPACE} with the resource type as its
+ * dimension.
+ */
+@RequiredArgsConstructor
+public class LogMetricsSink implements MetricsSink {
+
+    public static final String NAMESPACE = "Shield/ResourceProviders";
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final @NonNull Logger logger;
+    private final @NonNull String resourceType;
+    private final @NonNull Clock clock;
+
+    public LogMetricsSink(final Logger logger, final String resourceType) {
+        this(logger, resourceType, Clock.systemUTC());
+    }
+
+    @Override
+    public void record(@NonNull final String name, final double value, @NonNull final String unit) {
+        final ObjectNode metric = NODES.objectNode()
+            .put("Name", name)
+            .put("Unit", unit);
+        final ObjectNode directive = NODES.objectNode()
+            .put("Namespace", NAMESPACE);
+        directive.putArray("Dimensions").addArray().add("ResourceType");
+        directive.putArray("Metrics").add(metric);
+        final ObjectNode line = NODES.objectNode();
+        line.putObject("_aws")
+            .put("Timestamp", this.clock.millis())
+            .putArray("CloudWatchMetrics")
+            .add(directive);
+        line.put("ResourceType", this.resourceType)
+            .put(name, value);
+        try {
+            this.logger.log(SdkJson.MAPPER.writeValueAsString(line));
+        } catch (JsonProcessingException e) {
+            // a tree of plain nodes always serializes; losing a metric must not fail the handler.
+            this.logger.log(String.format("[WARN] Failed writing metric %s: %s", name, e));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package software.amazon.shield.common;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Writes each ended span as one {@code [TRACE]} line of the handler log, which Lambda ships to CloudWatch Logs where
+ * the lines of one trace can be queried by trace ID.
+ * <p>
+ * Off unless {@link Features#isTraceLog()} is switched on: a line per span and SDK attempt is too much for every
+ * invocation.
+ */
+@RequiredArgsConstructor
+public class LogSpanExporter implements SpanExporter {
+
+    private final @NonNull Logger logger;
+
+    /**
+     * an exporter writing to {@code logger} when {@code features} switch the trace log on, {@link SpanExporter#NO_OP}
+     * otherwise.
+     */
+    public static SpanExporter of(@NonNull final Logger logger, @NonNull final Features features) {
+        return features.isTraceLog() ? new LogSpanExporter(logger) : SpanExporter.NO_OP;
+    }
+
+    @Override
+    public void export(@NonNull final Tracer.Span span) {
+        this.logger.log(String.format(
+            "[TRACE] traceId=%s spanId=%s parentSpanId=%s name=%s startedAt=%s durationMs=%d status=%s%s",
+            span.getTraceId(),
+            span.getSpanId(),
+            span.getParentSpanId(),
+            span.getName(),
+            span.getStartedAt(),
+            span.getDuration().toMillis(),
+            span.getStatus(),
+            format(span.getAttributes())
+        ));
+    }
+
+    private static String format(final Map<String, String> attributes) {
+        return attributes.entrySet()
+            .stream()
+            .map(e -> String.format(" %s=%s", e.getKey(), e.getValue()))
+            .collect(Collectors.joining());
+    }
+}
@@ -0,0 +1,16 @@
+package software.amazon.shield.common;
+
+/**
+ * Receives the metrics a handler invocation records, such as the latency of each remote call.
+ */
+@FunctionalInterface
+public interface MetricsSink {
+
+    MetricsSink NO_OP = (name, value, unit) -> {
+    };
+
+    /**
+     * @param unit CloudWatch unit name, e.g. {@code Milliseconds} or {@code Count}.
+     */
+    void record(String name, double value, String unit);
+}
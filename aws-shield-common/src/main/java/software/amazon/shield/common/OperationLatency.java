@@ -0,0 +1,143 @@
+package software.amazon.shield.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Latency of a resource operation from its first invocation to its final event, across the re-invocations
+ * CloudFormation makes after throttling backoffs and stabilization callbacks.
+ * <p>
+ * The first invocation stamps the start of the operation into the callback context through {@link OperationContext};
+ * every invocation counts itself and adds the time it backed off: the jitter slept before remote calls and the
+ * callback delay it asked for. The final SUCCESS or FAILED event records one {@code <handler>.OperationLatency} metric
+ * and logs the breakdown. Callback contexts not implementing {@link OperationContext} are not tracked.
+ */
+public final class OperationLatency {
+
+    /**
+     * callback context carrying the operation timing across re-invocations.
+     */
+    public interface OperationContext {
+        /**
+         * epoch millis of the first invocation.
+         */
+        Long getOperationStartedAt();
+
+        void setOperationStartedAt(Long operationStartedAt);
+
+        Integer getInvocationCount();
+
+        void setInvocationCount(Integer invocationCount);
+
+        Long getBackoffMillis();
+
+        void setBackoffMillis(Long backoffMillis);
+    }
+
+    private final String resourceType;
+    private final String handlerName;
+    @Nullable
+    private final OperationContext context;
+    private final Clock clock;
+    private final AtomicLong backoffMillis = new AtomicLong();
+
+    private OperationLatency(
+        final String resourceType,
+        final String handlerName,
+        @Nullable final OperationContext context,
+        final Clock clock
+    ) {
+        this.resourceType = resourceType;
+        this.handlerName = handlerName;
+        this.context = context;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts tracking an invocation: stamps the start of the operation on its first invocation and counts this one.
+     */
+    public static OperationLatency start(
+        @NonNull final String resourceType,
+        @NonNull final String handlerName,
+        @Nullable final Object callbackContext,
+        @NonNull final Clock clock
+    ) {
+        final OperationContext context = callbackContext instanceof OperationContext
+            ? (OperationContext) callbackContext
+            : null;
+        if (context != null) {
+            if (context.getOperationStartedAt() == null) {
+                context.setOperationStartedAt(clock.millis());
+            }
+            context.setInvocationCount(orZero(context.getInvocationCount()) + 1);
+        }
+        return new OperationLatency(resourceType, handlerName, context, clock);
+    }
+
+    /**
+     * time the invocation slept instead of calling Shield, safe to call from concurrent branches.
+     */
+    public void addBackoff(@NonNull final Duration backoff) {
+        this.backoffMillis.addAndGet(backoff.toMillis());
+    }
+
+    /**
+     * Adds the backoff of this invocation to the operation and hands back {@code progress}. On the final event, records
+     * the operation latency and logs its breakdown. Called once, on the event handleRequest returns.
+     */
+    public <M, C> ProgressEvent<M, C> finish(
+        @NonNull final ProgressEvent<M, C> progress,
+        @NonNull final MetricsSink metrics,
+        @NonNull final Logger logger
+    ) {
+        if (this.context == null) {
+            return progress;
+        }
+        long backoff = orZero(this.context.getBackoffMillis()) + this.backoffMillis.getAndSet(0);
+        if (progress.isInProgress()) {
+            backoff += TimeUnit.SECONDS.toMillis(progress.getCallbackDelaySeconds());
+        }
+        this.context.setBackoffMillis(backoff);
+
+        if (progress.isInProgress()) {
+            // the next invocation is handed the context of the event, carry the timing over if it is another one.
+            final C nextContext = progress.getCallbackContext();
+            if (nextContext instanceof OperationContext && nextContext != this.context) {
+                final OperationContext next = (OperationContext) nextContext;
+                next.setOperationStartedAt(this.context.getOperationStartedAt());
+                next.setInvocationCount(this.context.getInvocationCount());
+                next.setBackoffMillis(backoff);
+            }
+            return progress;
+        }
+
+        final long latency = this.clock.millis() - this.context.getOperationStartedAt();
+        metrics.record(this.handlerName + ".OperationLatency", latency, "Milliseconds");
+        logger.log(String.format(
+            "[OPERATION] %s:%s status=%s latencyMs=%d activeMs=%d backoffMs=%d invocations=%d",
+            this.resourceType,
+            this.handlerName,
+            progress.getStatus(),
+            latency,
+            Math.max(0, latency - backoff),
+            backoff,
+            this.context.getInvocationCount()
+        ));
+        return progress;
+    }
+
+    private static int orZero(@Nullable final Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static long orZero(@Nullable final Long value) {
+        return value == null ? 0 : value;
+    }
+}
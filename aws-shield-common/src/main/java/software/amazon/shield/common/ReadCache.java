@@ -0,0 +1,227 @@
+package software.amazon.shield.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+
+/**
+ * Responses of read calls, kept for a few seconds so back-to-back reads of the same resource, e.g. during drift
+ * detection, stop hitting Shield.
+ * <p>
+ * Entries are keyed by the account, the API name and every member of the request, and remember the identifiers (IDs
+ * and ARNs) found in the request and the response. IDs are not unique across accounts, so a handler reads through
+ * the view {@link #forAccount(String)} of the account it was invoked for; views share the entries of their cache.
+ * The least recently used entry is evicted beyond {@code maxEntries}. The shared instance drops every entry sharing an
+ * identifier with a mutating call made with {@link CallTuning#DEFAULT}, so a resource changed in this JVM is read
+ * fresh; changes made elsewhere are bounded by the TTL.
+ * <p>
+ * Calls opt in through {@link ShieldAPIChainableRemoteCall#readCache}, and handlers hand them the shared instance
+ * only when {@link Features#isReadCache()} is switched on.
+ */
+public class ReadCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 512;
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(5);
+
+    private static final String[] IDENTIFIER_SUFFIXES = {"Id", "Ids", "Arn", "Arns", "ARN"};
+    private static final int MAX_DEPTH = 4;
+
+    private static final ReadCache SHARED = new ReadCache(DEFAULT_MAX_ENTRIES, DEFAULT_TTL, Clock.systemUTC());
+
+    private final Map<String, Entry> entries;
+    private final Duration ttl;
+    private final Clock clock;
+    @Nullable
+    private final String accountId;
+
+    public ReadCache(final int maxEntries, @NonNull final Duration ttl, @NonNull final Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.ttl = ttl;
+        this.clock = clock;
+        this.accountId = null;
+    }
+
+    private ReadCache(final ReadCache cache, @Nullable final String accountId) {
+        this.entries = cache.entries;
+        this.ttl = cache.ttl;
+        this.clock = cache.clock;
+        this.accountId = accountId;
+    }
+
+    public static ReadCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * the shared cache when {@code features} switch it on, null otherwise.
+     */
+    @Nullable
+    public static ReadCache shared(@NonNull final Features features) {
+        return features.isReadCache() ? SHARED : null;
+    }
+
+    /**
+     * the cache seen by the handlers of one account, sharing the entries and their invalidation with this one.
+     */
+    public ReadCache forAccount(@Nullable final String accountId) {
+        return new ReadCache(this, accountId);
+    }
+
+    @Nullable
+    public String getAccountId() {
+        return this.accountId;
+    }
+
+    public static String key(
+        @Nullable final String accountId,
+        @NonNull final String apiName,
+        @NonNull final AwsRequest request
+    ) {
+        return accountId + ":" + apiName + ":" + SdkJson.write(request, UnaryOperator.identity());
+    }
+
+    /**
+     * key of a call made through this cache, see {@link #forAccount(String)}.
+     */
+    public String key(@NonNull final String apiName, @NonNull final AwsRequest request) {
+        return key(this.accountId, apiName, request);
+    }
+
+    public Optional<AwsResponse> get(@NonNull final String key) {
+        synchronized (this.entries) {
+            final Entry entry = this.entries.get(key);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (!this.clock.instant().isBefore(entry.expiresAt)) {
+                this.entries.remove(key);
+                return Optional.empty();
+            }
+            return Optional.of(entry.response);
+        }
+    }
+
+    public void put(@NonNull final String key, @NonNull final AwsRequest request, @NonNull final AwsResponse response) {
+        final Set<String> aliases = identifiers(request);
+        aliases.addAll(identifiers(response));
+        final Entry entry = new Entry(response, aliases, this.clock.instant().plus(this.ttl));
+        synchronized (this.entries) {
+            this.entries.put(key, entry);
+        }
+    }
+
+    /**
+     * drops every entry whose request or response carries the identifier.
+     */
+    public void invalidate(@NonNull final String identifier) {
+        synchronized (this.entries) {
+            this.entries.values().removeIf(entry -> entry.aliases.contains(identifier));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    public void onMutation(final String resourceType, final String apiName, final AwsRequest request) {
+        final Set<String> mutated = identifiers(request);
+        if (mutated.isEmpty()) {
+            return;
+        }
+        synchronized (this.entries) {
+            this.entries.values().removeIf(entry -> mutated.stream().anyMatch(entry.aliases::contains));
+        }
+    }
+
+    /**
+     * string values of the ID and ARN members of an SDK object, nested objects included.
+     */
+    public static Set<String> identifiers(final SdkPojo pojo) {
+        final Set<String> identifiers = new TreeSet<>();
+        collectIdentifiers(pojo, identifiers, 0);
+        return identifiers;
+    }
+
+    private static void collectIdentifiers(final SdkPojo pojo, final Set<String> identifiers, final int depth) {
+        if (depth > MAX_DEPTH) {
+            return;
+        }
+        for (final SdkField<?> field : pojo.sdkFields()) {
+            final Object value = field.getValueOrDefault(pojo);
+            final boolean identifier = isIdentifier(field.memberName());
+            if (value instanceof Collection) {
+                for (final Object element : (Collection<?>) value) {
+                    collectIdentifier(element, identifier, identifiers, depth);
+                }
+            } else {
+                collectIdentifier(value, identifier, identifiers, depth);
+            }
+        }
+    }
+
+    private static void collectIdentifier(
+        final Object value,
+        final boolean identifier,
+        final Set<String> identifiers,
+        final int depth
+    ) {
+        if (value instanceof SdkPojo) {
+            collectIdentifiers((SdkPojo) value, identifiers, depth + 1);
+        } else if (identifier && value instanceof String) {
+            identifiers.add((String) value);
+        }
+    }
+
+    private static boolean isIdentifier(final String memberName) {
+        for (final String suffix : IDENTIFIER_SUFFIXES) {
+            if (memberName.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Entry {
+        private final AwsResponse response;
+        private final Set<String> aliases;
+        private final Instant expiresAt;
+
+        private Entry(final AwsResponse response, final Set<String> aliases, final Instant expiresAt) {
+            this.response = response;
+            this.aliases = aliases;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package software.amazon.shield.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+
+/**
+ * Counts the retries of each call in the callback context, so a call failing with a retriable error is retried
+ * across re-invocations only a bounded number of times, see {@link CallTuning#getMaxRetries()}.
+ * <p>
+ * Throttled calls are backed off without a budget since the Shield API rate limits are low and long waits are
+ * expected. Transient and conflict errors are backed off while the budget lasts and fail the handler afterwards.
+ * Contexts that do not implement {@link RetryContext} have no budget, i.e. such errors fail right away.
+ */
+public class RetryBudget {
+
+    public interface RetryContext {
+        Map<String, Integer> getRetryAttempts();
+
+        void setRetryAttempts(Map<String, Integer> retryAttempts);
+    }
+
+    /**
+     * Takes one retry of {@code key} from the budget.
+     *
+     * @return the retries of {@code key} taken before this one, or -1 when the budget is spent.
+     */
+    public static int acquire(@Nullable final Object context, @NonNull final String key, final int maxRetries) {
+        if (!(context instanceof RetryContext)) {
+            return -1;
+        }
+        final RetryContext retryContext = (RetryContext) context;
+        if (retryContext.getRetryAttempts() == null) {
+            retryContext.setRetryAttempts(new HashMap<>());
+        }
+        final int attempts = retryContext.getRetryAttempts().getOrDefault(key, 0);
+        if (attempts >= maxRetries) {
+            return -1;
+        }
+        retryContext.getRetryAttempts().put(key, attempts + 1);
+        return attempts;
+    }
+
+    /**
+     * Copies the retries of a parent context into a forked one, so a concurrent branch draws from the same budget.
+     */
+    public static void fork(@Nullable final Object parent, @Nullable final Object branch) {
+        if (parent instanceof RetryContext && branch instanceof RetryContext) {
+            final Map<String, Integer> retryAttempts = ((RetryContext) parent).getRetryAttempts();
+            ((RetryContext) branch).setRetryAttempts(
+                retryAttempts == null ? new HashMap<>() : new HashMap<>(retryAttempts));
+        }
+    }
+
+    /**
+     * Merges the retries a concurrent branch took back into the parent context, keeping the larger count per key.
+     */
+    public static void join(@Nullable final Object parent, @Nullable final Object branch) {
+        if (parent instanceof RetryContext && branch instanceof RetryContext) {
+            final Map<String, Integer> retryAttempts = ((RetryContext) branch).getRetryAttempts();
+            if (retryAttempts == null) {
+                return;
+            }
+            final RetryContext parentContext = (RetryContext) parent;
+            if (parentContext.getRetryAttempts() == null) {
+                parentContext.setRetryAttempts(new HashMap<>());
+            }
+            retryAttempts.forEach((key, attempts) -> parentContext.getRetryAttempts().merge(key, attempts, Math::max));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package software.amazon.shield.common;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.NonNull;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.core.util.SdkAutoConstructList;
+import software.amazon.awssdk.core.util.SdkAutoConstructMap;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * JSON of SDK requests, responses and their members, written and read through their {@link SdkField}s, keyed by
+ * member name.
+ * <p>
+ * Members never set are left out, including lists and maps the SDK auto-constructs, so a read object answers
+ * {@code hasX()} like the written one. Instants are ISO-8601 strings.
+ */
+final class SdkJson {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private SdkJson() {
+    }
+
+    /**
+     * JSON of {@code pojo}, with {@code strings} applied to every string member, e.g. to anonymize it.
+     */
+    static ObjectNode write(@NonNull final SdkPojo pojo, @NonNull final UnaryOperator<String> strings) {
+        final ObjectNode json = NODES.objectNode();
+        for (final SdkField<?> field : pojo.sdkFields()) {
+            final JsonNode value = writeValue(field.getValueOrDefault(pojo), strings);
+            if (value != null) {
+                json.set(field.memberName(), value);
+            }
+        }
+        return json;
+    }
+
+    /**
+     * sets the members of {@code json} on the SDK builder {@code builder} and builds it.
+     */
+    static Object read(@NonNull final JsonNode json, @NonNull final SdkPojo builder) {
+        for (final SdkField<?> field : builder.sdkFields()) {
+            final JsonNode value = json.get(field.memberName());
+            if (value != null && !value.isNull()) {
+                field.set(builder, readValue(field, value));
+            }
+        }
+        return ((SdkBuilder<?, ?>) builder).build();
+    }
+
+    @Nullable
+    private static JsonNode writeValue(@Nullable final Object value, final UnaryOperator<String> strings) {
+        if (value == null || value instanceof SdkAutoConstructList || value instanceof SdkAutoConstructMap) {
+            return null;
+        }
+        if (value instanceof SdkPojo) {
+            return write((SdkPojo) value, strings);
+        }
+        if (value instanceof Collection) {
+            final ArrayNode array = NODES.arrayNode();
+            for (final Object element : (Collection<?>) value) {
+                array.add(writeValue(element, strings));
+            }
+            return array;
+        }
+        if (value instanceof Map) {
+            final ObjectNode map = NODES.objectNode();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.set(String.valueOf(entry.getKey()), writeValue(entry.getValue(), strings));
+            }
+            return map;
+        }
+        if (value instanceof String) {
+            return NODES.textNode(strings.apply((String) value));
+        }
+        if (value instanceof Instant) {
+            return NODES.textNode(value.toString());
+        }
+        if (value instanceof Boolean) {
+            return NODES.booleanNode((Boolean) value);
+        }
+        if (value instanceof Integer) {
+            return NODES.numberNode((Integer) value);
+        }
+        if (value instanceof Long) {
+            return NODES.numberNode((Long) value);
+        }
+        if (value instanceof Double) {
+            return NODES.numberNode((Double) value);
+        }
+        if (value instanceof Float) {
+            return NODES.numberNode((Float) value);
+        }
+        throw new IllegalArgumentException("Unsupported SDK member type " + value.getClass().getName());
+    }
+
+    private static Object readValue(final SdkField<?> field, final JsonNode value) {
+        final MarshallingType<?> type = field.marshallingType();
+        if (type == MarshallingType.SDK_POJO) {
+            return read(value, field.constructor().get());
+        }
+        if (type == MarshallingType.LIST) {
+            final SdkField<?> member = field.getTrait(ListTrait.class).memberFieldInfo();
+            final List<Object> list = new ArrayList<>();
+            value.forEach(element -> list.add(element.isNull() ? null : readValue(member, element)));
+            return list;
+        }
+        if (type == MarshallingType.MAP) {
+            final SdkField<?> member = field.getTrait(MapTrait.class).valueFieldInfo();
+            final Map<String, Object> map = new LinkedHashMap<>();
+            final Iterator<Map.Entry<String, JsonNode>> entries = value.fields();
+            while (entries.hasNext()) {
+                final Map.Entry<String, JsonNode> entry = entries.next();
+                map.put(entry.getKey(), entry.getValue().isNull() ? null : readValue(member, entry.getValue()));
+            }
+            return map;
+        }
+        if (type == MarshallingType.STRING) {
+            return value.asText();
+        }
+        if (type == MarshallingType.INSTANT) {
+            return Instant.parse(value.asText());
+        }
+        if (type == MarshallingType.BOOLEAN) {
+            return value.booleanValue();
+        }
+        if (type == MarshallingType.INTEGER) {
+            return value.intValue();
+        }
+        if (type == MarshallingType.LONG) {
+            return value.longValue();
+        }
+        if (type == MarshallingType.DOUBLE) {
+            return value.doubleValue();
+        }
+        if (type == MarshallingType.FLOAT) {
+            return value.floatValue();
+        }
+        throw new IllegalArgumentException(String.format(
+            "Unsupported SDK member %s of type %s",
+            field.memberName(),
+            type
+        ));
+    }
+}
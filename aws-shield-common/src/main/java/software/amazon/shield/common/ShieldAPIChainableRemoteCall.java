@@ -1,6 +1,8 @@
 package software.amazon.shield.common;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import javax.annotation.Nullable;
@@ -27,10 +29,6 @@ public class ShieldAPIChainableRemoteCall<
     ResponseT extends AwsResponse
     > {
 
-    private static final String RATE_EXCEEDED_MSG = "rate exceeded";
-    private static final int RATE_EXCEEDED_DELAY_SEC = 5;
-    public static int JITTER_SECONDS = 2;
-
     public @NonNull
     final String resourceType;
     public @NonNull
@@ -55,7 +53,8 @@ public class ShieldAPIChainableRemoteCall<
     final Function<ShieldClient, Function<RequestT, ResponseT>> getRequestFunction;
 
     /**
-     * return ERROR with Throttling error code instead of IN_PROGRESS on rate exceeded.
+     * return ERROR with Throttling error code instead of IN_PROGRESS on rate exceeded, and fail transient and conflict
+     * errors without retrying them.
      */
     public final boolean rateExceededIsCritical;
 
@@ -68,10 +67,69 @@ public class ShieldAPIChainableRemoteCall<
     public @Nullable
     final Stabilizer<ShieldClient, ResourceModelT, CallbackContextT, Boolean> stabilize;
 
+    /**
+     * not run when the call is skipped by its {@link #checkpoint}, so it must be idempotent and keep no state of its
+     * own: whatever later steps need from the response must be written to the model or the callback context, which
+     * are carried over to the re-invoked handler.
+     */
     public @Nullable
     final Callback<RequestT, ResponseT, ShieldClient, ResourceModelT, CallbackContextT, ProgressEvent<ResourceModelT,
         CallbackContextT>> onSuccess;
 
+    /**
+     * step ID recorded in the callback context once the call (and its stabilizer) completed.
+     * a re-invoked handler skips the call, including onSuccess and stabilize, and continues with the model and
+     * callback context of the last IN_PROGRESS event.
+     * see {@link Checkpoints}
+     */
+    public @Nullable
+    final String checkpoint;
+
+    /**
+     * receives the latency of the service call, see {@link InvocationContext#remoteCall(String)}.
+     */
+    public @Nullable
+    final MetricsSink metrics;
+
+    /**
+     * held for the duration of the service call, bounding the calls in flight of an invocation.
+     */
+    public @Nullable
+    final Semaphore limiter;
+
+    /**
+     * serves a read from, and records its response in, the cache; reads always reach Shield when null.
+     * see {@link ReadCache#forAccount(String)}
+     */
+    public @Nullable
+    final ReadCache readCache;
+
+    /**
+     * traces the call, its stabilizer and the SDK attempts as children of {@link #parentSpan}. Both default to the
+     * {@link Tracer#current()} span of the thread, see {@link Tracer#trace}; untraced without either.
+     */
+    public @Nullable
+    final Tracer tracer;
+    public @Nullable
+    final Tracer.Span parentSpan;
+    /**
+     * latency of the operation the call is part of, the jitter slept before the call counts as its backoff.
+     */
+    public @Nullable
+    final OperationLatency operationLatency;
+    /**
+     * jitter and rate exceeded backoff of the call; {@link CallTuning#DEFAULT} when null.
+     */
+    public @Nullable
+    final CallTuning tuning;
+    /**
+     * appended to the call graph to tell apart calls of one API made on the same callback context, e.g. the chunks of
+     * a batched call. The context memoizes the request and response of a call graph, so without it the later calls
+     * would replay the first one.
+     */
+    public @Nullable
+    final String callGraphSuffix;
+
     @FunctionalInterface
     public interface Stabilizer<ClientT, ModelT, CallbackT extends StdCallbackContext, ReturnT> {
         ReturnT invoke(
@@ -81,25 +139,114 @@ public class ShieldAPIChainableRemoteCall<
         );
     }
 
+    /**
+     * notified after every successful call that is not a read, see {@link CallTuning#getMutationListeners()}.
+     */
+    @FunctionalInterface
+    public interface MutationListener {
+        void onMutation(String resourceType, String apiName, AwsRequest request);
+    }
+
+    /**
+     * Shield reads are named describe*, list* or get*, everything else mutates.
+     */
+    public static boolean isMutation(@NonNull final String apiName) {
+        return !(apiName.startsWith("describe") || apiName.startsWith("list") || apiName.startsWith("get"));
+    }
+
+    /**
+     * a transient failure may have left the call applied, so a mutation is only repeated when it is guarded by a
+     * {@link #checkpoint}, i.e. its handler is written to be re-invoked around it.
+     */
+    private boolean isSafeToRetry(final ErrorClassifier.Category category) {
+        return category != ErrorClassifier.Category.TRANSIENT || !isMutation(this.apiName) || this.checkpoint != null;
+    }
+
+    private CallTuning tuning() {
+        return this.tuning != null ? this.tuning : CallTuning.DEFAULT;
+    }
+
     private String getCallGraph() {
-        return String.format("%s:%s:%s", this.resourceType, this.handlerName, this.apiName);
+        final String callGraph = String.format("%s:%s:%s", this.resourceType, this.handlerName, this.apiName);
+        return this.callGraphSuffix == null ? callGraph : callGraph + ":" + this.callGraphSuffix;
     }
 
-    private ResponseT makeServiceCall(RequestT request, ProxyClient<ShieldClient> proxyClient) {
+    @SuppressWarnings("unchecked")
+    private ResponseT makeServiceCall(
+        final RequestT request,
+        final ProxyClient<ShieldClient> proxyClient,
+        @Nullable final Tracer.Span span
+    ) {
+        final String cacheKey = this.readCache != null && !isMutation(this.apiName)
+            ? this.readCache.key(this.apiName, request)
+            : null;
+        if (cacheKey != null) {
+            final Optional<AwsResponse> cached = this.readCache.get(cacheKey);
+            if (cached.isPresent()) {
+                logger.log(String.format("[INFO] Cache hit Requesting %s", this.getCallGraph()));
+                if (span != null) {
+                    span.setAttribute("cacheHit", true);
+                }
+                return (ResponseT) cached.get();
+            }
+        }
+
         // self throttling, to remedy low Shield API rate limits.
-        if (JITTER_SECONDS > 0) {
+        final Duration jitter = tuning().nextJitter();
+        if (!jitter.isZero()) {
+            if (span != null) {
+                span.setAttribute("jitterMs", jitter.toMillis());
+            }
+            if (this.operationLatency != null) {
+                this.operationLatency.addBackoff(jitter);
+            }
             try {
-                TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextInt(JITTER_SECONDS * 1000));
+                TimeUnit.MILLISECONDS.sleep(jitter.toMillis());
             } catch (InterruptedException ignored) {
 
             }
         }
 
-        return proxy.injectCredentialsAndInvokeV2(request, getRequestFunction.apply(proxyClient.client()));
+        if (this.limiter != null) {
+            this.limiter.acquireUninterruptibly();
+        }
+        final long startedAt = System.nanoTime();
+        final Tracer.Scope scope = span != null ? span.activate() : null;
+        try {
+            final ResponseT response = proxy.injectCredentialsAndInvokeV2(
+                request,
+                getRequestFunction.apply(proxyClient.client())
+            );
+            if (cacheKey != null) {
+                this.readCache.put(cacheKey, request, response);
+            }
+            if (isMutation(this.apiName)) {
+                tuning().getMutationListeners()
+                    .forEach(listener -> listener.onMutation(this.resourceType, this.apiName, request));
+            }
+            return response;
+        } finally {
+            if (scope != null) {
+                scope.close();
+            }
+            if (this.limiter != null) {
+                this.limiter.release();
+            }
+            if (this.metrics != null) {
+                this.metrics.record(
+                    this.apiName + ".Latency",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt),
+                    "Milliseconds"
+                );
+            }
+        }
     }
 
-    private Boolean isRateExceededException(Exception e) {
-        return e instanceof ShieldException && e.getMessage().toLowerCase().contains(RATE_EXCEEDED_MSG);
+    /**
+     * see {@link ErrorClassifier.Category#THROTTLE}.
+     */
+    public static boolean isRateExceededException(Exception e) {
+        return ErrorClassifier.classify(e) == ErrorClassifier.Category.THROTTLE;
     }
 
     private ProgressEvent<ResourceModelT, CallbackContextT> handleError(
@@ -110,7 +257,11 @@ public class ShieldAPIChainableRemoteCall<
         CallbackContextT context
     ) {
         final String callGraph = this.getCallGraph();
-        if (isRateExceededException(e)) {
+        final ErrorClassifier.Category category = ErrorClassifier.classify(e);
+        if (this.metrics != null) {
+            this.metrics.record(this.apiName + "." + category.getMetricName(), 1, "Count");
+        }
+        if (category == ErrorClassifier.Category.THROTTLE) {
             logger.log(String.format("[WARN] Rate exceeded Requesting %s: %s", callGraph, e.toString()));
             // In theory returning throttling would be most ideal
             // however, CFN only retry errors to a certain extent
@@ -130,48 +281,87 @@ public class ShieldAPIChainableRemoteCall<
                     HandlerErrorCode.Throttling,
                     e.getMessage()
                 );
-                progress.setCallbackDelaySeconds(RATE_EXCEEDED_DELAY_SEC);
+                progress.setCallbackDelaySeconds(tuning().getRateExceededDelaySeconds());
             } else {
                 progress = ProgressEvent.defaultInProgressHandler(
                     context,
-                    RATE_EXCEEDED_DELAY_SEC,
+                    tuning().getRateExceededDelaySeconds(),
                     model
                 );
                 progress.setMessage(e.getMessage());
             }
             return progress;
         }
-        logger.log(String.format("[Error] Failed Requesting %s: %s", callGraph, e.toString()));
+        // a failed first event of CreateHandler carries no primary identifier, see above; CFN retries it instead.
+        if (category.isRetriable() && !this.rateExceededIsCritical && isSafeToRetry(category)) {
+            final int retries = RetryBudget.acquire(context, callGraph, tuning().getMaxRetries());
+            if (retries >= 0) {
+                final int delaySeconds = tuning().getRetryDelaySeconds() << Math.min(retries, 10);
+                logger.log(String.format(
+                    "[WARN] %s Requesting %s, retry %d in %d seconds: %s",
+                    category,
+                    callGraph,
+                    retries + 1,
+                    delaySeconds,
+                    e.toString()
+                ));
+                final ProgressEvent<ResourceModelT, CallbackContextT> progress =
+                    ProgressEvent.defaultInProgressHandler(context, delaySeconds, model);
+                progress.setMessage(e.getMessage());
+                return progress;
+            }
+        }
+        logger.log(String.format("[Error] Failed Requesting %s (%s): %s", callGraph, category, e.toString()));
         return ProgressEvent.failed(
             model,
             context,
-            ExceptionConverter.convertToErrorCode((RuntimeException) e),
+            ErrorClassifier.toErrorCode(e),
             e.getMessage()
         );
     }
 
     private Boolean onStabilize(
-        final RequestT request,
-        final ResponseT response,
         final ProxyClient<ShieldClient> proxyClient,
         final ResourceModelT resourceModel,
-        final CallbackContextT callbackContext
+        final CallbackContextT callbackContext,
+        @Nullable final Tracer.Span span
     ) {
         final String callGraph = this.getCallGraph();
         logger.log(String.format("[INFO] Stabilizing Requesting %s", callGraph));
         if (this.stabilize != null) {
+            final Tracer.Span stabilizeSpan = span != null
+                ? span.getTracer().startSpan(callGraph + ":stabilize", span)
+                : null;
+            final Tracer.Scope scope = stabilizeSpan != null ? stabilizeSpan.activate() : null;
             try {
-                return this.stabilize.invoke(
+                final Boolean stabilized = this.stabilize.invoke(
                     proxyClient,
                     resourceModel,
                     callbackContext
                 );
+                if (stabilizeSpan != null) {
+                    stabilizeSpan.setAttribute("stabilized", stabilized);
+                }
+                return stabilized;
             } catch (ShieldException e) {
-                if (this.isRateExceededException(e)) {
+                if (isRateExceededException(e)) {
                     logger.log(String.format("[WARN] Rate exceeded Stabilizing %s: %s", callGraph, e));
+                    if (stabilizeSpan != null) {
+                        stabilizeSpan.setAttribute("rateExceeded", true);
+                    }
                     return false;
                 }
+                if (stabilizeSpan != null) {
+                    stabilizeSpan.setError(e.getClass().getSimpleName());
+                }
                 throw e;
+            } finally {
+                if (scope != null) {
+                    scope.close();
+                }
+                if (stabilizeSpan != null) {
+                    stabilizeSpan.end();
+                }
             }
         }
         return true;
@@ -203,7 +393,33 @@ public class ShieldAPIChainableRemoteCall<
 
     public ProgressEvent<ResourceModelT, CallbackContextT> initiate() {
         final String callGraph = this.getCallGraph();
+        if (this.checkpoint != null && Checkpoints.isCompleted(context, this.checkpoint)) {
+            logger.log(String.format("[INFO] Skip Requesting %s: checkpoint %s completed", callGraph, this.checkpoint));
+            return ProgressEvent.defaultInProgressHandler(context, 0, model);
+        }
         logger.log(String.format("[INFO] Start Requesting %s", callGraph));
+        final Tracer.Span parent = this.parentSpan != null ? this.parentSpan : Tracer.current().orElse(null);
+        final Tracer tracer = this.tracer != null ? this.tracer : parent != null ? parent.getTracer() : null;
+        final Tracer.Span span = tracer != null ? tracer.startSpan(callGraph, parent) : null;
+        ProgressEvent<ResourceModelT, CallbackContextT> progress = null;
+        try {
+            progress = initiate(callGraph, span);
+            return progress;
+        } finally {
+            if (span != null) {
+                if (progress == null) {
+                    // the call threw, e.g. an unclassified error of a stabilizer or onSuccess.
+                    span.setError("exception");
+                }
+                endSpan(span, progress);
+            }
+        }
+    }
+
+    private ProgressEvent<ResourceModelT, CallbackContextT> initiate(
+        final String callGraph,
+        @Nullable final Tracer.Span span
+    ) {
         ProgressEvent<ResourceModelT, CallbackContextT> progress = this.proxy.initiate(
                 callGraph,
                 proxyClient,
@@ -211,7 +427,7 @@ public class ShieldAPIChainableRemoteCall<
                 context
             )
             .translateToServiceRequest(this.translateToServiceRequest)
-            .makeServiceCall(this::makeServiceCall)
+            .makeServiceCall((request, client) -> makeServiceCall(request, client, span))
             .handleError(this::handleError)
             .done(this::onDone);
         if (this.stabilize != null) {
@@ -224,11 +440,32 @@ public class ShieldAPIChainableRemoteCall<
                     )
                     .translateToServiceRequest((ignored) -> (RequestT) null)
                     .makeServiceCall((ignored1, ignored2) -> (ResponseT) null)
-                    .stabilize(this::onStabilize)
+                    .stabilize((request, response, client, m, ctx) -> onStabilize(client, m, ctx, span))
                     .handleError(this::handleError)
                     .progress()
             );
         }
+        if (this.checkpoint != null) {
+            progress = Checkpoints.completeIfDone(this.checkpoint, progress);
+        }
         return progress;
     }
+
+    /**
+     * ends the span of a call or invocation with the outcome of {@code progress}, null when it threw.
+     */
+    static void endSpan(final Tracer.Span span, @Nullable final ProgressEvent<?, ?> progress) {
+        if (progress == null) {
+            span.end();
+            return;
+        }
+        span.setAttribute("status", progress.getStatus());
+        if (progress.getCallbackDelaySeconds() > 0) {
+            span.setAttribute("callbackDelaySeconds", progress.getCallbackDelaySeconds());
+        }
+        if (progress.isFailed()) {
+            span.setError(progress.getErrorCode());
+        }
+        span.end();
+    }
 }
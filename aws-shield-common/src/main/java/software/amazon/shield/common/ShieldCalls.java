@@ -0,0 +1,113 @@
+package software.amazon.shield.common;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * {@link ShieldClient} handing every API call to a {@link Call}, whether made with a request or with a request
+ * builder consumer.
+ */
+final class ShieldCalls {
+
+    @FunctionalInterface
+    interface Call {
+        /**
+         * @param method the {@link ShieldClient} method taking the request, e.g. {@code describeProtection}
+         */
+        Object invoke(Method method, AwsRequest request) throws Throwable;
+    }
+
+    private ShieldCalls() {
+    }
+
+    /**
+     * @param delegate serves the methods that are not API calls, e.g. paginators; unsupported when null
+     */
+    static ShieldClient intercept(@NonNull final Call call, @Nullable final ShieldClient delegate) {
+        return (ShieldClient) Proxy.newProxyInstance(
+            ShieldClient.class.getClassLoader(),
+            new Class<?>[] {ShieldClient.class},
+            (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    return onObjectMethod(proxy, method, args);
+                }
+                if (isCall(method)) {
+                    return call.invoke(method, (AwsRequest) args[0]);
+                }
+                if (isBuilderCall(method)) {
+                    final Method requestMethod = requestMethod(method);
+                    return call.invoke(requestMethod, buildRequest(requestMethod.getParameterTypes()[0], args[0]));
+                }
+                if (method.getName().equals("serviceName") && delegate == null) {
+                    return ShieldClient.SERVICE_NAME;
+                }
+                if (method.getName().equals("close") && delegate == null) {
+                    return null;
+                }
+                if (delegate == null) {
+                    throw new UnsupportedOperationException(method.getName() + " is not supported");
+                }
+                return invoke(method, delegate, args);
+            }
+        );
+    }
+
+    /**
+     * invokes {@code method}, rethrowing what it throws.
+     */
+    static Object invoke(final Method method, final Object target, final Object... args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isCall(final Method method) {
+        return method.getParameterCount() == 1
+            && AwsRequest.class.isAssignableFrom(method.getParameterTypes()[0])
+            && AwsResponse.class.isAssignableFrom(method.getReturnType());
+    }
+
+    private static boolean isBuilderCall(final Method method) {
+        return method.getParameterCount() == 1
+            && method.getParameterTypes()[0] == Consumer.class
+            && AwsResponse.class.isAssignableFrom(method.getReturnType());
+    }
+
+    private static Method requestMethod(final Method builderMethod) {
+        for (final Method method : ShieldClient.class.getMethods()) {
+            if (method.getName().equals(builderMethod.getName()) && isCall(method)) {
+                return method;
+            }
+        }
+        throw new UnsupportedOperationException(builderMethod.getName() + " is not supported");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AwsRequest buildRequest(final Class<?> requestClass, final Object consumer) throws Throwable {
+        final Object builder = invoke(requestClass.getMethod("builder"), null);
+        ((Consumer<Object>) consumer).accept(builder);
+        return (AwsRequest) ((SdkBuilder<?, ?>) builder).build();
+    }
+
+    private static Object onObjectMethod(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return "ShieldClient@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+    }
+}
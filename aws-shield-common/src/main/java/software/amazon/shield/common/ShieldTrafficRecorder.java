@@ -0,0 +1,169 @@
+package software.amazon.shield.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.NonNull;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Records the Shield calls of real handlers, to be served back offline by {@link ShieldTrafficReplayer}, e.g. to
+ * benchmark the handlers against the call mix and payload sizes of a real account.
+ * <p>
+ * Each call is written as one JSON line: the API name, its start offset and duration in milliseconds, the request and
+ * either the response or the error. Handlers record through the client they are constructed with, e.g.
+ * {@code new UpdateHandler(recorder.record(CustomerAPIClientBuilder.getClient()))}. The anonymizer, when set, rewrites
+ * every string of requests, responses and error messages before it is written; it must map a value the same way every
+ * time for the replayed requests to line up.
+ */
+public class ShieldTrafficRecorder {
+
+    private final Writer trace;
+    private final UnaryOperator<String> anonymizer;
+    private final long startedAt = System.nanoTime();
+    private int calls;
+
+    public ShieldTrafficRecorder(@NonNull final Writer trace, @Nullable final UnaryOperator<String> anonymizer) {
+        this.trace = trace;
+        this.anonymizer = anonymizer != null ? anonymizer : UnaryOperator.identity();
+    }
+
+    /**
+     * {@code client} recording its API calls; other methods, e.g. paginators, are passed through unrecorded.
+     */
+    public ShieldClient record(@NonNull final ShieldClient client) {
+        return ShieldCalls.intercept((method, request) -> call(method, client, request), client);
+    }
+
+    /**
+     * {@code proxyClient} handing out a recording {@link #record(ShieldClient) client}.
+     */
+    public ProxyClient<ShieldClient> record(@NonNull final ProxyClient<ShieldClient> proxyClient) {
+        final ShieldClient client = record(proxyClient.client());
+        return new ProxyClient<ShieldClient>() {
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+            injectCredentialsAndInvokeV2(final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+                return proxyClient.injectCredentialsAndInvokeV2(request, requestFunction);
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+            injectCredentialsAndInvokeV2Async(
+                final RequestT request,
+                final Function<RequestT, CompletableFuture<ResponseT>> requestFunction
+            ) {
+                return proxyClient.injectCredentialsAndInvokeV2Async(request, requestFunction);
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse,
+                IterableT extends SdkIterable<ResponseT>> IterableT
+            injectCredentialsAndInvokeIterableV2(
+                final RequestT request,
+                final Function<RequestT, IterableT> requestFunction
+            ) {
+                return proxyClient.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseInputStream<ResponseT>
+            injectCredentialsAndInvokeV2InputStream(
+                final RequestT request,
+                final Function<RequestT, ResponseInputStream<ResponseT>> requestFunction
+            ) {
+                return proxyClient.injectCredentialsAndInvokeV2InputStream(request, requestFunction);
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseBytes<ResponseT>
+            injectCredentialsAndInvokeV2Bytes(
+                final RequestT request,
+                final Function<RequestT, ResponseBytes<ResponseT>> requestFunction
+            ) {
+                return proxyClient.injectCredentialsAndInvokeV2Bytes(request, requestFunction);
+            }
+
+            @Override
+            public ShieldClient client() {
+                return client;
+            }
+        };
+    }
+
+    /**
+     * number of calls recorded.
+     */
+    public synchronized int size() {
+        return this.calls;
+    }
+
+    private Object call(final Method method, final ShieldClient client, final AwsRequest request) throws Throwable {
+        final long callStartedAt = System.nanoTime();
+        final ObjectNode line = SdkJson.MAPPER.createObjectNode()
+            .put("api", method.getName())
+            .put("offsetMs", TimeUnit.NANOSECONDS.toMillis(callStartedAt - this.startedAt));
+        line.set("request", SdkJson.write(request, this.anonymizer));
+        try {
+            final Object response = ShieldCalls.invoke(method, client, request);
+            line.set("response", SdkJson.write((SdkPojo) response, this.anonymizer));
+            return response;
+        } catch (Exception e) {
+            line.set("error", error(e));
+            throw e;
+        } finally {
+            line.put("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - callStartedAt));
+            write(line);
+        }
+    }
+
+    private ObjectNode error(final Exception e) {
+        final ObjectNode error = SdkJson.MAPPER.createObjectNode()
+            .put("type", e.getClass().getSimpleName());
+        String message = e.getMessage();
+        if (e instanceof AwsServiceException) {
+            // the message of a service exception is suffixed with the service, status and request ID.
+            final AwsErrorDetails details = ((AwsServiceException) e).awsErrorDetails();
+            error.put("status", ((AwsServiceException) e).statusCode());
+            if (details != null) {
+                error.put("code", details.errorCode());
+                message = details.errorMessage() != null ? details.errorMessage() : message;
+            }
+        }
+        if (message != null) {
+            error.put("message", this.anonymizer.apply(message));
+        }
+        return error;
+    }
+
+    private synchronized void write(final ObjectNode line) {
+        try {
+            this.trace.write(SdkJson.MAPPER.writeValueAsString(line));
+            this.trace.write('\n');
+            this.trace.flush();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.calls++;
+    }
+}
@@ -0,0 +1,162 @@
+package software.amazon.shield.common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.NonNull;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.ShieldException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Serves the calls recorded by {@link ShieldTrafficRecorder} to real handlers, without reaching Shield.
+ * <p>
+ * A call is answered by the first unserved recording of the same API with an equal request, else, e.g. when the
+ * handler puts a generated token in the request, of the same API only; a call with no recording left fails with
+ * {@link IllegalStateException}. Each answer is delayed by the recorded duration times {@code timeScale}: 1 replays
+ * Shield at its recorded latency, 0 as fast as possible. The time the handlers spent between calls is theirs to
+ * spend again, it is not replayed.
+ */
+public class ShieldTrafficReplayer {
+
+    private final List<Recording> recordings;
+    private final double timeScale;
+    private final ShieldClient client;
+
+    private ShieldTrafficReplayer(final List<Recording> recordings, final double timeScale) {
+        this.recordings = recordings;
+        this.timeScale = timeScale;
+        this.client = ShieldCalls.intercept(this::serve, null);
+    }
+
+    public static ShieldTrafficReplayer load(@NonNull final Reader trace, final double timeScale) throws IOException {
+        if (timeScale < 0) {
+            throw new IllegalArgumentException("timeScale must not be negative");
+        }
+        final List<Recording> recordings = new ArrayList<>();
+        final BufferedReader lines = new BufferedReader(trace);
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            if (!line.trim().isEmpty()) {
+                recordings.add(new Recording(SdkJson.MAPPER.readTree(line)));
+            }
+        }
+        return new ShieldTrafficReplayer(recordings, timeScale);
+    }
+
+    /**
+     * client to construct the handlers with.
+     */
+    public ShieldClient client() {
+        return this.client;
+    }
+
+    public ProxyClient<ShieldClient> proxyClient(@NonNull final AmazonWebServicesClientProxy proxy) {
+        return proxy.newProxy(this::client);
+    }
+
+    /**
+     * number of recordings not served yet.
+     */
+    public synchronized int remaining() {
+        return this.recordings.size();
+    }
+
+    private Object serve(final Method method, final AwsRequest request) throws Throwable {
+        final Recording recording = take(method.getName(), SdkJson.write(request, UnaryOperator.identity()));
+        final long delayMillis = Math.round(recording.durationMillis * this.timeScale);
+        if (delayMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (recording.error != null) {
+            throw exception(recording.error);
+        }
+        final SdkPojo builder = (SdkPojo) ShieldCalls.invoke(method.getReturnType().getMethod("builder"), null);
+        return SdkJson.read(recording.response, builder);
+    }
+
+    private synchronized Recording take(final String api, final JsonNode request) {
+        Recording sameApi = null;
+        for (final Iterator<Recording> it = this.recordings.iterator(); it.hasNext(); ) {
+            final Recording recording = it.next();
+            if (!recording.api.equals(api)) {
+                continue;
+            }
+            if (recording.request.equals(request)) {
+                it.remove();
+                return recording;
+            }
+            sameApi = sameApi == null ? recording : sameApi;
+        }
+        if (sameApi == null) {
+            throw new IllegalStateException(String.format("No recorded %s call left to replay", api));
+        }
+        this.recordings.remove(sameApi);
+        return sameApi;
+    }
+
+    /**
+     * the recorded exception: of the recorded class if it is a Shield one, else a client side failure.
+     */
+    private static Exception exception(final JsonNode error) throws Throwable {
+        final String message = error.hasNonNull("message") ? error.get("message").asText() : null;
+        if (!error.has("status")) {
+            return SdkClientException.create(message);
+        }
+        Class<?> type;
+        try {
+            type = Class.forName(ShieldException.class.getPackage().getName() + "." + error.get("type").asText());
+        } catch (ClassNotFoundException e) {
+            type = ShieldException.class;
+        }
+        if (!AwsServiceException.class.isAssignableFrom(type)) {
+            type = ShieldException.class;
+        }
+        final AwsServiceException.Builder builder =
+            (AwsServiceException.Builder) ShieldCalls.invoke(type.getMethod("builder"), null);
+        return builder.message(message)
+            .statusCode(error.get("status").asInt())
+            .awsErrorDetails(AwsErrorDetails.builder()
+                .serviceName(ShieldClient.SERVICE_NAME)
+                .errorCode(error.hasNonNull("code") ? error.get("code").asText() : null)
+                .errorMessage(message)
+                .build())
+            .build();
+    }
+
+    private static class Recording {
+        private final String api;
+        private final JsonNode request;
+        @Nullable
+        private final JsonNode response;
+        @Nullable
+        private final JsonNode error;
+        private final long durationMillis;
+
+        private Recording(final JsonNode line) {
+            this.api = line.get("api").asText();
+            this.request = line.get("request");
+            this.response = line.get("response");
+            this.error = line.get("error");
+            this.durationMillis = line.path("durationMs").asLong();
+        }
+    }
+}
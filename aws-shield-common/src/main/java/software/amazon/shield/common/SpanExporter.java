@@ -0,0 +1,13 @@
+package software.amazon.shield.common;
+
+/**
+ * Receives every span once it ended, see {@link Tracer}.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+
+    SpanExporter NO_OP = span -> {
+    };
+
+    void export(Tracer.Span span);
+}
@@ -0,0 +1,283 @@
+package software.amazon.shield.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import lombok.NonNull;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+
+/**
+ * A small dependency graph of chainable handler steps.
+ * <p>
+ * Steps are declared in order and may only depend on steps declared before them, so declaration order is always a
+ * valid topological order. Steps whose dependencies have completed form a wave; a wave with more than one step runs
+ * concurrently, each branch on its own forked callback context, and the branch results are merged in declaration
+ * order: the first failed branch decides the error code and the messages of all failed branches are reported together,
+ * otherwise the longest callback delay wins.
+ * <p>
+ * A step is done when it returns an in-progress event without callback delay, the same contract as
+ * {@link ProgressEvent#then}. Concurrent steps share the resource model and must not replace it, unless the graph
+ * copies it for each branch; the wave continues with the model it started from either way. Done steps are
+ * checkpointed (see {@link Checkpoints}) and skipped when the handler is re-invoked. A step is checkpointed under
+ * {@link #STEP_PREFIX} and its ID, apart from the calls it makes: a step named after its call is not done when the
+ * call is, e.g. while a stabilizer after the call still waits.
+ * <p>
+ * Branches run on a bounded pool shared by all graphs. A branch that finds every thread busy runs on the thread of
+ * its graph instead of waiting for one, so graphs nested in a branch cannot starve the pool.
+ */
+public class StepGraph<M, C extends StdCallbackContext> {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    public static final String STEP_PREFIX = "step:";
+
+    static final int MAX_THREADS = 16;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(
+        0,
+        MAX_THREADS,
+        60L,
+        TimeUnit.SECONDS,
+        new SynchronousQueue<>(),
+        runnable -> {
+            final Thread thread = new Thread(runnable, "shield-step-graph-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        },
+        new ThreadPoolExecutor.CallerRunsPolicy()
+    );
+
+    private final Map<String, Step<M, C>> steps = new LinkedHashMap<>();
+    private final UnaryOperator<C> forkContext;
+    private final BiConsumer<C, C> joinContext;
+    private final UnaryOperator<M> copyModel;
+    private final int maxConcurrency;
+
+    /**
+     * @param forkContext creates the callback context a concurrent branch runs on. Branches must not share the
+     *                    parent context since its call graph memoization serializes concurrent calls.
+     */
+    public StepGraph(@NonNull final UnaryOperator<C> forkContext) {
+        this(forkContext, (parent, branch) -> {
+        }, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * @param joinContext copies state a branch produced back into the parent context, called in declaration order.
+     */
+    public StepGraph(
+        @NonNull final UnaryOperator<C> forkContext,
+        @NonNull final BiConsumer<C, C> joinContext,
+        final int maxConcurrency
+    ) {
+        this(forkContext, joinContext, UnaryOperator.identity(), maxConcurrency);
+    }
+
+    /**
+     * @param copyModel copies the resource model a concurrent branch runs on, so a branch may change its model
+     *                  without racing the others.
+     */
+    public StepGraph(
+        @NonNull final UnaryOperator<C> forkContext,
+        @NonNull final BiConsumer<C, C> joinContext,
+        @NonNull final UnaryOperator<M> copyModel,
+        final int maxConcurrency
+    ) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.forkContext = forkContext;
+        this.joinContext = joinContext;
+        this.copyModel = copyModel;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public StepGraph<M, C> step(
+        @NonNull final String id,
+        @NonNull final Function<ProgressEvent<M, C>, ProgressEvent<M, C>> action,
+        final String... dependsOn
+    ) {
+        if (this.steps.containsKey(id)) {
+            throw new IllegalArgumentException(String.format("duplicate step %s", id));
+        }
+        for (String dependency : dependsOn) {
+            if (!this.steps.containsKey(dependency)) {
+                throw new IllegalArgumentException(String.format(
+                    "step %s depends on %s which is not declared before it",
+                    id,
+                    dependency
+                ));
+            }
+        }
+        this.steps.put(id, new Step<>(id, action, new HashSet<>(Arrays.asList(dependsOn))));
+        return this;
+    }
+
+    public ProgressEvent<M, C> run(@NonNull final ProgressEvent<M, C> initial) {
+        ProgressEvent<M, C> progress = initial;
+        final Set<String> completed = new HashSet<>();
+        final List<Step<M, C>> pending = new ArrayList<>(this.steps.values());
+
+        while (!pending.isEmpty() && isDone(progress)) {
+            final List<Step<M, C>> wave = new ArrayList<>();
+            for (Step<M, C> step : pending) {
+                if (completed.containsAll(step.dependsOn)) {
+                    wave.add(step);
+                }
+            }
+            pending.removeAll(wave);
+
+            final C context = progress.getCallbackContext();
+            wave.removeIf(step -> {
+                if (Checkpoints.isCompleted(context, checkpointId(step.id))) {
+                    completed.add(step.id);
+                    return true;
+                }
+                return false;
+            });
+            if (wave.isEmpty()) {
+                continue;
+            }
+
+            progress = wave.size() == 1
+                ? wave.get(0).action.apply(progress)
+                : runConcurrently(wave, progress);
+
+            if (isDone(progress)) {
+                for (Step<M, C> step : wave) {
+                    completed.add(step.id);
+                    Checkpoints.complete(progress.getCallbackContext(), checkpointId(step.id));
+                }
+            }
+        }
+        return progress;
+    }
+
+    private ProgressEvent<M, C> runConcurrently(final List<Step<M, C>> wave, final ProgressEvent<M, C> progress) {
+        final M model = progress.getResourceModel();
+        final C context = progress.getCallbackContext();
+        final Semaphore permits = new Semaphore(this.maxConcurrency);
+        // the remote calls of a branch are traced under the span of the invocation, see Tracer#trace.
+        final Tracer.Span span = Tracer.current().orElse(null);
+
+        final List<C> branchContexts = new ArrayList<>(wave.size());
+        final List<CompletableFuture<ProgressEvent<M, C>>> branches = new ArrayList<>(wave.size());
+        for (Step<M, C> step : wave) {
+            final C branchContext = this.forkContext.apply(context);
+            Checkpoints.fork(context, branchContext);
+            RetryBudget.fork(context, branchContext);
+            branchContexts.add(branchContext);
+            final M branchModel = this.copyModel.apply(model);
+            // taken before the branch is submitted, so a branch holds a pool thread only while it runs.
+            permits.acquireUninterruptibly();
+            branches.add(CompletableFuture.supplyAsync(() -> {
+                final Tracer.Scope scope = span != null ? span.activate() : null;
+                try {
+                    return step.action.apply(ProgressEvent.defaultInProgressHandler(branchContext, 0, branchModel));
+                } finally {
+                    if (scope != null) {
+                        scope.close();
+                    }
+                    permits.release();
+                }
+            }, EXECUTOR));
+        }
+
+        ProgressEvent<M, C> firstFailed = null;
+        final List<String> failures = new ArrayList<>();
+        ProgressEvent<M, C> firstDelayed = null;
+        int callbackDelaySeconds = 0;
+        for (int i = 0; i < branches.size(); i++) {
+            final ProgressEvent<M, C> result = await(branches.get(i));
+            Checkpoints.join(context, branchContexts.get(i));
+            RetryBudget.join(context, branchContexts.get(i));
+            this.joinContext.accept(context, branchContexts.get(i));
+            if (isDone(result)) {
+                Checkpoints.complete(context, checkpointId(wave.get(i).id));
+            }
+            if (result.isFailed()) {
+                firstFailed = firstFailed == null ? result : firstFailed;
+                failures.add(String.format("%s: %s", wave.get(i).id, result.getMessage()));
+            } else if (!isDone(result)) {
+                firstDelayed = firstDelayed == null ? result : firstDelayed;
+                callbackDelaySeconds = Math.max(callbackDelaySeconds, result.getCallbackDelaySeconds());
+            }
+        }
+
+        if (firstFailed != null) {
+            final ProgressEvent<M, C> failed = ProgressEvent.failed(
+                model,
+                context,
+                firstFailed.getErrorCode(),
+                failures.size() == 1 ? firstFailed.getMessage() : String.join("; ", failures)
+            );
+            failed.setCallbackDelaySeconds(firstFailed.getCallbackDelaySeconds());
+            return failed;
+        }
+        final ProgressEvent<M, C> merged = ProgressEvent.defaultInProgressHandler(context, callbackDelaySeconds, model);
+        if (firstDelayed != null) {
+            merged.setMessage(firstDelayed.getMessage());
+        }
+        return merged;
+    }
+
+    private static <T> T await(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * the checkpoint of a step, which never collides with the checkpoint of a call.
+     */
+    public static String checkpointId(final String stepId) {
+        return STEP_PREFIX + stepId;
+    }
+
+    private static boolean isDone(final ProgressEvent<?, ?> progress) {
+        return progress.isInProgress() && progress.getCallbackDelaySeconds() == 0;
+    }
+
+    private static class Step<M, C extends StdCallbackContext> {
+        private final String id;
+        private final Function<ProgressEvent<M, C>, ProgressEvent<M, C>> action;
+        private final Set<String> dependsOn;
+
+        private Step(
+            final String id,
+            final Function<ProgressEvent<M, C>, ProgressEvent<M, C>> action,
+            final Set<String> dependsOn
+        ) {
+            this.id = id;
+            this.action = action;
+            this.dependsOn = dependsOn;
+        }
+    }
+}
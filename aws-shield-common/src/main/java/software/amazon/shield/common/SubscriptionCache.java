@@ -0,0 +1,102 @@
+package software.amazon.shield.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableSet;
+import lombok.NonNull;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.services.shield.model.Subscription;
+
+/**
+ * Subscription of each account, kept for a short time across warm invocations of the same container.
+ * <p>
+ * The subscription rarely changes, but every handler that depends on it used to describe it again. Entries expire
+ * after the TTL, and the shared instance drops them as soon as a call made with {@link CallTuning#DEFAULT} changes a
+ * subscription, see {@link #SUBSCRIPTION_MUTATIONS}. Only existing subscriptions are cached, so a new
+ * subscription is visible right away. Stabilizers poll Shield directly and never read the cache.
+ */
+public class SubscriptionCache {
+
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+
+    /**
+     * calls that change the subscription, or the proactive engagement status it carries.
+     */
+    public static final Set<String> SUBSCRIPTION_MUTATIONS = ImmutableSet.of(
+        "createSubscription",
+        "updateSubscription",
+        "deleteSubscription",
+        "associateProactiveEngagementDetails",
+        "enableProactiveEngagement",
+        "disableProactiveEngagement",
+        "updateEmergencyContactSettings"
+    );
+
+    private static final SubscriptionCache SHARED = new SubscriptionCache(DEFAULT_TTL, Clock.systemUTC());
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Clock clock;
+
+    public SubscriptionCache(@NonNull final Duration ttl, @NonNull final Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public static SubscriptionCache shared() {
+        return SHARED;
+    }
+
+    public Optional<Subscription> get(@NonNull final String accountId) {
+        final Entry entry = this.entries.get(accountId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (!this.clock.instant().isBefore(entry.expiresAt)) {
+            this.entries.remove(accountId, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.subscription);
+    }
+
+    public void put(@NonNull final String accountId, final Subscription subscription) {
+        if (subscription == null) {
+            this.entries.remove(accountId);
+            return;
+        }
+        this.entries.put(accountId, new Entry(subscription, this.clock.instant().plus(this.ttl)));
+    }
+
+    public void invalidate(@NonNull final String accountId) {
+        this.entries.remove(accountId);
+    }
+
+    public void invalidateAll() {
+        this.entries.clear();
+    }
+
+    /**
+     * A call does not carry the account it was made for, so a subscription change drops every entry.
+     */
+    public void onMutation(final String resourceType, final String apiName, final AwsRequest request) {
+        if (SUBSCRIPTION_MUTATIONS.contains(apiName)) {
+            invalidateAll();
+        }
+    }
+
+    private static class Entry {
+        private final Subscription subscription;
+        private final Instant expiresAt;
+
+        private Entry(final Subscription subscription, final Instant expiresAt) {
+            this.subscription = subscription;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
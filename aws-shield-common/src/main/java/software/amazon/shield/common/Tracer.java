@@ -0,0 +1,191 @@
+package software.amazon.shield.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Spans of a handler invocation: one for the invocation, one per {@link ShieldAPIChainableRemoteCall} and its
+ * stabilizer, and one per attempt the SDK makes, see {@link TracingInterceptor}.
+ * <p>
+ * The trace ID is kept in the callback context through {@link TraceContext}, so the invocations CloudFormation makes
+ * for one resource operation, callback waits included, share a trace. Spans are handed to the {@link SpanExporter}
+ * as they end.
+ */
+public class Tracer {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final SpanExporter exporter;
+    private final Clock clock;
+
+    public Tracer(@NonNull final SpanExporter exporter) {
+        this(exporter, Clock.systemUTC());
+    }
+
+    public Tracer(@NonNull final SpanExporter exporter, @NonNull final Clock clock) {
+        this.exporter = exporter;
+        this.clock = clock;
+    }
+
+    /**
+     * callback context carrying the trace ID across re-invocations.
+     */
+    public interface TraceContext {
+        String getTraceId();
+
+        void setTraceId(String traceId);
+    }
+
+    /**
+     * root span of an invocation, continuing the trace of {@code traceContext} or starting one recorded there.
+     */
+    public Span startInvocation(@NonNull final String name, @Nullable final TraceContext traceContext) {
+        String traceId = traceContext == null ? null : traceContext.getTraceId();
+        if (traceId == null) {
+            traceId = newId(16);
+            if (traceContext != null) {
+                traceContext.setTraceId(traceId);
+            }
+        }
+        return new Span(traceId, null, name);
+    }
+
+    /**
+     * Runs a handler invocation under its root span, active on this thread so that the remote calls it makes are
+     * traced as its children without being handed the span, see {@link ShieldAPIChainableRemoteCall#tracer}. The span
+     * ends with the outcome of the invocation, also when it throws.
+     */
+    public <M, C> ProgressEvent<M, C> trace(
+        @NonNull final String name,
+        @Nullable final TraceContext traceContext,
+        @NonNull final Supplier<ProgressEvent<M, C>> invocation
+    ) {
+        final Span span = startInvocation(name, traceContext);
+        final Scope scope = span.activate();
+        ProgressEvent<M, C> progress = null;
+        try {
+            progress = invocation.get();
+            return progress;
+        } finally {
+            scope.close();
+            if (progress == null) {
+                span.setError("exception");
+            }
+            ShieldAPIChainableRemoteCall.endSpan(span, progress);
+        }
+    }
+
+    /**
+     * child of {@code parent}, or the root of a new trace without one.
+     */
+    public Span startSpan(@NonNull final String name, @Nullable final Span parent) {
+        return parent == null ? new Span(newId(16), null, name) : new Span(parent.traceId, parent.spanId, name);
+    }
+
+    /**
+     * the span activated on this thread, parent of the attempts the SDK makes meanwhile.
+     */
+    public static Optional<Span> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    private static String newId(final int bytes) {
+        final StringBuilder id = new StringBuilder(bytes * 2);
+        for (int i = 0; i < bytes; i++) {
+            id.append(String.format("%02x", ThreadLocalRandom.current().nextInt(256)));
+        }
+        return id.toString();
+    }
+
+    @Getter
+    public final class Span implements AutoCloseable {
+        private final String traceId;
+        private final String spanId;
+        @Nullable
+        private final String parentSpanId;
+        private final String name;
+        private final Instant startedAt;
+        private final Map<String, String> attributes = Collections.synchronizedMap(new LinkedHashMap<>());
+        private volatile Instant endedAt;
+        private volatile String status = "OK";
+
+        private Span(final String traceId, @Nullable final String parentSpanId, final String name) {
+            this.traceId = traceId;
+            this.spanId = newId(8);
+            this.parentSpanId = parentSpanId;
+            this.name = name;
+            this.startedAt = Tracer.this.clock.instant();
+        }
+
+        public Tracer getTracer() {
+            return Tracer.this;
+        }
+
+        public Span setAttribute(@NonNull final String key, @Nullable final Object value) {
+            if (value != null) {
+                this.attributes.put(key, value.toString());
+            }
+            return this;
+        }
+
+        public Span setError(@Nullable final Object error) {
+            this.status = "ERROR";
+            return setAttribute("error", error);
+        }
+
+        public Duration getDuration() {
+            return Duration.between(this.startedAt, this.endedAt == null ? Tracer.this.clock.instant() : this.endedAt);
+        }
+
+        /**
+         * makes this the {@link Tracer#current()} span of the thread until the returned scope closes.
+         */
+        public Scope activate() {
+            final Span previous = CURRENT.get();
+            CURRENT.set(this);
+            return () -> {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            };
+        }
+
+        /**
+         * ends and exports the span; later calls do nothing.
+         */
+        public void end() {
+            synchronized (this) {
+                if (this.endedAt != null) {
+                    return;
+                }
+                this.endedAt = Tracer.this.clock.instant();
+            }
+            Tracer.this.exporter.export(this);
+        }
+
+        @Override
+        public void close() {
+            end();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
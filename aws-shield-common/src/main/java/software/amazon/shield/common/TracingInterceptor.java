@@ -0,0 +1,73 @@
+package software.amazon.shield.common;
+
+import java.util.Optional;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+/**
+ * One span per attempt the SDK makes, SDK retries included, as child of the {@link Tracer#current()} span of the
+ * calling thread. Does nothing for calls made outside of an active span.
+ */
+public class TracingInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Tracer.Span> ATTEMPT_SPAN = new ExecutionAttribute<>("ShieldAttemptSpan");
+    private static final ExecutionAttribute<Integer> ATTEMPT = new ExecutionAttribute<>("ShieldAttempt");
+
+    @Override
+    public void beforeTransmission(
+        final Context.BeforeTransmission context,
+        final ExecutionAttributes executionAttributes
+    ) {
+        final Optional<Tracer.Span> parent = Tracer.current();
+        if (!parent.isPresent()) {
+            return;
+        }
+        endUnanswered(executionAttributes, "no response");
+        final Integer previous = executionAttributes.getAttribute(ATTEMPT);
+        final int attempt = previous == null ? 1 : previous + 1;
+        executionAttributes.putAttribute(ATTEMPT, attempt);
+        executionAttributes.putAttribute(
+            ATTEMPT_SPAN,
+            parent.get().getTracer().startSpan(parent.get().getName() + ":attempt", parent.get())
+                .setAttribute("attempt", attempt)
+        );
+    }
+
+    @Override
+    public void afterTransmission(
+        final Context.AfterTransmission context,
+        final ExecutionAttributes executionAttributes
+    ) {
+        final Tracer.Span span = executionAttributes.getAttribute(ATTEMPT_SPAN);
+        if (span == null) {
+            return;
+        }
+        span.setAttribute("httpStatus", context.httpResponse().statusCode());
+        if (!context.httpResponse().isSuccessful()) {
+            span.setError("HTTP " + context.httpResponse().statusCode());
+        }
+        span.end();
+    }
+
+    @Override
+    public void onExecutionFailure(
+        final Context.FailedExecution context,
+        final ExecutionAttributes executionAttributes
+    ) {
+        endUnanswered(executionAttributes, context.exception().getClass().getSimpleName());
+    }
+
+    /**
+     * ends the attempt that failed before a response, e.g. on a network error.
+     */
+    private static void endUnanswered(final ExecutionAttributes executionAttributes, final String error) {
+        final Tracer.Span span = executionAttributes.getAttribute(ATTEMPT_SPAN);
+        if (span != null && span.getEndedAt() == null) {
+            span.setError(error);
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package software.amazon.shield.common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Shield calls an update handler would make to go from the previous to the desired resource state, computed without
+ * calling Shield.
+ * <p>
+ * A plan is derived from the previous and desired models with the same decisions the handler takes, so it cannot know
+ * what only Shield can tell: reads the handler makes first are listed as such, and stabilizer polls are counted once,
+ * the minimum. Call counts are therefore estimates to budget quota and rollout windows with.
+ */
+@Getter
+public final class UpdatePlan {
+
+    /**
+     * operations in the order the handler starts them.
+     */
+    private final List<Operation> operations;
+
+    private UpdatePlan(final List<Operation> operations) {
+        this.operations = Collections.unmodifiableList(operations);
+    }
+
+    @Value
+    public static class Operation {
+        /**
+         * Shield API, as named in the call metrics, e.g. {@code associateHealthCheck}.
+         */
+        String apiName;
+        /**
+         * ARN, ID or key the operation applies to.
+         */
+        String target;
+        /**
+         * estimated number of calls.
+         */
+        int calls;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isEmpty() {
+        return this.operations.isEmpty();
+    }
+
+    public int getCallCount() {
+        return this.operations.stream().mapToInt(Operation::getCalls).sum();
+    }
+
+    public int getCallCount(@NonNull final String apiName) {
+        return this.operations.stream()
+            .filter(operation -> operation.getApiName().equals(apiName))
+            .mapToInt(Operation::getCalls)
+            .sum();
+    }
+
+    /**
+     * Upper bound of the time the calls take when made one after the other, each after the mean jitter of
+     * {@link CallTuning#DEFAULT}. Steps the handler runs concurrently finish sooner, throttling and
+     * callback delays are not accounted for.
+     */
+    public Duration estimateDuration(@NonNull final Duration callLatency) {
+        return estimateDuration(callLatency, CallTuning.DEFAULT);
+    }
+
+    /**
+     * see {@link #estimateDuration(Duration)}, with the mean jitter of {@code tuning}.
+     */
+    public Duration estimateDuration(@NonNull final Duration callLatency, @NonNull final CallTuning tuning) {
+        final Duration meanJitter = tuning.getJitter().dividedBy(2);
+        return callLatency.plus(meanJitter).multipliedBy(getCallCount());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder plan = new StringBuilder("UpdatePlan(calls=").append(getCallCount());
+        this.operations.forEach(operation -> plan.append(", ")
+            .append(operation.getApiName())
+            .append('[')
+            .append(operation.getTarget())
+            .append("] x")
+            .append(operation.getCalls()));
+        return plan.append(')').toString();
+    }
+
+    public static final class Builder {
+        private final List<Operation> operations = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder call(@NonNull final String apiName, @NonNull final String target) {
+            return call(apiName, target, 1);
+        }
+
+        public Builder call(@NonNull final String apiName, @NonNull final String target, final int calls) {
+            if (calls > 0) {
+                this.operations.add(new Operation(apiName, target, calls));
+            }
+            return this;
+        }
+
+        /**
+         * one call per target.
+         */
+        public Builder calls(@NonNull final String apiName, @NonNull final Iterable<String> targets) {
+            targets.forEach(target -> call(apiName, target));
+            return this;
+        }
+
+        public UpdatePlan build() {
+            return new UpdatePlan(new ArrayList<>(this.operations));
+        }
+    }
+}
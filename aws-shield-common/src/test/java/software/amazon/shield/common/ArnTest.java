@@ -0,0 +1,68 @@
+package software.amazon.shield.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ArnTest {
+
+    final private String PROTECTION_ARN = "arn:aws:shield::073078365407:protection/a38ad3d7-3968-4743-b929-434da1a460e2";
+    final private String PROTECTION_ID = "a38ad3d7-3968-4743-b929-434da1a460e2";
+
+    @Test
+    public void parseSegments() {
+        final Arn arn = Arn.parse(PROTECTION_ARN);
+
+        assertThat(arn.partition()).isEqualTo("aws");
+        assertThat(arn.service()).isEqualTo("shield");
+        assertThat(arn.region()).isEmpty();
+        assertThat(arn.accountId()).isEqualTo("073078365407");
+        assertThat(arn.resource()).isEqualTo("protection/" + PROTECTION_ID);
+        assertThat(arn.resourceType()).isEqualTo("protection");
+        assertThat(arn.resourceId()).isEqualTo(PROTECTION_ID);
+        assertThat(arn.isService("shield")).isTrue();
+        assertThat(arn.isService("shiel")).isFalse();
+        assertThat(arn.isResourceType("protection")).isTrue();
+        assertThat(arn.isResourceType("protection-group")).isFalse();
+        assertThat(arn.toString()).isEqualTo(PROTECTION_ARN);
+    }
+
+    @Test
+    public void parseResourceWithoutType() {
+        final Arn arn = Arn.parse("arn:aws:s3:::bucket");
+
+        assertThat(arn.resourceType()).isEmpty();
+        assertThat(arn.resourceId()).isEqualTo("bucket");
+    }
+
+    @Test
+    public void parseInvalid() {
+        assertThat(Arn.tryParse(PROTECTION_ID)).isNull();
+        assertThat(Arn.tryParse("arn:aws:shield")).isNull();
+        assertThat(Arn.tryParse("arn:aws:shield::073078365407:")).isNull();
+        assertThatThrownBy(() -> Arn.parse(PROTECTION_ID)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void resourceIdOf() {
+        assertThat(Arn.resourceIdOf(PROTECTION_ARN)).isEqualTo(PROTECTION_ID);
+        assertThat(Arn.resourceIdOf(PROTECTION_ID)).isEqualTo(PROTECTION_ID);
+    }
+
+    @Test
+    public void equality() {
+        assertThat(Arn.parse(PROTECTION_ARN)).isEqualTo(Arn.parse(new String(PROTECTION_ARN)));
+        assertThat(Arn.parse(PROTECTION_ARN).hashCode()).isEqualTo(PROTECTION_ARN.hashCode());
+        assertThat(Arn.parse(PROTECTION_ARN)).isNotEqualTo(Arn.parse(TestData.HEALTH_CHECK_ARN));
+    }
+
+    @Test
+    public void build() {
+        assertThat(Arn.shieldProtection(null, "073078365407", PROTECTION_ID)).isEqualTo(PROTECTION_ARN);
+        assertThat(Arn.shieldProtectionGroup("aws-cn", "073078365407", "group"))
+            .isEqualTo("arn:aws-cn:shield::073078365407:protection-group/group");
+        assertThat(Arn.route53HealthCheck("", TestData.HEALTH_CHECK_ID))
+            .isEqualTo(TestData.HEALTH_CHECK_ARN);
+    }
+}
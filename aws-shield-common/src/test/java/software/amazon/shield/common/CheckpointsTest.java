@@ -0,0 +1,82 @@
+package software.amazon.shield.common;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CheckpointsTest {
+
+    @Test
+    public void completedStepsAreRecordedInTheContext() {
+        final TestCallbackContext context = new TestCallbackContext();
+        assertThat(Checkpoints.hasCompletedSteps(context)).isFalse();
+        assertThat(Checkpoints.isCompleted(context, "createProtection")).isFalse();
+
+        Checkpoints.complete(context, "createProtection");
+
+        assertThat(Checkpoints.hasCompletedSteps(context)).isTrue();
+        assertThat(Checkpoints.isCompleted(context, "createProtection")).isTrue();
+        assertThat(Checkpoints.isCompleted(context, "associateHealthCheck:arn")).isFalse();
+        assertThat(context.getCompletedSteps()).containsExactly("createProtection");
+    }
+
+    @Test
+    public void contextsWithoutCheckpointsAreNeverCompleted() {
+        final Object context = new Object();
+        Checkpoints.complete(context, "createProtection");
+
+        assertThat(Checkpoints.isCompleted(context, "createProtection")).isFalse();
+        assertThat(Checkpoints.hasCompletedSteps(context)).isFalse();
+        assertThat(Checkpoints.isCompleted(null, "createProtection")).isFalse();
+    }
+
+    @Test
+    public void completeIfDoneOnlyWhenTheChainContinues() {
+        final TestModel model = TestModel.builder().build();
+
+        final TestCallbackContext continued = new TestCallbackContext();
+        Checkpoints.completeIfDone("step", ProgressEvent.defaultInProgressHandler(continued, 0, model));
+        assertThat(Checkpoints.isCompleted(continued, "step")).isTrue();
+
+        final TestCallbackContext succeeded = new TestCallbackContext();
+        Checkpoints.completeIfDone("step", ProgressEvent.<TestModel, TestCallbackContext>builder()
+            .status(OperationStatus.SUCCESS)
+            .resourceModel(model)
+            .callbackContext(succeeded)
+            .build());
+        assertThat(Checkpoints.isCompleted(succeeded, "step")).isTrue();
+
+        final TestCallbackContext delayed = new TestCallbackContext();
+        Checkpoints.completeIfDone("step", ProgressEvent.defaultInProgressHandler(delayed, 30, model));
+        assertThat(Checkpoints.isCompleted(delayed, "step")).isFalse();
+
+        final TestCallbackContext failed = new TestCallbackContext();
+        Checkpoints.completeIfDone("step", ProgressEvent.failed(model, failed, HandlerErrorCode.Throttling, "slow"));
+        assertThat(Checkpoints.isCompleted(failed, "step")).isFalse();
+    }
+
+    @Test
+    public void branchesSeeParentStepsAndMergeTheirOwn() {
+        final TestCallbackContext parent = new TestCallbackContext();
+        Checkpoints.complete(parent, "createProtection");
+
+        final TestCallbackContext left = new TestCallbackContext();
+        final TestCallbackContext right = new TestCallbackContext();
+        Checkpoints.fork(parent, left);
+        Checkpoints.fork(parent, right);
+        assertThat(Checkpoints.isCompleted(left, "createProtection")).isTrue();
+
+        Checkpoints.complete(left, "associateHealthCheck:a");
+        Checkpoints.complete(right, "associateHealthCheck:b");
+        assertThat(Checkpoints.isCompleted(parent, "associateHealthCheck:a")).isFalse();
+        assertThat(Checkpoints.isCompleted(right, "associateHealthCheck:a")).isFalse();
+
+        Checkpoints.join(parent, left);
+        Checkpoints.join(parent, right);
+        assertThat(parent.getCompletedSteps())
+            .containsExactly("createProtection", "associateHealthCheck:a", "associateHealthCheck:b");
+    }
+}
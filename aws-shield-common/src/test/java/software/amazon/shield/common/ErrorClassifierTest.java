@@ -0,0 +1,99 @@
+package software.amazon.shield.common;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.services.shield.model.InternalErrorException;
+import software.amazon.awssdk.services.shield.model.OptimisticLockException;
+import software.amazon.awssdk.services.shield.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.shield.model.ShieldException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.shield.common.ErrorClassifier.Category;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ErrorClassifierTest {
+
+    @Test
+    public void throttlingDetectedFromErrorCodeAndStatus() {
+        final ShieldException byCode = shieldException(400, "ThrottlingException", "Rate exceeded");
+        final ShieldException byStatus = shieldException(429, "SomethingElse", "slow down");
+
+        assertThat(ErrorClassifier.classify(byCode)).isEqualTo(Category.THROTTLE);
+        assertThat(ErrorClassifier.classify(byStatus)).isEqualTo(Category.THROTTLE);
+        assertThat(ErrorClassifier.toErrorCode(byStatus)).isEqualTo(HandlerErrorCode.Throttling);
+        assertThat(ShieldAPIChainableRemoteCall.isRateExceededException(byCode)).isTrue();
+    }
+
+    @Test
+    public void messageOnlyConsultedWithoutResponse() {
+        assertThat(ErrorClassifier.classify(ShieldException.builder().message("Rate exceeded").build()))
+            .isEqualTo(Category.THROTTLE);
+        assertThat(ErrorClassifier.classify(shieldException(400, "InvalidParameterException", "rate exceeded")))
+            .isEqualTo(Category.TERMINAL);
+        assertThat(ErrorClassifier.classify(ShieldException.builder().build())).isEqualTo(Category.TERMINAL);
+    }
+
+    @Test
+    public void transientFailures() {
+        final ApiCallTimeoutException timeout = ApiCallTimeoutException.create(1000);
+
+        assertThat(ErrorClassifier.classify(timeout)).isEqualTo(Category.TRANSIENT);
+        assertThat(ErrorClassifier.toErrorCode(timeout)).isEqualTo(HandlerErrorCode.NetworkFailure);
+        assertThat(ErrorClassifier.classify(shieldException(503, "ServiceUnavailable", "unavailable")))
+            .isEqualTo(Category.TRANSIENT);
+        assertThat(ErrorClassifier.classify(InternalErrorException.builder().statusCode(500).build()))
+            .isEqualTo(Category.TRANSIENT);
+        assertThat(ErrorClassifier.classify(shieldException(504, "GatewayTimeout", "timeout")))
+            .isEqualTo(Category.TRANSIENT);
+        assertThat(ErrorClassifier.classify(shieldException(400, "RequestTimeout", "timeout")))
+            .isEqualTo(Category.TRANSIENT);
+    }
+
+    @Test
+    public void conflicts() {
+        assertThat(ErrorClassifier.classify(OptimisticLockException.builder().statusCode(400).build()))
+            .isEqualTo(Category.CONFLICT);
+        assertThat(ErrorClassifier.classify(shieldException(409, "ConflictException", "conflict")))
+            .isEqualTo(Category.CONFLICT);
+        assertThat(ErrorClassifier.toErrorCode(shieldException(409, "ConflictException", "conflict")))
+            .isEqualTo(HandlerErrorCode.ResourceConflict);
+    }
+
+    @Test
+    public void errorCodesFollowClassAndErrorCode() {
+        assertThat(ExceptionConverter.convertToErrorCode(ResourceNotFoundException.builder().statusCode(400).build()))
+            .isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(ExceptionConverter.convertToErrorCode(
+            shieldException(400, "ResourceNotFoundException", "not found")
+        )).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(ExceptionConverter.convertToErrorCode(new IllegalStateException("bug")))
+            .isEqualTo(HandlerErrorCode.GeneralServiceException);
+    }
+
+    @Test
+    public void onlyTerminalIsNotRetriable() {
+        assertThat(Category.THROTTLE.isRetriable()).isTrue();
+        assertThat(Category.TRANSIENT.isRetriable()).isTrue();
+        assertThat(Category.CONFLICT.isRetriable()).isTrue();
+        assertThat(Category.TERMINAL.isRetriable()).isFalse();
+    }
+
+    @Test
+    public void handlerErrorCodesClassifiedByContractType() {
+        assertThat(ErrorClassifier.classify(HandlerErrorCode.Throttling)).isEqualTo(Category.THROTTLE);
+        assertThat(ErrorClassifier.classify(HandlerErrorCode.NetworkFailure)).isEqualTo(Category.TRANSIENT);
+        assertThat(ErrorClassifier.classify(HandlerErrorCode.ServiceInternalError)).isEqualTo(Category.TRANSIENT);
+        assertThat(ErrorClassifier.classify(HandlerErrorCode.ResourceConflict)).isEqualTo(Category.CONFLICT);
+        assertThat(ErrorClassifier.classify(HandlerErrorCode.InvalidRequest)).isEqualTo(Category.TERMINAL);
+        assertThat(ErrorClassifier.classify((HandlerErrorCode) null)).isEqualTo(Category.TERMINAL);
+    }
+
+    private static ShieldException shieldException(final int status, final String errorCode, final String message) {
+        return ShieldException.builder()
+            .statusCode(status)
+            .message(message)
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).errorMessage(message).build())
+            .build();
+    }
+}
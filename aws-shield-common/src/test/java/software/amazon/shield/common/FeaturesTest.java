@@ -0,0 +1,39 @@
+package software.amazon.shield.common;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FeaturesTest {
+
+    @Test
+    public void offUnlessSwitchedOn() {
+        assertThat(Features.of(Collections.emptyMap())).isEqualTo(Features.NONE);
+        assertThat(Features.NONE.isReadCache()).isFalse();
+        assertThat(Features.NONE.isProtectionIndex()).isFalse();
+        assertThat(Features.NONE.isStabilizeAppLayerAutoResponse()).isFalse();
+    }
+
+    @Test
+    public void switchedOnByTrue() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put(Features.PROTECTION_INDEX, "TRUE");
+        assertThat(Features.of(environment).isProtectionIndex()).isTrue();
+
+        environment.put(Features.PROTECTION_INDEX, "1");
+        assertThat(Features.of(environment).isProtectionIndex()).isFalse();
+    }
+
+    @Test
+    public void switchesAreIndependent() {
+        final Features features = Features.of(Collections.singletonMap(Features.READ_CACHE, "true"));
+        assertThat(features.isReadCache()).isTrue();
+        assertThat(features.isProtectionIndex()).isFalse();
+        assertThat(ReadCache.shared(features)).isSameAs(ReadCache.shared());
+        assertThat(ReadCache.shared(Features.NONE)).isNull();
+    }
+}
@@ -0,0 +1,196 @@
+package software.amazon.shield.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionResponse;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionResponse;
+import software.amazon.awssdk.services.shield.model.ShieldException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+@ExtendWith(MockitoExtension.class)
+public class InvocationContextTest {
+
+    private static final Instant NOW = Instant.parse("2023-03-01T00:00:00Z");
+
+    private AmazonWebServicesClientProxy proxy;
+    private ShieldClient shieldClient;
+    private Logger logger;
+    private List<String> recorded;
+
+    @BeforeEach
+    public void setup() {
+        this.proxy = spy(new AmazonWebServicesClientProxy(
+            new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()
+        ));
+        this.shieldClient = mock(ShieldClient.class);
+        this.logger = mock(Logger.class);
+        this.recorded = new ArrayList<>();
+    }
+
+    @Test
+    public void remoteCallAndFinishRecordMetrics() {
+        doReturn(DescribeProtectionResponse.builder().build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        final InvocationContext<TestModel, TestCallbackContext> invocation = invocation(Duration.ofSeconds(30));
+        final List<ProgressEvent<TestModel, TestCallbackContext>> finished = new ArrayList<>();
+        invocation.onFinish(finished::add);
+
+        final ProgressEvent<TestModel, TestCallbackContext> progress = invocation.finish(
+            invocation.<DescribeProtectionRequest, DescribeProtectionResponse>remoteCall("describeProtection")
+                .model(TestData.MODEL)
+                .context(new TestCallbackContext())
+                .translateToServiceRequest(m -> DescribeProtectionRequest.builder().build())
+                .getRequestFunction(c -> c::describeProtection)
+                .build()
+                .initiate()
+        );
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(this.recorded).containsExactly("describeProtection.Latency", "ReadHandler.Duration");
+        assertThat(finished).containsExactly(progress);
+        assertThat(invocation.getLimiter().availablePermits()).isEqualTo(StepGraph.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    @Test
+    public void tuningPacesCalls() {
+        doThrow(ShieldException.builder()
+            .statusCode(400)
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+            .build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        final InvocationContext<TestModel, TestCallbackContext> invocation =
+            InvocationContext.<TestModel, TestCallbackContext>builder()
+                .resourceType("Protection")
+                .handlerName("ReadHandler")
+                .proxy(this.proxy)
+                .shieldClient(this.shieldClient)
+                .logger(this.logger)
+                .tuning(CallTuning.NO_JITTER.toBuilder().rateExceededDelaySeconds(7).maxConcurrentCalls(2).build())
+                .build();
+
+        final ProgressEvent<TestModel, TestCallbackContext> progress =
+            invocation.<DescribeProtectionRequest, DescribeProtectionResponse>remoteCall("describeProtection")
+                .model(TestData.MODEL)
+                .context(new TestCallbackContext())
+                .translateToServiceRequest(m -> DescribeProtectionRequest.builder().build())
+                .getRequestFunction(c -> c::describeProtection)
+                .build()
+                .initiate();
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(progress.getCallbackDelaySeconds()).isEqualTo(7);
+        assertThat(invocation.getLimiter().availablePermits()).isEqualTo(2);
+        assertThat(CallTuning.NO_JITTER.nextJitter()).isEqualTo(Duration.ZERO);
+        assertThat(CallTuning.DEFAULT.nextJitter()).isLessThan(CallTuning.DEFAULT.getJitter());
+    }
+
+    @Test
+    public void mutationsNotifyTheListenersOfTheTuning() {
+        doReturn(DescribeProtectionResponse.builder().build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        doReturn(DeleteProtectionResponse.builder().build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DeleteProtectionRequest.class), any());
+        final List<String> mutations = new ArrayList<>();
+        final InvocationContext<TestModel, TestCallbackContext> invocation =
+            InvocationContext.<TestModel, TestCallbackContext>builder()
+                .resourceType("Protection")
+                .handlerName("DeleteHandler")
+                .proxy(this.proxy)
+                .shieldClient(this.shieldClient)
+                .logger(this.logger)
+                .tuning(CallTuning.NO_JITTER.toBuilder()
+                    .mutationListener((resourceType, apiName, request) -> mutations.add(apiName))
+                    .build())
+                .build();
+
+        invocation.<DescribeProtectionRequest, DescribeProtectionResponse>remoteCall("describeProtection")
+            .model(TestData.MODEL)
+            .context(new TestCallbackContext())
+            .translateToServiceRequest(m -> DescribeProtectionRequest.builder().build())
+            .getRequestFunction(c -> c::describeProtection)
+            .build()
+            .initiate();
+        invocation.<DeleteProtectionRequest, DeleteProtectionResponse>remoteCall("deleteProtection")
+            .model(TestData.MODEL)
+            .context(new TestCallbackContext())
+            .translateToServiceRequest(m -> DeleteProtectionRequest.builder().build())
+            .getRequestFunction(c -> c::deleteProtection)
+            .build()
+            .initiate();
+
+        assertThat(mutations).containsExactly("deleteProtection");
+        assertThat(CallTuning.DEFAULT.getMutationListeners()).hasSize(2);
+    }
+
+    @Test
+    public void deadlineFollowsTimeBudget() {
+        assertThat(invocation(Duration.ofSeconds(30)).remainingTime()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(invocation(Duration.ofSeconds(30)).isPastDeadline()).isFalse();
+        assertThat(invocation(Duration.ZERO).remainingTime()).isEqualTo(Duration.ZERO);
+        assertThat(invocation(Duration.ZERO).isPastDeadline()).isTrue();
+    }
+
+    @Test
+    public void cachedComputesOncePerKey() {
+        final InvocationContext<TestModel, TestCallbackContext> invocation = invocation(Duration.ofSeconds(30));
+        final AtomicInteger computed = new AtomicInteger();
+
+        assertThat(invocation.<Integer>cached("key", computed::incrementAndGet)).isEqualTo(1);
+        assertThat(invocation.<Integer>cached("key", computed::incrementAndGet)).isEqualTo(1);
+        invocation.invalidate("key");
+        assertThat(invocation.<Integer>cached("key", computed::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    public void clientRequired() {
+        assertThrows(IllegalArgumentException.class, () -> InvocationContext.<TestModel, TestCallbackContext>builder()
+            .resourceType("Protection")
+            .handlerName("ReadHandler")
+            .proxy(this.proxy)
+            .logger(this.logger)
+            .build());
+    }
+
+    private InvocationContext<TestModel, TestCallbackContext> invocation(final Duration timeBudget) {
+        return InvocationContext.<TestModel, TestCallbackContext>builder()
+            .resourceType("Protection")
+            .handlerName("ReadHandler")
+            .proxy(this.proxy)
+            .shieldClient(this.shieldClient)
+            .logger(this.logger)
+            .metrics((name, value, unit) -> this.recorded.add(name))
+            .tuning(CallTuning.NO_JITTER)
+            .timeBudget(timeBudget)
+            .clock(Clock.fixed(NOW, ZoneOffset.UTC))
+            .build();
+    }
+}
@@ -0,0 +1,84 @@
+package software.amazon.shield.common;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ListDiffTest {
+
+    @Test
+    public void valuesAddedAndRemovedInStableOrder() {
+        final ListDiff<String, String> diff = ListDiff.of(
+            Arrays.asList("e", "b", "c", "b", "a"),
+            Arrays.asList("d", "a", "f", "b", "d")
+        );
+
+        assertThat(diff.getAdded()).containsExactly("e", "c");
+        assertThat(diff.getRemoved()).containsExactly("d", "f");
+        assertThat(diff.getChanged()).isEmpty();
+        assertThat(ListDiff.of(Arrays.asList("a", "b"), Arrays.asList("b", "a", "a")).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void nullListsAreEmpty() {
+        assertThat(ListDiff.of(null, null).isEmpty()).isTrue();
+        assertThat(ListDiff.of(Arrays.asList("a"), null).getAdded()).containsExactly("a");
+        assertThat(ListDiff.of(null, Arrays.asList("a")).getRemoved()).containsExactly("a");
+    }
+
+    @Test
+    public void keyedEntriesOfDifferentTypes() {
+        final ListDiff<Tag, software.amazon.awssdk.services.shield.model.Tag> diff = ListDiff.of(
+            Arrays.asList(
+                modelTag("k1", "v1"),
+                modelTag("k2", "v2-new"),
+                modelTag("k4", "v4"),
+                modelTag("k4", "v4-dup")
+            ),
+            Tag::getKey,
+            Arrays.asList(sdkTag("k1", "v1"), sdkTag("k2", "v2"), sdkTag("k3", "v3"), sdkTag("k3", "v3-dup")),
+            software.amazon.awssdk.services.shield.model.Tag::key,
+            (desired, current) -> desired.getValue().equals(current.value())
+        );
+
+        assertThat(diff.getAdded()).extracting(Tag::getValue).containsExactly("v4");
+        assertThat(diff.getChanged()).extracting(Tag::getValue).containsExactly("v2-new");
+        assertThat(diff.getRemoved())
+            .extracting(software.amazon.awssdk.services.shield.model.Tag::value)
+            .containsExactly("v3");
+    }
+
+    @Test
+    public void sortedMergeWalk() {
+        final ListDiff<String, String> diff = ListDiff.ofSorted(
+            Arrays.asList("b", "c", "d", "e", "g"),
+            Arrays.asList("a", "b", "d", "f"),
+            Comparator.naturalOrder()
+        );
+
+        assertThat(diff.getAdded()).containsExactly("c", "e", "g");
+        assertThat(diff.getRemoved()).containsExactly("a", "f");
+        assertThat(diff.getChanged()).isEmpty();
+    }
+
+    private static Tag modelTag(final String key, final String value) {
+        return Tag.builder().key(key).value(value).build();
+    }
+
+    private static software.amazon.awssdk.services.shield.model.Tag sdkTag(final String key, final String value) {
+        return software.amazon.awssdk.services.shield.model.Tag.builder().key(key).value(value).build();
+    }
+
+    /**
+     * tag of a resource model.
+     */
+    @lombok.Value
+    @lombok.Builder
+    private static class Tag {
+        String key;
+        String value;
+    }
+}
@@ -0,0 +1,43 @@
+package software.amazon.shield.common;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.cloudformation.proxy.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class LogMetricsSinkTest {
+
+    @Test
+    public void writesEmbeddedMetricLine() throws Exception {
+        final Logger logger = mock(Logger.class);
+        final Instant now = Instant.parse("2023-03-01T00:00:00Z");
+
+        new LogMetricsSink(logger, "Protection", Clock.fixed(now, ZoneOffset.UTC))
+            .record("CreateHandler.OperationLatency", 1500, "Milliseconds");
+
+        final ArgumentCaptor<String> line = ArgumentCaptor.forClass(String.class);
+        verify(logger).log(line.capture());
+        final JsonNode json = new ObjectMapper().readTree(line.getValue());
+        final JsonNode directive = json.path("_aws").path("CloudWatchMetrics").get(0);
+        assertThat(json.path("_aws").path("Timestamp").asLong()).isEqualTo(now.toEpochMilli());
+        assertThat(directive.path("Namespace").asText()).isEqualTo(LogMetricsSink.NAMESPACE);
+        assertThat(directive.path("Dimensions").get(0).get(0).asText()).isEqualTo("ResourceType");
+        assertThat(directive.path("Metrics").get(0).path("Name").asText())
+            .isEqualTo("CreateHandler.OperationLatency");
+        assertThat(directive.path("Metrics").get(0).path("Unit").asText()).isEqualTo("Milliseconds");
+        assertThat(json.path("ResourceType").asText()).isEqualTo("Protection");
+        assertThat(json.path("CreateHandler.OperationLatency").asDouble()).isEqualTo(1500);
+    }
+}
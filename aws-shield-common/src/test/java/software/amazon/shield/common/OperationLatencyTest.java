@@ -0,0 +1,131 @@
+package software.amazon.shield.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class OperationLatencyTest {
+
+    private Logger logger;
+    private MutableClock clock;
+    private Map<String, Double> metrics;
+    private MetricsSink sink;
+
+    @BeforeEach
+    public void setup() {
+        this.logger = mock(Logger.class);
+        this.clock = new MutableClock(Instant.parse("2023-03-01T00:00:00Z"));
+        this.metrics = new LinkedHashMap<>();
+        this.sink = (name, value, unit) -> this.metrics.put(name, value);
+    }
+
+    @Test
+    public void latencySpansInvocations() {
+        final TestCallbackContext context = new TestCallbackContext();
+
+        final OperationLatency first = OperationLatency.start("Protection", "CreateHandler", context, this.clock);
+        first.addBackoff(Duration.ofMillis(500));
+        this.clock.advance(Duration.ofSeconds(2));
+        first.finish(ProgressEvent.defaultInProgressHandler(context, 30, null), this.sink, this.logger);
+
+        assertThat(context.getInvocationCount()).isEqualTo(1);
+        assertThat(context.getBackoffMillis()).isEqualTo(30500L);
+        assertThat(this.metrics).isEmpty();
+
+        this.clock.advance(Duration.ofSeconds(40));
+        final OperationLatency second = OperationLatency.start("Protection", "CreateHandler", context, this.clock);
+        this.clock.advance(Duration.ofSeconds(1));
+        second.finish(ProgressEvent.defaultSuccessHandler(null), this.sink, this.logger);
+
+        assertThat(this.metrics).containsEntry("CreateHandler.OperationLatency", 43000.0);
+        verify(this.logger).log(argThat(line -> line.startsWith("[OPERATION] Protection:CreateHandler status=SUCCESS")
+            && line.contains("latencyMs=43000 activeMs=12500 backoffMs=30500 invocations=2")));
+    }
+
+    @Test
+    public void invocationContextRecordsFinalEventOnly() {
+        final AmazonWebServicesClientProxy proxy = spy(new AmazonWebServicesClientProxy(
+            new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()
+        ));
+        final TestCallbackContext context = new TestCallbackContext();
+
+        invocation(proxy, context).finish(ProgressEvent.defaultInProgressHandler(context, 5, null));
+        verify(this.logger, never()).log(argThat(line -> line.startsWith("[OPERATION]")));
+
+        this.clock.advance(Duration.ofSeconds(6));
+        invocation(proxy, context).finish(ProgressEvent.failed(null, context, HandlerErrorCode.Throttling, "slow"));
+
+        assertThat(context.getInvocationCount()).isEqualTo(2);
+        assertThat(this.metrics).containsEntry("DeleteHandler.OperationLatency", 6000.0);
+        verify(this.logger).log(argThat(line -> line.contains("status=FAILED") && line.contains("backoffMs=5000")));
+    }
+
+    private InvocationContext<TestModel, TestCallbackContext> invocation(
+        final AmazonWebServicesClientProxy proxy,
+        final TestCallbackContext context
+    ) {
+        return InvocationContext.<TestModel, TestCallbackContext>builder()
+            .resourceType("Protection")
+            .handlerName("DeleteHandler")
+            .proxy(proxy)
+            .shieldClient(mock(ShieldClient.class))
+            .logger(this.logger)
+            .metrics(this.sink)
+            .clock(this.clock)
+            .operationContext(context)
+            .build();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        private void advance(final Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package software.amazon.shield.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.shield.model.CreateProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionResponse;
+import software.amazon.awssdk.services.shield.model.EnableApplicationLayerAutomaticResponseRequest;
+import software.amazon.awssdk.services.shield.model.ListProtectionsRequest;
+import software.amazon.awssdk.services.shield.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.shield.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.shield.model.Protection;
+import software.amazon.awssdk.services.shield.model.TagResourceRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadCacheTest {
+
+    private static final DescribeProtectionRequest DESCRIBE_REQUEST = DescribeProtectionRequest.builder()
+        .protectionId(TestData.PROTECTION_ID)
+        .build();
+    private static final DescribeProtectionResponse DESCRIBE_RESPONSE = DescribeProtectionResponse.builder()
+        .protection(Protection.builder()
+            .id(TestData.PROTECTION_ID)
+            .protectionArn(TestData.PROTECTION_ARN)
+            .resourceArn(TestData.RESOURCE_ARN)
+            .build())
+        .build();
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String DESCRIBE_KEY = ReadCache.key(ACCOUNT_ID, "describeProtection", DESCRIBE_REQUEST);
+
+    private MutableClock clock;
+    private ReadCache cache;
+
+    @BeforeEach
+    public void setup() {
+        this.clock = new MutableClock(Instant.parse("2023-03-01T00:00:00Z"));
+        this.cache = new ReadCache(2, Duration.ofSeconds(5), this.clock);
+    }
+
+    @Test
+    public void keyedByAccountApiAndRequest() {
+        assertThat(DESCRIBE_KEY)
+            .isEqualTo(ACCOUNT_ID + ":describeProtection:{\"ProtectionId\":\"" + TestData.PROTECTION_ID + "\"}");
+        assertThat(this.cache.forAccount(ACCOUNT_ID).key("describeProtection", DESCRIBE_REQUEST))
+            .isEqualTo(DESCRIBE_KEY);
+        assertThat(this.cache.forAccount("210987654321").key("describeProtection", DESCRIBE_REQUEST))
+            .isNotEqualTo(DESCRIBE_KEY);
+    }
+
+    @Test
+    public void requestsWithoutIdentifiersAreKeyedApart() {
+        final ListProtectionsRequest firstPage = ListProtectionsRequest.builder().maxResults(10).build();
+        final ListProtectionsRequest secondPage = firstPage.toBuilder().nextToken("token").build();
+
+        assertThat(ReadCache.identifiers(firstPage)).isEmpty();
+        assertThat(ReadCache.key(ACCOUNT_ID, "listProtections", firstPage))
+            .isNotEqualTo(ReadCache.key(ACCOUNT_ID, "listProtections", secondPage));
+    }
+
+    @Test
+    public void accountViewsShareEntries() {
+        final ReadCache view = this.cache.forAccount(ACCOUNT_ID);
+        view.put(DESCRIBE_KEY, DESCRIBE_REQUEST, DESCRIBE_RESPONSE);
+        assertThat(this.cache.get(DESCRIBE_KEY)).contains(DESCRIBE_RESPONSE);
+
+        this.cache.onMutation(
+            "Protection",
+            "tagResource",
+            TagResourceRequest.builder().resourceARN(TestData.PROTECTION_ARN).build()
+        );
+        assertThat(view.get(DESCRIBE_KEY)).isEmpty();
+    }
+
+    @Test
+    public void entryExpiresAfterTtl() {
+        this.cache.put(DESCRIBE_KEY, DESCRIBE_REQUEST, DESCRIBE_RESPONSE);
+        this.clock.advance(Duration.ofSeconds(4));
+        assertThat(this.cache.get(DESCRIBE_KEY)).contains(DESCRIBE_RESPONSE);
+
+        this.clock.advance(Duration.ofSeconds(1));
+        assertThat(this.cache.get(DESCRIBE_KEY)).isEmpty();
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        this.cache.put("a", DESCRIBE_REQUEST, DESCRIBE_RESPONSE);
+        this.cache.put("b", DESCRIBE_REQUEST, DESCRIBE_RESPONSE);
+        this.cache.get("a");
+        this.cache.put("c", DESCRIBE_REQUEST, DESCRIBE_RESPONSE);
+
+        assertThat(this.cache.size()).isEqualTo(2);
+        assertThat(this.cache.get("a")).isPresent();
+        assertThat(this.cache.get("b")).isEmpty();
+        assertThat(this.cache.get("c")).isPresent();
+    }
+
+    @Test
+    public void mutationOfSameResourceInvalidates() {
+        this.cache.put(DESCRIBE_KEY, DESCRIBE_REQUEST, DESCRIBE_RESPONSE);
+        final ListTagsForResourceRequest listTagsRequest = ListTagsForResourceRequest.builder()
+            .resourceARN(TestData.PROTECTION_ARN)
+            .build();
+        final String listTagsKey = ReadCache.key(ACCOUNT_ID, "listTagsForResource", listTagsRequest);
+        this.cache.put(listTagsKey, listTagsRequest, ListTagsForResourceResponse.builder().build());
+
+        this.cache.onMutation(
+            "Protection",
+            "createProtection",
+            CreateProtectionRequest.builder().resourceArn("arn:aws:elasticloadbalancing:other").build()
+        );
+        assertThat(this.cache.size()).isEqualTo(2);
+
+        this.cache.onMutation(
+            "Protection",
+            "tagResource",
+            TagResourceRequest.builder().resourceARN(TestData.PROTECTION_ARN).build()
+        );
+        assertThat(this.cache.get(DESCRIBE_KEY)).isEmpty();
+        assertThat(this.cache.get(listTagsKey)).isEmpty();
+    }
+
+    @Test
+    public void mutationByProtectedResourceInvalidates() {
+        this.cache.put(DESCRIBE_KEY, DESCRIBE_REQUEST, DESCRIBE_RESPONSE);
+
+        this.cache.onMutation(
+            "Protection",
+            "enableApplicationLayerAutomaticResponse",
+            EnableApplicationLayerAutomaticResponseRequest.builder()
+                .resourceArn(TestData.RESOURCE_ARN)
+                .build()
+        );
+        assertThat(this.cache.get(DESCRIBE_KEY)).isEmpty();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        private void advance(final Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+}
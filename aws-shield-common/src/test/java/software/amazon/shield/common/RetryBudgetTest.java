@@ -0,0 +1,146 @@
+package software.amazon.shield.common;
+
+import java.time.Duration;
+import javax.annotation.Nullable;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.CreateProtectionRequest;
+import software.amazon.awssdk.services.shield.model.CreateProtectionResponse;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionResponse;
+import software.amazon.awssdk.services.shield.model.InternalErrorException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+@ExtendWith(MockitoExtension.class)
+public class RetryBudgetTest {
+
+    @Test
+    public void acquireUntilSpent() {
+        final TestCallbackContext context = new TestCallbackContext();
+
+        assertThat(RetryBudget.acquire(context, "describeProtection", 2)).isEqualTo(0);
+        assertThat(RetryBudget.acquire(context, "describeProtection", 2)).isEqualTo(1);
+        assertThat(RetryBudget.acquire(context, "describeProtection", 2)).isEqualTo(-1);
+        assertThat(RetryBudget.acquire(context, "createProtection", 2)).isEqualTo(0);
+        assertThat(RetryBudget.acquire(new Object(), "describeProtection", 2)).isEqualTo(-1);
+    }
+
+    @Test
+    public void branchesShareTheBudget() {
+        final TestCallbackContext parent = new TestCallbackContext();
+        RetryBudget.acquire(parent, "a", 3);
+
+        final TestCallbackContext branch = new TestCallbackContext();
+        RetryBudget.fork(parent, branch);
+        assertThat(RetryBudget.acquire(branch, "a", 3)).isEqualTo(1);
+        assertThat(RetryBudget.acquire(branch, "b", 3)).isEqualTo(0);
+
+        RetryBudget.join(parent, branch);
+        assertThat(parent.getRetryAttempts()).containsEntry("a", 2).containsEntry("b", 1);
+    }
+
+    @Test
+    public void transientErrorsBackOffWithinTheBudget() {
+        final AmazonWebServicesClientProxy proxy = spy(new AmazonWebServicesClientProxy(
+            new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()
+        ));
+        doThrow(InternalErrorException.builder().statusCode(500).message("internal error").build()).when(proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        final CallTuning tuning = CallTuning.NO_JITTER.toBuilder().maxRetries(2).retryDelaySeconds(3).build();
+        final TestCallbackContext context = new TestCallbackContext();
+
+        final ProgressEvent<TestModel, TestCallbackContext> first = describe(proxy, context, tuning);
+        final ProgressEvent<TestModel, TestCallbackContext> second = describe(proxy, context, tuning);
+        final ProgressEvent<TestModel, TestCallbackContext> third = describe(proxy, context, tuning);
+
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(first.getCallbackDelaySeconds()).isEqualTo(3);
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(second.getCallbackDelaySeconds()).isEqualTo(6);
+        assertThat(third.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(third.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+    }
+
+    @Test
+    public void transientErrorsOfMutationsRetriedOnlyBehindACheckpoint() {
+        final AmazonWebServicesClientProxy proxy = spy(new AmazonWebServicesClientProxy(
+            new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()
+        ));
+        doThrow(InternalErrorException.builder().statusCode(500).message("internal error").build()).when(proxy)
+            .injectCredentialsAndInvokeV2(any(CreateProtectionRequest.class), any());
+
+        final ProgressEvent<TestModel, TestCallbackContext> unguarded =
+            createProtection(proxy, new TestCallbackContext(), null);
+        final ProgressEvent<TestModel, TestCallbackContext> guarded =
+            createProtection(proxy, new TestCallbackContext(), "createProtection");
+
+        assertThat(unguarded.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(unguarded.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+        assertThat(guarded.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(guarded.getCallbackDelaySeconds()).isPositive();
+    }
+
+    private static ProgressEvent<TestModel, TestCallbackContext> createProtection(
+        final AmazonWebServicesClientProxy proxy,
+        final TestCallbackContext context,
+        @Nullable final String checkpoint
+    ) {
+        return ShieldAPIChainableRemoteCall.<TestModel, TestCallbackContext, CreateProtectionRequest,
+                CreateProtectionResponse>builder()
+            .resourceType("Protection")
+            .handlerName("CreateHandler")
+            .apiName("createProtection")
+            .proxy(proxy)
+            .proxyClient(proxy.newProxy(() -> mock(ShieldClient.class)))
+            .model(TestData.MODEL)
+            .context(context)
+            .logger(mock(Logger.class))
+            .tuning(CallTuning.NO_JITTER)
+            .checkpoint(checkpoint)
+            .translateToServiceRequest(m -> CreateProtectionRequest.builder().build())
+            .getRequestFunction(c -> c::createProtection)
+            .build()
+            .initiate();
+    }
+
+    private static ProgressEvent<TestModel, TestCallbackContext> describe(
+        final AmazonWebServicesClientProxy proxy,
+        final TestCallbackContext context,
+        final CallTuning tuning
+    ) {
+        return ShieldAPIChainableRemoteCall.<TestModel, TestCallbackContext, DescribeProtectionRequest,
+                DescribeProtectionResponse>builder()
+            .resourceType("Protection")
+            .handlerName("ReadHandler")
+            .apiName("describeProtection")
+            .proxy(proxy)
+            .proxyClient(proxy.newProxy(() -> mock(ShieldClient.class)))
+            .model(TestData.MODEL)
+            .context(context)
+            .logger(mock(Logger.class))
+            .tuning(tuning)
+            .translateToServiceRequest(m -> DescribeProtectionRequest.builder().build())
+            .getRequestFunction(c -> c::describeProtection)
+            .build()
+            .initiate();
+    }
+}
@@ -0,0 +1,157 @@
+package software.amazon.shield.common;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.ApplicationLayerAutomaticResponseConfiguration;
+import software.amazon.awssdk.services.shield.model.BlockAction;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionResponse;
+import software.amazon.awssdk.services.shield.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.shield.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.shield.model.Protection;
+import software.amazon.awssdk.services.shield.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.shield.model.ResponseAction;
+import software.amazon.awssdk.services.shield.model.Tag;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ShieldTrafficReplayerTest {
+
+    private AmazonWebServicesClientProxy proxy;
+    private Logger logger;
+
+    @BeforeEach
+    public void setup() {
+        this.proxy = new AmazonWebServicesClientProxy(
+            new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()
+        );
+        this.logger = mock(Logger.class);
+    }
+
+    @Test
+    public void replaysRecordedCallsOffline() throws IOException {
+        final ShieldClient shield = mock(ShieldClient.class);
+        when(shield.describeProtection(any(DescribeProtectionRequest.class))).thenReturn(
+            DescribeProtectionResponse.builder()
+                .protection(Protection.builder()
+                    .name(TestData.NAME)
+                    .resourceArn(TestData.RESOURCE_ARN)
+                    .protectionArn(TestData.PROTECTION_ARN)
+                    .id(TestData.PROTECTION_ID)
+                    .healthCheckIds(TestData.HEALTH_CHECK_ID)
+                    .applicationLayerAutomaticResponseConfiguration(
+                        ApplicationLayerAutomaticResponseConfiguration.builder()
+                            .action(ResponseAction.builder().block(BlockAction.builder().build()).build())
+                            .status(TestData.ENABLED)
+                            .build())
+                    .build())
+                .build());
+        when(shield.listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(
+            ListTagsForResourceResponse.builder()
+                .tags(Tag.builder().key("k1").value("v1").build())
+                .build());
+        final StringWriter trace = new StringWriter();
+        final ShieldTrafficRecorder recorder = new ShieldTrafficRecorder(trace, null);
+
+        final ProgressEvent<TestModel, TestCallbackContext> recorded = read(recorder.record(shield));
+        final ShieldTrafficReplayer replayer = ShieldTrafficReplayer.load(new StringReader(trace.toString()), 0);
+        final ProgressEvent<TestModel, TestCallbackContext> replayed = read(replayer.client());
+
+        assertThat(recorder.size()).isEqualTo(2);
+        assertThat(recorded.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(replayed.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(replayed.getResourceModel()).isEqualTo(recorded.getResourceModel());
+        assertThat(replayer.remaining()).isZero();
+    }
+
+    @Test
+    public void replaysAnonymizedErrors() throws IOException {
+        final ShieldClient shield = mock(ShieldClient.class);
+        when(shield.describeProtection(any(DescribeProtectionRequest.class))).thenThrow(
+            ResourceNotFoundException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder()
+                    .errorCode("ResourceNotFoundException")
+                    .errorMessage("No protection " + TestData.PROTECTION_ID)
+                    .build())
+                .build());
+        final StringWriter trace = new StringWriter();
+        read(new ShieldTrafficRecorder(trace, s -> s.replace(TestData.PROTECTION_ID, "anonymized"))
+            .record(shield));
+
+        final ProgressEvent<TestModel, TestCallbackContext> replayed =
+            read(ShieldTrafficReplayer.load(new StringReader(trace.toString()), 0).client());
+
+        assertThat(trace.toString()).doesNotContain(TestData.PROTECTION_ID).contains("anonymized");
+        assertThat(replayed.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(replayed.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(replayed.getMessage()).contains("No protection anonymized");
+    }
+
+    /**
+     * the calls of a protection Read: the protection, then its tags.
+     */
+    private ProgressEvent<TestModel, TestCallbackContext> read(final ShieldClient shield) {
+        final ProxyClient<ShieldClient> proxyClient = this.proxy.newProxy(() -> shield);
+        return ShieldAPIChainableRemoteCall.<TestModel, TestCallbackContext, DescribeProtectionRequest,
+                DescribeProtectionResponse>builder()
+            .resourceType("Protection")
+            .handlerName("ReadHandler")
+            .apiName("describeProtection")
+            .proxy(this.proxy)
+            .proxyClient(proxyClient)
+            .model(TestModel.builder().protectionId(TestData.PROTECTION_ID).build())
+            .context(new TestCallbackContext())
+            .logger(this.logger)
+            .tuning(CallTuning.NO_JITTER)
+            .translateToServiceRequest(m -> DescribeProtectionRequest.builder()
+                .protectionId(m.getProtectionId())
+                .build())
+            .getRequestFunction(c -> c::describeProtection)
+            .onSuccess((req, res, c, m, ctx) -> {
+                m.setProtectionArn(res.protection().protectionArn());
+                m.setResourceArn(res.protection().resourceArn());
+                return null;
+            })
+            .build()
+            .initiate()
+            .then(progress -> ShieldAPIChainableRemoteCall.<TestModel, TestCallbackContext,
+                    ListTagsForResourceRequest, ListTagsForResourceResponse>builder()
+                .resourceType("Protection")
+                .handlerName("ReadHandler")
+                .apiName("listTagsForResource")
+                .proxy(this.proxy)
+                .proxyClient(proxyClient)
+                .model(progress.getResourceModel())
+                .context(progress.getCallbackContext())
+                .logger(this.logger)
+                .tuning(CallTuning.NO_JITTER)
+                .translateToServiceRequest(m -> ListTagsForResourceRequest.builder()
+                    .resourceARN(m.getProtectionArn())
+                    .build())
+                .getRequestFunction(c -> c::listTagsForResource)
+                .onSuccess((req, res, c, m, ctx) -> ProgressEvent.defaultSuccessHandler(m))
+                .build()
+                .initiate());
+    }
+}
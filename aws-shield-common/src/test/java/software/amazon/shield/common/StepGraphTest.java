@@ -0,0 +1,165 @@
+package software.amazon.shield.common;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StepGraphTest {
+
+    @Test
+    public void doneStepsAreSkippedWhenReinvoked() {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger polled = new AtomicInteger();
+        final StepGraph<TestModel, TestCallbackContext> graph = new StepGraph<TestModel, TestCallbackContext>(
+            parent -> new TestCallbackContext()
+        )
+            .step("createProtection", progress -> {
+                created.incrementAndGet();
+                return progress;
+            })
+            // completes the checkpoint of its call, then waits like a stabilizer.
+            .step("enable", progress -> {
+                Checkpoints.complete(progress.getCallbackContext(), "enable");
+                return ProgressEvent.defaultInProgressHandler(
+                    progress.getCallbackContext(),
+                    polled.incrementAndGet() == 1 ? 5 : 0,
+                    progress.getResourceModel()
+                );
+            }, "createProtection");
+        final TestCallbackContext context = new TestCallbackContext();
+
+        final ProgressEvent<TestModel, TestCallbackContext> first =
+            graph.run(ProgressEvent.defaultInProgressHandler(context, 0, TestData.MODEL));
+        assertThat(first.getCallbackDelaySeconds()).isEqualTo(5);
+        assertThat(Checkpoints.isCompleted(context, StepGraph.checkpointId("createProtection"))).isTrue();
+        assertThat(Checkpoints.isCompleted(context, StepGraph.checkpointId("enable"))).isFalse();
+
+        final ProgressEvent<TestModel, TestCallbackContext> second =
+            graph.run(ProgressEvent.defaultInProgressHandler(context, 0, TestData.MODEL));
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(second.getCallbackDelaySeconds()).isZero();
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(polled.get()).isEqualTo(2);
+        assertThat(Checkpoints.isCompleted(context, StepGraph.checkpointId("enable"))).isTrue();
+    }
+
+    @Test
+    public void branchesRunOnForkedContextsAndJoin() {
+        final Set<TestCallbackContext> branchContexts =
+            Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        final StepGraph<TestModel, TestCallbackContext> graph = new StepGraph<TestModel, TestCallbackContext>(
+            parent -> new TestCallbackContext(),
+            (parent, branch) -> {
+            },
+            model -> model.toBuilder().build(),
+            StepGraph.DEFAULT_MAX_CONCURRENCY
+        )
+            .step("left", progress -> branch(progress, "associateHealthCheck:a", branchContexts))
+            .step("right", progress -> branch(progress, "associateHealthCheck:b", branchContexts));
+        final TestCallbackContext context = new TestCallbackContext();
+        Checkpoints.complete(context, "createProtection");
+        final TestModel model = TestData.MODEL.toBuilder().build();
+
+        final ProgressEvent<TestModel, TestCallbackContext> progress =
+            graph.run(ProgressEvent.defaultInProgressHandler(context, 0, model));
+
+        assertThat(progress.getCallbackContext()).isSameAs(context);
+        assertThat(progress.getResourceModel()).isSameAs(model);
+        assertThat(model.getResourceArn()).isEqualTo(TestData.RESOURCE_ARN);
+        assertThat(branchContexts).hasSize(2).allMatch(branchContext -> branchContext != context);
+        assertThat(context.getCompletedSteps()).contains(
+            "createProtection",
+            "associateHealthCheck:a",
+            "associateHealthCheck:b",
+            StepGraph.checkpointId("left"),
+            StepGraph.checkpointId("right")
+        );
+        assertThat(context.getRetryAttempts())
+            .containsEntry("associateHealthCheck:a", 1)
+            .containsEntry("associateHealthCheck:b", 1);
+    }
+
+    @Test
+    public void failedBranchesAreReportedTogether() {
+        final StepGraph<TestModel, TestCallbackContext> graph = new StepGraph<TestModel, TestCallbackContext>(
+            parent -> new TestCallbackContext()
+        )
+            .step("left", progress -> ProgressEvent.failed(
+                progress.getResourceModel(), progress.getCallbackContext(), HandlerErrorCode.NotFound, "gone"))
+            .step("middle", progress -> progress)
+            .step("right", progress -> ProgressEvent.failed(
+                progress.getResourceModel(), progress.getCallbackContext(), HandlerErrorCode.Throttling, "slow"));
+        final TestCallbackContext context = new TestCallbackContext();
+
+        final ProgressEvent<TestModel, TestCallbackContext> progress =
+            graph.run(ProgressEvent.defaultInProgressHandler(context, 0, TestData.MODEL));
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(progress.getMessage()).isEqualTo("left: gone; right: slow");
+        assertThat(Checkpoints.isCompleted(context, StepGraph.checkpointId("middle"))).isTrue();
+        assertThat(Checkpoints.isCompleted(context, StepGraph.checkpointId("left"))).isFalse();
+    }
+
+    @Test
+    public void saturatedPoolRunsBranchOnCallerThread() {
+        final int branches = StepGraph.MAX_THREADS + 1;
+        // every branch waits for all others, which only the caller running the last one can satisfy.
+        final CountDownLatch arrived = new CountDownLatch(branches);
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final StepGraph<TestModel, TestCallbackContext> graph = new StepGraph<>(
+            parent -> new TestCallbackContext(),
+            (parent, branch) -> {
+            },
+            branches
+        );
+        for (int i = 0; i < branches; i++) {
+            graph.step("branch:" + i, progress -> {
+                threads.add(Thread.currentThread());
+                arrived.countDown();
+                try {
+                    if (!arrived.await(10, TimeUnit.SECONDS)) {
+                        return ProgressEvent.failed(progress.getResourceModel(), progress.getCallbackContext(),
+                            HandlerErrorCode.InternalFailure, "pool starved");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+                return progress;
+            });
+        }
+
+        final ProgressEvent<TestModel, TestCallbackContext> progress =
+            graph.run(ProgressEvent.defaultInProgressHandler(new TestCallbackContext(), 0, TestData.MODEL));
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(progress.getCallbackDelaySeconds()).isZero();
+        assertThat(threads).hasSize(branches).contains(Thread.currentThread());
+    }
+
+    private static ProgressEvent<TestModel, TestCallbackContext> branch(
+        final ProgressEvent<TestModel, TestCallbackContext> progress,
+        final String call,
+        final Set<TestCallbackContext> branchContexts
+    ) {
+        final TestCallbackContext context = progress.getCallbackContext();
+        branchContexts.add(context);
+        assertThat(Checkpoints.isCompleted(context, "createProtection")).isTrue();
+        RetryBudget.acquire(context, call, 3);
+        Checkpoints.complete(context, call);
+        progress.getResourceModel().setResourceArn("changed by " + call);
+        return progress;
+    }
+}
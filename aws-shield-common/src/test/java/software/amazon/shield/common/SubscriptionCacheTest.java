@@ -0,0 +1,95 @@
+package software.amazon.shield.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.shield.model.EnableProactiveEngagementRequest;
+import software.amazon.awssdk.services.shield.model.Subscription;
+import software.amazon.awssdk.services.shield.model.TagResourceRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SubscriptionCacheTest {
+
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final Subscription SUBSCRIPTION = Subscription.builder().subscriptionArn("arn").build();
+
+    private MutableClock clock;
+    private SubscriptionCache cache;
+
+    @BeforeEach
+    public void setup() {
+        this.clock = new MutableClock(Instant.parse("2023-03-01T00:00:00Z"));
+        this.cache = new SubscriptionCache(Duration.ofSeconds(60), this.clock);
+    }
+
+    @Test
+    public void entryExpiresAfterTtl() {
+        this.cache.put(ACCOUNT_ID, SUBSCRIPTION);
+        this.clock.advance(Duration.ofSeconds(59));
+        assertThat(this.cache.get(ACCOUNT_ID)).contains(SUBSCRIPTION);
+
+        this.clock.advance(Duration.ofSeconds(1));
+        assertThat(this.cache.get(ACCOUNT_ID)).isEmpty();
+    }
+
+    @Test
+    public void missingSubscriptionIsNotCached() {
+        this.cache.put(ACCOUNT_ID, SUBSCRIPTION);
+        this.cache.put(ACCOUNT_ID, null);
+        assertThat(this.cache.get(ACCOUNT_ID)).isEmpty();
+    }
+
+    @Test
+    public void subscriptionMutationInvalidates() {
+        this.cache.put(ACCOUNT_ID, SUBSCRIPTION);
+        this.cache.onMutation("Protection", "tagResource", TagResourceRequest.builder().build());
+        assertThat(this.cache.get(ACCOUNT_ID)).contains(SUBSCRIPTION);
+
+        this.cache.onMutation(
+            "ProactiveEngagement",
+            "enableProactiveEngagement",
+            EnableProactiveEngagementRequest.builder().build()
+        );
+        assertThat(this.cache.get(ACCOUNT_ID)).isEmpty();
+    }
+
+    @Test
+    public void readsAreNotMutations() {
+        assertThat(ShieldAPIChainableRemoteCall.isMutation("describeSubscription")).isFalse();
+        assertThat(ShieldAPIChainableRemoteCall.isMutation("listProtections")).isFalse();
+        assertThat(ShieldAPIChainableRemoteCall.isMutation("enableProactiveEngagement")).isTrue();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        private void advance(final Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+}
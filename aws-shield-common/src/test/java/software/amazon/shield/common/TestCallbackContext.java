@@ -0,0 +1,24 @@
+package software.amazon.shield.common;
+
+import java.util.Map;
+import java.util.Set;
+
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+
+/**
+ * Callback context of the tests, carrying the state the common helpers keep in the context of each resource module.
+ */
+@lombok.Getter
+@lombok.Setter
+@lombok.ToString
+@lombok.EqualsAndHashCode(callSuper = true)
+public class TestCallbackContext extends StdCallbackContext
+    implements Checkpoints.CheckpointContext, RetryBudget.RetryContext, Tracer.TraceContext,
+        OperationLatency.OperationContext {
+    private Set<String> completedSteps;
+    private Map<String, Integer> retryAttempts;
+    private String traceId;
+    private Long operationStartedAt;
+    private Integer invocationCount;
+    private Long backoffMillis;
+}
@@ -0,0 +1,18 @@
+package software.amazon.shield.common;
+
+public class TestData {
+    public static final String ACCOUNT_ID = "123456789012";
+    public static final String NAME = "TEST_NAME_cloudfront";
+    public static final String RESOURCE_ARN = "arn:aws:cloudfront::" + ACCOUNT_ID + ":distribution/A12B3CD4E5FG67";
+    public static final String PROTECTION_ID = "TEST_PROTECTION_ID";
+    public static final String PROTECTION_ARN = "arn:aws:shield::" + ACCOUNT_ID + ":protection/" + PROTECTION_ID;
+    public static final String HEALTH_CHECK_ID = "healthCheckId1";
+    public static final String HEALTH_CHECK_ARN = "arn:aws:route53:::healthcheck/" + HEALTH_CHECK_ID;
+    public static final String ENABLED = "ENABLED";
+
+    public static final TestModel MODEL = TestModel.builder()
+        .protectionId(PROTECTION_ID)
+        .protectionArn(PROTECTION_ARN)
+        .resourceArn(RESOURCE_ARN)
+        .build();
+}
@@ -0,0 +1,19 @@
+package software.amazon.shield.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resource model of the tests, standing in for the models generated in each resource module.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestModel {
+    private String protectionId;
+    private String protectionArn;
+    private String resourceArn;
+}
@@ -0,0 +1,228 @@
+package software.amazon.shield.common;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionResponse;
+import software.amazon.awssdk.services.shield.model.ResourceNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+@ExtendWith(MockitoExtension.class)
+public class TracerTest {
+
+    private AmazonWebServicesClientProxy proxy;
+    private Logger logger;
+    private InMemorySpanExporter exporter;
+    private Tracer tracer;
+    private TraceContext traceContext;
+
+    @BeforeEach
+    public void setup() {
+        this.proxy = spy(new AmazonWebServicesClientProxy(
+            new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()
+        ));
+        this.logger = mock(Logger.class);
+        this.exporter = new InMemorySpanExporter();
+        this.tracer = new Tracer(this.exporter);
+        this.traceContext = new TraceContext();
+    }
+
+    @Test
+    public void traceLogOffUnlessSwitchedOn() {
+        final Logger logger = mock(Logger.class);
+
+        assertThat(LogSpanExporter.of(logger, Features.NONE)).isSameAs(SpanExporter.NO_OP);
+        assertThat(LogSpanExporter.of(logger, Features.of(Collections.singletonMap(Features.TRACE_LOG, "true"))))
+            .isInstanceOf(LogSpanExporter.class);
+    }
+
+    @Test
+    public void invocationAndCallsShareTrace() {
+        doReturn(DescribeProtectionResponse.builder().build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+
+        final InvocationContext<TestModel, TestCallbackContext> invocation = invocation();
+        invocation.finish(describe(invocation, true));
+
+        assertThat(this.exporter.getFinishedSpanNames()).containsExactly(
+            "Protection:ReadHandler:describeProtection:stabilize",
+            "Protection:ReadHandler:describeProtection",
+            "Protection:ReadHandler"
+        );
+        final List<Tracer.Span> spans = this.exporter.getFinishedSpans();
+        final Tracer.Span root = spans.get(2);
+        assertThat(root.getParentSpanId()).isNull();
+        assertThat(root.getTraceId()).isEqualTo(this.traceContext.getTraceId());
+        assertThat(spans.get(1).getParentSpanId()).isEqualTo(root.getSpanId());
+        assertThat(spans.get(0).getParentSpanId()).isEqualTo(spans.get(1).getSpanId());
+        assertThat(spans).allMatch(span -> span.getTraceId().equals(root.getTraceId()));
+        assertThat(spans).allMatch(span -> "OK".equals(span.getStatus()));
+    }
+
+    @Test
+    public void reinvocationContinuesTrace() {
+        invocation().finish(ProgressEvent.defaultInProgressHandler(new TestCallbackContext(), 30, null));
+        invocation().finish(ProgressEvent.defaultSuccessHandler(null));
+
+        final List<Tracer.Span> spans = this.exporter.getFinishedSpans();
+        assertThat(spans).hasSize(2);
+        assertThat(spans.get(0).getAttributes()).containsEntry("callbackDelaySeconds", "30");
+        assertThat(spans.get(1).getTraceId()).isEqualTo(spans.get(0).getTraceId());
+    }
+
+    @Test
+    public void failedCallIsError() {
+        doThrow(ResourceNotFoundException.builder().message("not found").build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+
+        final ProgressEvent<TestModel, TestCallbackContext> progress = describe(invocation(), false);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
+        final Tracer.Span span = this.exporter.getFinishedSpans().get(0);
+        assertThat(span.getStatus()).isEqualTo("ERROR");
+        assertThat(span.getAttributes()).containsEntry("error", HandlerErrorCode.NotFound.toString());
+    }
+
+    @Test
+    public void traceParentsCallsMadeWithoutSpan() {
+        doReturn(DescribeProtectionResponse.builder().build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+
+        final ProgressEvent<TestModel, TestCallbackContext> progress = this.tracer.trace(
+            "Protection:ReadHandler",
+            this.traceContext,
+            () -> ShieldAPIChainableRemoteCall.<TestModel, TestCallbackContext, DescribeProtectionRequest,
+                    DescribeProtectionResponse>builder()
+                .resourceType("Protection")
+                .handlerName("ReadHandler")
+                .apiName("describeProtection")
+                .proxy(this.proxy)
+                .proxyClient(this.proxy.newProxy(() -> mock(ShieldClient.class)))
+                .model(TestData.MODEL)
+                .context(new TestCallbackContext())
+                .logger(this.logger)
+                .tuning(CallTuning.NO_JITTER)
+                .translateToServiceRequest(m -> DescribeProtectionRequest.builder().build())
+                .getRequestFunction(c -> c::describeProtection)
+                .build()
+                .initiate()
+        );
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(this.exporter.getFinishedSpanNames()).containsExactly(
+            "Protection:ReadHandler:describeProtection",
+            "Protection:ReadHandler"
+        );
+        final List<Tracer.Span> spans = this.exporter.getFinishedSpans();
+        assertThat(spans.get(0).getParentSpanId()).isEqualTo(spans.get(1).getSpanId());
+        assertThat(spans.get(1).getTraceId()).isEqualTo(this.traceContext.getTraceId());
+        assertThat(Tracer.current()).isEmpty();
+    }
+
+    @Test
+    public void traceEndsSpanWhenInvocationThrows() {
+        assertThatThrownBy(() -> this.tracer.trace("Protection:ReadHandler", this.traceContext, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        final Tracer.Span span = this.exporter.getFinishedSpans().get(0);
+        assertThat(span.getStatus()).isEqualTo("ERROR");
+        assertThat(span.getEndedAt()).isNotNull();
+        assertThat(Tracer.current()).isEmpty();
+    }
+
+    @Test
+    public void interceptorTracesEachAttempt() {
+        final TracingInterceptor interceptor = new TracingInterceptor();
+        final ExecutionAttributes attributes = new ExecutionAttributes();
+        final Context.AfterTransmission answered = mock(Context.AfterTransmission.class);
+        doReturn(SdkHttpResponse.builder().statusCode(200).build()).when(answered).httpResponse();
+
+        final Tracer.Span call = this.tracer.startSpan("Protection:ReadHandler:describeProtection", null);
+        final Tracer.Scope scope = call.activate();
+        try {
+            interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+            interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+            interceptor.afterTransmission(answered, attributes);
+        } finally {
+            scope.close();
+        }
+        interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), new ExecutionAttributes());
+
+        final List<Tracer.Span> attempts = this.exporter.getFinishedSpans();
+        assertThat(attempts).hasSize(2);
+        assertThat(attempts.get(0).getStatus()).isEqualTo("ERROR");
+        assertThat(attempts.get(0).getAttributes()).containsEntry("attempt", "1");
+        assertThat(attempts.get(1).getStatus()).isEqualTo("OK");
+        assertThat(attempts.get(1).getAttributes()).containsEntry("attempt", "2").containsEntry("httpStatus", "200");
+        assertThat(attempts).allMatch(span -> call.getSpanId().equals(span.getParentSpanId()));
+        assertThat(Tracer.current()).isEmpty();
+    }
+
+    private ProgressEvent<TestModel, TestCallbackContext> describe(
+        final InvocationContext<TestModel, TestCallbackContext> invocation,
+        final boolean stabilize
+    ) {
+        return invocation.<DescribeProtectionRequest, DescribeProtectionResponse>remoteCall("describeProtection")
+            .model(TestData.MODEL)
+            .context(new TestCallbackContext())
+            .translateToServiceRequest(m -> DescribeProtectionRequest.builder().build())
+            .getRequestFunction(c -> c::describeProtection)
+            .stabilize(stabilize ? (c, m, ctx) -> true : null)
+            .build()
+            .initiate();
+    }
+
+    private InvocationContext<TestModel, TestCallbackContext> invocation() {
+        return InvocationContext.<TestModel, TestCallbackContext>builder()
+            .resourceType("Protection")
+            .handlerName("ReadHandler")
+            .proxy(this.proxy)
+            .shieldClient(mock(ShieldClient.class))
+            .logger(this.logger)
+            .tuning(CallTuning.NO_JITTER)
+            .tracer(this.tracer)
+            .traceContext(this.traceContext)
+            .build();
+    }
+
+    private static class TraceContext implements Tracer.TraceContext {
+        private String traceId;
+
+        @Override
+        public String getTraceId() {
+            return this.traceId;
+        }
+
+        @Override
+        public void setTraceId(final String traceId) {
+            this.traceId = traceId;
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package software.amazon.shield.drtaccess;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import software.amazon.cloudformation.proxy.StdCallbackContext;
+import software.amazon.shield.common.Checkpoints;
+import software.amazon.shield.common.OperationLatency;
+import software.amazon.shield.common.RetryBudget;
+import software.amazon.shield.common.Tracer;
 
 @lombok.Getter
 @lombok.Setter
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
-public class CallbackContext extends StdCallbackContext {
+public class CallbackContext extends StdCallbackContext
+    implements Checkpoints.CheckpointContext, RetryBudget.RetryContext, Tracer.TraceContext,
+        OperationLatency.OperationContext {
     private List<String> logBucketList;
     private String roleArn;
+    private Set<String> completedSteps;
+    private Map<String, Integer> retryAttempts;
+    private String traceId;
+    private Long operationStartedAt;
+    private Integer invocationCount;
+    private Long backoffMillis;
 }
@@ -7,18 +7,28 @@ import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
-import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.Checkpoints;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.InvocationContext;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.Tracer;
 import software.amazon.shield.drtaccess.helper.HandlerHelper;
 
 @RequiredArgsConstructor
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    private final CallTuning tuning;
 
     public CreateHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public CreateHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
     }
 
     @Override
@@ -35,19 +45,29 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             )
         );
         callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
-        final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
+        final InvocationContext<ResourceModel, CallbackContext> invocation =
+            InvocationContext.<ResourceModel, CallbackContext>builder()
+                .resourceType("DRTAccess")
+                .handlerName("CreateHandler")
+                .proxy(proxy)
+                .shieldClient(this.shieldClient)
+                .logger(logger)
+                .tuning(this.tuning)
+                .tracer(new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())))
+                .traceContext(callbackContext)
+                .operationContext(callbackContext)
+                .build();
         final ResourceModel model = request.getDesiredResourceState();
         model.setAccountId(request.getAwsAccountId());
 
-        return HandlerHelper.describeDrtAccessSetContext(
-                "CreateHandler",
-                proxy,
-                proxyClient,
+        return invocation.finish(HandlerHelper.describeDrtAccessSetContext(
+                invocation,
                 model,
-                callbackContext,
-                logger
+                callbackContext
             ).then(progress -> {
-                if (HandlerHelper.isDrtAccessConfigured(
+                // a re-invoked create sees its own role association, which is not a conflict.
+                if (!Checkpoints.hasCompletedSteps(progress.getCallbackContext())
+                    && HandlerHelper.isDrtAccessConfigured(
                     progress.getCallbackContext().getRoleArn(),
                     progress.getCallbackContext().getLogBucketList()
                 )
@@ -71,24 +91,18 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                         .build();
                 }
                 return HandlerHelper.associateDrtRole(
-                    "CreateHandler",
-                    proxy,
-                    proxyClient,
+                    invocation,
                     progress.getResourceModel(),
                     progress.getResourceModel().getRoleArn(),
-                    progress.getCallbackContext(),
-                    logger
+                    progress.getCallbackContext()
                 );
             })
             .then(progress -> HandlerHelper.associateDrtLogBucketList(
-                "CreateHandler",
-                proxy,
-                proxyClient,
+                invocation,
                 progress.getResourceModel(),
                 progress.getResourceModel().getLogBucketList(),
-                progress.getCallbackContext(),
-                logger
+                progress.getCallbackContext()
             ))
-            .then(progress -> ProgressEvent.defaultSuccessHandler(model));
+            .then(progress -> ProgressEvent.defaultSuccessHandler(model)));
     }
 }
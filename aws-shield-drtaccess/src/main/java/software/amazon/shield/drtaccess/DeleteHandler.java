@@ -8,16 +8,27 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.Checkpoints;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.InvocationContext;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.Tracer;
 import software.amazon.shield.drtaccess.helper.HandlerHelper;
 
 @RequiredArgsConstructor
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    private final CallTuning tuning;
 
     public DeleteHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public DeleteHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
     }
 
     @Override
@@ -43,15 +54,27 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
                 .build();
         }
 
-        return HandlerHelper.describeDrtAccessSetContext(
-                "DeleteHandler",
-                proxy,
-                proxy.newProxy(() -> shieldClient),
+        final InvocationContext<ResourceModel, CallbackContext> invocation =
+            InvocationContext.<ResourceModel, CallbackContext>builder()
+                .resourceType("DRTAccess")
+                .handlerName("DeleteHandler")
+                .proxy(proxy)
+                .shieldClient(this.shieldClient)
+                .logger(logger)
+                .tuning(this.tuning)
+                .tracer(new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())))
+                .traceContext(callbackContext)
+                .operationContext(callbackContext)
+                .build();
+
+        return invocation.finish(HandlerHelper.describeDrtAccessSetContext(
+                invocation,
                 request.getDesiredResourceState(),
-                callbackContext,
-                logger
+                callbackContext
             ).then(progress -> {
-                if (!HandlerHelper.isDrtAccessConfigured(
+                // a re-invoked delete sees its own partial removal, which is not a missing resource.
+                if (!Checkpoints.hasCompletedSteps(progress.getCallbackContext())
+                    && !HandlerHelper.isDrtAccessConfigured(
                     progress.getCallbackContext().getRoleArn(),
                     progress.getCallbackContext().getLogBucketList()
                 )) {
@@ -62,23 +85,17 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
                         .build();
                 }
                 return HandlerHelper.disassociateDrtLogBucketList(
-                    "DeleteHandler",
-                    proxy,
-                    proxy.newProxy(() -> shieldClient),
+                    invocation,
                     progress.getResourceModel(),
                     progress.getCallbackContext().getLogBucketList(),
-                    progress.getCallbackContext(),
-                    logger
+                    progress.getCallbackContext()
                 );
             })
             .then(progress -> HandlerHelper.disassociateDrtRole(
-                "DeleteHandler",
-                proxy,
-                proxy.newProxy(() -> shieldClient),
+                invocation,
                 progress.getResourceModel(),
-                progress.getCallbackContext(),
-                logger
+                progress.getCallbackContext()
             ))
-            .then(progress -> ProgressEvent.defaultSuccessHandler(progress.getResourceModel()));
+            .then(progress -> ProgressEvent.defaultSuccessHandler(progress.getResourceModel())));
     }
 }
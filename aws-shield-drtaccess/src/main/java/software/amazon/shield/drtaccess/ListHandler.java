@@ -10,15 +10,25 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.InvocationContext;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.Tracer;
 import software.amazon.shield.drtaccess.helper.HandlerHelper;
 
 @RequiredArgsConstructor
 public class ListHandler extends BaseHandler<CallbackContext> {
     private final ShieldClient shieldClient;
+    private final CallTuning tuning;
 
     public ListHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public ListHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
     }
 
     @Override
@@ -36,13 +46,22 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         );
         callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
 
-        return HandlerHelper.describeDrtAccessSetContext(
-            "ListHandler",
-            proxy,
-            proxy.newProxy(() -> shieldClient),
+        final InvocationContext<ResourceModel, CallbackContext> invocation =
+            InvocationContext.<ResourceModel, CallbackContext>builder()
+                .resourceType("DRTAccess")
+                .handlerName("ListHandler")
+                .proxy(proxy)
+                .shieldClient(this.shieldClient)
+                .logger(logger)
+                .tuning(this.tuning)
+                .tracer(new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())))
+                .traceContext(callbackContext)
+                .build();
+
+        return invocation.finish(HandlerHelper.describeDrtAccessSetContext(
+            invocation,
             request.getDesiredResourceState(),
-            callbackContext,
-            logger
+            callbackContext
         ).then(progress -> {
             if (!HandlerHelper.isDrtAccessConfigured(
                 progress.getCallbackContext().getRoleArn(),
@@ -61,6 +80,6 @@ public class ListHandler extends BaseHandler<CallbackContext> {
                 ))
                 .status(OperationStatus.SUCCESS)
                 .build();
-        });
+        }));
     }
 }
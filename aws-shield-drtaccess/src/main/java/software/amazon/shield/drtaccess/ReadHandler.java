@@ -8,15 +8,25 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.InvocationContext;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.Tracer;
 import software.amazon.shield.drtaccess.helper.HandlerHelper;
 
 @RequiredArgsConstructor
 public class ReadHandler extends BaseHandler<CallbackContext> {
     private final ShieldClient shieldClient;
+    private final CallTuning tuning;
 
     public ReadHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public ReadHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
     }
 
     @Override
@@ -42,13 +52,22 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                 .build();
         }
 
-        return HandlerHelper.describeDrtAccessSetContext(
-            "DeleteHandler",
-            proxy,
-            proxy.newProxy(() -> shieldClient),
+        final InvocationContext<ResourceModel, CallbackContext> invocation =
+            InvocationContext.<ResourceModel, CallbackContext>builder()
+                .resourceType("DRTAccess")
+                .handlerName("ReadHandler")
+                .proxy(proxy)
+                .shieldClient(this.shieldClient)
+                .logger(logger)
+                .tuning(this.tuning)
+                .tracer(new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())))
+                .traceContext(callbackContext)
+                .build();
+
+        return invocation.finish(HandlerHelper.describeDrtAccessSetContext(
+            invocation,
             request.getDesiredResourceState(),
-            callbackContext,
-            logger
+            callbackContext
         ).then(progress -> {
             CallbackContext ctx = progress.getCallbackContext();
             if (!HandlerHelper.isDrtAccessConfigured(
@@ -74,6 +93,6 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                 .resourceModel(resourceModelBuilder.build())
                 .status(OperationStatus.SUCCESS)
                 .build();
-        });
+        }));
     }
 }
@@ -1,12 +1,8 @@
 package software.amazon.shield.drtaccess;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import javax.annotation.Nullable;
 
-import com.google.common.collect.ImmutableList;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.shield.ShieldClient;
@@ -16,16 +12,29 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.InvocationContext;
+import software.amazon.shield.common.ListDiff;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.StepGraph;
+import software.amazon.shield.common.Tracer;
+import software.amazon.shield.common.UpdatePlan;
 import software.amazon.shield.drtaccess.helper.HandlerHelper;
 
 @RequiredArgsConstructor
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    private final CallTuning tuning;
 
     public UpdateHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public UpdateHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
     }
 
     @Override
@@ -72,110 +81,144 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 .build();
         }
 
-        return ProgressEvent.defaultInProgressHandler(callbackContext, 0, desiredState)
-            .then(progress -> {
-                // update logBucketList
-                ImmutableList<String> oldLogBucketList =
-                    ImmutableList.copyOf(Optional.ofNullable(currentState.getLogBucketList())
-                        .orElse(Collections.emptyList()));
-                ImmutableList<String> newLogBucketList =
-                    ImmutableList.copyOf(Optional.ofNullable(desiredState.getLogBucketList())
-                        .orElse(Collections.emptyList()));
-                return updateLogBucketList(
-                    proxy,
-                    progress.getResourceModel(),
-                    oldLogBucketList,
-                    newLogBucketList,
-                    progress.getCallbackContext(),
-                    logger
-                );
-            })
+        final boolean describeCurrentRole = describesCurrentRole(desiredState, currentState);
+
+        final InvocationContext<ResourceModel, CallbackContext> invocation =
+            InvocationContext.<ResourceModel, CallbackContext>builder()
+                .resourceType("DRTAccess")
+                .handlerName("UpdateHandler")
+                .proxy(proxy)
+                .shieldClient(this.shieldClient)
+                .logger(logger)
+                .tuning(this.tuning)
+                .tracer(new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())))
+                .traceContext(callbackContext)
+                .operationContext(callbackContext)
+                .build();
+
+        return invocation.finish(ProgressEvent.defaultInProgressHandler(callbackContext, 0, desiredState)
             .then(progress -> {
-                // update roleArn
-                return updateDrtAccessRole(
-                    proxy,
+                if (!describeCurrentRole) {
+                    return progress;
+                }
+                return HandlerHelper.describeDrtAccessSetContext(
+                    invocation,
                     progress.getResourceModel(),
-                    desiredState.getRoleArn(),
-                    currentState.getRoleArn(),
-                    progress.getCallbackContext(),
-                    logger
+                    progress.getCallbackContext()
                 );
-
             })
+            .then(progress -> updateDrtAccess(
+                invocation,
+                progress,
+                ListDiff.of(desiredState.getLogBucketList(), currentState.getLogBucketList()),
+                desiredState.getRoleArn(),
+                describeCurrentRole ? progress.getCallbackContext().getRoleArn() : currentState.getRoleArn()
+            ))
             .then(progress -> ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModel(desiredState)
                 .status(OperationStatus.SUCCESS)
                 .build()
-            );
-    }
-
-    private ProgressEvent<ResourceModel, CallbackContext> updateLogBucketList(
-        final AmazonWebServicesClientProxy proxy,
-        final ResourceModel model,
-        @NonNull ImmutableList<String> oldList,
-        @NonNull ImmutableList<String> newList,
-        final CallbackContext context,
-        Logger logger
-    ) {
-        List<String> removeList = new ArrayList<>(oldList);
-        List<String> addList = new ArrayList<>(newList);
-        removeList.removeAll(newList);
-        addList.removeAll(oldList);
-
-        return HandlerHelper.disassociateDrtLogBucketList(
-            "DeleteHandler",
-            proxy,
-            proxy.newProxy(() -> shieldClient),
-            model,
-            removeList,
-            context,
-            logger
-        ).then(progress -> HandlerHelper.associateDrtLogBucketList(
-            "DeleteHandler",
-            proxy,
-            proxy.newProxy(() -> shieldClient),
-            progress.getResourceModel(),
-            addList,
-            progress.getCallbackContext(),
-            logger
-        ));
+            ));
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> updateDrtAccessRole(
-        final AmazonWebServicesClientProxy proxy,
-        final ResourceModel model,
+    private ProgressEvent<ResourceModel, CallbackContext> updateDrtAccess(
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        @NonNull final ListDiff<String, String> logBucketDiff,
         @Nullable final String desiredRole,
-        @Nullable final String currentRole,
-        final CallbackContext context,
-        @NonNull final Logger logger
+        @Nullable final String currentRole
     ) {
-        ProgressEvent<ResourceModel, CallbackContext> ret = ProgressEvent.defaultInProgressHandler(context, 0, model);
-        if (desiredRole != null && !desiredRole.isEmpty()) {
+        final boolean hasCurrentRole = !isNullOrEmpty(currentRole);
+        final boolean associateDesiredRole = associatesRole(desiredRole, currentRole);
+        final StepGraph<ResourceModel, CallbackContext> graph = HandlerHelper.newStepGraph(invocation);
+
+        // log bucket calls need an associated role.
+        String[] logBucketsDependOn = new String[0];
+        if (associateDesiredRole) {
             // case 1. update associated role: the API replaces existing config, no need to call disassociate
-            // separately.
-            // case 2. associate new role
-            ret = ret.then(progress -> HandlerHelper.associateDrtRole(
-                "DeleteHandler",
-                proxy,
-                proxy.newProxy(() -> shieldClient),
-                progress.getResourceModel(),
+            // separately, and a role stays associated throughout, so it runs alongside the log buckets.
+            // case 2. associate new role before the log buckets.
+            final String associateRole = "associateDRTRole:" + desiredRole;
+            graph.step(associateRole, p -> HandlerHelper.associateDrtRole(
+                invocation,
+                p.getResourceModel(),
                 desiredRole,
-                progress.getCallbackContext(),
-                logger
+                p.getCallbackContext()
             ));
-        } else {
-            // case 3. disassociate existing role
-            if (currentRole != null && !currentRole.isEmpty()) {
-                ret = ret.then(progress -> HandlerHelper.disassociateDrtRole(
-                    "DeleteHandler",
-                    proxy,
-                    proxy.newProxy(() -> shieldClient),
-                    progress.getResourceModel(),
-                    progress.getCallbackContext(),
-                    logger
-                ));
+            if (!hasCurrentRole) {
+                logBucketsDependOn = new String[] {associateRole};
             }
         }
-        return ret;
+        final List<String> logBucketSteps = HandlerHelper.logBucketSteps(
+            graph,
+            invocation,
+            logBucketDiff.getRemoved(),
+            logBucketDiff.getAdded(),
+            logBucketsDependOn
+        );
+        if (disassociatesRole(desiredRole, currentRole)) {
+            // case 3. disassociate existing role after the log buckets.
+            graph.step("disassociateDRTRole", p -> HandlerHelper.disassociateDrtRole(
+                invocation,
+                p.getResourceModel(),
+                p.getCallbackContext()
+            ), logBucketSteps.toArray(new String[0]));
+        }
+        return graph.run(progress);
+    }
+
+    /**
+     * Calls {@link #handleRequest} would make to update {@code previousState} to {@code desiredState}. When the
+     * previous state has no role, the role DescribeDRTAccess reports is not known ahead and the desired role is
+     * planned to be associated.
+     */
+    public static UpdatePlan plan(
+        @NonNull final ResourceModel previousState,
+        @NonNull final ResourceModel desiredState
+    ) {
+        final UpdatePlan.Builder plan = UpdatePlan.builder();
+        if (HandlerHelper.isEmptyDrtAccessRequest(desiredState.getRoleArn(), desiredState.getLogBucketList())
+            || !HandlerHelper.isDrtAccessConfigured(desiredState.getRoleArn(), desiredState.getLogBucketList())) {
+            return plan.build();
+        }
+        final String desiredRole = desiredState.getRoleArn();
+        final String currentRole = previousState.getRoleArn();
+        final ListDiff<String, String> logBucketDiff =
+            ListDiff.of(desiredState.getLogBucketList(), previousState.getLogBucketList());
+
+        if (describesCurrentRole(desiredState, previousState)) {
+            plan.call("describeDRTAccess", desiredRole);
+        }
+        if (associatesRole(desiredRole, currentRole)) {
+            plan.call("associateDRTRole", desiredRole);
+        }
+        plan.calls("disassociateDRTLogBucket", logBucketDiff.getRemoved())
+            .calls("associateDRTLogBucket", logBucketDiff.getAdded());
+        if (disassociatesRole(desiredRole, currentRole)) {
+            plan.call("disassociateDRTRole", currentRole);
+        }
+        return plan.build();
+    }
+
+    /**
+     * a previous state without a role cannot tell whether one is associated, DescribeDRTAccess can.
+     */
+    private static boolean describesCurrentRole(final ResourceModel desiredState, final ResourceModel currentState) {
+        return isNullOrEmpty(currentState.getRoleArn()) && !isNullOrEmpty(desiredState.getRoleArn());
+    }
+
+    /**
+     * associating validates the role with IAM, skip it when the role is already in place.
+     */
+    private static boolean associatesRole(@Nullable final String desiredRole, @Nullable final String currentRole) {
+        return !isNullOrEmpty(desiredRole) && !desiredRole.equals(currentRole);
+    }
+
+    private static boolean disassociatesRole(@Nullable final String desiredRole, @Nullable final String currentRole) {
+        return isNullOrEmpty(desiredRole) && !isNullOrEmpty(currentRole);
+    }
+
+    private static boolean isNullOrEmpty(@Nullable final String roleArn) {
+        return roleArn == null || roleArn.isEmpty();
     }
 }
@@ -1,9 +1,13 @@
 package software.amazon.shield.drtaccess.helper;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import javax.annotation.Nullable;
 
-import software.amazon.awssdk.services.shield.ShieldClient;
 import software.amazon.awssdk.services.shield.model.AssociateDrtLogBucketRequest;
 import software.amazon.awssdk.services.shield.model.AssociateDrtLogBucketResponse;
 import software.amazon.awssdk.services.shield.model.AssociateDrtRoleRequest;
@@ -14,12 +18,10 @@ import software.amazon.awssdk.services.shield.model.DisassociateDrtLogBucketRequ
 import software.amazon.awssdk.services.shield.model.DisassociateDrtLogBucketResponse;
 import software.amazon.awssdk.services.shield.model.DisassociateDrtRoleRequest;
 import software.amazon.awssdk.services.shield.model.DisassociateDrtRoleResponse;
-import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
-import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
-import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.InvocationContext;
+import software.amazon.shield.common.StepGraph;
 import software.amazon.shield.drtaccess.CallbackContext;
 import software.amazon.shield.drtaccess.ResourceModel;
 
@@ -49,23 +51,13 @@ public class HandlerHelper {
     }
 
     public static ProgressEvent<ResourceModel, CallbackContext> describeDrtAccessSetContext(
-        final String handlerName,
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
         final ResourceModel model,
-        final CallbackContext context,
-        final Logger logger
+        final CallbackContext context
     ) {
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DescribeDrtAccessRequest,
-                DescribeDrtAccessResponse>builder()
-            .resourceType("DRTAccess")
-            .handlerName(handlerName)
-            .apiName("describeDRTAccess")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
+        return invocation.<DescribeDrtAccessRequest, DescribeDrtAccessResponse>remoteCall("describeDRTAccess")
             .model(model)
             .context(context)
-            .logger(logger)
             .translateToServiceRequest(m -> DescribeDrtAccessRequest.builder().build())
             .getRequestFunction(c -> c::describeDRTAccess)
             .onSuccess((req, res, c, m, ctx) -> {
@@ -78,157 +70,154 @@ public class HandlerHelper {
     }
 
     public static ProgressEvent<ResourceModel, CallbackContext> disassociateDrtLogBucket(
-        final String handlerName,
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
         final ResourceModel model,
         String logBucket,
-        final CallbackContext context,
-        final Logger logger
+        final CallbackContext context
     ) {
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DisassociateDrtLogBucketRequest,
-                DisassociateDrtLogBucketResponse>builder()
-            .resourceType("DRTAccess")
-            .handlerName(handlerName)
-            .apiName("disassociateDRTLogBucket")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
+        return invocation.<DisassociateDrtLogBucketRequest, DisassociateDrtLogBucketResponse>remoteCall(
+                "disassociateDRTLogBucket")
             .model(model)
             .context(context)
-            .logger(logger)
             .translateToServiceRequest(m -> DisassociateDrtLogBucketRequest.builder().logBucket(logBucket).build())
             .getRequestFunction(c -> c::disassociateDRTLogBucket)
+            .checkpoint("disassociateDRTLogBucket:" + logBucket)
             .build()
             .initiate();
     }
 
     public static ProgressEvent<ResourceModel, CallbackContext> disassociateDrtLogBucketList(
-        final String handlerName,
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
         final ResourceModel model,
         List<String> logBucketList,
-        final CallbackContext context,
-        final Logger logger
+        final CallbackContext context
     ) {
-        ProgressEvent<ResourceModel, CallbackContext> ret = ProgressEvent.defaultInProgressHandler(context, 0, model);
-        if (logBucketList == null || logBucketList.isEmpty()) {
-            return ret;
-        }
-        for (String logBucket : logBucketList) {
-            ret = ret.then(progress -> disassociateDrtLogBucket(
-                handlerName,
-                proxy,
-                proxyClient,
-                progress.getResourceModel(),
-                logBucket,
-                progress.getCallbackContext(),
-                logger
-            ));
-        }
-        return ret;
+        final StepGraph<ResourceModel, CallbackContext> graph = newStepGraph(invocation);
+        logBucketSteps(graph, invocation, logBucketList, null);
+        return graph.run(ProgressEvent.defaultInProgressHandler(context, 0, model));
     }
 
     public static ProgressEvent<ResourceModel, CallbackContext> associateDrtLogBucketList(
-        final String handlerName,
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
         final ResourceModel model,
         List<String> logBucketList,
-        final CallbackContext context,
-        final Logger logger
+        final CallbackContext context
     ) {
-        ProgressEvent<ResourceModel, CallbackContext> ret = ProgressEvent.defaultInProgressHandler(context, 0, model);
-        if (logBucketList == null || logBucketList.isEmpty()) {
-            return ret;
+        final StepGraph<ResourceModel, CallbackContext> graph = newStepGraph(invocation);
+        logBucketSteps(graph, invocation, null, logBucketList);
+        return graph.run(ProgressEvent.defaultInProgressHandler(context, 0, model));
+    }
+
+    /**
+     * Step graph for DRT access changes. Branches run on fresh callback contexts, so each log bucket call has its own
+     * call graph instead of replaying the memoized response of the first bucket. At most the max concurrent calls
+     * of the invocation tuning run at once.
+     */
+    public static StepGraph<ResourceModel, CallbackContext> newStepGraph(
+        final InvocationContext<ResourceModel, CallbackContext> invocation
+    ) {
+        return new StepGraph<>(
+            ctx -> new CallbackContext(),
+            (parent, branch) -> {
+            },
+            invocation.getTuning().getMaxConcurrentCalls()
+        );
+    }
+
+    /**
+     * Adds a step per log bucket to disassociate and per log bucket to associate, and returns their step IDs.
+     * <p>
+     * Buckets are disassociated concurrently, then associated concurrently, so the account never holds more than its
+     * log bucket limit in between. Failed buckets are reported together and buckets already done are checkpointed in
+     * the callback context, so a re-invocation only calls the remaining ones.
+     */
+    public static List<String> logBucketSteps(
+        final StepGraph<ResourceModel, CallbackContext> graph,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
+        @Nullable final Collection<String> disassociate,
+        @Nullable final Collection<String> associate,
+        final String... dependsOn
+    ) {
+        final List<String> disassociateSteps = new ArrayList<>();
+        for (String logBucket : distinct(disassociate)) {
+            final String stepId = "disassociateDRTLogBucket:" + logBucket;
+            graph.step(stepId, progress -> disassociateDrtLogBucket(
+                invocation,
+                progress.getResourceModel(),
+                logBucket,
+                progress.getCallbackContext()
+            ), dependsOn);
+            disassociateSteps.add(stepId);
         }
-        for (String logBucket : logBucketList) {
-            ret = ret.then(progress -> associateDrtLogBucket(
-                handlerName,
-                proxy,
-                proxyClient,
+
+        final String[] associateDependsOn = disassociateSteps.isEmpty()
+            ? dependsOn
+            : disassociateSteps.toArray(new String[0]);
+        final List<String> stepIds = new ArrayList<>(disassociateSteps);
+        for (String logBucket : distinct(associate)) {
+            final String stepId = "associateDRTLogBucket:" + logBucket;
+            graph.step(stepId, progress -> associateDrtLogBucket(
+                invocation,
                 progress.getResourceModel(),
                 logBucket,
-                progress.getCallbackContext(),
-                logger
-            ));
+                progress.getCallbackContext()
+            ), associateDependsOn);
+            stepIds.add(stepId);
         }
-        return ret;
+        return stepIds;
+    }
+
+    private static Set<String> distinct(@Nullable final Collection<String> logBuckets) {
+        return logBuckets == null ? Collections.emptySet() : new LinkedHashSet<>(logBuckets);
     }
 
     public static ProgressEvent<ResourceModel, CallbackContext> associateDrtLogBucket(
-        final String handlerName,
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
         final ResourceModel model,
         String logBucket,
-        final CallbackContext context,
-        final Logger logger
+        final CallbackContext context
     ) {
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, AssociateDrtLogBucketRequest,
-                AssociateDrtLogBucketResponse>builder()
-            .resourceType("DRTAccess")
-            .handlerName(handlerName)
-            .apiName("associateDRTLogBucket")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
+        return invocation.<AssociateDrtLogBucketRequest, AssociateDrtLogBucketResponse>remoteCall(
+                "associateDRTLogBucket")
             .model(model)
             .context(context)
-            .logger(logger)
             .translateToServiceRequest(m -> AssociateDrtLogBucketRequest.builder().logBucket(logBucket).build())
             .getRequestFunction(c -> c::associateDRTLogBucket)
+            .checkpoint("associateDRTLogBucket:" + logBucket)
             .build()
             .initiate();
     }
 
     public static ProgressEvent<ResourceModel, CallbackContext> associateDrtRole(
-        final String handlerName,
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
         final ResourceModel model,
         String roleArn,
-        final CallbackContext context,
-        final Logger logger
+        final CallbackContext context
     ) {
         if (roleArn == null || roleArn.isEmpty()) {
             return ProgressEvent.defaultInProgressHandler(context, 0, model);
         }
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, AssociateDrtRoleRequest,
-                AssociateDrtRoleResponse>builder()
-            .resourceType("DRTAccess")
-            .handlerName(handlerName)
-            .apiName("associateDRTRole")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
+        return invocation.<AssociateDrtRoleRequest, AssociateDrtRoleResponse>remoteCall("associateDRTRole")
             .model(model)
             .context(context)
-            .logger(logger)
             .translateToServiceRequest(m -> AssociateDrtRoleRequest.builder().roleArn(roleArn).build())
             .getRequestFunction(c -> c::associateDRTRole)
+            .checkpoint("associateDRTRole:" + roleArn)
             .build()
             .initiate();
     }
 
     public static ProgressEvent<ResourceModel, CallbackContext> disassociateDrtRole(
-        final String handlerName,
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
         final ResourceModel model,
-        final CallbackContext context,
-        final Logger logger
+        final CallbackContext context
     ) {
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DisassociateDrtRoleRequest,
-                DisassociateDrtRoleResponse>builder()
-            .resourceType("DRTAccess")
-            .handlerName(handlerName)
-            .apiName("disassociateDRTRole")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
+        return invocation.<DisassociateDrtRoleRequest, DisassociateDrtRoleResponse>remoteCall("disassociateDRTRole")
             .model(model)
             .context(context)
-            .logger(logger)
             .translateToServiceRequest(m -> DisassociateDrtRoleRequest.builder().build())
             .getRequestFunction(c -> c::disassociateDRTRole)
+            .checkpoint("disassociateDRTRole")
             .build()
             .initiate();
     }
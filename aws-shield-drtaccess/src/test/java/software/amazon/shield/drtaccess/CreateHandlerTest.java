@@ -17,7 +17,7 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.drtaccess.helper.DrtAccessTestBase;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -46,8 +46,7 @@ public class CreateHandlerTest extends DrtAccessTestBase {
             () -> Duration.ofSeconds(600).toMillis()
         ));
         logger = mock(Logger.class, withSettings().verboseLogging());
-        createHandler = new CreateHandler(mock(ShieldClient.class));
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+        createHandler = new CreateHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
     }
 
     @Test
@@ -10,6 +10,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.shield.ShieldClient;
 import software.amazon.awssdk.services.shield.model.DescribeDrtAccessRequest;
 import software.amazon.awssdk.services.shield.model.DescribeDrtAccessResponse;
+import software.amazon.awssdk.services.shield.model.DisassociateDrtLogBucketRequest;
+import software.amazon.awssdk.services.shield.model.DisassociateDrtRoleRequest;
+import software.amazon.awssdk.services.shield.model.InvalidParameterException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Credentials;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
@@ -18,14 +21,18 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.drtaccess.helper.DrtAccessTestBase;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class DeleteHandlerTest extends DrtAccessTestBase {
@@ -46,8 +53,7 @@ public class DeleteHandlerTest extends DrtAccessTestBase {
             () -> Duration.ofSeconds(600).toMillis()));
         logger = mock(Logger.class);
         resourceModel = getTestResourceModel();
-        deleteHandler = new DeleteHandler(mock(ShieldClient.class));
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+        deleteHandler = new DeleteHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
     }
 
     @Test
@@ -75,6 +81,62 @@ public class DeleteHandlerTest extends DrtAccessTestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_DisassociatesEveryLogBucket() {
+        final DescribeDrtAccessResponse describeDrtAccessResponse = DescribeDrtAccessResponse.builder()
+                .roleArn(resourceModel.getRoleArn())
+                .logBucketList(resourceModel.getLogBucketList())
+                .build();
+
+        doReturn(describeDrtAccessResponse).when(proxy).injectCredentialsAndInvokeV2(any(DescribeDrtAccessRequest.class), any());
+        mockDisassociateDrtLogBucket(proxy);
+        mockDissociateDrtRole(proxy);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(accountId)
+                .desiredResourceState(ResourceModel.builder().accountId(accountId).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = deleteHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        for (String logBucket : logBucketList) {
+            verify(proxy).injectCredentialsAndInvokeV2(
+                argThat((DisassociateDrtLogBucketRequest r) -> r != null && logBucket.equals(r.logBucket())),
+                any()
+            );
+        }
+        verify(proxy).injectCredentialsAndInvokeV2(any(DisassociateDrtRoleRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_LogBucketFailuresReportedTogether() {
+        final DescribeDrtAccessResponse describeDrtAccessResponse = DescribeDrtAccessResponse.builder()
+                .roleArn(resourceModel.getRoleArn())
+                .logBucketList(resourceModel.getLogBucketList())
+                .build();
+
+        doReturn(describeDrtAccessResponse).when(proxy).injectCredentialsAndInvokeV2(any(DescribeDrtAccessRequest.class), any());
+        doThrow(InvalidParameterException.builder().message("invalid bucket").build()).when(proxy)
+                .injectCredentialsAndInvokeV2(any(DisassociateDrtLogBucketRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(accountId)
+                .desiredResourceState(ResourceModel.builder().accountId(accountId).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = deleteHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(response.getMessage())
+                .contains("disassociateDRTLogBucket:first-bucket: invalid bucket")
+                .contains("disassociateDRTLogBucket:second-bucket: invalid bucket");
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(DisassociateDrtRoleRequest.class), any());
+    }
+
     @Test
     public void handleRequest_NoDrtAccessFailure() {
         final DescribeDrtAccessResponse describeDrtAccessResponse = DescribeDrtAccessResponse.builder()
@@ -17,7 +17,7 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.drtaccess.helper.DrtAccessTestBase;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,9 +45,8 @@ public class ListHandlerTest extends DrtAccessTestBase {
             new Credentials("accessKey", "secretKey", "token"),
             () -> Duration.ofSeconds(600).toMillis()));
         logger = mock(Logger.class);
-        listHandler = new ListHandler(mock(ShieldClient.class));
+        listHandler = new ListHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
         resourceModel = getTestResourceModel();
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
     }
 
     @Test
@@ -18,7 +18,7 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.drtaccess.helper.DrtAccessTestBase;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -47,8 +47,7 @@ public class ReadHandlerTest extends DrtAccessTestBase {
             () -> Duration.ofSeconds(600).toMillis()));
         logger = mock(Logger.class);
         resourceModel = getTestResourceModel();
-        readHandler = new ReadHandler(mock(ShieldClient.class));
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+        readHandler = new ReadHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
     }
 
     @Test
@@ -10,6 +10,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.AssociateDrtRoleRequest;
+import software.amazon.awssdk.services.shield.model.DescribeDrtAccessRequest;
+import software.amazon.awssdk.services.shield.model.DescribeDrtAccessResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Credentials;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
@@ -18,12 +21,17 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.UpdatePlan;
 import software.amazon.shield.drtaccess.helper.DrtAccessTestBase;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.withSettings;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,8 +58,7 @@ public class UpdateHandlerTest extends DrtAccessTestBase {
             () -> Duration.ofSeconds(600).toMillis()));
         logger = mock(Logger.class, withSettings().verboseLogging());
         prevStateResourceModel = getTestResourceModel();
-        updateHandler = new UpdateHandler(mock(ShieldClient.class));
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+        updateHandler = new UpdateHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
     }
 
     @Test
@@ -86,6 +93,27 @@ public class UpdateHandlerTest extends DrtAccessTestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void plan_UpdateBoth() {
+        final UpdatePlan plan = UpdateHandler.plan(prevStateResourceModel, ResourceModel.builder()
+            .accountId(accountId)
+            .roleArn(roleArn)
+            .logBucketList(logBucketList)
+            .build());
+
+        assertThat(plan.getCallCount()).isEqualTo(6);
+        assertThat(plan.getCallCount("associateDRTRole")).isEqualTo(1);
+        assertThat(plan.getCallCount("disassociateDRTLogBucket")).isEqualTo(2);
+        assertThat(plan.getCallCount("associateDRTLogBucket")).isEqualTo(3);
+
+        final UpdatePlan removeRole = UpdateHandler.plan(prevStateResourceModel, ResourceModel.builder()
+            .accountId(accountId)
+            .logBucketList(prevStateResourceModel.getLogBucketList())
+            .build());
+        assertThat(removeRole.getOperations()).extracting(UpdatePlan.Operation::getApiName)
+            .containsExactly("disassociateDRTRole");
+    }
+
     @Test
     public void handleRequest_OnlyUpdateDrtRole() {
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
@@ -142,6 +170,55 @@ public class UpdateHandlerTest extends DrtAccessTestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_UnchangedRoleIsNotReassociated() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId(accountId)
+            .previousResourceState(prevStateResourceModel)
+            .desiredResourceState(ResourceModel.builder()
+                .accountId(accountId)
+                .roleArn(prevStateResourceModel.getRoleArn())
+                .logBucketList(logBucketList)
+                .build())
+            .build();
+
+        mockDisassociateDrtLogBucket(proxy);
+        mockAssociateDrtLogBucket(proxy);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = updateHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(AssociateDrtRoleRequest.class), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(DescribeDrtAccessRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_NoPreviousRole_ComparesWithDescribedRole() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId(accountId)
+            .previousResourceState(prevStateResourceModel.toBuilder().roleArn(null).build())
+            .desiredResourceState(ResourceModel.builder()
+                .accountId(accountId)
+                .roleArn(roleArn)
+                .logBucketList(prevStateResourceModel.getLogBucketList())
+                .build())
+            .build();
+
+        doReturn(DescribeDrtAccessResponse.builder()
+            .roleArn(roleArn)
+            .logBucketList(prevStateResourceModel.getLogBucketList())
+            .build())
+            .when(proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeDrtAccessRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = updateHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(AssociateDrtRoleRequest.class), any());
+    }
+
     @Test
     public void handleRequest_EmptyUpdateRequestShouldFail() {
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
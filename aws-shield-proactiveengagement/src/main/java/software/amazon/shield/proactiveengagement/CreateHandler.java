@@ -3,19 +3,16 @@ package software.amazon.shield.proactiveengagement;
 import software.amazon.awssdk.services.shield.ShieldClient;
 import software.amazon.awssdk.services.shield.model.AssociateProactiveEngagementDetailsRequest;
 import software.amazon.awssdk.services.shield.model.AssociateProactiveEngagementDetailsResponse;
-import software.amazon.awssdk.services.shield.model.DescribeEmergencyContactSettingsRequest;
-import software.amazon.awssdk.services.shield.model.DescribeEmergencyContactSettingsResponse;
-import software.amazon.awssdk.services.shield.model.DescribeSubscriptionRequest;
-import software.amazon.awssdk.services.shield.model.DescribeSubscriptionResponse;
 import software.amazon.awssdk.services.shield.model.ProactiveEngagementStatus;
-import software.amazon.awssdk.services.shield.model.Subscription;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.Checkpoints;
+import software.amazon.shield.common.InvocationContext;
 import software.amazon.shield.proactiveengagement.helper.BaseHandlerStd;
 import software.amazon.shield.proactiveengagement.helper.HandlerHelper;
 
@@ -30,6 +27,10 @@ public class CreateHandler extends BaseHandlerStd {
         super(shieldClient);
     }
 
+    public CreateHandler(final ShieldClient shieldClient, final CallTuning tuning) {
+        super(shieldClient, tuning);
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -44,75 +45,49 @@ public class CreateHandler extends BaseHandlerStd {
         final ResourceModel model = request.getDesiredResourceState();
         model.setAccountId(request.getAwsAccountId());
 
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DescribeSubscriptionRequest,
-                DescribeSubscriptionResponse>builder()
-            .resourceType("ProactiveEngagement")
-            .handlerName("CreateHandler")
-            .apiName("describeSubscription")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
-            .model(model)
-            .context(callbackContext)
-            .logger(logger)
-            .translateToServiceRequest(m -> DescribeSubscriptionRequest.builder().build())
-            .getRequestFunction(c -> c::describeSubscription)
-            .onSuccess((req, res, c, m, ctx) -> {
-                final Subscription subscription = res.subscription();
-                if (subscription == null) {
-                    logger.log("CreateHandler: early exit due to no subscription.");
+        final InvocationContext<ResourceModel, CallbackContext> invocation =
+            newInvocation("CreateHandler", proxy, proxyClient, callbackContext, logger);
+
+        // a re-invoked create sees its own configuration, which is not a conflict.
+        final boolean reinvoked = Checkpoints.hasCompletedSteps(callbackContext);
+
+        return invocation.finish(HandlerHelper.describeSubscriptionAndContacts(
+                invocation,
+                request.getAwsAccountId(),
+                model,
+                callbackContext,
+                false,
+                HandlerErrorCode.InvalidRequest)
+            .then(progress -> {
+                final CallbackContext ctx = progress.getCallbackContext();
+                if (!reinvoked
+                    && HandlerHelper.isProactiveEngagementConfigured(ctx.getSubscription(),
+                    ctx.getEmergencyContactList())) {
+                    logger.log("CreateHandler: early exit due to proactive engagement already configured.");
                     return ProgressEvent.failed(
-                        m,
+                        progress.getResourceModel(),
                         ctx,
-                        HandlerErrorCode.InvalidRequest,
-                        HandlerHelper.SUBSCRIPTION_REQUIRED_ERROR_MSG);
+                        HandlerErrorCode.ResourceConflict,
+                        HandlerHelper.PROACTIVE_ENGAGEMENT_ALREADY_CONFIGURED_ERROR_MSG);
                 }
-                ctx.setSubscription(subscription);
-                return null;
+                return progress;
             })
-            .build()
-            .initiate()
-            .then(progress -> ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
-                    DescribeEmergencyContactSettingsRequest, DescribeEmergencyContactSettingsResponse>builder()
-                .resourceType("ProactiveEngagement")
-                .handlerName("CreateHandler")
-                .apiName("describeEmergencyContactSettings")
-                .proxy(proxy)
-                .proxyClient(proxyClient)
-                .model(progress.getResourceModel())
-                .context(progress.getCallbackContext())
-                .logger(logger)
-                .translateToServiceRequest(m -> DescribeEmergencyContactSettingsRequest.builder().build())
-                .getRequestFunction(c -> c::describeEmergencyContactSettings)
-                .onSuccess((req, res, c, m, ctx) -> {
-                    if (HandlerHelper.isProactiveEngagementConfigured(ctx.getSubscription(),
-                        res.emergencyContactList())) {
-                        logger.log("CreateHandler: early exit due to proactive engagement already configured.");
-                        return ProgressEvent.failed(
-                            m,
-                            ctx,
-                            HandlerErrorCode.ResourceConflict,
-                            HandlerHelper.PROACTIVE_ENGAGEMENT_ALREADY_CONFIGURED_ERROR_MSG);
-                    }
-                    return null;
-                })
-                .build()
-                .initiate())
             .then(progress -> {
                 if (progress.getCallbackContext().getSubscription().proactiveEngagementStatus() == null) {
-                    return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
-                            AssociateProactiveEngagementDetailsRequest, AssociateProactiveEngagementDetailsResponse>builder()
-                        .resourceType("ProactiveEngagement")
-                        .handlerName("CreateHandler")
-                        .apiName("associateProactiveEngagementDetails")
-                        .proxy(proxy)
-                        .proxyClient(proxyClient)
+                    return invocation.<AssociateProactiveEngagementDetailsRequest,
+                            AssociateProactiveEngagementDetailsResponse>remoteCall(
+                            "associateProactiveEngagementDetails")
                         .model(progress.getResourceModel())
                         .context(progress.getCallbackContext())
-                        .logger(logger)
                         .translateToServiceRequest(m -> AssociateProactiveEngagementDetailsRequest.builder()
                             .emergencyContactList(HandlerHelper.convertCFNEmergencyContactList(m.getEmergencyContactList()))
                             .build())
                         .getRequestFunction(c -> c::associateProactiveEngagementDetails)
+                        .onSuccess((req, res, c, m, ctx) -> {
+                            ctx.setEmergencyContactList(req.emergencyContactList());
+                            return null;
+                        })
+                        .checkpoint("associateProactiveEngagementDetails")
                         .stabilize(HandlerHelper::stabilizeProactiveEngagementStatus)
                         .build()
                         .initiate();
@@ -120,48 +95,31 @@ public class CreateHandler extends BaseHandlerStd {
                 }
                 return progress;
             })
-            .then(progress -> reconfigProactiveEngagement(proxy,
-                proxyClient,
+            .then(progress -> reconfigProactiveEngagement(invocation,
                 progress.getResourceModel(),
-                progress.getCallbackContext(),
-                logger))
+                progress.getCallbackContext()))
             .then(progress -> {
                 logger.log(String.format("Succeed handling create request: %s",
                     progress.getResourceModel().getAccountId()));
                 return ProgressEvent.defaultSuccessHandler(progress.getResourceModel());
-            });
+            }));
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> reconfigProactiveEngagement(
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
         final ResourceModel model,
-        final CallbackContext context,
-        final Logger logger) {
+        final CallbackContext context) {
         return ProgressEvent.defaultInProgressHandler(context, 0, model)
                 .then(progress -> HandlerHelper.updateEmergencyContactSettings(
-                        "CreateHandler",
+                        invocation,
                         HandlerHelper.convertCFNEmergencyContactList(progress.getResourceModel()
                                 .getEmergencyContactList()),
-                        proxy,
-                        proxyClient,
                         model,
-                        context,
-                        logger))
+                        context))
                 .then(progress ->
                         progress.getResourceModel()
                                 .getProactiveEngagementStatus().equals(ProactiveEngagementStatus.ENABLED.toString())
-                                ? HandlerHelper.enableProactiveEngagement("CreateHandler",
-                                        proxy,
-                                        proxyClient,
-                                        model,
-                                        context,
-                                        logger)
-                                : HandlerHelper.disableProactiveEngagement("CreateHandler",
-                                        proxy,
-                                        proxyClient,
-                                        model,
-                                        context,
-                                        logger));
+                                ? HandlerHelper.enableProactiveEngagement(invocation, model, context)
+                                : HandlerHelper.disableProactiveEngagement(invocation, model, context));
     }
 }
@@ -4,18 +4,14 @@ import java.util.Collections;
 
 import com.google.common.collect.ImmutableList;
 import software.amazon.awssdk.services.shield.ShieldClient;
-import software.amazon.awssdk.services.shield.model.DescribeEmergencyContactSettingsRequest;
-import software.amazon.awssdk.services.shield.model.DescribeEmergencyContactSettingsResponse;
-import software.amazon.awssdk.services.shield.model.DescribeSubscriptionRequest;
-import software.amazon.awssdk.services.shield.model.DescribeSubscriptionResponse;
-import software.amazon.awssdk.services.shield.model.Subscription;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.InvocationContext;
 import software.amazon.shield.proactiveengagement.helper.BaseHandlerStd;
 import software.amazon.shield.proactiveengagement.helper.HandlerHelper;
 
@@ -29,6 +25,10 @@ public class ListHandler extends BaseHandlerStd {
         super(shieldClient);
     }
 
+    public ListHandler(final ShieldClient shieldClient, final CallTuning tuning) {
+        super(shieldClient, tuning);
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -40,59 +40,38 @@ public class ListHandler extends BaseHandlerStd {
             request.getAwsAccountId(),
             request.getClientRequestToken()));
 
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DescribeSubscriptionRequest,
-                DescribeSubscriptionResponse>builder()
-            .resourceType("ProactiveEngagement")
-            .handlerName("ListHandler")
-            .apiName("describeSubscription")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
-            .model(ResourceModel.builder().build())
-            .context(callbackContext)
-            .logger(logger)
-            .translateToServiceRequest(m -> DescribeSubscriptionRequest.builder().build())
-            .getRequestFunction(c -> c::describeSubscription)
-            .onSuccess((req, res, c, m, ctx) -> {
-                final Subscription subscription = res.subscription();
-                if (subscription == null) {
+        final InvocationContext<ResourceModel, CallbackContext> invocation =
+            newInvocation("ListHandler", proxy, proxyClient, callbackContext, logger);
+
+        // an account without subscription lists no resource rather than failing.
+        return invocation.finish(HandlerHelper.describeSubscriptionAndContacts(
+                invocation,
+                request.getAwsAccountId(),
+                ResourceModel.builder().build(),
+                callbackContext,
+                true,
+                null)
+            .then(progress -> {
+                final CallbackContext ctx = progress.getCallbackContext();
+                if (ctx.getSubscription() == null) {
                     logger.log("ListHandler: early exit due to no subscription.");
                     return ProgressEvent.<ResourceModel, CallbackContext>builder()
                         .resourceModels(Collections.emptyList())
                         .status(OperationStatus.SUCCESS)
                         .build();
                 }
-                ctx.setSubscription(subscription);
-                return null;
+                if (!HandlerHelper.isProactiveEngagementConfigured(
+                    ctx.getSubscription(),
+                    ctx.getEmergencyContactList())
+                ) {
+                    logger.log("ListHandler: early exit due to proactive engagement not configured.");
+                    return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .resourceModels(Collections.emptyList())
+                        .status(OperationStatus.SUCCESS)
+                        .build();
+                }
+                return progress;
             })
-            .build()
-            .initiate()
-            .then(progress -> ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
-                    DescribeEmergencyContactSettingsRequest, DescribeEmergencyContactSettingsResponse>builder()
-                .resourceType("ProactiveEngagement")
-                .handlerName("ListHandler")
-                .apiName("describeEmergencyContactSettings")
-                .proxy(proxy)
-                .proxyClient(proxyClient)
-                .model(progress.getResourceModel())
-                .context(progress.getCallbackContext())
-                .logger(logger)
-                .translateToServiceRequest(m -> DescribeEmergencyContactSettingsRequest.builder().build())
-                .getRequestFunction(c -> c::describeEmergencyContactSettings)
-                .onSuccess((req, res, c, m, ctx) -> {
-                    if (!HandlerHelper.isProactiveEngagementConfigured(
-                        ctx.getSubscription(),
-                        res.emergencyContactList())
-                    ) {
-                        logger.log("ListHandler: early exit due to proactive engagement not configured.");
-                        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                            .resourceModels(Collections.emptyList())
-                            .status(OperationStatus.SUCCESS)
-                            .build();
-                    }
-                    return null;
-                })
-                .build()
-                .initiate())
             .then(progress -> {
                 final ResourceModel model = progress.getResourceModel();
                 model.setAccountId(request.getAwsAccountId());
@@ -100,6 +79,6 @@ public class ListHandler extends BaseHandlerStd {
                     .resourceModels(ImmutableList.of(model))
                     .status(OperationStatus.SUCCESS)
                     .build();
-            });
+            }));
     }
 }
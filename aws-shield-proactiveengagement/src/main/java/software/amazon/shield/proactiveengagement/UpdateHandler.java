@@ -1,19 +1,17 @@
 package software.amazon.shield.proactiveengagement;
 
+import lombok.NonNull;
 import software.amazon.awssdk.services.shield.ShieldClient;
-import software.amazon.awssdk.services.shield.model.DescribeEmergencyContactSettingsRequest;
-import software.amazon.awssdk.services.shield.model.DescribeEmergencyContactSettingsResponse;
-import software.amazon.awssdk.services.shield.model.DescribeSubscriptionRequest;
-import software.amazon.awssdk.services.shield.model.DescribeSubscriptionResponse;
 import software.amazon.awssdk.services.shield.model.ProactiveEngagementStatus;
-import software.amazon.awssdk.services.shield.model.Subscription;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.InvocationContext;
+import software.amazon.shield.common.UpdatePlan;
 import software.amazon.shield.proactiveengagement.helper.BaseHandlerStd;
 import software.amazon.shield.proactiveengagement.helper.HandlerHelper;
 
@@ -27,6 +25,10 @@ public class UpdateHandler extends BaseHandlerStd {
         super(shieldClient);
     }
 
+    public UpdateHandler(final ShieldClient shieldClient, final CallTuning tuning) {
+        super(shieldClient, tuning);
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -46,88 +48,83 @@ public class UpdateHandler extends BaseHandlerStd {
                 HandlerHelper.ACCOUNT_ID_MISMATCH_ERROR_MSG);
         }
 
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DescribeSubscriptionRequest,
-                DescribeSubscriptionResponse>builder()
-            .resourceType("ProactiveEngagement")
-            .handlerName("UpdateHandler")
-            .apiName("describeSubscription")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
-            .model(request.getDesiredResourceState())
-            .context(callbackContext)
-            .logger(logger)
-            .translateToServiceRequest(m -> DescribeSubscriptionRequest.builder().build())
-            .getRequestFunction(c -> c::describeSubscription)
-            .onSuccess((req, res, c, m, ctx) -> {
-                final Subscription subscription = res.subscription();
-                if (subscription == null) {
-                    logger.log("UpdateHandler: early exit due to no subscription.");
-                    return ProgressEvent.failed(
-                        m,
+        final InvocationContext<ResourceModel, CallbackContext> invocation =
+            newInvocation("UpdateHandler", proxy, proxyClient, callbackContext, logger);
+
+        return invocation.finish(HandlerHelper.describeSubscriptionAndContacts(
+                invocation,
+                request.getAwsAccountId(),
+                request.getDesiredResourceState(),
+                callbackContext,
+                false,
+                HandlerErrorCode.NotFound)
+            .then(progress -> {
+                final CallbackContext ctx = progress.getCallbackContext();
+                if (!HandlerHelper.isProactiveEngagementConfigured(
+                    ctx.getSubscription(),
+                    ctx.getEmergencyContactList())
+                ) {
+                    logger.log("UpdateHandler: early exit due to proactive engagement not configured.");
+                    return ProgressEvent.failed(progress.getResourceModel(),
                         ctx,
                         HandlerErrorCode.NotFound,
-                        HandlerHelper.SUBSCRIPTION_REQUIRED_ERROR_MSG);
+                        HandlerHelper.NO_PROACTIVE_ENGAGEMENT_ERROR_MSG);
                 }
-                ctx.setSubscription(subscription);
-                return null;
+                return progress;
             })
-            .build()
-            .initiate()
-            .then(progress -> ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
-                    DescribeEmergencyContactSettingsRequest, DescribeEmergencyContactSettingsResponse>builder()
-                .resourceType("ProactiveEngagement")
-                .handlerName("UpdateHandler")
-                .apiName("describeEmergencyContactSettings")
-                .proxy(proxy)
-                .proxyClient(proxyClient)
-                .model(progress.getResourceModel())
-                .context(progress.getCallbackContext())
-                .logger(logger)
-                .translateToServiceRequest(m -> DescribeEmergencyContactSettingsRequest.builder().build())
-                .getRequestFunction(c -> c::describeEmergencyContactSettings)
-                .onSuccess((req, res, c, m, ctx) -> {
-                    if (!HandlerHelper.isProactiveEngagementConfigured(
-                        ctx.getSubscription(),
-                        res.emergencyContactList())
-                    ) {
-                        logger.log("UpdateHandler: early exit due to proactive engagement not configured.");
-                        return ProgressEvent.failed(
-                            m,
-                            ctx,
-                            HandlerErrorCode.NotFound,
-                            HandlerHelper.NO_PROACTIVE_ENGAGEMENT_ERROR_MSG);
-                    }
-                    return null;
-                })
-                .build()
-                .initiate())
             .then(progress -> updateProactiveEngagementStatus(
-                proxy, proxyClient, progress.getResourceModel(), progress.getCallbackContext(), logger
+                invocation, progress.getResourceModel(), progress.getCallbackContext()
             ))
             .then(progress -> HandlerHelper.updateEmergencyContactSettings(
-                "UpdateHandler",
+                invocation,
                 HandlerHelper.convertCFNEmergencyContactList(progress.getResourceModel().getEmergencyContactList()),
-                proxy,
-                proxyClient,
                 progress.getResourceModel(),
-                progress.getCallbackContext(),
-                logger))
+                progress.getCallbackContext()))
             .then(progress -> {
                 logger.log("Succeed handling update request.");
                 return ProgressEvent.defaultSuccessHandler(progress.getResourceModel());
-            });
+            }));
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> updateProactiveEngagementStatus(
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
         final ResourceModel model,
-        final CallbackContext context,
-        final Logger logger
+        final CallbackContext context
     ) {
-        if (ProactiveEngagementStatus.ENABLED.toString().equalsIgnoreCase(model.getProactiveEngagementStatus())) {
-            return HandlerHelper.enableProactiveEngagement("UpdateHandler", proxy, proxyClient, model, context, logger);
+        if (isEnabled(model)) {
+            return HandlerHelper.enableProactiveEngagement(invocation, model, context);
         }
-        return HandlerHelper.disableProactiveEngagement("UpdateHandler", proxy, proxyClient, model, context, logger);
+        return HandlerHelper.disableProactiveEngagement(invocation, model, context);
+    }
+
+    /**
+     * Calls {@link #handleRequest} would make to update {@code previousState} to {@code desiredState}. The handler
+     * compares against the subscription and contacts it reads, the plan against the previous state; each write is
+     * followed by at least one DescribeSubscription poll.
+     */
+    public static UpdatePlan plan(
+        @NonNull final ResourceModel previousState,
+        @NonNull final ResourceModel desiredState
+    ) {
+        final String accountId = desiredState.getAccountId();
+        final UpdatePlan.Builder plan = UpdatePlan.builder()
+            .call("describeSubscription", accountId)
+            .call("describeEmergencyContactSettings", accountId);
+        if (isEnabled(desiredState) != isEnabled(previousState)) {
+            plan.call(isEnabled(desiredState) ? "enableProactiveEngagement" : "disableProactiveEngagement", accountId)
+                .call("describeSubscription", accountId);
+        }
+        if (!HandlerHelper.isEmergencyContactListUnchanged(
+            HandlerHelper.convertCFNEmergencyContactList(desiredState.getEmergencyContactList()),
+            HandlerHelper.convertCFNEmergencyContactList(previousState.getEmergencyContactList())
+        )) {
+            plan.call("updateEmergencyContactSettings", accountId)
+                .call("describeSubscription", accountId);
+        }
+        return plan.build();
+    }
+
+    private static boolean isEnabled(final ResourceModel model) {
+        return ProactiveEngagementStatus.ENABLED.toString().equalsIgnoreCase(model.getProactiveEngagementStatus());
     }
 }
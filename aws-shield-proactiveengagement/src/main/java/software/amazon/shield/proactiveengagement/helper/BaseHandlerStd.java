@@ -6,7 +6,12 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.InvocationContext;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.Tracer;
 import software.amazon.shield.proactiveengagement.BaseHandler;
 import software.amazon.shield.proactiveengagement.CallbackContext;
 import software.amazon.shield.proactiveengagement.ResourceModel;
@@ -14,13 +19,19 @@ import software.amazon.shield.proactiveengagement.ResourceModel;
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
 
     public final ShieldClient shieldClient;
+    public final CallTuning tuning;
 
     public BaseHandlerStd() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
     }
 
     public BaseHandlerStd(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
+    }
+
+    public BaseHandlerStd(final ShieldClient shieldClient, final CallTuning tuning) {
         this.shieldClient = shieldClient;
+        this.tuning = tuning;
     }
 
     @Override
@@ -44,4 +55,27 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final ProxyClient<ShieldClient> proxyClient,
         final Logger logger);
+
+    /**
+     * traced to the handler log, with the trace ID and the operation timing kept in {@code callbackContext} across
+     * re-invocations, and paced by the {@link #tuning} of this handler.
+     */
+    protected InvocationContext<ResourceModel, CallbackContext> newInvocation(
+        final String handlerName,
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final CallbackContext callbackContext,
+        final Logger logger) {
+        return InvocationContext.<ResourceModel, CallbackContext>builder()
+            .resourceType("ProactiveEngagement")
+            .handlerName(handlerName)
+            .proxy(proxy)
+            .proxyClient(proxyClient)
+            .logger(logger)
+            .tuning(this.tuning)
+            .tracer(new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())))
+            .traceContext(callbackContext)
+            .operationContext(callbackContext)
+            .build();
+    }
 }
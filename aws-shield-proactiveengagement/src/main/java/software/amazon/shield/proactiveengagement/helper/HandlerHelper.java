@@ -1,12 +1,17 @@
 package software.amazon.shield.proactiveengagement.helper;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.DescribeEmergencyContactSettingsRequest;
+import software.amazon.awssdk.services.shield.model.DescribeEmergencyContactSettingsResponse;
 import software.amazon.awssdk.services.shield.model.DescribeSubscriptionRequest;
 import software.amazon.awssdk.services.shield.model.DescribeSubscriptionResponse;
 import software.amazon.awssdk.services.shield.model.DisableProactiveEngagementRequest;
@@ -17,12 +22,13 @@ import software.amazon.awssdk.services.shield.model.ProactiveEngagementStatus;
 import software.amazon.awssdk.services.shield.model.Subscription;
 import software.amazon.awssdk.services.shield.model.UpdateEmergencyContactSettingsRequest;
 import software.amazon.awssdk.services.shield.model.UpdateEmergencyContactSettingsResponse;
-import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
-import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.InvocationContext;
+import software.amazon.shield.common.StepGraph;
+import software.amazon.shield.common.SubscriptionCache;
 import software.amazon.shield.proactiveengagement.CallbackContext;
 import software.amazon.shield.proactiveengagement.ResourceModel;
 
@@ -55,94 +61,171 @@ public class HandlerHelper {
         );
     }
 
-    public static ProgressEvent<ResourceModel, CallbackContext> disableProactiveEngagement(
-        final String handlerName,
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
+    /**
+     * Reads the subscription and the emergency contacts concurrently into the callback context.
+     * <p>
+     * Both reads are independent, so the prelude of every handler costs a single round-trip. The subscription step is
+     * declared first: when both reads fail, it decides the error code, as it did when the reads were sequential.
+     * Every subscription read refreshes the {@link SubscriptionCache}.
+     *
+     * @param allowCachedSubscription takes the subscription from the {@link SubscriptionCache} when present. Handlers
+     *                                that decide writes from the subscription read it fresh.
+     * @param noSubscriptionErrorCode fails the subscription step when the account has no subscription, or leaves the
+     *                                missing subscription to the caller when null.
+     */
+    public static ProgressEvent<ResourceModel, CallbackContext> describeSubscriptionAndContacts(
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
+        @Nullable final String accountId,
         final ResourceModel model,
         final CallbackContext context,
-        final Logger logger
+        final boolean allowCachedSubscription,
+        @Nullable final HandlerErrorCode noSubscriptionErrorCode
     ) {
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DisableProactiveEngagementRequest,
-                DisableProactiveEngagementResponse>builder()
-            .resourceType("ProactiveEngagement")
-            .handlerName(handlerName + ".HandlerHelper")
-            .apiName("disableProactiveEngagement")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
+        return new StepGraph<ResourceModel, CallbackContext>(
+            ignored -> new CallbackContext(),
+            HandlerHelper::joinDescribed,
+            invocation.getTuning().getMaxConcurrentCalls()
+        )
+            .step("describeSubscription", progress -> {
+                final Optional<Subscription> cached = allowCachedSubscription && accountId != null
+                    ? SubscriptionCache.shared().get(accountId)
+                    : Optional.empty();
+                if (cached.isPresent()) {
+                    progress.getCallbackContext().setSubscription(cached.get());
+                    return progress;
+                }
+                return invocation.<DescribeSubscriptionRequest, DescribeSubscriptionResponse>remoteCall(
+                        "describeSubscription")
+                    .model(progress.getResourceModel())
+                    .context(progress.getCallbackContext())
+                    .translateToServiceRequest(m -> DescribeSubscriptionRequest.builder().build())
+                    .getRequestFunction(c -> c::describeSubscription)
+                    .onSuccess((req, res, c, m, ctx) -> {
+                        if (accountId != null) {
+                            SubscriptionCache.shared().put(accountId, res.subscription());
+                        }
+                        if (res.subscription() == null && noSubscriptionErrorCode != null) {
+                            invocation.getLogger().log(String.format("%s: early exit due to no subscription.",
+                                invocation.getHandlerName()));
+                            return ProgressEvent.failed(
+                                m,
+                                ctx,
+                                noSubscriptionErrorCode,
+                                SUBSCRIPTION_REQUIRED_ERROR_MSG);
+                        }
+                        ctx.setSubscription(res.subscription());
+                        return null;
+                    })
+                    .build()
+                    .initiate();
+            })
+            .step("describeEmergencyContactSettings", progress -> invocation.<DescribeEmergencyContactSettingsRequest,
+                    DescribeEmergencyContactSettingsResponse>remoteCall("describeEmergencyContactSettings")
+                .model(progress.getResourceModel())
+                .context(progress.getCallbackContext())
+                .translateToServiceRequest(m -> DescribeEmergencyContactSettingsRequest.builder().build())
+                .getRequestFunction(c -> c::describeEmergencyContactSettings)
+                .onSuccess((req, res, c, m, ctx) -> {
+                    ctx.setEmergencyContactList(res.emergencyContactList());
+                    return null;
+                })
+                .build()
+                .initiate())
+            .run(ProgressEvent.defaultInProgressHandler(context, 0, model));
+    }
+
+    private static void joinDescribed(final CallbackContext parent, final CallbackContext branch) {
+        if (branch.getSubscription() != null) {
+            parent.setSubscription(branch.getSubscription());
+        }
+        if (branch.getEmergencyContactList() != null) {
+            parent.setEmergencyContactList(branch.getEmergencyContactList());
+        }
+    }
+
+    public static ProgressEvent<ResourceModel, CallbackContext> disableProactiveEngagement(
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
+        final ResourceModel model,
+        final CallbackContext context
+    ) {
+        if (isProactiveEngagementStatusUnchanged(ProactiveEngagementStatus.DISABLED, context.getSubscription())) {
+            return skip(invocation, "disableProactiveEngagement", model, context);
+        }
+        return invocation.<DisableProactiveEngagementRequest, DisableProactiveEngagementResponse>remoteCall(
+                "disableProactiveEngagement")
             .model(model)
             .context(context)
-            .logger(logger)
             .translateToServiceRequest(
                 m -> DisableProactiveEngagementRequest.builder().build())
             .getRequestFunction(c -> c::disableProactiveEngagement)
+            .checkpoint("disableProactiveEngagement")
             .stabilize(HandlerHelper::stabilizeProactiveEngagementStatus)
             .build()
             .initiate();
     }
 
     public static ProgressEvent<ResourceModel, CallbackContext> enableProactiveEngagement(
-        final String handlerName,
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
         final ResourceModel model,
-        final CallbackContext context,
-        final Logger logger
+        final CallbackContext context
     ) {
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, EnableProactiveEngagementRequest,
-                EnableProactiveEngagementResponse>builder()
-            .resourceType("ProactiveEngagement")
-            .handlerName(handlerName + ".HandlerHelper")
-            .apiName("enableProactiveEngagement")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
+        if (isProactiveEngagementStatusUnchanged(ProactiveEngagementStatus.ENABLED, context.getSubscription())) {
+            return skip(invocation, "enableProactiveEngagement", model, context);
+        }
+        return invocation.<EnableProactiveEngagementRequest, EnableProactiveEngagementResponse>remoteCall(
+                "enableProactiveEngagement")
             .model(model)
             .context(context)
-            .logger(logger)
             .translateToServiceRequest(m -> EnableProactiveEngagementRequest.builder().build())
             .getRequestFunction(c -> c::enableProactiveEngagement)
+            .checkpoint("enableProactiveEngagement")
             .stabilize(HandlerHelper::stabilizeProactiveEngagementStatus)
             .build()
             .initiate();
     }
 
     public static ProgressEvent<ResourceModel, CallbackContext> updateEmergencyContactSettings(
-        final String handlerName,
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
         final List<software.amazon.awssdk.services.shield.model.EmergencyContact> emergencyContactList,
-        final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<ShieldClient> proxyClient,
         final ResourceModel model,
-        final CallbackContext context,
-        final Logger logger
+        final CallbackContext context
     ) {
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, UpdateEmergencyContactSettingsRequest,
-                UpdateEmergencyContactSettingsResponse>builder()
-            .resourceType("ProactiveEngagement")
-            .handlerName(handlerName + ".HandlerHelper")
-            .apiName("updateEmergencyContactSettings")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
+        if (isEmergencyContactListUnchanged(emergencyContactList, context.getEmergencyContactList())) {
+            return skip(invocation, "updateEmergencyContactSettings", model, context);
+        }
+        return invocation.<UpdateEmergencyContactSettingsRequest, UpdateEmergencyContactSettingsResponse>remoteCall(
+                "updateEmergencyContactSettings")
             .model(model)
             .context(context)
-            .logger(logger)
             .translateToServiceRequest(m -> UpdateEmergencyContactSettingsRequest.builder()
                 .emergencyContactList(emergencyContactList)
                 .build())
             .getRequestFunction(c -> c::updateEmergencyContactSettings)
+            .onSuccess((req, res, c, m, ctx) -> {
+                ctx.setEmergencyContactList(emergencyContactList);
+                return null;
+            })
+            .checkpoint("updateEmergencyContactSettings")
             .stabilize(HandlerHelper::stabilizeProactiveEngagementStatus)
             .build()
             .initiate();
     }
 
+    /**
+     * Records the subscription it polled, so the next step compares against the status the write left behind.
+     */
     public static Boolean stabilizeProactiveEngagementStatus(
         final ProxyClient<ShieldClient> proxyClient,
-        final ResourceModel ignored1,
-        final CallbackContext ignored2
+        final ResourceModel ignored,
+        final CallbackContext context
     ) {
         DescribeSubscriptionResponse res = proxyClient.injectCredentialsAndInvokeV2(
             DescribeSubscriptionRequest.builder().build(),
             proxyClient.client()::describeSubscription
         );
+        if (res.subscription() != null) {
+            context.setSubscription(res.subscription());
+        }
         if (res.subscription() != null
             && res.subscription().proactiveEngagementStatus() != null
             && !res.subscription().proactiveEngagementStatus().equals(ProactiveEngagementStatus.PENDING)
@@ -154,6 +237,40 @@ public class HandlerHelper {
         }
     }
 
+    /**
+     * Whether the subscription already has the desired status. A pending status is never considered unchanged.
+     */
+    public static boolean isProactiveEngagementStatusUnchanged(
+        final ProactiveEngagementStatus desired,
+        final Subscription subscription
+    ) {
+        return subscription != null && desired.equals(subscription.proactiveEngagementStatus());
+    }
+
+    /**
+     * Whether the account already has the desired contacts, in the same order. A missing list counts as empty.
+     */
+    public static boolean isEmergencyContactListUnchanged(
+        final List<software.amazon.awssdk.services.shield.model.EmergencyContact> desired,
+        final List<software.amazon.awssdk.services.shield.model.EmergencyContact> current
+    ) {
+        return new ArrayList<>(Optional.ofNullable(desired).orElse(Collections.emptyList()))
+            .equals(new ArrayList<>(Optional.ofNullable(current).orElse(Collections.emptyList())));
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> skip(
+        final InvocationContext<ResourceModel, CallbackContext> invocation,
+        final String apiName,
+        final ResourceModel model,
+        final CallbackContext context
+    ) {
+        invocation.getLogger().log(String.format("[INFO] Skip Requesting %s:%s:%s: already in the desired state",
+            invocation.getResourceType(),
+            invocation.getHandlerName(),
+            apiName));
+        return ProgressEvent.defaultInProgressHandler(context, 0, model);
+    }
+
     public static List<software.amazon.shield.proactiveengagement.EmergencyContact> convertSDKEmergencyContactList(List<software.amazon.awssdk.services.shield.model.EmergencyContact> emergencyContactList) {
         return Optional.ofNullable(emergencyContactList)
             .map(Collection::stream)
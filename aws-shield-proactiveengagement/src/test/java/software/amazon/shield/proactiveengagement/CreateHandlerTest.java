@@ -21,6 +21,7 @@ import software.amazon.awssdk.services.shield.model.DisableProactiveEngagementRe
 import software.amazon.awssdk.services.shield.model.DisableProactiveEngagementResponse;
 import software.amazon.awssdk.services.shield.model.EnableProactiveEngagementRequest;
 import software.amazon.awssdk.services.shield.model.EnableProactiveEngagementResponse;
+import software.amazon.awssdk.services.shield.model.InternalErrorException;
 import software.amazon.awssdk.services.shield.model.ProactiveEngagementStatus;
 import software.amazon.awssdk.services.shield.model.Subscription;
 import software.amazon.awssdk.services.shield.model.UpdateEmergencyContactSettingsRequest;
@@ -33,13 +34,15 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.SubscriptionCache;
 import software.amazon.shield.proactiveengagement.helper.HandlerHelper;
 import software.amazon.shield.proactiveengagement.helper.ProactiveEngagementTestHelper;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
@@ -72,11 +75,11 @@ public class CreateHandlerTest {
             MOCK_CREDENTIALS,
             () -> Duration.ofSeconds(600).toMillis()));
         logger = mock(Logger.class);
-        createHandler = new CreateHandler(shieldClient);
+        createHandler = new CreateHandler(shieldClient, CallTuning.NO_JITTER);
         proxyClient = ProactiveEngagementTestHelper.MOCK_PROXY(proxy, shieldClient);
         callbackContext = new CallbackContext();
         model = ResourceModel.builder().accountId(ProactiveEngagementTestHelper.accountId).build();
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+        SubscriptionCache.shared().invalidateAll();
     }
 
     @Test
@@ -124,7 +127,15 @@ public class CreateHandlerTest {
         // Mock describe subscription
         final DescribeSubscriptionResponse describeSubscriptionResponse = DescribeSubscriptionResponse.builder()
                 .subscription(Subscription.builder().proactiveEngagementStatus(ProactiveEngagementStatus.DISABLED).build()).build();
+        final DescribeSubscriptionResponse enabledSubscriptionResponse = DescribeSubscriptionResponse.builder()
+                .subscription(Subscription.builder()
+                        .proactiveEngagementStatus(ProactiveEngagementStatus.ENABLED)
+                        .build())
+                .build();
+        // disabled until enableProactiveEngagement stabilizes, so the second create has to disable it again
         doReturn(describeSubscriptionResponse)
+                .doReturn(describeSubscriptionResponse)
+                .doReturn(enabledSubscriptionResponse)
                 .when(proxy).injectCredentialsAndInvokeV2(any(DescribeSubscriptionRequest.class), any());
 
 
@@ -199,6 +210,26 @@ public class CreateHandlerTest {
             "Proactive engagement is already configured on the account.");
     }
 
+    @Test
+    public void handleRequest_NoSubscriptionDecidesErrorCode() {
+        doReturn(DescribeSubscriptionResponse.builder().build()).when(proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeSubscriptionRequest.class), any());
+        doThrow(InternalErrorException.builder().message("internal error").build()).when(proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeEmergencyContactSettingsRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId(ProactiveEngagementTestHelper.accountId)
+            .desiredResourceState(model)
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = createHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(response.getMessage()).contains(HandlerHelper.SUBSCRIPTION_REQUIRED_ERROR_MSG);
+    }
+
     public void handleCreateWithEnabled() {
         model = ResourceModel.builder()
                 .accountId(ProactiveEngagementTestHelper.accountId)
@@ -27,7 +27,8 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.SubscriptionCache;
 import software.amazon.shield.proactiveengagement.helper.ProactiveEngagementTestHelper;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -67,7 +68,7 @@ public class DeleteHandlerTest {
             () -> Duration.ofSeconds(600).toMillis()
         ));
         logger = mock(Logger.class, withSettings().verboseLogging());
-        deleteHandler = new DeleteHandler(shieldClient);
+        deleteHandler = new DeleteHandler(shieldClient, CallTuning.NO_JITTER);
         proxyClient = ProactiveEngagementTestHelper.MOCK_PROXY(proxy, shieldClient);
         callbackContext = new CallbackContext();
         model = ResourceModel.builder()
@@ -75,7 +76,7 @@ public class DeleteHandlerTest {
             .proactiveEngagementStatus(ProactiveEngagementStatus.DISABLED.toString())
             .emergencyContactList(Collections.emptyList())
             .build();
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+        SubscriptionCache.shared().invalidateAll();
     }
 
     @Test
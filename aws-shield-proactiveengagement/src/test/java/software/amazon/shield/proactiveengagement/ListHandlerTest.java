@@ -22,7 +22,8 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.SubscriptionCache;
 import software.amazon.shield.proactiveengagement.helper.ProactiveEngagementTestHelper;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -58,11 +59,11 @@ public class ListHandlerTest {
             MOCK_CREDENTIALS,
             () -> Duration.ofSeconds(600).toMillis()));
         logger = mock(Logger.class);
-        listHandler = new ListHandler(shieldClient);
+        listHandler = new ListHandler(shieldClient, CallTuning.NO_JITTER);
         proxyClient = ProactiveEngagementTestHelper.MOCK_PROXY(proxy, shieldClient);
         callbackContext = new CallbackContext();
         model = ResourceModel.builder().accountId(ProactiveEngagementTestHelper.accountId).build();
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+        SubscriptionCache.shared().invalidateAll();
     }
 
     @Test
@@ -22,7 +22,8 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.SubscriptionCache;
 import software.amazon.shield.proactiveengagement.helper.HandlerHelper;
 import software.amazon.shield.proactiveengagement.helper.ProactiveEngagementTestHelper;
 
@@ -30,7 +31,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static software.amazon.shield.proactiveengagement.helper.ProactiveEngagementTestHelper.MOCK_CREDENTIALS;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,11 +62,11 @@ public class ReadHandlerTest {
             MOCK_CREDENTIALS,
             () -> Duration.ofSeconds(600).toMillis()));
         logger = mock(Logger.class);
-        readHandler = new ReadHandler(shieldClient);
+        readHandler = new ReadHandler(shieldClient, CallTuning.NO_JITTER);
         proxyClient = ProactiveEngagementTestHelper.MOCK_PROXY(proxy, shieldClient);
         callbackContext = new CallbackContext();
         model = ResourceModel.builder().accountId(ProactiveEngagementTestHelper.accountId).build();
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+        SubscriptionCache.shared().invalidateAll();
     }
 
     @Test
@@ -105,6 +108,30 @@ public class ReadHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_CachedSubscription() {
+        SubscriptionCache.shared().put(ProactiveEngagementTestHelper.accountId, Subscription.builder()
+            .proactiveEngagementStatus(ProactiveEngagementStatus.ENABLED)
+            .build());
+        doReturn(DescribeEmergencyContactSettingsResponse.builder()
+            .emergencyContactList(ProactiveEngagementTestHelper.emergencyContactList)
+            .build()).when(proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeEmergencyContactSettingsRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId(ProactiveEngagementTestHelper.accountId)
+            .desiredResourceState(model)
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = readHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()
+            .getProactiveEngagementStatus()).isEqualTo(ProactiveEngagementStatus.ENABLED.toString());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(DescribeSubscriptionRequest.class), any());
+    }
+
     @Test
     public void handleRequest_NoProactiveEngagementFailure() {
         final DescribeSubscriptionResponse describeSubscriptionResponse = DescribeSubscriptionResponse.builder()
@@ -28,14 +28,17 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.SubscriptionCache;
 import software.amazon.shield.proactiveengagement.helper.ProactiveEngagementTestHelper;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static software.amazon.shield.proactiveengagement.helper.ProactiveEngagementTestHelper.MOCK_CREDENTIALS;
 
 @ExtendWith(MockitoExtension.class)
@@ -64,11 +67,11 @@ public class UpdateHandlerTest {
             MOCK_CREDENTIALS,
             () -> Duration.ofSeconds(600).toMillis()));
         logger = mock(Logger.class);
-        updateHandler = new UpdateHandler(shieldClient);
+        updateHandler = new UpdateHandler(shieldClient, CallTuning.NO_JITTER);
         proxyClient = ProactiveEngagementTestHelper.MOCK_PROXY(proxy, shieldClient);
         callbackContext = new CallbackContext();
         model = ResourceModel.builder().accountId(ProactiveEngagementTestHelper.accountId).build();
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+        SubscriptionCache.shared().invalidateAll();
     }
 
     @Test
@@ -228,12 +231,6 @@ public class UpdateHandlerTest {
         doReturn(updateEmergencyContactSettingsResponse).when(proxy)
             .injectCredentialsAndInvokeV2(any(UpdateEmergencyContactSettingsRequest.class), any());
 
-        final EnableProactiveEngagementResponse enableProactiveEngagementResponse =
-            EnableProactiveEngagementResponse.builder()
-                .build();
-        doReturn(enableProactiveEngagementResponse).when(proxy)
-            .injectCredentialsAndInvokeV2(any(EnableProactiveEngagementRequest.class), any());
-
         // Mock change propagation
         final ProgressEvent<ResourceModel, CallbackContext> inProgressEvent =
             ProgressEvent.defaultInProgressHandler(callbackContext, 0, model);
@@ -264,6 +261,7 @@ public class UpdateHandlerTest {
             ProactiveEngagementTestHelper.newEmergencyContactList));
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(EnableProactiveEngagementRequest.class), any());
     }
 
     @Test
@@ -292,12 +290,6 @@ public class UpdateHandlerTest {
         doReturn(updateEmergencyContactSettingsResponse).when(proxy)
             .injectCredentialsAndInvokeV2(any(UpdateEmergencyContactSettingsRequest.class), any());
 
-        final DisableProactiveEngagementResponse disableProactiveEngagementResponse =
-            DisableProactiveEngagementResponse.builder()
-                .build();
-        doReturn(disableProactiveEngagementResponse).when(proxy)
-            .injectCredentialsAndInvokeV2(any(DisableProactiveEngagementRequest.class), any());
-
         // Mock change propagation
         final ProgressEvent<ResourceModel, CallbackContext> inProgressEvent =
             ProgressEvent.defaultInProgressHandler(callbackContext, 0, model);
@@ -328,6 +320,7 @@ public class UpdateHandlerTest {
             ProactiveEngagementTestHelper.newEmergencyContactList));
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(DisableProactiveEngagementRequest.class), any());
     }
 
     @Test
@@ -395,6 +388,39 @@ public class UpdateHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_UnchangedIssuesNoWrites() {
+        doReturn(DescribeSubscriptionResponse.builder()
+            .subscription(Subscription.builder()
+                .proactiveEngagementStatus(ProactiveEngagementStatus.ENABLED)
+                .build())
+            .build()).when(proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeSubscriptionRequest.class), any());
+        doReturn(DescribeEmergencyContactSettingsResponse.builder()
+            .emergencyContactList(ProactiveEngagementTestHelper.emergencyContactList)
+            .build()).when(proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeEmergencyContactSettingsRequest.class), any());
+
+        model = ResourceModel.builder()
+            .accountId(ProactiveEngagementTestHelper.accountId)
+            .proactiveEngagementStatus(ProactiveEngagementStatus.ENABLED.toString())
+            .emergencyContactList(ProactiveEngagementTestHelper.convertEmergencyContactList(
+                ProactiveEngagementTestHelper.emergencyContactList))
+            .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId(ProactiveEngagementTestHelper.accountId)
+            .desiredResourceState(model)
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = updateHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(EnableProactiveEngagementRequest.class), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(UpdateEmergencyContactSettingsRequest.class), any());
+    }
+
     @Test
     public void handleRequest_AccountNotFoundFailure() {
         final ResourceModel model = ResourceModel.builder()
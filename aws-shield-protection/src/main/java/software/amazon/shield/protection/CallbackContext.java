@@ -1,14 +1,36 @@
 package software.amazon.shield.protection;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.StdCallbackContext;
+import software.amazon.shield.common.Checkpoints;
 import software.amazon.shield.common.HandlerHelper;
+import software.amazon.shield.common.OperationLatency;
+import software.amazon.shield.common.RetryBudget;
+import software.amazon.shield.common.Tracer;
 
 @lombok.Getter
 @lombok.Setter
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
-public class CallbackContext extends StdCallbackContext implements HandlerHelper.TagsContext<Tag> {
+public class CallbackContext extends StdCallbackContext
+    implements HandlerHelper.TagsContext<Tag>, Checkpoints.CheckpointContext, RetryBudget.RetryContext,
+        Tracer.TraceContext, OperationLatency.OperationContext {
     private List<Tag> tags;
+    private Set<String> completedSteps;
+    private Map<String, Integer> retryAttempts;
+    private String traceId;
+    // failure that triggered the compensating deleteProtection in CreateHandler
+    private HandlerErrorCode rollbackErrorCode;
+    private String rollbackMessage;
+    // AppLayerAutoResponseStabilizer polling state, kept for the rest of the operation once stabilized
+    private Long appLayerAutoResponseStabilizationStartedAt;
+    private Integer appLayerAutoResponseStabilizationAttempts;
+    // OperationLatency across re-invocations
+    private Long operationStartedAt;
+    private Integer invocationCount;
+    private Long backoffMillis;
 }
@@ -1,6 +1,8 @@
 package software.amazon.shield.protection;
 
+import java.time.Clock;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.shield.ShieldClient;
@@ -25,9 +27,20 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.Arn;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
-import software.amazon.shield.common.HandlerHelper;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.ErrorClassifier;
+import software.amazon.shield.common.LogMetricsSink;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.MetricsSink;
+import software.amazon.shield.common.OperationLatency;
 import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.StepGraph;
+import software.amazon.shield.common.Tracer;
+import software.amazon.shield.protection.helper.AppLayerAutoResponseStabilizer;
+import software.amazon.shield.protection.helper.ProtectionIndex;
 
 import static software.amazon.shield.protection.helper.HandlerHelper.associateHealthChecks;
 
@@ -35,16 +48,53 @@ import static software.amazon.shield.protection.helper.HandlerHelper.associateHe
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    /**
+     * opt-in wait for the automatic application layer response to be reported by DescribeProtection, off when null,
+     * see {@link Features#isStabilizeAppLayerAutoResponse()}.
+     */
+    @Nullable
+    private final AppLayerAutoResponseStabilizer appLayerAutoResponseStabilizer;
+    private final CallTuning tuning;
 
     public CreateHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public CreateHandler(final ShieldClient shieldClient) {
+        this(shieldClient, Features.fromEnvironment(), CallTuning.DEFAULT);
+    }
+
+    public CreateHandler(final ShieldClient shieldClient, final CallTuning tuning) {
+        this(shieldClient, Features.NONE, tuning);
+    }
+
+    public CreateHandler(final ShieldClient shieldClient, final Features features, final CallTuning tuning) {
+        this(
+            shieldClient,
+            AppLayerAutoResponseStabilizer.of(features, tuning),
+            ProtectionIndex.tuning(features, tuning)
+        );
     }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
-        CallbackContext callbackContext,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "Protection:CreateHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
         final Logger logger
     ) {
         logger.log(String.format(
@@ -53,114 +103,53 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                 request.getClientRequestToken()
             )
         );
-        callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
 
         final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
+        final OperationLatency operationLatency =
+            OperationLatency.start("Protection", "CreateHandler", callbackContext, Clock.systemUTC());
+        final MetricsSink metrics = new LogMetricsSink(logger, "Protection");
 
-        final ProgressEvent<ResourceModel, CallbackContext> createProgress =
-            ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, CreateProtectionRequest,
-                    CreateProtectionResponse>builder()
-                .resourceType("Protection")
-                .handlerName("CreateHandler")
-                .apiName("createProtection")
-                .proxy(proxy)
-                .proxyClient(proxyClient)
-                .model(request.getDesiredResourceState())
-                .context(callbackContext)
-                .logger(logger)
-                .translateToServiceRequest(m -> {
-                    final CreateProtectionRequest.Builder createProtectionRequestBuilder =
-                        CreateProtectionRequest.builder()
-                            .name(m.getName())
-                            .resourceArn(m.getResourceArn());
-                    populateTags(m, createProtectionRequestBuilder);
-                    return createProtectionRequestBuilder.build();
-                })
-                .getRequestFunction(c -> c::createProtection)
-                .rateExceededIsCritical(true)
-                .onSuccess((req, res, c, m, ctx) -> {
-                    logger.log(String.format("CreateHandler: new protection created id = %s", res.protectionId()));
-                    m.setProtectionId(res.protectionId());
-                    final String protectionArn = String.format(
-                        "arn:aws:shield::%s:protection/%s",
-                        request.getAwsAccountId(),
-                        res.protectionId()
-                    );
-                    logger.log(String.format("CreateHandler: new protection created arn = %s", protectionArn));
-                    m.setProtectionArn(protectionArn);
-                    return null;
-                })
-                .stabilize((c, m, ctx) -> {
-                    // wait for ddb eventually consistent.
-                    // see https://issues.amazon.com/issues/Shield-21240
-                    try {
-                        c.injectCredentialsAndInvokeV2(
-                            DescribeProtectionRequest.builder()
-                                .protectionId(m.getProtectionId())
-                                .build(),
-                            c.client()::describeProtection
-                        );
-                    } catch (ResourceNotFoundException ignored) {
-                        return false;
-                    }
-                    return true;
-                })
-                .build()
-                .initiate()
-                .then(progress -> associateHealthChecks(
+        final ProgressEvent<ResourceModel, CallbackContext> createProgress = callbackContext.getRollbackErrorCode() != null
+            // re-invoked while rolling back, resume the compensating delete below.
+            ? ProgressEvent.failed(
+                request.getDesiredResourceState(),
+                callbackContext,
+                callbackContext.getRollbackErrorCode(),
+                callbackContext.getRollbackMessage())
+            : new StepGraph<ResourceModel, CallbackContext>(
+                AppLayerAutoResponseStabilizer::fork,
+                AppLayerAutoResponseStabilizer::join,
+                this.tuning.getMaxConcurrentCalls()
+            )
+                .step("createProtection", progress -> createProtection(
+                    request.getAwsPartition(),
+                    request.getAwsAccountId(),
+                    proxy,
+                    proxyClient,
+                    progress.getResourceModel(),
+                    progress.getCallbackContext(),
+                    logger,
+                    this.tuning
+                ))
+                .step("associateHealthChecks", progress -> associateHealthChecks(
                     "CreateHandler",
                     progress.getResourceModel().getProtectionId(),
                     progress.getResourceModel().getHealthCheckArns(),
+                    proxy,
+                    proxyClient,
+                    progress.getResourceModel(),
+                    progress.getCallbackContext(),
+                    logger,
+                    this.tuning
+                ), "createProtection")
+                .step("enableApplicationLayerAutomaticResponse", progress -> enableAppLayerAutoResponse(
                     proxy,
                     proxyClient,
                     progress.getResourceModel(),
                     progress.getCallbackContext(),
                     logger
-                ))
-                .then(progress -> {
-                    final ResourceModel model = progress.getResourceModel();
-                    final ApplicationLayerAutomaticResponseConfiguration appLayerAutoResponseConfig =
-                        model.getApplicationLayerAutomaticResponseConfiguration();
-
-                    if (appLayerAutoResponseConfig == null
-                        || appLayerAutoResponseConfig.getStatus().equals("DISABLED")) {
-                        return progress;
-                    }
-
-                    return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
-                            EnableApplicationLayerAutomaticResponseRequest,
-                            EnableApplicationLayerAutomaticResponseResponse>builder()
-                        .resourceType("Protection")
-                        .handlerName("CreateHandler")
-                        .apiName("enableApplicationLayerAutomaticResponse")
-                        .proxy(proxy)
-                        .proxyClient(proxyClient)
-                        .model(model)
-                        .context(progress.getCallbackContext())
-                        .logger(logger)
-                        .translateToServiceRequest(m -> {
-                            if (m.getApplicationLayerAutomaticResponseConfiguration().getAction().getBlock() != null) {
-                                return EnableApplicationLayerAutomaticResponseRequest.builder()
-                                    .resourceArn(m.getResourceArn())
-                                    .action(
-                                        ResponseAction.builder()
-                                            .block(BlockAction.builder().build())
-                                            .build())
-                                    .build();
-                            } else {
-                                return EnableApplicationLayerAutomaticResponseRequest.builder()
-                                    .resourceArn(m.getResourceArn())
-                                    .action(
-                                        ResponseAction.builder()
-                                            .count(CountAction.builder().build())
-                                            .build())
-                                    .build();
-                            }
-                        })
-                        .getRequestFunction(c -> c::enableApplicationLayerAutomaticResponse)
-                        .build()
-                        .initiate();
-                })
+                ), "createProtection")
+                .run(ProgressEvent.defaultInProgressHandler(callbackContext, 0, request.getDesiredResourceState()))
                 .then(progress -> ProgressEvent.defaultSuccessHandler(
                     progress.getResourceModel()
                 ));
@@ -168,10 +157,12 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         // delete protection if it was created but the rest of the workflow failed
         if (
             createProgress.isFailed()
-                && !HandlerHelper.isRetriableErrorCode(createProgress.getErrorCode())
+                && !ErrorClassifier.classify(createProgress.getErrorCode()).isRetriable()
                 && createProgress.getResourceModel().getProtectionId() != null
         ) {
-            return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
+            createProgress.getCallbackContext().setRollbackErrorCode(createProgress.getErrorCode());
+            createProgress.getCallbackContext().setRollbackMessage(createProgress.getMessage());
+            return operationLatency.finish(ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
                     DeleteProtectionRequest,
                     DeleteProtectionResponse>builder()
                 .resourceType("Protection")
@@ -182,6 +173,7 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                 .model(createProgress.getResourceModel())
                 .context(createProgress.getCallbackContext())
                 .logger(logger)
+                .tuning(this.tuning)
                 .translateToServiceRequest(m -> DeleteProtectionRequest.builder()
                     .protectionId(m.getProtectionId())
                     .build())
@@ -197,9 +189,131 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                     createProgress.getMessage()
                 ))
                 .build()
-                .initiate();
+                .initiate(), metrics, logger);
+        }
+        return operationLatency.finish(createProgress, metrics, logger);
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> createProtection(
+        final String partition,
+        final String accountId,
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ResourceModel model,
+        final CallbackContext context,
+        final Logger logger,
+        final CallTuning tuning
+    ) {
+        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, CreateProtectionRequest,
+                CreateProtectionResponse>builder()
+            .resourceType("Protection")
+            .handlerName("CreateHandler")
+            .apiName("createProtection")
+            .proxy(proxy)
+            .proxyClient(proxyClient)
+            .model(model)
+            .context(context)
+            .logger(logger)
+            .tuning(tuning)
+            .translateToServiceRequest(m -> {
+                final CreateProtectionRequest.Builder createProtectionRequestBuilder =
+                    CreateProtectionRequest.builder()
+                        .name(m.getName())
+                        .resourceArn(m.getResourceArn());
+                populateTags(m, createProtectionRequestBuilder);
+                return createProtectionRequestBuilder.build();
+            })
+            .getRequestFunction(c -> c::createProtection)
+            .rateExceededIsCritical(true)
+            .checkpoint("createProtection")
+            .onSuccess((req, res, c, m, ctx) -> {
+                logger.log(String.format("CreateHandler: new protection created id = %s", res.protectionId()));
+                m.setProtectionId(res.protectionId());
+                final String protectionArn = Arn.shieldProtection(partition, accountId, res.protectionId());
+                logger.log(String.format("CreateHandler: new protection created arn = %s", protectionArn));
+                m.setProtectionArn(protectionArn);
+                return null;
+            })
+            .stabilize((c, m, ctx) -> {
+                // wait for ddb eventually consistent.
+                // see https://issues.amazon.com/issues/Shield-21240
+                try {
+                    c.injectCredentialsAndInvokeV2(
+                        DescribeProtectionRequest.builder()
+                            .protectionId(m.getProtectionId())
+                            .build(),
+                        c.client()::describeProtection
+                    );
+                } catch (ResourceNotFoundException ignored) {
+                    return false;
+                }
+                return true;
+            })
+            .build()
+            .initiate();
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> enableAppLayerAutoResponse(
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ResourceModel model,
+        final CallbackContext context,
+        final Logger logger
+    ) {
+        final ApplicationLayerAutomaticResponseConfiguration appLayerAutoResponseConfig =
+            model.getApplicationLayerAutomaticResponseConfiguration();
+
+        if (appLayerAutoResponseConfig == null
+            || appLayerAutoResponseConfig.getStatus().equals("DISABLED")) {
+            return ProgressEvent.defaultInProgressHandler(context, 0, model);
         }
-        return createProgress;
+
+        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
+                EnableApplicationLayerAutomaticResponseRequest,
+                EnableApplicationLayerAutomaticResponseResponse>builder()
+            .resourceType("Protection")
+            .handlerName("CreateHandler")
+            .apiName("enableApplicationLayerAutomaticResponse")
+            .proxy(proxy)
+            .proxyClient(proxyClient)
+            .model(model)
+            .context(context)
+            .logger(logger)
+            .tuning(this.tuning)
+            .translateToServiceRequest(m -> {
+                if (m.getApplicationLayerAutomaticResponseConfiguration().getAction().getBlock() != null) {
+                    return EnableApplicationLayerAutomaticResponseRequest.builder()
+                        .resourceArn(m.getResourceArn())
+                        .action(
+                            ResponseAction.builder()
+                                .block(BlockAction.builder().build())
+                                .build())
+                        .build();
+                } else {
+                    return EnableApplicationLayerAutomaticResponseRequest.builder()
+                        .resourceArn(m.getResourceArn())
+                        .action(
+                            ResponseAction.builder()
+                                .count(CountAction.builder().build())
+                                .build())
+                        .build();
+                }
+            })
+            .getRequestFunction(c -> c::enableApplicationLayerAutomaticResponse)
+            .checkpoint("enableApplicationLayerAutomaticResponse")
+            .build()
+            .initiate()
+            .then(progress -> this.appLayerAutoResponseStabilizer == null
+                ? progress
+                : this.appLayerAutoResponseStabilizer.stabilize(
+                    "CreateHandler",
+                    progress.getResourceModel().getProtectionId(),
+                    appLayerAutoResponseConfig,
+                    proxyClient,
+                    progress.getResourceModel(),
+                    progress.getCallbackContext(),
+                    logger
+                ));
     }
 
     private static void populateTags(final ResourceModel model, final Builder createProtectionRequest) {
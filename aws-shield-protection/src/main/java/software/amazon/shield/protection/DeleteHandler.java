@@ -9,24 +9,52 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
 import software.amazon.shield.common.HandlerHelper;
+import software.amazon.shield.common.LogSpanExporter;
 import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.Tracer;
+import software.amazon.shield.protection.helper.ProtectionIndex;
 
 @RequiredArgsConstructor
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    private final CallTuning tuning;
 
     public DeleteHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public DeleteHandler(final ShieldClient shieldClient) {
+        this(shieldClient, Features.fromEnvironment(), CallTuning.DEFAULT);
+    }
+
+    public DeleteHandler(final ShieldClient shieldClient, final Features features, final CallTuning tuning) {
+        this(shieldClient, ProtectionIndex.tuning(features, tuning));
     }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
-        CallbackContext callbackContext,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "Protection:DeleteHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
         final Logger logger
     ) {
         logger.log(String.format(
@@ -42,7 +70,6 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             )
         );
         final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
-        callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
 
         return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DeleteProtectionRequest,
                 DeleteProtectionResponse>builder()
@@ -54,6 +81,7 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             .model(request.getDesiredResourceState())
             .context(callbackContext)
             .logger(logger)
+            .tuning(this.tuning)
             .translateToServiceRequest(m -> DeleteProtectionRequest.builder()
                 .protectionId(HandlerHelper.protectionArnToId(m.getProtectionArn()))
                 .build())
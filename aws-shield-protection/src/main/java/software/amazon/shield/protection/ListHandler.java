@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.shield.ShieldClient;
@@ -17,23 +18,61 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.LogSpanExporter;
 import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.Tracer;
+import software.amazon.shield.protection.helper.ProtectionIndex;
 
 @RequiredArgsConstructor
 public class ListHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    /**
+     * index the listed pages are recorded in for later Reads, off when null, see
+     * {@link Features#isProtectionIndex()}.
+     */
+    @Nullable
+    private final ProtectionIndex protectionIndex;
+    private final CallTuning tuning;
 
     public ListHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public ListHandler(final ShieldClient shieldClient) {
+        this(shieldClient, Features.fromEnvironment(), CallTuning.DEFAULT);
+    }
+
+    public ListHandler(final ShieldClient shieldClient, final CallTuning tuning) {
+        this(shieldClient, Features.NONE, tuning);
+    }
+
+    public ListHandler(final ShieldClient shieldClient, final Features features, final CallTuning tuning) {
+        this(shieldClient, ProtectionIndex.shared(features), tuning);
     }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
-        CallbackContext callbackContext,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "Protection:ListHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
         final Logger logger
     ) {
         logger.log(String.format(
@@ -43,7 +82,6 @@ public class ListHandler extends BaseHandler<CallbackContext> {
             )
         );
         final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
-        callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
 
         return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, ListProtectionsRequest,
                 ListProtectionsResponse>builder()
@@ -55,16 +93,21 @@ public class ListHandler extends BaseHandler<CallbackContext> {
             .model(request.getDesiredResourceState())
             .context(callbackContext)
             .logger(logger)
+            .tuning(this.tuning)
             .translateToServiceRequest(m -> ListProtectionsRequest.builder()
                 .nextToken(request.getNextToken())
                 .build())
             .getRequestFunction(c -> c::listProtections)
-            .onSuccess((req, res, c, m, ctx) ->
-                ProgressEvent.<ResourceModel, CallbackContext>builder()
+            .onSuccess((req, res, c, m, ctx) -> {
+                if (this.protectionIndex != null) {
+                    this.protectionIndex.record(request.getAwsAccountId(), res.protections());
+                }
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
                     .status(OperationStatus.SUCCESS)
                     .resourceModels(transformToModels(res.protections()))
                     .nextToken(res.nextToken())
-                    .build())
+                    .build();
+            })
             .build()
             .initiate();
     }
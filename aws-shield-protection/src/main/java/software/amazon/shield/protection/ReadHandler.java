@@ -1,7 +1,9 @@
 package software.amazon.shield.protection;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 import com.google.common.collect.Maps;
 import lombok.NonNull;
@@ -15,26 +17,74 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.Arn;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
 import software.amazon.shield.common.HandlerHelper;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.ReadCache;
 import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.Tracer;
+import software.amazon.shield.protection.helper.ProtectionIndex;
 
 @RequiredArgsConstructor
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
-    private static final String HEALTH_CHECK_ARN_TEMPLATE = "arn:aws:route53:::healthcheck/";
-
     private final ShieldClient shieldClient;
+    /**
+     * cache of the describe and tag responses, off when null, see {@link Features#isReadCache()}.
+     */
+    @Nullable
+    private final ReadCache readCache;
+    /**
+     * index of the protections listed in this container, off when null, see {@link Features#isProtectionIndex()}. a
+     * protection found there is not described, only its tags are listed.
+     */
+    @Nullable
+    private final ProtectionIndex protectionIndex;
+    private final CallTuning tuning;
 
     public ReadHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public ReadHandler(final ShieldClient shieldClient) {
+        this(shieldClient, Features.fromEnvironment(), CallTuning.DEFAULT);
+    }
+
+    public ReadHandler(final ShieldClient shieldClient, final CallTuning tuning) {
+        this(shieldClient, null, null, tuning);
+    }
+
+    public ReadHandler(final ShieldClient shieldClient, final Features features, final CallTuning tuning) {
+        this(
+            shieldClient,
+            ReadCache.shared(features),
+            ProtectionIndex.shared(features),
+            ProtectionIndex.tuning(features, tuning)
+        );
     }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
-        CallbackContext callbackContext,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "Protection:ReadHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
         final Logger logger
     ) {
         logger.log(String.format(
@@ -50,29 +100,32 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             )
         );
         final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
-        callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
 
-        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DescribeProtectionRequest,
-                DescribeProtectionResponse>builder()
-            .resourceType("Protection")
-            .handlerName("ReadHandler")
-            .apiName("describeProtection")
-            .proxy(proxy)
-            .proxyClient(proxyClient)
-            .model(request.getDesiredResourceState())
-            .context(callbackContext)
-            .logger(logger)
-            .translateToServiceRequest(m -> DescribeProtectionRequest.builder()
-                .protectionId(HandlerHelper.protectionArnToId(m.getProtectionArn()))
-                .build())
-            .getRequestFunction(c -> c::describeProtection)
-            .onSuccess((req, res, c, m, ctx) -> ProgressEvent.defaultInProgressHandler(
-                ctx,
+        final ReadCache readCache = this.readCache == null
+            ? null
+            : this.readCache.forAccount(request.getAwsAccountId());
+        final String protectionArn = request.getDesiredResourceState().getProtectionArn();
+        final Optional<Protection> indexed = this.protectionIndex == null || protectionArn == null
+            ? Optional.empty()
+            : this.protectionIndex.lookup(
+                "ReadHandler",
+                request.getAwsAccountId(),
+                protectionArn,
+                proxy,
+                proxyClient,
+                request.getDesiredResourceState(),
+                logger,
+                this.tuning
+            );
+        final ProgressEvent<ResourceModel, CallbackContext> described = indexed.isPresent()
+            ? ProgressEvent.defaultInProgressHandler(
+                callbackContext,
                 0,
-                transformToModel(res.protection())
-            ))
-            .build()
-            .initiate()
+                transformToModel(request.getAwsPartition(), indexed.get())
+            )
+            : describeProtection(proxy, proxyClient, request, callbackContext, readCache, logger);
+
+        return described
             .then(progress -> {
                 final ResourceModel m = progress.getResourceModel();
                 return HandlerHelper.getTagsChainable(
@@ -88,7 +141,9 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                     proxyClient,
                     m,
                     progress.getCallbackContext(),
-                    logger
+                    logger,
+                    readCache,
+                    this.tuning
                 );
             }).then(
                 progress -> {
@@ -102,12 +157,46 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             );
     }
 
+    private ProgressEvent<ResourceModel, CallbackContext> describeProtection(
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        @Nullable final ReadCache readCache,
+        final Logger logger
+    ) {
+        return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DescribeProtectionRequest,
+                DescribeProtectionResponse>builder()
+            .resourceType("Protection")
+            .handlerName("ReadHandler")
+            .apiName("describeProtection")
+            .proxy(proxy)
+            .proxyClient(proxyClient)
+            .model(request.getDesiredResourceState())
+            .context(callbackContext)
+            .logger(logger)
+            .tuning(this.tuning)
+            .translateToServiceRequest(m -> DescribeProtectionRequest.builder()
+                .protectionId(HandlerHelper.protectionArnToId(m.getProtectionArn()))
+                .build())
+            .getRequestFunction(c -> c::describeProtection)
+            .readCache(readCache)
+            .onSuccess((req, res, c, m, ctx) -> ProgressEvent.defaultInProgressHandler(
+                ctx,
+                0,
+                transformToModel(request.getAwsPartition(), res.protection())
+            ))
+            .build()
+            .initiate();
+    }
+
     private ResourceModel transformToModel(
+        final String partition,
         @NonNull final Protection protection
     ) {
         final List<String> healthCheckArns = protection.healthCheckIds()
             .stream()
-            .map(x -> HEALTH_CHECK_ARN_TEMPLATE + x)
+            .map(x -> Arn.route53HealthCheck(partition, x))
             .collect(Collectors.toList());
 
         return ResourceModel.builder()
@@ -1,13 +1,12 @@
 package software.amazon.shield.protection;
 
-import java.util.Collections;
-import java.util.HashSet;
+import java.time.Clock;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 
-import com.google.common.collect.ImmutableList;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.shield.ShieldClient;
@@ -25,9 +24,20 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
 import software.amazon.shield.common.HandlerHelper;
+import software.amazon.shield.common.ListDiff;
+import software.amazon.shield.common.LogMetricsSink;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.OperationLatency;
 import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.StepGraph;
+import software.amazon.shield.common.Tracer;
+import software.amazon.shield.common.UpdatePlan;
+import software.amazon.shield.protection.helper.AppLayerAutoResponseStabilizer;
+import software.amazon.shield.protection.helper.ProtectionIndex;
 
 import static software.amazon.shield.protection.helper.HandlerHelper.associateHealthChecks;
 import static software.amazon.shield.protection.helper.HandlerHelper.disassociateHealthChecks;
@@ -36,16 +46,53 @@ import static software.amazon.shield.protection.helper.HandlerHelper.disassociat
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    /**
+     * opt-in wait for the automatic application layer response to be reported by DescribeProtection, off when null,
+     * see {@link Features#isStabilizeAppLayerAutoResponse()}.
+     */
+    @Nullable
+    private final AppLayerAutoResponseStabilizer appLayerAutoResponseStabilizer;
+    private final CallTuning tuning;
 
     public UpdateHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public UpdateHandler(final ShieldClient shieldClient) {
+        this(shieldClient, Features.fromEnvironment(), CallTuning.DEFAULT);
+    }
+
+    public UpdateHandler(final ShieldClient shieldClient, final CallTuning tuning) {
+        this(shieldClient, Features.NONE, tuning);
+    }
+
+    public UpdateHandler(final ShieldClient shieldClient, final Features features, final CallTuning tuning) {
+        this(
+            shieldClient,
+            AppLayerAutoResponseStabilizer.of(features, tuning),
+            ProtectionIndex.tuning(features, tuning)
+        );
     }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
-        CallbackContext callbackContext,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "Protection:UpdateHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
         final Logger logger
     ) {
         logger.log(String.format(
@@ -61,29 +108,40 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             )
         );
         final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
-        callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
         final ResourceModel currentState = request.getPreviousResourceState();
         final ResourceModel desiredState = request.getDesiredResourceState();
+        final OperationLatency operationLatency =
+            OperationLatency.start("Protection", "UpdateHandler", callbackContext, Clock.systemUTC());
 
-        return updateHealthCheckAssociation(
-            desiredState.getHealthCheckArns(),
-            currentState.getHealthCheckArns(),
-            HandlerHelper.protectionArnToId(desiredState.getProtectionArn()),
-            proxy,
-            proxyClient,
-            desiredState,
-            callbackContext,
-            logger
-        ).then(progress -> updateAppLayerAutoResponseConfig(
+        // health checks, application layer automatic response and tags are independent Shield state,
+        // so they are updated concurrently.
+        return operationLatency.finish(new StepGraph<ResourceModel, CallbackContext>(
+            AppLayerAutoResponseStabilizer::fork,
+            AppLayerAutoResponseStabilizer::join,
+            this.tuning.getMaxConcurrentCalls()
+        )
+            .step("updateHealthCheckAssociation", progress -> updateHealthCheckAssociation(
+                desiredState.getHealthCheckArns(),
+                currentState.getHealthCheckArns(),
+                HandlerHelper.protectionArnToId(desiredState.getProtectionArn()),
+                proxy,
+                proxyClient,
+                progress.getResourceModel(),
+                progress.getCallbackContext(),
+                logger
+            ))
+            .step("updateAppLayerAutoResponseConfig", progress -> updateAppLayerAutoResponseConfig(
                 desiredState.getApplicationLayerAutomaticResponseConfiguration(),
                 currentState.getApplicationLayerAutomaticResponseConfiguration(),
                 currentState.getResourceArn(),
+                HandlerHelper.protectionArnToId(desiredState.getProtectionArn()),
                 proxy,
                 proxyClient,
                 progress.getResourceModel(),
                 progress.getCallbackContext(),
                 logger
-            )).then(progress -> HandlerHelper.updateTagsChainable(
+            ))
+            .step("updateTags", progress -> HandlerHelper.updateTagsChainable(
                 desiredState.getTags(),
                 Tag::getKey,
                 Tag::getValue,
@@ -91,15 +149,21 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 Tag::getKey,
                 Tag::getValue,
                 progress.getResourceModel().getProtectionArn(),
+                ignored -> new CallbackContext(),
                 "Protection",
                 "UpdateHandler",
                 proxy,
                 proxyClient,
                 progress.getResourceModel(),
                 progress.getCallbackContext(),
-                logger
+                logger,
+                this.tuning
             ))
-            .then(progress -> ProgressEvent.defaultSuccessHandler(progress.getResourceModel()));
+            .run(ProgressEvent.defaultInProgressHandler(callbackContext, 0, desiredState))
+            .then(progress -> ProgressEvent.defaultSuccessHandler(progress.getResourceModel())),
+            new LogMetricsSink(logger, "Protection"),
+            logger
+        );
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> updateHealthCheckAssociation(
@@ -112,42 +176,29 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
         final CallbackContext context,
         final Logger logger
     ) {
-
-        final Set<String> healthCheckArnsBefore = new HashSet<>(
-            Optional.ofNullable(currentHealthCheckArns)
-                .orElse(Collections.emptyList())
-        );
-
-        final Set<String> healthCheckArnsAfter = new HashSet<>(
-            Optional.ofNullable(desiredHealthCheckArns)
-                .orElse(Collections.emptyList())
-        );
-
-        final Set<String> intersection = new HashSet<>(healthCheckArnsBefore);
-        intersection.retainAll(healthCheckArnsAfter);
-
-        healthCheckArnsBefore.removeAll(intersection);
-        healthCheckArnsAfter.removeAll(intersection);
+        final ListDiff<String, String> diff = ListDiff.of(desiredHealthCheckArns, currentHealthCheckArns);
 
         return disassociateHealthChecks(
             "UpdateHandler",
             protectionId,
-            ImmutableList.copyOf(healthCheckArnsBefore),
+            diff.getRemoved(),
             proxy,
             proxyClient,
             model,
             context,
-            logger
+            logger,
+            this.tuning
         ).then(progress ->
             associateHealthChecks(
                 "UpdateHandler",
                 protectionId,
-                ImmutableList.copyOf(healthCheckArnsAfter),
+                diff.getAdded(),
                 proxy,
                 proxyClient,
                 model,
                 context,
-                logger
+                logger,
+                this.tuning
             )
         );
     }
@@ -156,43 +207,35 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
         @Nullable final ApplicationLayerAutomaticResponseConfiguration desiredConfig,
         @Nullable final ApplicationLayerAutomaticResponseConfiguration currentConfig,
         @NonNull final String resourceArn,
+        @NonNull final String protectionId,
         @NonNull final AmazonWebServicesClientProxy proxy,
         @NonNull final ProxyClient<ShieldClient> proxyClient,
         @NonNull final ResourceModel model,
         @NonNull final CallbackContext context,
         @NonNull final Logger logger
     ) {
-        final String desiredStatus = Optional.ofNullable(desiredConfig)
-            .map(software.amazon.shield.protection.ApplicationLayerAutomaticResponseConfiguration::getStatus)
-            .orElse("DISABLED");
-
-        final String currentStatus = Optional.ofNullable(currentConfig)
-            .map(software.amazon.shield.protection.ApplicationLayerAutomaticResponseConfiguration::getStatus)
-            .orElse("DISABLED");
+        final boolean desiredActionIsBlock = isBlock(desiredConfig);
 
-        final boolean desiredActionIsBlock = Optional.ofNullable(desiredConfig)
-            .map(ApplicationLayerAutomaticResponseConfiguration::getAction)
-            .map(Action::getBlock)
-            .isPresent();
-
-        final boolean currentActionIsBlock = Optional.ofNullable(currentConfig)
-            .map(ApplicationLayerAutomaticResponseConfiguration::getAction)
-            .map(Action::getBlock)
-            .isPresent();
+        // the mitigation rules are provisioned asynchronously, wait until DescribeProtection reports them.
+        final Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>>
+            stabilize = this.appLayerAutoResponseStabilizer == null
+            ? Function.identity()
+            : progress -> this.appLayerAutoResponseStabilizer.stabilize(
+                "UpdateHandler",
+                protectionId,
+                desiredConfig,
+                proxyClient,
+                progress.getResourceModel(),
+                progress.getCallbackContext(),
+                logger
+            );
 
-        // case 1: state unchanged
-        // case 1.1: remain disabled
-        if (desiredStatus.equals("DISABLED") && currentStatus.equals("DISABLED")) {
+        final AppLayerAutoResponseChange change = AppLayerAutoResponseChange.of(desiredConfig, currentConfig);
+        if (change == AppLayerAutoResponseChange.NONE) {
             return ProgressEvent.defaultInProgressHandler(context, 0, model);
         }
-        // case 1.2: remain enabled (however the action may have changed)
-        else if (
-            desiredStatus.equals("ENABLED") && currentStatus.equals("ENABLED")
-        ) {
-            if (desiredActionIsBlock == currentActionIsBlock) {
-                return ProgressEvent.defaultInProgressHandler(context, 0, model);
-            }
-
+        // the action of an enabled configuration changed
+        else if (change == AppLayerAutoResponseChange.UPDATE) {
             return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
                     UpdateApplicationLayerAutomaticResponseRequest,
                     UpdateApplicationLayerAutomaticResponseResponse>builder()
@@ -204,6 +247,7 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 .model(model)
                 .context(context)
                 .logger(logger)
+                .tuning(this.tuning)
                 .translateToServiceRequest(m -> UpdateApplicationLayerAutomaticResponseRequest.builder()
                     .resourceArn(resourceArn)
                     .action(
@@ -219,12 +263,12 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                     .build()
                 )
                 .getRequestFunction(c -> c::updateApplicationLayerAutomaticResponse)
+                .checkpoint("updateApplicationLayerAutomaticResponse")
                 .build()
-                .initiate();
+                .initiate()
+                .then(stabilize);
         }
-        // case 2: state changed
-        // case 2.1 enabled -> disabled
-        else if (desiredStatus.equals("DISABLED") && currentStatus.equals("ENABLED")) {
+        else if (change == AppLayerAutoResponseChange.DISABLE) {
             return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
                     DisableApplicationLayerAutomaticResponseRequest,
                     DisableApplicationLayerAutomaticResponseResponse>builder()
@@ -236,16 +280,18 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 .model(model)
                 .context(context)
                 .logger(logger)
+                .tuning(this.tuning)
                 .translateToServiceRequest(m -> DisableApplicationLayerAutomaticResponseRequest.builder()
                     .resourceArn(resourceArn)
                     .build()
                 )
                 .getRequestFunction(c -> c::disableApplicationLayerAutomaticResponse)
+                .checkpoint("disableApplicationLayerAutomaticResponse")
                 .build()
-                .initiate();
+                .initiate()
+                .then(stabilize);
         }
-        // case 2.1 disabled -> enabled
-        else if (desiredStatus.equals("ENABLED") && currentStatus.equals("DISABLED")) {
+        else if (change == AppLayerAutoResponseChange.ENABLE) {
             return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext,
                     EnableApplicationLayerAutomaticResponseRequest,
                     EnableApplicationLayerAutomaticResponseResponse>builder()
@@ -257,6 +303,7 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 .model(model)
                 .context(context)
                 .logger(logger)
+                .tuning(this.tuning)
                 .translateToServiceRequest(m -> EnableApplicationLayerAutomaticResponseRequest.builder()
                     .resourceArn(resourceArn)
                     .action(
@@ -272,9 +319,93 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                     .build()
                 )
                 .getRequestFunction(c -> c::enableApplicationLayerAutomaticResponse)
+                .checkpoint("enableApplicationLayerAutomaticResponse")
                 .build()
-                .initiate();
+                .initiate()
+                .then(stabilize);
         }
         throw new RuntimeException("unreachable branch");
     }
+
+    /**
+     * Calls {@link #handleRequest} would make to update {@code previousState} to {@code desiredState}.
+     */
+    public UpdatePlan plan(
+        @NonNull final ResourceModel previousState,
+        @NonNull final ResourceModel desiredState
+    ) {
+        final String protectionId = HandlerHelper.protectionArnToId(desiredState.getProtectionArn());
+        final ListDiff<String, String> healthChecks =
+            ListDiff.of(desiredState.getHealthCheckArns(), previousState.getHealthCheckArns());
+        final AppLayerAutoResponseChange appLayerAutoResponseChange = AppLayerAutoResponseChange.of(
+            desiredState.getApplicationLayerAutomaticResponseConfiguration(),
+            previousState.getApplicationLayerAutomaticResponseConfiguration()
+        );
+
+        final UpdatePlan.Builder plan = UpdatePlan.builder()
+            .calls("disassociateHealthCheck", healthChecks.getRemoved())
+            .calls("associateHealthCheck", healthChecks.getAdded());
+        if (appLayerAutoResponseChange != AppLayerAutoResponseChange.NONE) {
+            plan.call(appLayerAutoResponseChange.getApiName(), previousState.getResourceArn());
+            if (this.appLayerAutoResponseStabilizer != null) {
+                // stabilizer polls, at least one.
+                plan.call("describeProtection", protectionId);
+            }
+        }
+        return HandlerHelper.planTagUpdate(
+            plan,
+            desiredState.getTags(),
+            Tag::getKey,
+            Tag::getValue,
+            previousState.getTags(),
+            Tag::getKey,
+            Tag::getValue,
+            desiredState.getProtectionArn()
+        ).build();
+    }
+
+    private static boolean isBlock(@Nullable final ApplicationLayerAutomaticResponseConfiguration config) {
+        return Optional.ofNullable(config)
+            .map(ApplicationLayerAutomaticResponseConfiguration::getAction)
+            .map(Action::getBlock)
+            .isPresent();
+    }
+
+    /**
+     * change of the application layer automatic response configuration, named after the API making it.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    enum AppLayerAutoResponseChange {
+        NONE(null),
+        ENABLE("enableApplicationLayerAutomaticResponse"),
+        UPDATE("updateApplicationLayerAutomaticResponse"),
+        DISABLE("disableApplicationLayerAutomaticResponse");
+
+        @Nullable
+        private final String apiName;
+
+        static AppLayerAutoResponseChange of(
+            @Nullable final ApplicationLayerAutomaticResponseConfiguration desiredConfig,
+            @Nullable final ApplicationLayerAutomaticResponseConfiguration currentConfig
+        ) {
+            final boolean desiredEnabled = isEnabled(desiredConfig);
+            final boolean currentEnabled = isEnabled(currentConfig);
+            if (desiredEnabled && currentEnabled) {
+                // remain enabled, however the action may have changed
+                return isBlock(desiredConfig) == isBlock(currentConfig) ? NONE : UPDATE;
+            }
+            if (desiredEnabled) {
+                return ENABLE;
+            }
+            return currentEnabled ? DISABLE : NONE;
+        }
+
+        private static boolean isEnabled(@Nullable final ApplicationLayerAutomaticResponseConfiguration config) {
+            return Optional.ofNullable(config)
+                .map(ApplicationLayerAutomaticResponseConfiguration::getStatus)
+                .orElse("DISABLED")
+                .equals("ENABLED");
+        }
+    }
 }
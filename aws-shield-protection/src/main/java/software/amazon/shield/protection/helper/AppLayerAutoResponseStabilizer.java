@@ -0,0 +1,194 @@
+package software.amazon.shield.protection.helper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+import lombok.Builder;
+import lombok.NonNull;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.ApplicationLayerAutomaticResponseStatus;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionResponse;
+import software.amazon.awssdk.services.shield.model.ShieldException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.ExceptionConverter;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.protection.ApplicationLayerAutomaticResponseConfiguration;
+import software.amazon.shield.protection.CallbackContext;
+import software.amazon.shield.protection.ResourceModel;
+
+/**
+ * Waits until DescribeProtection reports the desired automatic application layer DDoS mitigation status and action.
+ * <p>
+ * Enabling or updating the mitigation provisions rules in the AWS WAF web ACL of the resource, so a Read right after
+ * the call may still report the old configuration. The stabilizer polls once per invocation and hands back
+ * IN_PROGRESS with an exponentially growing callback delay instead of blocking the handler. It fails with
+ * NotStabilized once the time budget, counted from the first poll, is spent. The policy defaults to the one of
+ * {@link CallTuning#DEFAULT}.
+ * <p>
+ * Off unless {@link Features#isStabilizeAppLayerAutoResponse()} is switched on.
+ */
+@Builder
+public class AppLayerAutoResponseStabilizer {
+
+    @Builder.Default
+    private final int initialDelaySeconds = CallTuning.DEFAULT.getStabilizeInitialDelaySeconds();
+    @Builder.Default
+    private final int maxDelaySeconds = CallTuning.DEFAULT.getStabilizeMaxDelaySeconds();
+    @Builder.Default
+    private final @NonNull Duration timeBudget = CallTuning.DEFAULT.getStabilizeTimeBudget();
+    @Builder.Default
+    private final @NonNull Clock clock = Clock.systemUTC();
+
+    /**
+     * stabilizer polling with the stabilizer policy of {@code tuning}.
+     */
+    public static AppLayerAutoResponseStabilizer of(@NonNull final CallTuning tuning) {
+        return AppLayerAutoResponseStabilizer.builder()
+            .initialDelaySeconds(tuning.getStabilizeInitialDelaySeconds())
+            .maxDelaySeconds(tuning.getStabilizeMaxDelaySeconds())
+            .timeBudget(tuning.getStabilizeTimeBudget())
+            .build();
+    }
+
+    /**
+     * stabilizer polling with the stabilizer policy of {@code tuning} when {@code features} switch it on, null
+     * otherwise.
+     */
+    @Nullable
+    public static AppLayerAutoResponseStabilizer of(
+        @NonNull final Features features,
+        @NonNull final CallTuning tuning
+    ) {
+        return features.isStabilizeAppLayerAutoResponse() ? of(tuning) : null;
+    }
+
+    public ProgressEvent<ResourceModel, CallbackContext> stabilize(
+        final String handlerName,
+        @NonNull final String protectionId,
+        @Nullable final ApplicationLayerAutomaticResponseConfiguration desiredConfig,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ResourceModel model,
+        final CallbackContext context,
+        final Logger logger
+    ) {
+        final long now = this.clock.millis();
+        if (context.getAppLayerAutoResponseStabilizationStartedAt() == null) {
+            context.setAppLayerAutoResponseStabilizationStartedAt(now);
+            context.setAppLayerAutoResponseStabilizationAttempts(0);
+        }
+
+        final boolean stabilized;
+        try {
+            // polled directly: a call graph would memoize the first response for every later poll.
+            final DescribeProtectionResponse response = proxyClient.injectCredentialsAndInvokeV2(
+                DescribeProtectionRequest.builder().protectionId(protectionId).build(),
+                proxyClient.client()::describeProtection
+            );
+            stabilized = matches(desiredConfig, response.protection().applicationLayerAutomaticResponseConfiguration());
+        } catch (ShieldException e) {
+            if (!ShieldAPIChainableRemoteCall.isRateExceededException(e)) {
+                logger.log(String.format("[Error] Failed Stabilizing %s: %s", handlerName, e));
+                return ProgressEvent.failed(model, context, ExceptionConverter.convertToErrorCode(e), e.getMessage());
+            }
+            logger.log(String.format("[WARN] Rate exceeded Stabilizing %s: %s", handlerName, e));
+            return retry(handlerName, now, model, context, logger);
+        }
+
+        if (stabilized) {
+            logger.log(String.format(
+                "%s: application layer automatic response stabilized after %d attempts",
+                handlerName,
+                context.getAppLayerAutoResponseStabilizationAttempts() + 1
+            ));
+            return ProgressEvent.defaultInProgressHandler(context, 0, model);
+        }
+        return retry(handlerName, now, model, context, logger);
+    }
+
+    /**
+     * Fork for {@link software.amazon.shield.common.StepGraph} branches, which must carry the polling state.
+     */
+    public static CallbackContext fork(final CallbackContext parent) {
+        final CallbackContext branch = new CallbackContext();
+        branch.setAppLayerAutoResponseStabilizationStartedAt(parent.getAppLayerAutoResponseStabilizationStartedAt());
+        branch.setAppLayerAutoResponseStabilizationAttempts(parent.getAppLayerAutoResponseStabilizationAttempts());
+        return branch;
+    }
+
+    /**
+     * Join for {@link software.amazon.shield.common.StepGraph} branches. Polling state only moves forward, so the
+     * branches that did not poll cannot overwrite the one that did.
+     */
+    public static void join(final CallbackContext parent, final CallbackContext branch) {
+        if (branch.getAppLayerAutoResponseStabilizationStartedAt() == null) {
+            return;
+        }
+        if (parent.getAppLayerAutoResponseStabilizationStartedAt() == null) {
+            parent.setAppLayerAutoResponseStabilizationStartedAt(
+                branch.getAppLayerAutoResponseStabilizationStartedAt()
+            );
+        }
+        parent.setAppLayerAutoResponseStabilizationAttempts(Math.max(
+            Optional.ofNullable(parent.getAppLayerAutoResponseStabilizationAttempts()).orElse(0),
+            branch.getAppLayerAutoResponseStabilizationAttempts()
+        ));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> retry(
+        final String handlerName,
+        final long now,
+        final ResourceModel model,
+        final CallbackContext context,
+        final Logger logger
+    ) {
+        final long elapsedMillis = now - context.getAppLayerAutoResponseStabilizationStartedAt();
+        if (elapsedMillis >= this.timeBudget.toMillis()) {
+            return ProgressEvent.failed(
+                model,
+                context,
+                HandlerErrorCode.NotStabilized,
+                String.format(
+                    "Application layer automatic response did not stabilize within %d seconds",
+                    this.timeBudget.getSeconds()
+                )
+            );
+        }
+        final int attempts = context.getAppLayerAutoResponseStabilizationAttempts();
+        context.setAppLayerAutoResponseStabilizationAttempts(attempts + 1);
+
+        // double the delay per attempt, without shifting past the cap.
+        final int delaySeconds = attempts >= 31 - Integer.numberOfLeadingZeros(this.maxDelaySeconds)
+            ? this.maxDelaySeconds
+            : Math.min(this.initialDelaySeconds << attempts, this.maxDelaySeconds);
+        logger.log(String.format(
+            "%s: application layer automatic response not stabilized, retry in %d seconds",
+            handlerName,
+            delaySeconds
+        ));
+        return ProgressEvent.defaultInProgressHandler(context, delaySeconds, model);
+    }
+
+    private static boolean matches(
+        @Nullable final ApplicationLayerAutomaticResponseConfiguration desired,
+        @Nullable
+        final software.amazon.awssdk.services.shield.model.ApplicationLayerAutomaticResponseConfiguration actual
+    ) {
+        final boolean desiredEnabled = desired != null && "ENABLED".equals(desired.getStatus());
+        final boolean actualEnabled =
+            actual != null && actual.status() == ApplicationLayerAutomaticResponseStatus.ENABLED;
+        if (!desiredEnabled || !actualEnabled) {
+            return desiredEnabled == actualEnabled;
+        }
+        final boolean desiredBlock = desired.getAction().getBlock() != null;
+        final boolean actualBlock = actual.action() != null && actual.action().block() != null;
+        return desiredBlock == actualBlock;
+    }
+}
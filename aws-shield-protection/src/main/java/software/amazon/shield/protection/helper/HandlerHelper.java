@@ -13,6 +13,7 @@ import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
 import software.amazon.shield.protection.CallbackContext;
 import software.amazon.shield.protection.ResourceModel;
@@ -26,7 +27,8 @@ public class HandlerHelper {
         final ProxyClient<ShieldClient> proxyClient,
         final ResourceModel model,
         final CallbackContext context,
-        final Logger logger
+        final Logger logger,
+        final CallTuning tuning
     ) {
         logger.log(String.format("%s: attempting associateHealthChecks", handlerName));
         ProgressEvent<ResourceModel, CallbackContext> ret = ProgressEvent.defaultInProgressHandler(context, 0, model);
@@ -51,6 +53,8 @@ public class HandlerHelper {
                     .healthCheckArn(arn)
                     .build())
                 .getRequestFunction(c -> c::associateHealthCheck)
+                .checkpoint("associateHealthCheck:" + arn)
+                .tuning(tuning)
                 .build()
                 .initiate());
         }
@@ -65,7 +69,8 @@ public class HandlerHelper {
         final ProxyClient<ShieldClient> proxyClient,
         final ResourceModel model,
         final CallbackContext context,
-        final Logger logger
+        final Logger logger,
+        final CallTuning tuning
     ) {
         logger.log(String.format("%s: attempting disassociateHealthChecks", handlerName));
         ProgressEvent<ResourceModel, CallbackContext> ret = ProgressEvent.defaultInProgressHandler(context, 0, model);
@@ -90,6 +95,8 @@ public class HandlerHelper {
                     .healthCheckArn(arn)
                     .build())
                 .getRequestFunction(c -> c::disassociateHealthCheck)
+                .checkpoint("disassociateHealthCheck:" + arn)
+                .tuning(tuning)
                 .build()
                 .initiate());
         }
@@ -0,0 +1,305 @@
+package software.amazon.shield.protection.helper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.ListProtectionsRequest;
+import software.amazon.awssdk.services.shield.model.ListProtectionsResponse;
+import software.amazon.awssdk.services.shield.model.Protection;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.ReadCache;
+import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.protection.CallbackContext;
+import software.amazon.shield.protection.ResourceModel;
+
+/**
+ * Protections of each account by protection ARN, filled from ListProtections pages so that a run of Reads in the same
+ * container pays one page per 100 protections instead of one DescribeProtection each.
+ * <p>
+ * A lookup that misses sweeps ListProtections of its account, at most once per {@code maxStaleness}, until
+ * {@code maxEntries} protections are indexed; ListHandler pages are recorded as they pass. The sweep runs without
+ * holding a lock and its result is published at once, so lookups of other accounts, and of the same account while it
+ * sweeps, are served from what is already indexed. An entry older than {@code maxStaleness} is never served, and the
+ * shared instance drops a protection as soon as a call made with a {@link #tuning(Features, CallTuning)} mutates it,
+ * by protection ID, protection ARN or resource ARN. Callers fall back to DescribeProtection on a miss, so a protection
+ * beyond the bound or created since the sweep still reads.
+ * <p>
+ * Off unless {@link Features#isProtectionIndex()} is switched on.
+ */
+public class ProtectionIndex {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final Duration DEFAULT_MAX_STALENESS = Duration.ofSeconds(30);
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final ProtectionIndex SHARED =
+        new ProtectionIndex(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_STALENESS, Clock.systemUTC());
+
+    // account -> protections indexed for it, replaced as a whole
+    private final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // accounts being swept, so that concurrent misses of one account sweep once
+    private final Set<String> sweeping = ConcurrentHashMap.newKeySet();
+    private final int maxEntries;
+    private final Duration maxStaleness;
+    private final Clock clock;
+
+    public ProtectionIndex(final int maxEntries, @NonNull final Duration maxStaleness, @NonNull final Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxStaleness = maxStaleness;
+        this.clock = clock;
+    }
+
+    public static ProtectionIndex shared() {
+        return SHARED;
+    }
+
+    /**
+     * the shared index when {@code features} switch it on, null otherwise.
+     */
+    @Nullable
+    public static ProtectionIndex shared(@NonNull final Features features) {
+        return features.isProtectionIndex() ? SHARED : null;
+    }
+
+    /**
+     * {@code tuning} that also drops the protections a call mutates from the shared index, when {@code features}
+     * switch it on.
+     */
+    public static CallTuning tuning(@NonNull final Features features, @NonNull final CallTuning tuning) {
+        return features.isProtectionIndex()
+            ? tuning.toBuilder().mutationListener(SHARED::onMutation).build()
+            : tuning;
+    }
+
+    /**
+     * the indexed protection, sweeping ListProtections first when the account has not been indexed recently.
+     * a failed sweep is logged and reads as a miss.
+     */
+    public Optional<Protection> lookup(
+        final String handlerName,
+        @Nullable final String accountId,
+        @NonNull final String protectionArn,
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ResourceModel model,
+        final Logger logger,
+        @Nullable final CallTuning tuning
+    ) {
+        final Optional<Protection> indexed = get(accountId, protectionArn);
+        final String account = account(accountId);
+        if (indexed.isPresent() || !isSweepDue(this.snapshots.get(account)) || !this.sweeping.add(account)) {
+            return indexed;
+        }
+        try {
+            final Instant sweptAt = this.clock.instant();
+            final List<Protection> swept = sweep(handlerName, proxy, proxyClient, model, logger, tuning);
+            this.snapshots.merge(
+                account,
+                Snapshot.EMPTY.swept(swept, sweptAt),
+                (current, update) -> current.swept(swept, sweptAt)
+            );
+            logger.log(String.format("%s: indexed %d protections", handlerName, swept.size()));
+        } catch (SdkException e) {
+            logger.log(String.format("[WARN] Failed indexing protections %s: %s", handlerName, e));
+        } finally {
+            this.sweeping.remove(account);
+        }
+        return get(accountId, protectionArn);
+    }
+
+    public Optional<Protection> get(@Nullable final String accountId, @NonNull final String protectionArn) {
+        final Snapshot snapshot = this.snapshots.get(account(accountId));
+        final Entry entry = snapshot == null ? null : snapshot.entries.get(protectionArn);
+        if (entry == null || isStale(entry.recordedAt)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.protection);
+    }
+
+    public void record(@Nullable final String accountId, final Collection<Protection> protections) {
+        final Instant now = this.clock.instant();
+        this.snapshots.merge(
+            account(accountId),
+            Snapshot.EMPTY.recorded(protections, now, this.maxEntries),
+            (current, update) -> current.recorded(protections, now, this.maxEntries)
+        );
+    }
+
+    public void invalidateAll() {
+        this.snapshots.clear();
+    }
+
+    public int size() {
+        return this.snapshots.values().stream().mapToInt(snapshot -> snapshot.entries.size()).sum();
+    }
+
+    /**
+     * A call does not carry the account it was made for, so the protection is dropped from every account; IDs and
+     * ARNs of different accounts do not collide.
+     */
+    public void onMutation(final String resourceType, final String apiName, final AwsRequest request) {
+        final Set<String> mutated = ReadCache.identifiers(request);
+        if (mutated.isEmpty()) {
+            return;
+        }
+        this.snapshots.replaceAll((account, snapshot) -> snapshot.without(mutated));
+    }
+
+    /**
+     * the protections of the account, at most {@code maxEntries}. A page that does not succeed ends the sweep with
+     * the pages read so far.
+     */
+    private List<Protection> sweep(
+        final String handlerName,
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ResourceModel model,
+        final Logger logger,
+        @Nullable final CallTuning tuning
+    ) {
+        final List<Protection> swept = new ArrayList<>();
+        // the sweep keeps its pages off the callback context of the handler.
+        final CallbackContext context = new CallbackContext();
+        final List<ListProtectionsResponse> pages = new ArrayList<>(1);
+        String nextToken = null;
+        int page = 0;
+        do {
+            final String pageToken = nextToken;
+            pages.clear();
+            final ProgressEvent<ResourceModel, CallbackContext> progress = ShieldAPIChainableRemoteCall.<ResourceModel,
+                    CallbackContext, ListProtectionsRequest, ListProtectionsResponse>builder()
+                .resourceType("Protection")
+                .handlerName(handlerName)
+                .apiName("listProtections")
+                // one call graph per page: the context would replay the first page for every later one.
+                .callGraphSuffix("index:" + page++)
+                .proxy(proxy)
+                .proxyClient(proxyClient)
+                .model(model)
+                .context(context)
+                .logger(logger)
+                .tuning(tuning)
+                .translateToServiceRequest(m -> ListProtectionsRequest.builder()
+                    .nextToken(pageToken)
+                    .maxResults(PAGE_SIZE)
+                    .build())
+                .getRequestFunction(c -> c::listProtections)
+                .onSuccess((req, res, c, m, ctx) -> {
+                    pages.add(res);
+                    return null;
+                })
+                .build()
+                .initiate();
+            if (pages.isEmpty() || progress.isFailed() || progress.getCallbackDelaySeconds() > 0) {
+                logger.log(String.format("[WARN] Stopped indexing protections %s: %s", handlerName,
+                    progress.getMessage()));
+                break;
+            }
+            swept.addAll(pages.get(0).protections());
+            nextToken = pages.get(0).nextToken();
+        } while (nextToken != null && swept.size() < this.maxEntries);
+        return swept.size() > this.maxEntries ? swept.subList(0, this.maxEntries) : swept;
+    }
+
+    private boolean isSweepDue(@Nullable final Snapshot snapshot) {
+        return snapshot == null || snapshot.sweptAt == null || isStale(snapshot.sweptAt);
+    }
+
+    private boolean isStale(final Instant recordedAt) {
+        return !this.clock.instant().isBefore(recordedAt.plus(this.maxStaleness));
+    }
+
+    private static String account(@Nullable final String accountId) {
+        return accountId == null ? "" : accountId;
+    }
+
+    /**
+     * the immutable index of one account.
+     */
+    private static class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), null);
+
+        private final Map<String, Entry> entries;
+        @Nullable
+        private final Instant sweptAt;
+
+        private Snapshot(final Map<String, Entry> entries, @Nullable final Instant sweptAt) {
+            this.entries = entries;
+            this.sweptAt = sweptAt;
+        }
+
+        /**
+         * the swept protections, in place of everything recorded before the sweep started.
+         */
+        private Snapshot swept(final List<Protection> protections, final Instant sweptAt) {
+            final Map<String, Entry> entries = new HashMap<>();
+            this.entries.forEach((protectionArn, entry) -> {
+                if (entry.recordedAt.isAfter(sweptAt)) {
+                    entries.put(protectionArn, entry);
+                }
+            });
+            for (final Protection protection : protections) {
+                if (protection.protectionArn() != null) {
+                    entries.putIfAbsent(protection.protectionArn(), new Entry(protection, sweptAt));
+                }
+            }
+            return new Snapshot(Collections.unmodifiableMap(entries), sweptAt);
+        }
+
+        private Snapshot recorded(final Collection<Protection> protections, final Instant now, final int maxEntries) {
+            final Map<String, Entry> entries = new HashMap<>(this.entries);
+            for (final Protection protection : protections) {
+                if (protection.protectionArn() != null
+                    && (entries.size() < maxEntries || entries.containsKey(protection.protectionArn()))) {
+                    entries.put(protection.protectionArn(), new Entry(protection, now));
+                }
+            }
+            return new Snapshot(Collections.unmodifiableMap(entries), this.sweptAt);
+        }
+
+        private Snapshot without(final Set<String> mutated) {
+            final Map<String, Entry> entries = new HashMap<>(this.entries);
+            entries.values().removeIf(entry -> mutated.contains(entry.protection.id())
+                || mutated.contains(entry.protection.protectionArn())
+                || mutated.contains(entry.protection.resourceArn()));
+            return entries.size() == this.entries.size()
+                ? this
+                : new Snapshot(Collections.unmodifiableMap(entries), this.sweptAt);
+        }
+    }
+
+    private static class Entry {
+        private final Protection protection;
+        private final Instant recordedAt;
+
+        private Entry(final Protection protection, final Instant recordedAt) {
+            this.protection = protection;
+            this.recordedAt = recordedAt;
+        }
+    }
+}
@@ -27,7 +27,8 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.protection.helper.AppLayerAutoResponseStabilizer;
 import software.amazon.shield.protection.helper.ProtectionTestData;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -35,6 +36,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class CreateHandlerTest {
@@ -57,8 +60,7 @@ public class CreateHandlerTest {
         ));
         this.logger = mock(Logger.class);
 
-        this.createHandler = new CreateHandler(mock(ShieldClient.class));
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+        this.createHandler = new CreateHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
     }
 
     @Test
@@ -190,4 +192,66 @@ public class CreateHandlerTest {
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
+
+    @Test
+    public void handleRequest_stabilizesAppLayerAutoResponseAcrossInvocations() {
+        final CreateHandler stabilizingHandler = new CreateHandler(
+            mock(ShieldClient.class),
+            AppLayerAutoResponseStabilizer.builder().initialDelaySeconds(1).build(),
+            CallTuning.NO_JITTER
+        );
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ProtectionTestData.RESOURCE_MODEL_1.toBuilder().build())
+                .build();
+
+        final DescribeProtectionResponse pending =
+            DescribeProtectionResponse.builder()
+                .protection(Protection.builder()
+                    .id(ProtectionTestData.PROTECTION_ID)
+                    .build())
+                .build();
+        final DescribeProtectionResponse stabilized =
+            DescribeProtectionResponse.builder()
+                .protection(Protection.builder()
+                    .id(ProtectionTestData.PROTECTION_ID)
+                    .applicationLayerAutomaticResponseConfiguration(
+                        ApplicationLayerAutomaticResponseConfiguration.builder()
+                            .action(ResponseAction.builder()
+                                .block(BlockAction.builder().build())
+                                .build())
+                            .status(ProtectionTestData.ENABLED)
+                            .build())
+                    .build())
+                .build();
+
+        doReturn(CreateProtectionResponse.builder().protectionId(ProtectionTestData.PROTECTION_ID).build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(CreateProtectionRequest.class), any());
+        // the wait for the new protection, the first stabilizer poll, then the poll of the next invocation.
+        doReturn(pending, pending, stabilized)
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        doReturn(AssociateHealthCheckResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(AssociateHealthCheckRequest.class), any());
+        doReturn(EnableApplicationLayerAutomaticResponseResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(EnableApplicationLayerAutomaticResponseRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+            stabilizingHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(first.getCallbackDelaySeconds()).isEqualTo(1);
+
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+            stabilizingHandler.handleRequest(this.proxy, request, first.getCallbackContext(), this.logger);
+
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(this.proxy, times(3)).injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        verify(this.proxy, times(1)).injectCredentialsAndInvokeV2(any(CreateProtectionRequest.class), any());
+        verify(this.proxy, times(1))
+            .injectCredentialsAndInvokeV2(any(EnableApplicationLayerAutomaticResponseRequest.class), any());
+    }
 }
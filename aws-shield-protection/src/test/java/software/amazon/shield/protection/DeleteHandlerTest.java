@@ -15,7 +15,7 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.protection.helper.ProtectionTestData;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -41,9 +41,8 @@ public class DeleteHandlerTest {
             () -> Duration.ofSeconds(600).toMillis()));
         this.logger = mock(Logger.class);
 
-        this.deleteHandler = new DeleteHandler(mock(ShieldClient.class));
+        this.deleteHandler = new DeleteHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
         this.resourceModel = ProtectionTestData.RESOURCE_MODEL_1;
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
     }
 
     @Test
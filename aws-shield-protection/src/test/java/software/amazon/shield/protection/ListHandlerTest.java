@@ -17,7 +17,7 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.protection.helper.ProtectionTestData;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,9 +45,8 @@ public class ListHandlerTest {
             () -> Duration.ofSeconds(600).toMillis()));
         this.logger = mock(Logger.class);
 
-        this.listHandler = new ListHandler(mock(ShieldClient.class));
+        this.listHandler = new ListHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
         this.resourceModel = ProtectionTestData.RESOURCE_MODEL_1;
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
     }
 
     @Test
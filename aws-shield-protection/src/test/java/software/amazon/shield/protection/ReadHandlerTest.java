@@ -1,7 +1,10 @@
 package software.amazon.shield.protection;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.util.Collections;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,8 +13,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.shield.ShieldClient;
 import software.amazon.awssdk.services.shield.model.ApplicationLayerAutomaticResponseConfiguration;
 import software.amazon.awssdk.services.shield.model.BlockAction;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionRequest;
 import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
 import software.amazon.awssdk.services.shield.model.DescribeProtectionResponse;
+import software.amazon.awssdk.services.shield.model.ListProtectionsRequest;
+import software.amazon.awssdk.services.shield.model.ListProtectionsResponse;
 import software.amazon.awssdk.services.shield.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.shield.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.shield.model.Protection;
@@ -24,14 +30,20 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.ReadCache;
+import software.amazon.shield.protection.helper.ProtectionIndex;
 import software.amazon.shield.protection.helper.ProtectionTestData;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class ReadHandlerTest {
@@ -52,9 +64,14 @@ public class ReadHandlerTest {
             () -> Duration.ofSeconds(600).toMillis()));
         this.logger = mock(Logger.class);
 
-        this.readHandler = new ReadHandler(mock(ShieldClient.class));
+        this.readHandler = new ReadHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
         this.resourceModel = ProtectionTestData.RESOURCE_MODEL_1;
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReadCache.shared().invalidateAll();
+        ProtectionIndex.shared().invalidateAll();
     }
 
     @Test
@@ -104,6 +121,176 @@ public class ReadHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_CachedReadSkipsShield() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .awsAccountId("123456789012")
+                        .desiredResourceState(this.resourceModel)
+                        .build();
+        doReturn(DescribeProtectionResponse.builder()
+                .protection(Protection.builder()
+                        .name(ProtectionTestData.NAME_1)
+                        .resourceArn(ProtectionTestData.RESOURCE_ARN_1)
+                        .protectionArn(ProtectionTestData.PROTECTION_ARN)
+                        .id(ProtectionTestData.PROTECTION_ID)
+                        .build())
+                .build())
+                .when(this.proxy).injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        registerListTags();
+
+        final ReadHandler cachedReadHandler = new ReadHandler(
+                mock(ShieldClient.class),
+                new ReadCache(16, Duration.ofSeconds(5), Clock.systemUTC()),
+                null,
+                CallTuning.NO_JITTER);
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+                cachedReadHandler.handleRequest(this.proxy, request, null, this.logger);
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+                cachedReadHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(second.getResourceModel()).isEqualTo(first.getResourceModel());
+        verify(this.proxy, times(1)).injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        verify(this.proxy, times(1)).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        // the same protection ID in another account is a different protection.
+        cachedReadHandler.handleRequest(
+                this.proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .awsAccountId("210987654321")
+                        .desiredResourceState(this.resourceModel)
+                        .build(),
+                null,
+                this.logger);
+        verify(this.proxy, times(2)).injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_IndexedReadFetchesOnlyTags() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(this.resourceModel)
+                        .build();
+        doReturn(ListProtectionsResponse.builder()
+                .protections(Protection.builder()
+                        .name(ProtectionTestData.NAME_1)
+                        .resourceArn(ProtectionTestData.RESOURCE_ARN_1)
+                        .protectionArn(ProtectionTestData.PROTECTION_ARN)
+                        .id(ProtectionTestData.PROTECTION_ID)
+                        .build())
+                .build())
+                .when(this.proxy).injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+        registerListTags();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = new ReadHandler(
+                mock(ShieldClient.class),
+                null,
+                new ProtectionIndex(16, Duration.ofSeconds(30), Clock.systemUTC()),
+                CallTuning.NO_JITTER)
+                .handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getProtectionId()).isEqualTo(ProtectionTestData.PROTECTION_ID);
+        assertThat(response.getResourceModel().getTags()).hasSize(2);
+        verify(this.proxy, never()).injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_IndexOffUnlessSwitchedOn() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(this.resourceModel)
+                        .build();
+        doReturn(DescribeProtectionResponse.builder()
+                .protection(Protection.builder()
+                        .resourceArn(ProtectionTestData.RESOURCE_ARN_1)
+                        .protectionArn(ProtectionTestData.PROTECTION_ARN)
+                        .id(ProtectionTestData.PROTECTION_ID)
+                        .build())
+                .build())
+                .when(this.proxy).injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        registerListTags();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new ReadHandler(mock(ShieldClient.class), Features.of(Collections.emptyMap()), CallTuning.NO_JITTER)
+                        .handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(ProtectionIndex.shared().size()).isZero();
+        verify(this.proxy, never()).injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+        verify(this.proxy, times(1)).injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_SwitchedOnIndexIsShared() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(this.resourceModel)
+                        .build();
+        doReturn(ListProtectionsResponse.builder()
+                .protections(Protection.builder()
+                        .resourceArn(ProtectionTestData.RESOURCE_ARN_1)
+                        .protectionArn(ProtectionTestData.PROTECTION_ARN)
+                        .id(ProtectionTestData.PROTECTION_ID)
+                        .build())
+                .build())
+                .when(this.proxy).injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+        registerListTags();
+        final Features features = Features.of(Collections.singletonMap(Features.PROTECTION_INDEX, "true"));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new ReadHandler(mock(ShieldClient.class), features, CallTuning.NO_JITTER)
+                        .handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(ProtectionIndex.shared().size()).isEqualTo(1);
+        verify(this.proxy, never()).injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+
+        // a mutation made by a handler with the same features drops the protection from the index.
+        ProtectionIndex.tuning(features, CallTuning.NO_JITTER).getMutationListeners().forEach(listener ->
+                listener.onMutation(
+                        "Protection",
+                        "deleteProtection",
+                        DeleteProtectionRequest.builder().protectionId(ProtectionTestData.PROTECTION_ID).build()));
+        assertThat(ProtectionIndex.shared().size()).isZero();
+        assertThat(ProtectionIndex.tuning(Features.NONE, CallTuning.NO_JITTER)).isSameAs(CallTuning.NO_JITTER);
+    }
+
+    @Test
+    public void handleRequest_ReadCacheOffUnlessSwitchedOn() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .awsAccountId("123456789012")
+                        .desiredResourceState(this.resourceModel)
+                        .build();
+        doReturn(DescribeProtectionResponse.builder()
+                .protection(Protection.builder()
+                        .resourceArn(ProtectionTestData.RESOURCE_ARN_1)
+                        .protectionArn(ProtectionTestData.PROTECTION_ARN)
+                        .id(ProtectionTestData.PROTECTION_ID)
+                        .build())
+                .build())
+                .when(this.proxy).injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        registerListTags();
+
+        final ReadHandler uncached =
+                new ReadHandler(mock(ShieldClient.class), Features.of(Collections.emptyMap()), CallTuning.NO_JITTER);
+        uncached.handleRequest(this.proxy, request, null, this.logger);
+        uncached.handleRequest(this.proxy, request, null, this.logger);
+        assertThat(ReadCache.shared().size()).isZero();
+        verify(this.proxy, times(2)).injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+
+        final ReadHandler cached = new ReadHandler(
+                mock(ShieldClient.class),
+                Features.of(Collections.singletonMap(Features.READ_CACHE, "true")),
+                CallTuning.NO_JITTER);
+        cached.handleRequest(this.proxy, request, null, this.logger);
+        cached.handleRequest(this.proxy, request, null, this.logger);
+        assertThat(ReadCache.shared().size()).isPositive();
+        verify(this.proxy, times(3)).injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+    }
+
     private void registerListTags() {
 
         ListTagsForResourceResponse tagResponse =
@@ -1,6 +1,10 @@
 package software.amazon.shield.protection;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,29 +12,48 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.ApplicationLayerAutomaticResponseConfiguration;
 import software.amazon.awssdk.services.shield.model.AssociateHealthCheckRequest;
 import software.amazon.awssdk.services.shield.model.AssociateHealthCheckResponse;
+import software.amazon.awssdk.services.shield.model.BlockAction;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionResponse;
 import software.amazon.awssdk.services.shield.model.EnableApplicationLayerAutomaticResponseRequest;
 import software.amazon.awssdk.services.shield.model.EnableApplicationLayerAutomaticResponseResponse;
+import software.amazon.awssdk.services.shield.model.InvalidParameterException;
+import software.amazon.awssdk.services.shield.model.Protection;
+import software.amazon.awssdk.services.shield.model.ResponseAction;
+import software.amazon.awssdk.services.shield.model.ShieldException;
 import software.amazon.awssdk.services.shield.model.Tag;
 import software.amazon.awssdk.services.shield.model.TagResourceRequest;
 import software.amazon.awssdk.services.shield.model.TagResourceResponse;
+import software.amazon.awssdk.services.shield.model.UntagResourceRequest;
+import software.amazon.awssdk.services.shield.model.UntagResourceResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.HandlerHelper;
+import software.amazon.shield.common.UpdatePlan;
+import software.amazon.shield.protection.helper.AppLayerAutoResponseStabilizer;
 import software.amazon.shield.protection.helper.ProtectionTestData;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.withSettings;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,14 +76,19 @@ public class UpdateHandlerTest {
         ));
         this.logger = mock(Logger.class, withSettings().verboseLogging());
 
-        this.updateHandler = new UpdateHandler(mock(ShieldClient.class, withSettings().verboseLogging()));
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
+        this.updateHandler = new UpdateHandler(
+            mock(ShieldClient.class, withSettings().verboseLogging()),
+            AppLayerAutoResponseStabilizer.of(CallTuning.NO_JITTER),
+            CallTuning.NO_JITTER
+        );
     }
 
     @Test
     public void updateAllFields() {
         doReturn(EnableApplicationLayerAutomaticResponseResponse.builder().build()).when(this.proxy)
             .injectCredentialsAndInvokeV2(any(EnableApplicationLayerAutomaticResponseRequest.class), any());
+        doReturn(describeProtectionWithAppLayerAutoResponse()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
         doReturn(AssociateHealthCheckResponse.builder().build()).when(this.proxy)
             .injectCredentialsAndInvokeV2(any(AssociateHealthCheckRequest.class), any());
         doReturn(TagResourceResponse.builder().build()).when(this.proxy).injectCredentialsAndInvokeV2(eq(
@@ -138,4 +166,172 @@ public class UpdateHandlerTest {
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
+
+    @Test
+    public void failedBranchFailsUpdate() {
+        doReturn(EnableApplicationLayerAutomaticResponseResponse.builder().build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(EnableApplicationLayerAutomaticResponseRequest.class), any());
+        doReturn(describeProtectionWithAppLayerAutoResponse()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        doThrow(InvalidParameterException.builder().message("invalid health check").build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(AssociateHealthCheckRequest.class), any());
+        doReturn(TagResourceResponse.builder().build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(ProtectionTestData.ACCOUNT_ID)
+                .previousResourceState(ProtectionTestData.RESOURCE_MODEL_1.toBuilder()
+                    .healthCheckArns(null)
+                    .applicationLayerAutomaticResponseConfiguration(null)
+                    .tags(null)
+                    .build())
+                .desiredResourceState(ProtectionTestData.RESOURCE_MODEL_1)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = this.updateHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(response.getMessage()).isEqualTo("invalid health check");
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+    }
+
+    @Test
+    public void planCountsCallsMade() {
+        doReturn(EnableApplicationLayerAutomaticResponseResponse.builder().build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(EnableApplicationLayerAutomaticResponseRequest.class), any());
+        doReturn(describeProtectionWithAppLayerAutoResponse()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        doReturn(AssociateHealthCheckResponse.builder().build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(AssociateHealthCheckRequest.class), any());
+        doReturn(TagResourceResponse.builder().build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+
+        final ResourceModel previous = ProtectionTestData.RESOURCE_MODEL_1.toBuilder()
+            .healthCheckArns(null)
+            .applicationLayerAutomaticResponseConfiguration(null)
+            .tags(null)
+            .build();
+        final UpdatePlan plan = this.updateHandler.plan(previous, ProtectionTestData.RESOURCE_MODEL_1);
+        final ProgressEvent<ResourceModel, CallbackContext> response = this.updateHandler.handleRequest(
+            this.proxy,
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(previous)
+                .desiredResourceState(ProtectionTestData.RESOURCE_MODEL_1)
+                .build(),
+            null,
+            this.logger
+        );
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(plan.getCallCount()).isEqualTo(5);
+        assertThat(plan.getCallCount("associateHealthCheck")).isEqualTo(2);
+        assertThat(plan.getCallCount("enableApplicationLayerAutomaticResponse")).isEqualTo(1);
+        verify(this.proxy, times(plan.getCallCount("associateHealthCheck")))
+            .injectCredentialsAndInvokeV2(any(AssociateHealthCheckRequest.class), any());
+        verify(this.proxy, times(plan.getCallCount("describeProtection")))
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+        verify(this.proxy, times(plan.getCallCount("tagResource")))
+            .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+    }
+
+    @Test
+    public void planOfUnchangedProtectionIsEmpty() {
+        assertThat(this.updateHandler.plan(ProtectionTestData.RESOURCE_MODEL_1, ProtectionTestData.RESOURCE_MODEL_1))
+            .matches(UpdatePlan::isEmpty);
+
+        final ResourceModel disabled = ProtectionTestData.RESOURCE_MODEL_1.toBuilder()
+            .healthCheckArns(null)
+            .applicationLayerAutomaticResponseConfiguration(null)
+            .tags(null)
+            .build();
+        final UpdatePlan disable = this.updateHandler.plan(ProtectionTestData.RESOURCE_MODEL_1, disabled);
+        assertThat(disable.getOperations()).extracting(UpdatePlan.Operation::getApiName).containsExactly(
+            "disassociateHealthCheck",
+            "disassociateHealthCheck",
+            "disableApplicationLayerAutomaticResponse",
+            "describeProtection",
+            "untagResource"
+        );
+
+        // without the stabilizer nothing polls DescribeProtection.
+        final UpdateHandler unstabilized = new UpdateHandler(
+            mock(ShieldClient.class),
+            Features.of(Collections.emptyMap()),
+            CallTuning.NO_JITTER
+        );
+        assertThat(unstabilized.plan(ProtectionTestData.RESOURCE_MODEL_1, disabled).getOperations())
+            .extracting(UpdatePlan.Operation::getApiName)
+            .doesNotContain("describeProtection");
+    }
+
+    @Test
+    public void stabilizerSwitchedOnByFeature() {
+        final Features features =
+            Features.of(Collections.singletonMap(Features.STABILIZE_APP_LAYER_AUTO_RESPONSE, "true"));
+        final ResourceModel disabled = ProtectionTestData.RESOURCE_MODEL_1.toBuilder()
+            .applicationLayerAutomaticResponseConfiguration(null)
+            .build();
+
+        assertThat(new UpdateHandler(mock(ShieldClient.class), features, CallTuning.NO_JITTER)
+            .plan(ProtectionTestData.RESOURCE_MODEL_1, disabled)
+            .getCallCount("describeProtection")).isEqualTo(1);
+        assertThat(AppLayerAutoResponseStabilizer.of(Features.NONE, CallTuning.NO_JITTER)).isNull();
+    }
+
+    @Test
+    public void largeTagSetsAreChunkedAndResumed() {
+        doReturn(TagResourceResponse.builder().build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+        doThrow(ShieldException.builder().message("Rate exceeded").build())
+            .doReturn(UntagResourceResponse.builder().build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+
+        // 450 tags to set and 210 to remove: 3 tag and 2 untag chunks.
+        final ResourceModel previous = ProtectionTestData.RESOURCE_MODEL_1.toBuilder().tags(tags("old", 210)).build();
+        final ResourceModel desired = ProtectionTestData.RESOURCE_MODEL_1.toBuilder().tags(tags("new", 450)).build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .previousResourceState(previous)
+            .desiredResourceState(desired)
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> throttled =
+            this.updateHandler.handleRequest(this.proxy, request, null, this.logger);
+        assertThat(throttled.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(throttled.getCallbackDelaySeconds()).isGreaterThan(0);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.updateHandler.handleRequest(this.proxy, request, throttled.getCallbackContext(), this.logger);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+        // only the throttled untag chunk is sent again.
+        assertThat(this.updateHandler.plan(previous, desired).getCallCount()).isEqualTo(5);
+        verify(this.proxy, times(3)).injectCredentialsAndInvokeV2(
+            argThat((TagResourceRequest r) -> r != null && r.tags().size() <= HandlerHelper.MAX_TAGS_PER_REQUEST),
+            any());
+        verify(this.proxy, times(3)).injectCredentialsAndInvokeV2(
+            argThat((UntagResourceRequest r) -> r != null && r.tagKeys().size() <= HandlerHelper.MAX_TAGS_PER_REQUEST),
+            any());
+    }
+
+    private static List<software.amazon.shield.protection.Tag> tags(final String prefix, final int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> software.amazon.shield.protection.Tag.builder().key(prefix + i).value("v").build())
+            .collect(Collectors.toList());
+    }
+
+    private static DescribeProtectionResponse describeProtectionWithAppLayerAutoResponse() {
+        return DescribeProtectionResponse.builder()
+            .protection(Protection.builder()
+                .id(ProtectionTestData.PROTECTION_ID)
+                .applicationLayerAutomaticResponseConfiguration(ApplicationLayerAutomaticResponseConfiguration.builder()
+                    .status(ProtectionTestData.ENABLED)
+                    .action(ResponseAction.builder().block(BlockAction.builder().build()).build())
+                    .build())
+                .build())
+            .build();
+    }
 }
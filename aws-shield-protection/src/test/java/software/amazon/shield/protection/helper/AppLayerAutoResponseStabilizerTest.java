@@ -0,0 +1,177 @@
+package software.amazon.shield.protection.helper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.ApplicationLayerAutomaticResponseConfiguration;
+import software.amazon.awssdk.services.shield.model.ApplicationLayerAutomaticResponseStatus;
+import software.amazon.awssdk.services.shield.model.BlockAction;
+import software.amazon.awssdk.services.shield.model.CountAction;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionRequest;
+import software.amazon.awssdk.services.shield.model.DescribeProtectionResponse;
+import software.amazon.awssdk.services.shield.model.Protection;
+import software.amazon.awssdk.services.shield.model.ResponseAction;
+import software.amazon.awssdk.services.shield.model.ShieldException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.shield.protection.CallbackContext;
+import software.amazon.shield.protection.ResourceModel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+@ExtendWith(MockitoExtension.class)
+public class AppLayerAutoResponseStabilizerTest {
+
+    private static final Instant NOW = Instant.parse("2023-03-01T00:00:00Z");
+
+    private AmazonWebServicesClientProxy proxy;
+    private ProxyClient<ShieldClient> proxyClient;
+    private Logger logger;
+    private CallbackContext context;
+
+    @BeforeEach
+    public void setup() {
+        this.proxy = spy(new AmazonWebServicesClientProxy(
+            new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()
+        ));
+        final ShieldClient shieldClient = mock(ShieldClient.class);
+        this.proxyClient = this.proxy.newProxy(() -> shieldClient);
+        this.logger = mock(Logger.class);
+        this.context = new CallbackContext();
+    }
+
+    @Test
+    public void stabilizedContinues() {
+        stubDescribeProtection(ResponseAction.builder().block(BlockAction.builder().build()).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress = stabilizer(NOW).stabilize(
+            "UpdateHandler",
+            ProtectionTestData.PROTECTION_ID,
+            ProtectionTestData.APP_LAYER_AUTO_RESPONSE_CONFIG,
+            this.proxyClient,
+            ProtectionTestData.RESOURCE_MODEL_1,
+            this.context,
+            this.logger
+        );
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(progress.getCallbackDelaySeconds()).isEqualTo(0);
+    }
+
+    @Test
+    public void actionMismatchBacksOff() {
+        stubDescribeProtection(ResponseAction.builder().count(CountAction.builder().build()).build());
+
+        final int[] delays = new int[6];
+        for (int i = 0; i < delays.length; i++) {
+            delays[i] = stabilizer(NOW).stabilize(
+                "UpdateHandler",
+                ProtectionTestData.PROTECTION_ID,
+                ProtectionTestData.APP_LAYER_AUTO_RESPONSE_CONFIG,
+                this.proxyClient,
+                ProtectionTestData.RESOURCE_MODEL_1,
+                this.context,
+                this.logger
+            ).getCallbackDelaySeconds();
+        }
+
+        assertThat(delays).containsExactly(5, 10, 20, 40, 60, 60);
+        assertThat(this.context.getAppLayerAutoResponseStabilizationAttempts()).isEqualTo(6);
+        assertThat(this.context.getAppLayerAutoResponseStabilizationStartedAt()).isEqualTo(NOW.toEpochMilli());
+    }
+
+    @Test
+    public void rateExceededBacksOff() {
+        doThrow(ShieldException.builder().message("Rate exceeded").build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress = stabilizer(NOW).stabilize(
+            "UpdateHandler",
+            ProtectionTestData.PROTECTION_ID,
+            ProtectionTestData.APP_LAYER_AUTO_RESPONSE_CONFIG,
+            this.proxyClient,
+            ProtectionTestData.RESOURCE_MODEL_1,
+            this.context,
+            this.logger
+        );
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(progress.getCallbackDelaySeconds()).isEqualTo(5);
+    }
+
+    @Test
+    public void timeBudgetExceededFails() {
+        stubDescribeProtection(ResponseAction.builder().count(CountAction.builder().build()).build());
+        this.context.setAppLayerAutoResponseStabilizationStartedAt(NOW.toEpochMilli());
+        this.context.setAppLayerAutoResponseStabilizationAttempts(9);
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress = stabilizer(NOW.plus(Duration.ofMinutes(16)))
+            .stabilize(
+                "UpdateHandler",
+                ProtectionTestData.PROTECTION_ID,
+                ProtectionTestData.APP_LAYER_AUTO_RESPONSE_CONFIG,
+                this.proxyClient,
+                ProtectionTestData.RESOURCE_MODEL_1,
+                this.context,
+                this.logger
+            );
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+    }
+
+    @Test
+    public void joinKeepsPollingState() {
+        final CallbackContext polled = AppLayerAutoResponseStabilizer.fork(this.context);
+        polled.setAppLayerAutoResponseStabilizationStartedAt(NOW.toEpochMilli());
+        polled.setAppLayerAutoResponseStabilizationAttempts(2);
+        final CallbackContext untouched = AppLayerAutoResponseStabilizer.fork(this.context);
+
+        AppLayerAutoResponseStabilizer.join(this.context, polled);
+        AppLayerAutoResponseStabilizer.join(this.context, untouched);
+
+        assertThat(this.context.getAppLayerAutoResponseStabilizationStartedAt()).isEqualTo(NOW.toEpochMilli());
+        assertThat(this.context.getAppLayerAutoResponseStabilizationAttempts()).isEqualTo(2);
+    }
+
+    private static AppLayerAutoResponseStabilizer stabilizer(final Instant now) {
+        return AppLayerAutoResponseStabilizer.builder()
+            .clock(Clock.fixed(now, ZoneOffset.UTC))
+            .build();
+    }
+
+    private void stubDescribeProtection(final ResponseAction action) {
+        doReturn(DescribeProtectionResponse.builder()
+            .protection(Protection.builder()
+                .id(ProtectionTestData.PROTECTION_ID)
+                .applicationLayerAutomaticResponseConfiguration(ApplicationLayerAutomaticResponseConfiguration.builder()
+                    .status(ApplicationLayerAutomaticResponseStatus.ENABLED)
+                    .action(action)
+                    .build())
+                .build())
+            .build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(DescribeProtectionRequest.class), any());
+    }
+}
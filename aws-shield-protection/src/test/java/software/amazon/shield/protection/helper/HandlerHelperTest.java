@@ -1,11 +1,37 @@
 package software.amazon.shield.protection.helper;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.TagResourceRequest;
+import software.amazon.awssdk.services.shield.model.TagResourceResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.HandlerHelper;
+import software.amazon.shield.protection.CallbackContext;
+import software.amazon.shield.protection.ResourceModel;
+import software.amazon.shield.protection.Tag;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class HandlerHelperTest {
@@ -22,4 +48,47 @@ public class HandlerHelperTest {
     public void protectionArnToIdWithInvalidArn() {
         assertThat(HandlerHelper.protectionArnToId(PROTECTION_ID)).isEqualTo(PROTECTION_ID);
     }
+
+    @Test
+    public void updateTagsSendsEveryChunkInSequence() {
+        final AmazonWebServicesClientProxy proxy = spy(new AmazonWebServicesClientProxy(
+            new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()
+        ));
+        doReturn(TagResourceResponse.builder().build()).when(proxy)
+            .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+        final List<Tag> desired = IntStream.range(0, 2 * HandlerHelper.MAX_TAGS_PER_REQUEST + 1)
+            .mapToObj(i -> Tag.builder().key("k" + i).value("v" + i).build())
+            .collect(Collectors.toList());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress = HandlerHelper.updateTagsChainable(
+            desired,
+            Tag::getKey,
+            Tag::getValue,
+            Collections.<Tag>emptyList(),
+            Tag::getKey,
+            Tag::getValue,
+            PROTECTION_ARN,
+            null,
+            "Protection",
+            "UpdateHandler",
+            proxy,
+            proxy.newProxy(() -> mock(ShieldClient.class)),
+            ProtectionTestData.RESOURCE_MODEL_1,
+            new CallbackContext(),
+            mock(Logger.class),
+            CallTuning.NO_JITTER
+        );
+
+        final ArgumentCaptor<TagResourceRequest> requests = ArgumentCaptor.forClass(TagResourceRequest.class);
+        verify(proxy, times(3)).injectCredentialsAndInvokeV2(requests.capture(), any());
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(requests.getAllValues()
+            .stream()
+            .flatMap(request -> request.tags().stream())
+            .map(software.amazon.awssdk.services.shield.model.Tag::key)
+            .collect(Collectors.toList()))
+            .isEqualTo(desired.stream().map(Tag::getKey).collect(Collectors.toList()));
+    }
 }
@@ -0,0 +1,187 @@
+package software.amazon.shield.protection.helper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.DeleteProtectionRequest;
+import software.amazon.awssdk.services.shield.model.ListProtectionsRequest;
+import software.amazon.awssdk.services.shield.model.ListProtectionsResponse;
+import software.amazon.awssdk.services.shield.model.Protection;
+import software.amazon.awssdk.services.shield.model.ShieldException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.shield.common.CallTuning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ProtectionIndexTest {
+
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String OTHER_ACCOUNT_ID = "210987654321";
+    private static final String OTHER_PROTECTION_ARN = ProtectionTestData.PROTECTION_ARN + "_2";
+    private static final Protection PROTECTION = Protection.builder()
+        .id(ProtectionTestData.PROTECTION_ID)
+        .protectionArn(ProtectionTestData.PROTECTION_ARN)
+        .resourceArn(ProtectionTestData.RESOURCE_ARN_1)
+        .build();
+    private static final Protection OTHER_PROTECTION = Protection.builder()
+        .id(ProtectionTestData.PROTECTION_ID + "_2")
+        .protectionArn(OTHER_PROTECTION_ARN)
+        .build();
+
+    private AmazonWebServicesClientProxy proxy;
+    private ProxyClient<ShieldClient> proxyClient;
+    private Logger logger;
+    private MutableClock clock;
+    private ProtectionIndex index;
+
+    @BeforeEach
+    public void setup() {
+        this.proxy = spy(new AmazonWebServicesClientProxy(
+            new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()
+        ));
+        final ShieldClient shieldClient = mock(ShieldClient.class);
+        this.proxyClient = this.proxy.newProxy(() -> shieldClient);
+        this.logger = mock(Logger.class);
+        this.clock = new MutableClock(Instant.parse("2023-03-01T00:00:00Z"));
+        this.index = new ProtectionIndex(100, Duration.ofSeconds(30), this.clock);
+    }
+
+    @Test
+    public void sweepFollowsPagesOnce() {
+        stubPages();
+
+        assertThat(lookup(ProtectionTestData.PROTECTION_ARN)).contains(PROTECTION);
+        assertThat(lookup(OTHER_PROTECTION_ARN)).contains(OTHER_PROTECTION);
+        assertThat(lookup("arn:aws:shield::123456789012:protection/unknown")).isEmpty();
+
+        verify(this.proxy, times(2)).injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+    }
+
+    @Test
+    public void staleEntriesAreSweptAgain() {
+        stubPages();
+        assertThat(lookup(ProtectionTestData.PROTECTION_ARN)).contains(PROTECTION);
+
+        this.clock.advance(Duration.ofSeconds(30));
+        assertThat(this.index.get(ACCOUNT_ID, ProtectionTestData.PROTECTION_ARN)).isEmpty();
+        assertThat(lookup(ProtectionTestData.PROTECTION_ARN)).contains(PROTECTION);
+
+        verify(this.proxy, times(4)).injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+    }
+
+    @Test
+    public void accountsAreIndexedApart() {
+        stubPages();
+        assertThat(lookup(ProtectionTestData.PROTECTION_ARN)).contains(PROTECTION);
+
+        assertThat(this.index.get(OTHER_ACCOUNT_ID, ProtectionTestData.PROTECTION_ARN)).isEmpty();
+        assertThat(lookup(OTHER_ACCOUNT_ID, ProtectionTestData.PROTECTION_ARN)).contains(PROTECTION);
+
+        verify(this.proxy, times(4)).injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+        assertThat(this.index.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void mutationDropsProtection() {
+        this.index.record(ACCOUNT_ID, Collections.singletonList(PROTECTION));
+
+        this.index.onMutation(
+            "Protection",
+            "deleteProtection",
+            DeleteProtectionRequest.builder().protectionId(ProtectionTestData.PROTECTION_ID).build()
+        );
+
+        assertThat(this.index.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void failedSweepIsMiss() {
+        doThrow(ShieldException.builder().message("Rate exceeded").build()).when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+
+        assertThat(lookup(ProtectionTestData.PROTECTION_ARN)).isEmpty();
+        assertThat(lookup(ProtectionTestData.PROTECTION_ARN)).isEmpty();
+
+        verify(this.proxy, times(1)).injectCredentialsAndInvokeV2(any(ListProtectionsRequest.class), any());
+    }
+
+    private Optional<Protection> lookup(final String protectionArn) {
+        return lookup(ACCOUNT_ID, protectionArn);
+    }
+
+    private Optional<Protection> lookup(final String accountId, final String protectionArn) {
+        return this.index.lookup(
+            "ReadHandler",
+            accountId,
+            protectionArn,
+            this.proxy,
+            this.proxyClient,
+            ProtectionTestData.RESOURCE_MODEL_1,
+            this.logger,
+            CallTuning.NO_JITTER
+        );
+    }
+
+    private void stubPages() {
+        doReturn(ListProtectionsResponse.builder().protections(PROTECTION).nextToken("page2").build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(argThat((ListProtectionsRequest r) -> r != null && r.nextToken() == null),
+                any());
+        doReturn(ListProtectionsResponse.builder().protections(OTHER_PROTECTION).build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(argThat((ListProtectionsRequest r) -> r != null && r.nextToken() != null),
+                any());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        private void advance(final Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+}
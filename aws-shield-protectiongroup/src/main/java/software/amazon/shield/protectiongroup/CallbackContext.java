@@ -1,14 +1,23 @@
 package software.amazon.shield.protectiongroup;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import software.amazon.cloudformation.proxy.StdCallbackContext;
+import software.amazon.shield.common.Checkpoints.CheckpointContext;
 import software.amazon.shield.common.HandlerHelper.TagsContext;
+import software.amazon.shield.common.RetryBudget.RetryContext;
+import software.amazon.shield.common.Tracer.TraceContext;
 
 @lombok.Getter
 @lombok.Setter
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
-public class CallbackContext extends StdCallbackContext implements TagsContext<Tag> {
+public class CallbackContext extends StdCallbackContext
+    implements TagsContext<Tag>, CheckpointContext, RetryContext, TraceContext {
     private List<Tag> tags;
+    private Set<String> completedSteps;
+    private Map<String, Integer> retryAttempts;
+    private String traceId;
 }
@@ -13,23 +13,50 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.Arn;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.LogSpanExporter;
 import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.Tracer;
+import software.amazon.shield.protectiongroup.helper.Members;
+
+import static software.amazon.shield.protectiongroup.helper.HandlerHelper.membersLimitExceeded;
 
 @RequiredArgsConstructor
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    private final CallTuning tuning;
 
     public CreateHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public CreateHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
     }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
-        CallbackContext callbackContext,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "ProtectionGroup:CreateHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
         final Logger logger
     ) {
 
@@ -40,7 +67,13 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             request.getClientRequestToken()
         ));
         final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
-        callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
+
+        final Members members = Members.of(request.getDesiredResourceState().getMembers());
+        if ("ARBITRARY".equals(request.getDesiredResourceState().getPattern())) {
+            if (members.exceedsLimit()) {
+                return membersLimitExceeded(members, request.getDesiredResourceState(), callbackContext);
+            }
+        }
 
         return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, CreateProtectionGroupRequest,
                 CreateProtectionGroupResponse>builder()
@@ -52,6 +85,7 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             .model(request.getDesiredResourceState())
             .context(callbackContext)
             .logger(logger)
+            .tuning(this.tuning)
             .translateToServiceRequest(m -> {
                 final CreateProtectionGroupRequest.Builder createProtectionGroupRequestBuilder =
                     CreateProtectionGroupRequest.builder()
@@ -60,7 +94,7 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                         .pattern(m.getPattern());
 
                 if (m.getPattern().equals("ARBITRARY")) {
-                    createProtectionGroupRequestBuilder.members(m.getMembers());
+                    createProtectionGroupRequestBuilder.members(members.asList());
                 } else if (m.getPattern().equals("BY_RESOURCE_TYPE")) {
                     createProtectionGroupRequestBuilder.resourceType(m.getResourceType());
                 }
@@ -80,9 +114,10 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             })
             .getRequestFunction(c -> c::createProtectionGroup)
             .rateExceededIsCritical(true)
+            .checkpoint("createProtectionGroup")
             .onSuccess((req, res, c, m, ctx) -> {
-                m.setProtectionGroupArn(String.format(
-                    "arn:aws:shield::%s:protection-group/%s",
+                m.setProtectionGroupArn(Arn.shieldProtectionGroup(
+                    request.getAwsPartition(),
                     request.getAwsAccountId(),
                     m.getProtectionGroupId()
                 ));
@@ -9,24 +9,47 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
 import software.amazon.shield.common.HandlerHelper;
+import software.amazon.shield.common.LogSpanExporter;
 import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.Tracer;
 
 @RequiredArgsConstructor
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    private final CallTuning tuning;
 
     public DeleteHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public DeleteHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
     }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
-        CallbackContext callbackContext,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "ProtectionGroup:DeleteHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
         final Logger logger
     ) {
 
@@ -41,7 +64,6 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             request.getClientRequestToken()
         ));
         final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
-        callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
 
         return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DeleteProtectionGroupRequest,
                 DeleteProtectionGroupResponse>builder()
@@ -53,6 +75,7 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             .model(request.getDesiredResourceState())
             .context(callbackContext)
             .logger(logger)
+            .tuning(this.tuning)
             .translateToServiceRequest(m -> DeleteProtectionGroupRequest.builder()
                 .protectionGroupId(HandlerHelper.protectionArnToId(m.getProtectionGroupArn()))
                 .build())
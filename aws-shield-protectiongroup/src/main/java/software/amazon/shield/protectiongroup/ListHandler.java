@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.shield.ShieldClient;
@@ -17,23 +18,58 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
+import software.amazon.shield.common.LogSpanExporter;
 import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.Tracer;
+import software.amazon.shield.protectiongroup.helper.HandlerHelper;
+
+import static software.amazon.shield.protectiongroup.helper.HandlerHelper.inclusionFilters;
 
 @RequiredArgsConstructor
 public class ListHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    /**
+     * page size of ListProtectionGroups, the service default when null.
+     */
+    @Nullable
+    private final Integer maxResults;
+    private final CallTuning tuning;
 
     public ListHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public ListHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
+    }
+
+    public ListHandler(final ShieldClient shieldClient, final CallTuning tuning) {
+        this(shieldClient, null, tuning);
     }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
-        CallbackContext callbackContext,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "ProtectionGroup:ListHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
         final Logger logger
     ) {
 
@@ -43,7 +79,6 @@ public class ListHandler extends BaseHandler<CallbackContext> {
             request.getClientRequestToken()
         ));
         final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
-        callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
 
         return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, ListProtectionGroupsRequest,
                 ListProtectionGroupsResponse>builder()
@@ -55,31 +90,27 @@ public class ListHandler extends BaseHandler<CallbackContext> {
             .model(request.getDesiredResourceState())
             .context(callbackContext)
             .logger(logger)
+            .tuning(this.tuning)
             .translateToServiceRequest(m -> ListProtectionGroupsRequest.builder()
                 .nextToken(request.getNextToken())
+                .maxResults(this.maxResults)
+                .inclusionFilters(inclusionFilters(m))
                 .build())
             .getRequestFunction(c -> c::listProtectionGroups)
             .onSuccess((req, res, c, m, ctx) -> ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModels(transferToModels(res.protectionGroups(), proxy))
+                .resourceModels(transferToModels(res.protectionGroups()))
                 .status(OperationStatus.SUCCESS)
                 .nextToken(res.nextToken())
                 .build())
             .build().initiate();
     }
 
-    private List<ResourceModel> transferToModels(
-        final List<ProtectionGroup> protectionGroups,
-        final AmazonWebServicesClientProxy proxy
-    ) {
+    private List<ResourceModel> transferToModels(final List<ProtectionGroup> protectionGroups) {
+        // the list page carries everything Read describes except tags, so no per-group Describe is needed.
         return Optional.ofNullable(protectionGroups)
             .map(Collection::stream)
             .orElseGet(Stream::empty)
-            .map(
-                protectionGroup ->
-                    ResourceModel.builder()
-                        .protectionGroupId(protectionGroup.protectionGroupId())
-                        .protectionGroupArn(protectionGroup.protectionGroupArn())
-                        .build())
+            .map(HandlerHelper::transformToModel)
             .collect(Collectors.toList());
     }
 }
@@ -1,6 +1,7 @@
 package software.amazon.shield.protectiongroup;
 
 import java.util.List;
+import javax.annotation.Nullable;
 
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.shield.ShieldClient;
@@ -12,24 +13,63 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
 import software.amazon.shield.common.HandlerHelper;
+import software.amazon.shield.common.LogSpanExporter;
+import software.amazon.shield.common.ReadCache;
 import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.Tracer;
+
+import static software.amazon.shield.protectiongroup.helper.HandlerHelper.transformToModel;
 
 @RequiredArgsConstructor
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    /**
+     * cache of the describe and tag responses, off when null, see {@link Features#isReadCache()}.
+     */
+    @Nullable
+    private final ReadCache readCache;
+    private final CallTuning tuning;
 
     public ReadHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public ReadHandler(final ShieldClient shieldClient) {
+        this(shieldClient, Features.fromEnvironment(), CallTuning.DEFAULT);
+    }
+
+    public ReadHandler(final ShieldClient shieldClient, final CallTuning tuning) {
+        this(shieldClient, Features.NONE, tuning);
+    }
+
+    public ReadHandler(final ShieldClient shieldClient, final Features features, final CallTuning tuning) {
+        this(shieldClient, ReadCache.shared(features), tuning);
     }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
-        CallbackContext callbackContext,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "ProtectionGroup:ReadHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
         final Logger logger
     ) {
 
@@ -44,7 +84,9 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             request.getClientRequestToken()
         ));
         final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
-        callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
+        final ReadCache readCache = this.readCache == null
+            ? null
+            : this.readCache.forAccount(request.getAwsAccountId());
 
         return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, DescribeProtectionGroupRequest,
                 DescribeProtectionGroupResponse>builder()
@@ -56,25 +98,17 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             .model(request.getDesiredResourceState())
             .context(callbackContext)
             .logger(logger)
+            .tuning(this.tuning)
             .translateToServiceRequest(m -> DescribeProtectionGroupRequest.builder()
                 .protectionGroupId(HandlerHelper.protectionArnToId(m.getProtectionGroupArn()))
                 .build())
             .getRequestFunction(c -> c::describeProtectionGroup)
-            .onSuccess((req, res, c, m, ctx) -> {
-                final ResourceModel result =
-                    ResourceModel.builder()
-                        .protectionGroupId(res.protectionGroup().protectionGroupId())
-                        .protectionGroupArn(res.protectionGroup().protectionGroupArn())
-                        .pattern(res.protectionGroup().patternAsString())
-                        .members(res.protectionGroup().members())
-                        .aggregation(res.protectionGroup().aggregationAsString())
-                        .build();
-
-                if (null != res.protectionGroup().resourceType()) {
-                    result.setResourceType(res.protectionGroup().resourceTypeAsString());
-                }
-                return ProgressEvent.defaultInProgressHandler(ctx, 0, result);
-            })
+            .readCache(readCache)
+            .onSuccess((req, res, c, m, ctx) -> ProgressEvent.defaultInProgressHandler(
+                ctx,
+                0,
+                transformToModel(res.protectionGroup())
+            ))
             .build()
             .initiate()
             .then(progress -> {
@@ -91,7 +125,9 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                     proxyClient,
                     m,
                     progress.getCallbackContext(),
-                    logger
+                    logger,
+                    readCache,
+                    this.tuning
                 );
             })
             .then(progress -> {
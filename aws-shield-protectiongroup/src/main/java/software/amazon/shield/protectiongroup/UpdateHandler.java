@@ -1,5 +1,6 @@
 package software.amazon.shield.protectiongroup;
 
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import software.amazon.awssdk.services.shield.ShieldClient;
 import software.amazon.awssdk.services.shield.model.UpdateProtectionGroupRequest;
@@ -9,24 +10,53 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.common.CustomerAPIClientBuilder;
+import software.amazon.shield.common.Features;
 import software.amazon.shield.common.HandlerHelper;
+import software.amazon.shield.common.ListDiff;
+import software.amazon.shield.common.LogSpanExporter;
 import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.Tracer;
+import software.amazon.shield.common.UpdatePlan;
+import software.amazon.shield.protectiongroup.helper.Members;
+
+import static software.amazon.shield.protectiongroup.helper.HandlerHelper.hasSameDefinition;
+import static software.amazon.shield.protectiongroup.helper.HandlerHelper.membersLimitExceeded;
 
 @RequiredArgsConstructor
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
     private final ShieldClient shieldClient;
+    private final CallTuning tuning;
 
     public UpdateHandler() {
-        this.shieldClient = CustomerAPIClientBuilder.getClient();
+        this(CustomerAPIClientBuilder.getClient());
+    }
+
+    public UpdateHandler(final ShieldClient shieldClient) {
+        this(shieldClient, CallTuning.DEFAULT);
     }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
-        CallbackContext callbackContext,
+        final CallbackContext callbackContext,
+        final Logger logger
+    ) {
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        return new Tracer(LogSpanExporter.of(logger, Features.fromEnvironment())).trace(
+            "ProtectionGroup:UpdateHandler",
+            context,
+            () -> handle(proxy, request, context, logger)
+        );
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handle(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
         final Logger logger
     ) {
 
@@ -41,8 +71,92 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             request.getClientRequestToken()
         ));
         final ProxyClient<ShieldClient> proxyClient = proxy.newProxy(() -> this.shieldClient);
-        callbackContext = callbackContext == null ? new CallbackContext() : callbackContext;
 
+        final Members members = Members.of(request.getDesiredResourceState().getMembers());
+        if ("ARBITRARY".equals(request.getDesiredResourceState().getPattern())) {
+            if (members.exceedsLimit()) {
+                return membersLimitExceeded(members, request.getDesiredResourceState(), callbackContext);
+            }
+            final ListDiff<String, String> diff = members.diff(Members.of(request.getPreviousResourceState().getMembers()));
+            logger.log(String.format(
+                "UpdateHandler: members added = %d, removed = %d",
+                diff.getAdded().size(),
+                diff.getRemoved().size()
+            ));
+        }
+
+        // tag-only updates must not spend UpdateProtectionGroup quota.
+        final ProgressEvent<ResourceModel, CallbackContext> updateProgress =
+            hasSameDefinition(request.getDesiredResourceState(), request.getPreviousResourceState())
+                ? ProgressEvent.defaultInProgressHandler(callbackContext, 0, request.getDesiredResourceState())
+                : updateProtectionGroup(
+                    members,
+                    proxy,
+                    proxyClient,
+                    request.getDesiredResourceState(),
+                    callbackContext,
+                    logger,
+                    this.tuning
+                );
+
+        return updateProgress
+            .then(progress -> HandlerHelper.updateTagsChainable(
+                progress.getResourceModel().getTags(),
+                Tag::getKey,
+                Tag::getValue,
+                request.getPreviousResourceState().getTags(),
+                Tag::getKey,
+                Tag::getValue,
+                progress.getResourceModel().getProtectionGroupArn(),
+                ignored -> new CallbackContext(),
+                "ProtectionGroup",
+                "UpdateHandler",
+                proxy,
+                proxyClient,
+                progress.getResourceModel(),
+                progress.getCallbackContext(),
+                logger,
+                this.tuning
+            ))
+            .then(progress -> ProgressEvent.defaultSuccessHandler(progress.getResourceModel()));
+    }
+
+    /**
+     * Calls {@link #handleRequest} would make to update {@code previousState} to {@code desiredState}; none when the
+     * desired members exceed the limit, as the update is then rejected.
+     */
+    public static UpdatePlan plan(
+        @NonNull final ResourceModel previousState,
+        @NonNull final ResourceModel desiredState
+    ) {
+        final UpdatePlan.Builder plan = UpdatePlan.builder();
+        if ("ARBITRARY".equals(desiredState.getPattern()) && Members.of(desiredState.getMembers()).exceedsLimit()) {
+            return plan.build();
+        }
+        if (!hasSameDefinition(desiredState, previousState)) {
+            plan.call("updateProtectionGroup", desiredState.getProtectionGroupArn());
+        }
+        return HandlerHelper.planTagUpdate(
+            plan,
+            desiredState.getTags(),
+            Tag::getKey,
+            Tag::getValue,
+            previousState.getTags(),
+            Tag::getKey,
+            Tag::getValue,
+            desiredState.getProtectionGroupArn()
+        ).build();
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> updateProtectionGroup(
+        final Members members,
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<ShieldClient> proxyClient,
+        final ResourceModel model,
+        final CallbackContext context,
+        final Logger logger,
+        final CallTuning tuning
+    ) {
         return ShieldAPIChainableRemoteCall.<ResourceModel, CallbackContext, UpdateProtectionGroupRequest,
                 UpdateProtectionGroupResponse>builder()
             .resourceType("ProtectionGroup")
@@ -50,9 +164,10 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             .apiName("updateProtectionGroup")
             .proxy(proxy)
             .proxyClient(proxyClient)
-            .model(request.getDesiredResourceState())
-            .context(callbackContext)
+            .model(model)
+            .context(context)
             .logger(logger)
+            .tuning(tuning)
             .translateToServiceRequest(m -> {
                 final UpdateProtectionGroupRequest.Builder updateProtectionGroupRequestBuilder =
                     UpdateProtectionGroupRequest.builder()
@@ -61,7 +176,7 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                         .pattern(m.getPattern());
 
                 if (m.getPattern().equals("ARBITRARY")) {
-                    updateProtectionGroupRequestBuilder.members(m.getMembers());
+                    updateProtectionGroupRequestBuilder.members(members.asList());
                 } else if (m.getPattern().equals("BY_RESOURCE_TYPE")) {
                     updateProtectionGroupRequestBuilder.resourceType(m.getResourceType());
                 }
@@ -69,24 +184,8 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 return updateProtectionGroupRequestBuilder.build();
             })
             .getRequestFunction(c -> c::updateProtectionGroup)
+            .checkpoint("updateProtectionGroup")
             .build()
-            .initiate()
-            .then(progress -> HandlerHelper.updateTagsChainable(
-                progress.getResourceModel().getTags(),
-                Tag::getKey,
-                Tag::getValue,
-                request.getPreviousResourceState().getTags(),
-                Tag::getKey,
-                Tag::getValue,
-                progress.getResourceModel().getProtectionGroupArn(),
-                "ProtectionGroup",
-                "UpdateHandler",
-                proxy,
-                proxyClient,
-                progress.getResourceModel(),
-                progress.getCallbackContext(),
-                logger
-            ))
-            .then(progress -> ProgressEvent.defaultSuccessHandler(progress.getResourceModel()));
+            .initiate();
     }
 }
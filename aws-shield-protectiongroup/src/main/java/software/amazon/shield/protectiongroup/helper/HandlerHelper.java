@@ -0,0 +1,105 @@
+package software.amazon.shield.protectiongroup.helper;
+
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+import software.amazon.awssdk.services.shield.model.InclusionProtectionGroupFilters;
+import software.amazon.awssdk.services.shield.model.ProtectionGroup;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.shield.protectiongroup.CallbackContext;
+import software.amazon.shield.protectiongroup.ResourceModel;
+
+public class HandlerHelper {
+
+    /**
+     * Model of a protection group as described or listed by Shield. Tags are not part of either response.
+     */
+    public static ResourceModel transformToModel(@NonNull final ProtectionGroup protectionGroup) {
+        final ResourceModel result =
+            ResourceModel.builder()
+                .protectionGroupId(protectionGroup.protectionGroupId())
+                .protectionGroupArn(protectionGroup.protectionGroupArn())
+                .pattern(protectionGroup.patternAsString())
+                .members(protectionGroup.members())
+                .aggregation(protectionGroup.aggregationAsString())
+                .build();
+
+        if (null != protectionGroup.resourceType()) {
+            result.setResourceType(protectionGroup.resourceTypeAsString());
+        }
+        return result;
+    }
+
+    /**
+     * ListProtectionGroups filters narrowing the listing to groups matching the given model, or null when the model
+     * sets none of the filterable properties.
+     */
+    @Nullable
+    public static InclusionProtectionGroupFilters inclusionFilters(@Nullable final ResourceModel model) {
+        if (model == null) {
+            return null;
+        }
+        final InclusionProtectionGroupFilters.Builder filters = InclusionProtectionGroupFilters.builder();
+        boolean filtered = false;
+        if (model.getProtectionGroupId() != null) {
+            filters.protectionGroupIds(model.getProtectionGroupId());
+            filtered = true;
+        }
+        if (model.getPattern() != null) {
+            filters.patternsWithStrings(model.getPattern());
+            filtered = true;
+        }
+        if (model.getResourceType() != null) {
+            filters.resourceTypesWithStrings(model.getResourceType());
+            filtered = true;
+        }
+        if (model.getAggregation() != null) {
+            filters.aggregationsWithStrings(model.getAggregation());
+            filtered = true;
+        }
+        return filtered ? filters.build() : null;
+    }
+
+    /**
+     * InvalidRequest for an ARBITRARY group with more members than Shield accepts, reported before any call.
+     */
+    public static ProgressEvent<ResourceModel, CallbackContext> membersLimitExceeded(
+        @NonNull final Members members,
+        final ResourceModel model,
+        final CallbackContext context
+    ) {
+        return ProgressEvent.failed(
+            model,
+            context,
+            HandlerErrorCode.InvalidRequest,
+            String.format(
+                "A protection group can have at most %d members, got %d",
+                Members.MAX_MEMBERS,
+                members.size()
+            )
+        );
+    }
+
+    /**
+     * Whether both models define the same group: aggregation and pattern, plus the resource type of a
+     * BY_RESOURCE_TYPE group or the member set of an ARBITRARY group. Member order and duplicates do not matter.
+     */
+    public static boolean hasSameDefinition(
+        @NonNull final ResourceModel desired,
+        @NonNull final ResourceModel previous
+    ) {
+        if (!Objects.equals(desired.getAggregation(), previous.getAggregation())
+            || !Objects.equals(desired.getPattern(), previous.getPattern())) {
+            return false;
+        }
+        if ("BY_RESOURCE_TYPE".equals(desired.getPattern())) {
+            return Objects.equals(desired.getResourceType(), previous.getResourceType());
+        }
+        if ("ARBITRARY".equals(desired.getPattern())) {
+            return Members.of(desired.getMembers()).equals(Members.of(previous.getMembers()));
+        }
+        return true;
+    }
+}
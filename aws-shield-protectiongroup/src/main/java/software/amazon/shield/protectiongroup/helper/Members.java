@@ -0,0 +1,102 @@
+package software.amazon.shield.protectiongroup.helper;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.Nullable;
+
+import lombok.NonNull;
+import software.amazon.shield.common.ListDiff;
+
+/**
+ * Canonical member list of an ARBITRARY protection group.
+ * <p>
+ * Member ARNs are trimmed, blank entries dropped, and the rest sorted and deduplicated once, so two member lists can
+ * be compared and diffed with a single merge walk instead of nested lookups. Shield treats members as a set, which
+ * makes the canonical order safe to send.
+ */
+public final class Members {
+
+    /**
+     * Service limit on resources in a protection group, also the schema maxItems of Members.
+     */
+    public static final int MAX_MEMBERS = 10000;
+
+    private static final Members EMPTY = new Members(new String[0]);
+
+    // sorted and unique
+    private final String[] arns;
+
+    private Members(final String[] arns) {
+        this.arns = arns;
+    }
+
+    public static Members of(@Nullable final Collection<String> members) {
+        if (members == null || members.isEmpty()) {
+            return EMPTY;
+        }
+        final String[] arns = new String[members.size()];
+        int size = 0;
+        for (String member : members) {
+            if (member == null) {
+                continue;
+            }
+            final String arn = member.trim();
+            if (!arn.isEmpty()) {
+                arns[size++] = arn;
+            }
+        }
+        Arrays.sort(arns, 0, size);
+
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || !arns[i].equals(arns[unique - 1])) {
+                arns[unique++] = arns[i];
+            }
+        }
+        return unique == 0 ? EMPTY : new Members(unique == arns.length ? arns : Arrays.copyOf(arns, unique));
+    }
+
+    public int size() {
+        return this.arns.length;
+    }
+
+    public boolean isEmpty() {
+        return this.arns.length == 0;
+    }
+
+    public boolean exceedsLimit() {
+        return this.arns.length > MAX_MEMBERS;
+    }
+
+    /**
+     * Sorted, deduplicated members, unmodifiable.
+     */
+    public List<String> asList() {
+        return Collections.unmodifiableList(Arrays.asList(this.arns));
+    }
+
+    /**
+     * Members added and removed going from {@code previous} to this, in one merge walk over both sorted lists.
+     */
+    public ListDiff<String, String> diff(@NonNull final Members previous) {
+        return ListDiff.ofSorted(asList(), previous.asList(), Comparator.naturalOrder());
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof Members && Arrays.equals(this.arns, ((Members) o).arns);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.arns);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Members(size=%d)", this.arns.length);
+    }
+}
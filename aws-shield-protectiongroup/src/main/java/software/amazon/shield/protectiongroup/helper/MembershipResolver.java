@@ -0,0 +1,98 @@
+package software.amazon.shield.protectiongroup.helper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.ListResourcesInProtectionGroupRequest;
+import software.amazon.awssdk.services.shield.model.ListResourcesInProtectionGroupResponse;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * Resolves the resources a BY_RESOURCE_TYPE or ALL protection group covers by paging
+ * ListResourcesInProtectionGroup.
+ * <p>
+ * Only one page of at most {@code pageSize} ARNs is held at a time: each page is counted and, when a
+ * {@code memberSink} is set, handed to it before the next one is requested, so groups with thousands of resources
+ * resolve in constant memory. A call stops after {@code maxPages} pages or once {@code timeBudget} is spent and
+ * returns the continuation token, which the caller passes back to carry on from there.
+ * <p>
+ * This is a library API and is not used by the handlers: Read must return SUCCESS or FAILED within one invocation,
+ * and the resource schema has no property for the resolved membership.
+ */
+@Builder
+public class MembershipResolver {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int DEFAULT_MAX_PAGES = 50;
+    private static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(20);
+
+    @Builder.Default
+    private final int pageSize = DEFAULT_PAGE_SIZE;
+    @Builder.Default
+    private final int maxPages = DEFAULT_MAX_PAGES;
+    @Builder.Default
+    private final @NonNull Duration timeBudget = DEFAULT_TIME_BUDGET;
+    @Builder.Default
+    private final @NonNull Clock clock = Clock.systemUTC();
+    /**
+     * receives the resolved member ARNs page by page; only the count is kept when null.
+     */
+    @Nullable
+    private final Consumer<List<String>> memberSink;
+
+    @Value
+    public static class Resolution {
+        int memberCount;
+        /**
+         * where to resume, null once every page was read.
+         */
+        @Nullable
+        String nextToken;
+
+        public boolean isComplete() {
+            return this.nextToken == null;
+        }
+    }
+
+    /**
+     * Reads the pages from {@code nextToken} on, or from the first page when null. Service errors are thrown as they
+     * are, e.g. a ResourceNotFoundException for a deleted group.
+     */
+    public Resolution resolve(
+        @NonNull final String protectionGroupId,
+        @Nullable final String nextToken,
+        @NonNull final ProxyClient<ShieldClient> proxyClient
+    ) {
+        final long deadline = this.clock.millis() + this.timeBudget.toMillis();
+        int memberCount = 0;
+        int pages = 0;
+        String token = nextToken;
+
+        do {
+            // paged directly: a call graph would memoize the first page for every later one.
+            final ListResourcesInProtectionGroupResponse page = proxyClient.injectCredentialsAndInvokeV2(
+                ListResourcesInProtectionGroupRequest.builder()
+                    .protectionGroupId(protectionGroupId)
+                    .nextToken(token)
+                    .maxResults(this.pageSize)
+                    .build(),
+                proxyClient.client()::listResourcesInProtectionGroup
+            );
+            pages++;
+            memberCount += page.resourceArns().size();
+            if (this.memberSink != null && page.hasResourceArns()) {
+                this.memberSink.accept(page.resourceArns());
+            }
+            token = page.nextToken();
+        } while (token != null && pages < this.maxPages && this.clock.millis() < deadline);
+
+        return new Resolution(memberCount, token);
+    }
+}
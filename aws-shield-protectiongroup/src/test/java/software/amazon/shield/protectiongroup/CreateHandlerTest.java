@@ -1,7 +1,10 @@
 package software.amazon.shield.protectiongroup;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,19 +15,24 @@ import software.amazon.awssdk.services.shield.model.CreateProtectionGroupRequest
 import software.amazon.awssdk.services.shield.model.CreateProtectionGroupResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.protectiongroup.helper.Members;
 import software.amazon.shield.protectiongroup.helper.ProtectionGroupTestData;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class CreateHandlerTest {
@@ -45,9 +53,8 @@ public class CreateHandlerTest {
             () -> Duration.ofSeconds(600).toMillis()));
         this.logger = mock(Logger.class);
 
-        this.createHandler = new CreateHandler(mock(ShieldClient.class));
+        this.createHandler = new CreateHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
         this.resourceModel = ProtectionGroupTestData.RESOURCE_MODEL;
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
     }
 
     @Test
@@ -78,4 +85,53 @@ public class CreateHandlerTest {
         assertThat(response.getErrorCode()).isNull();
         assertThat(response.getResourceModel()).isEqualTo(this.resourceModel);
     }
+
+    @Test
+    public void handleRequest_ArbitraryMembersCanonical() {
+        final ResourceModel model = this.resourceModel.toBuilder()
+            .pattern("ARBITRARY")
+            .members(Lists.newArrayList(
+                ProtectionGroupTestData.MEMBER_2,
+                " " + ProtectionGroupTestData.MEMBER_1,
+                ProtectionGroupTestData.MEMBER_2
+            ))
+            .build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .awsAccountId("111222")
+                .build();
+
+        doReturn(CreateProtectionGroupResponse.builder().build())
+            .when(this.proxy).injectCredentialsAndInvokeV2(argThat((CreateProtectionGroupRequest req) ->
+                req.members().equals(ProtectionGroupTestData.MEMBERS)), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.createHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+    }
+
+    @Test
+    public void handleRequest_TooManyMembers() {
+        final List<String> members = new ArrayList<>();
+        for (int i = 0; i <= Members.MAX_MEMBERS; i++) {
+            members.add(ProtectionGroupTestData.MEMBER_1 + i);
+        }
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(this.resourceModel.toBuilder()
+                    .pattern("ARBITRARY")
+                    .members(members)
+                    .build())
+                .awsAccountId("111222")
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.createHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        verify(this.proxy, never()).injectCredentialsAndInvokeV2(any(), any());
+    }
 }
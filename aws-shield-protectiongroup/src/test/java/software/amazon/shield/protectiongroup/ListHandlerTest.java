@@ -8,8 +8,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.InclusionProtectionGroupFilters;
 import software.amazon.awssdk.services.shield.model.ListProtectionGroupsRequest;
 import software.amazon.awssdk.services.shield.model.ListProtectionGroupsResponse;
+import software.amazon.awssdk.services.shield.model.ProtectionGroup;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Credentials;
 import software.amazon.cloudformation.proxy.Logger;
@@ -17,11 +19,12 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.protectiongroup.helper.ProtectionGroupTestData;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -29,6 +32,8 @@ import static org.mockito.Mockito.spy;
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest {
 
+    private static final int MAX_RESULTS = 20;
+
     @Mock
     private AmazonWebServicesClientProxy proxy;
 
@@ -45,9 +50,8 @@ public class ListHandlerTest {
             () -> Duration.ofSeconds(600).toMillis()));
         this.logger = mock(Logger.class);
 
-        this.listHandler = new ListHandler(mock(ShieldClient.class));
+        this.listHandler = new ListHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
         this.resourceModel = ProtectionGroupTestData.RESOURCE_MODEL;
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
     }
 
     @Test
@@ -77,4 +81,54 @@ public class ListHandlerTest {
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
+
+    @Test
+    public void handleRequest_FullModelsWithFilters() {
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                    .pattern(ProtectionGroupTestData.PATTERN)
+                    .aggregation(ProtectionGroupTestData.AGGREGATION)
+                    .build())
+                .nextToken(ProtectionGroupTestData.NEXT_TOKEN)
+                .build();
+
+        final ListProtectionGroupsRequest expectedRequest =
+            ListProtectionGroupsRequest.builder()
+                .nextToken(ProtectionGroupTestData.NEXT_TOKEN)
+                .maxResults(MAX_RESULTS)
+                .inclusionFilters(InclusionProtectionGroupFilters.builder()
+                    .patternsWithStrings(ProtectionGroupTestData.PATTERN)
+                    .aggregationsWithStrings(ProtectionGroupTestData.AGGREGATION)
+                    .build())
+                .build();
+
+        final ListProtectionGroupsResponse listProtectionGroupsResponse =
+            ListProtectionGroupsResponse.builder()
+                .protectionGroups(ProtectionGroup.builder()
+                    .protectionGroupId(ProtectionGroupTestData.PROTECTION_GROUP_ID)
+                    .protectionGroupArn(ProtectionGroupTestData.PROTECTION_GROUP_ARN)
+                    .pattern(ProtectionGroupTestData.PATTERN)
+                    .aggregation(ProtectionGroupTestData.AGGREGATION)
+                    .resourceType(ProtectionGroupTestData.RESOURCE_TYPE)
+                    .members(ProtectionGroupTestData.MEMBERS)
+                    .build())
+                .nextToken("NEXT_PAGE")
+                .build();
+
+        doReturn(listProtectionGroupsResponse)
+            .when(this.proxy).injectCredentialsAndInvokeV2(eq(expectedRequest), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(mock(ShieldClient.class), MAX_RESULTS, CallTuning.NO_JITTER)
+                .handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isEqualTo("NEXT_PAGE");
+        assertThat(response.getResourceModels()).containsExactly(
+            ProtectionGroupTestData.RESOURCE_MODEL.toBuilder()
+                .tags(null)
+                .build()
+        );
+    }
 }
@@ -10,6 +10,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.shield.ShieldClient;
 import software.amazon.awssdk.services.shield.model.DescribeProtectionGroupRequest;
 import software.amazon.awssdk.services.shield.model.DescribeProtectionGroupResponse;
+import software.amazon.awssdk.services.shield.model.ListResourcesInProtectionGroupRequest;
 import software.amazon.awssdk.services.shield.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.shield.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.shield.model.ProtectionGroup;
@@ -21,14 +22,18 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
+import software.amazon.shield.common.ReadCache;
 import software.amazon.shield.protectiongroup.helper.ProtectionGroupTestData;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class ReadHandlerTest {
@@ -49,9 +54,8 @@ public class ReadHandlerTest {
             () -> Duration.ofSeconds(600).toMillis()));
         this.logger = mock(Logger.class);
 
-        this.readHandler = new ReadHandler(mock(ShieldClient.class));
+        this.readHandler = new ReadHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
         this.resourceModel = ProtectionGroupTestData.RESOURCE_MODEL;
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
     }
 
     @Test
@@ -94,6 +98,65 @@ public class ReadHandlerTest {
        assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_AllPatternSucceedsWithoutListingMembers() {
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId("111222")
+                .desiredResourceState(this.resourceModel)
+                .build();
+
+        doReturn(DescribeProtectionGroupResponse.builder()
+            .protectionGroup(ProtectionGroup.builder()
+                .protectionGroupId(ProtectionGroupTestData.PROTECTION_GROUP_ID)
+                .protectionGroupArn(ProtectionGroupTestData.PROTECTION_GROUP_ARN)
+                .aggregation(ProtectionGroupTestData.AGGREGATION)
+                .pattern("ALL")
+                .build())
+            .build())
+            .when(this.proxy).injectCredentialsAndInvokeV2(any(DescribeProtectionGroupRequest.class), any());
+        registerListTags();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            this.readHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getPattern()).isEqualTo("ALL");
+        assertThat(response.getResourceModel().getMembers()).isEmpty();
+        verify(this.proxy, never())
+            .injectCredentialsAndInvokeV2(any(ListResourcesInProtectionGroupRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_DefaultHandlerReadsWithoutCache() {
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId("111222")
+                .desiredResourceState(this.resourceModel)
+                .build();
+        doReturn(DescribeProtectionGroupResponse.builder()
+            .protectionGroup(ProtectionGroup.builder()
+                .protectionGroupId(ProtectionGroupTestData.PROTECTION_GROUP_ID)
+                .protectionGroupArn(ProtectionGroupTestData.PROTECTION_GROUP_ARN)
+                .aggregation(ProtectionGroupTestData.AGGREGATION)
+                .pattern("ALL")
+                .build())
+            .build())
+            .when(this.proxy).injectCredentialsAndInvokeV2(any(DescribeProtectionGroupRequest.class), any());
+        registerListTags();
+
+        // the handler Lambda builds, with the switches of this environment, which leave the read cache off.
+        final ReadHandler defaultHandler = new ReadHandler(mock(ShieldClient.class));
+        defaultHandler.handleRequest(this.proxy, request, null, this.logger);
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+            defaultHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(ReadCache.shared().size()).isZero();
+        verify(this.proxy, times(2)).injectCredentialsAndInvokeV2(any(DescribeProtectionGroupRequest.class), any());
+        verify(this.proxy, times(2)).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+    }
+
     private void registerListTags() {
 
         ListTagsForResourceResponse tagResponse =
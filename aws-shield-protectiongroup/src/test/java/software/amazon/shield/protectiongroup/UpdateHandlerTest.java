@@ -2,6 +2,7 @@ package software.amazon.shield.protectiongroup;
 
 import java.time.Duration;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,14 +22,16 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
-import software.amazon.shield.common.ShieldAPIChainableRemoteCall;
+import software.amazon.shield.common.CallTuning;
 import software.amazon.shield.protectiongroup.helper.ProtectionGroupTestData;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class UpdateHandlerTest {
@@ -49,9 +52,8 @@ public class UpdateHandlerTest {
             () -> Duration.ofSeconds(600).toMillis()));
         this.logger = mock(Logger.class);
 
-        this.updateHandler = new UpdateHandler(mock(ShieldClient.class));
+        this.updateHandler = new UpdateHandler(mock(ShieldClient.class), CallTuning.NO_JITTER);
         this.resourceModel = ProtectionGroupTestData.RESOURCE_MODEL;
-        ShieldAPIChainableRemoteCall.JITTER_SECONDS = 0;
     }
 
     @Test
@@ -108,13 +110,6 @@ public class UpdateHandlerTest {
                 .nextToken(ProtectionGroupTestData.NEXT_TOKEN)
                 .build();
 
-        final UpdateProtectionGroupResponse updateProtectionGroupResponse =
-            UpdateProtectionGroupResponse.builder()
-                .build();
-
-        doReturn(updateProtectionGroupResponse)
-            .when(this.proxy).injectCredentialsAndInvokeV2(any(UpdateProtectionGroupRequest.class), any());
-
         final UntagResourceResponse untagResourceResponse = UntagResourceResponse.builder().build();
 
         doReturn(untagResourceResponse).when(this.proxy)
@@ -130,5 +125,55 @@ public class UpdateHandlerTest {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        // only tags changed
+        verify(this.proxy, never()).injectCredentialsAndInvokeV2(any(UpdateProtectionGroupRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_reorderedMembers_skipsUpdate() {
+        final ResourceModel previous = this.resourceModel.toBuilder()
+            .pattern("ARBITRARY")
+            .resourceType(null)
+            .build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(previous)
+                .desiredResourceState(previous.toBuilder()
+                    .members(Lists.newArrayList(
+                        ProtectionGroupTestData.MEMBER_2,
+                        ProtectionGroupTestData.MEMBER_1,
+                        ProtectionGroupTestData.MEMBER_2
+                    ))
+                    .build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = this.updateHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(this.proxy, never()).injectCredentialsAndInvokeV2(any(), any());
+    }
+
+    @Test
+    public void handleRequest_changedMembers_updates() {
+        final ResourceModel previous = this.resourceModel.toBuilder()
+            .pattern("ARBITRARY")
+            .resourceType(null)
+            .build();
+        final ResourceHandlerRequest<ResourceModel> request =
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(previous)
+                .desiredResourceState(previous.toBuilder()
+                    .members(Lists.newArrayList(ProtectionGroupTestData.MEMBER_1))
+                    .build())
+                .build();
+
+        doReturn(UpdateProtectionGroupResponse.builder().build())
+            .when(this.proxy).injectCredentialsAndInvokeV2(any(UpdateProtectionGroupRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = this.updateHandler.handleRequest(this.proxy, request, null, this.logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
     }
 }
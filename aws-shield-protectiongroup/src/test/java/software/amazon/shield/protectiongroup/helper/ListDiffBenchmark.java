@@ -0,0 +1,86 @@
+package software.amazon.shield.protectiongroup.helper;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.shield.common.ListDiff;
+
+/**
+ * CPU time and allocation of {@link ListDiff} well past the sizes of any list-valued property, to keep it linear.
+ * <p>
+ * Run with {@code mvn -P benchmark test}, which passes {@code -prof gc} to report allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListDiffBenchmark {
+
+    private static final String ARN_PREFIX = "arn:aws:route53:::healthcheck/";
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<String> desiredValues;
+    private List<String> currentValues;
+    private List<Map.Entry<String, String>> desiredEntries;
+    private List<Map.Entry<String, String>> currentEntries;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        this.desiredValues = new ArrayList<>(this.size);
+        this.currentValues = new ArrayList<>(this.size);
+        this.desiredEntries = new ArrayList<>(this.size);
+        this.currentEntries = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            final String value = ARN_PREFIX + Long.toHexString(random.nextLong());
+            this.currentValues.add(value);
+            this.currentEntries.add(new AbstractMap.SimpleImmutableEntry<>(value, "v"));
+            // replace one entry in ten, change the value of another one in ten and duplicate one in a hundred
+            final String desired = i % 10 == 0 ? value + "-new" : value;
+            this.desiredValues.add(desired);
+            this.desiredEntries.add(new AbstractMap.SimpleImmutableEntry<>(desired, i % 10 == 5 ? "v2" : "v"));
+            if (i % 100 == 0) {
+                this.desiredValues.add(desired);
+                this.desiredEntries.add(new AbstractMap.SimpleImmutableEntry<>(desired, "dup"));
+            }
+        }
+        Collections.shuffle(this.desiredValues, random);
+        Collections.shuffle(this.desiredEntries, random);
+    }
+
+    @Benchmark
+    public ListDiff<String, String> values() {
+        return ListDiff.of(this.desiredValues, this.currentValues);
+    }
+
+    @Benchmark
+    public ListDiff<Map.Entry<String, String>, Map.Entry<String, String>> keyed() {
+        return ListDiff.<Map.Entry<String, String>, Map.Entry<String, String>, String>of(
+            this.desiredEntries,
+            Map.Entry::getKey,
+            this.currentEntries,
+            Map.Entry::getKey,
+            (desired, current) -> desired.getValue().equals(current.getValue())
+        );
+    }
+}
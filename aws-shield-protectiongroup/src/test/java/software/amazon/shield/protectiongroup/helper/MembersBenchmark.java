@@ -0,0 +1,72 @@
+package software.amazon.shield.protectiongroup.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.shield.common.ListDiff;
+
+/**
+ * CPU time and allocation of {@link Members} at protection group sizes around the service limit.
+ * <p>
+ * Run with {@code mvn -P benchmark test}, which passes {@code -prof gc} to report allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MembersBenchmark {
+
+    private static final String ARN_PREFIX = "arn:aws:ec2:us-east-1:123456789012:eip-allocation/eipalloc-";
+
+    @Param({"1000", "10000", "50000"})
+    public int size;
+
+    private List<String> desired;
+    private Members desiredMembers;
+    private Members previousMembers;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        final List<String> previous = new ArrayList<>(this.size);
+        this.desired = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            final String arn = ARN_PREFIX + Long.toHexString(random.nextLong());
+            previous.add(arn);
+            // replace one member in ten and duplicate one in a hundred
+            this.desired.add(i % 10 == 0 ? arn + "-new" : arn);
+            if (i % 100 == 0) {
+                this.desired.add(arn);
+            }
+        }
+        Collections.shuffle(this.desired, random);
+        this.desiredMembers = Members.of(this.desired);
+        this.previousMembers = Members.of(previous);
+    }
+
+    @Benchmark
+    public Members normalize() {
+        return Members.of(this.desired);
+    }
+
+    @Benchmark
+    public ListDiff<String, String> diff() {
+        return this.desiredMembers.diff(this.previousMembers);
+    }
+}
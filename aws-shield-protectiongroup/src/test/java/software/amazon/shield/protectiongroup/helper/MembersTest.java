@@ -0,0 +1,53 @@
+package software.amazon.shield.protectiongroup.helper;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.shield.common.ListDiff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MembersTest {
+
+    @Test
+    public void normalizesDedupesAndSorts() {
+        final Members members = Members.of(Arrays.asList("b", " a ", null, "", "b", "c\n", "a"));
+
+        assertThat(members.asList()).containsExactly("a", "b", "c");
+        assertThat(members.size()).isEqualTo(3);
+        assertThat(members).isEqualTo(Members.of(Arrays.asList("c", "b", "a")));
+    }
+
+    @Test
+    public void emptyMembers() {
+        assertThat(Members.of(null).isEmpty()).isTrue();
+        assertThat(Members.of(Arrays.asList(" ", null))).isEqualTo(Members.of(null));
+    }
+
+    @Test
+    public void diff() {
+        final Members previous = Members.of(Arrays.asList("a", "b", "d", "f"));
+        final Members desired = Members.of(Arrays.asList("b", "c", "d", "e", "g"));
+
+        final ListDiff<String, String> diff = desired.diff(previous);
+
+        assertThat(diff.getAdded()).containsExactly("c", "e", "g");
+        assertThat(diff.getRemoved()).containsExactly("a", "f");
+        assertThat(diff.isEmpty()).isFalse();
+        assertThat(desired.diff(Members.of(Arrays.asList("g", "e", "d", "c", "b", "b"))).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void limit() {
+        final String[] arns = new String[Members.MAX_MEMBERS + 1];
+        for (int i = 0; i < arns.length; i++) {
+            arns[i] = "arn:aws:ec2:us-east-1:123456789012:eip-allocation/eipalloc-" + i;
+        }
+
+        assertThat(Members.of(Arrays.asList(arns)).exceedsLimit()).isTrue();
+        assertThat(Members.of(Arrays.asList(arns).subList(0, Members.MAX_MEMBERS)).exceedsLimit()).isFalse();
+        // duplicates do not count against the limit
+        arns[Members.MAX_MEMBERS] = arns[0];
+        assertThat(Members.of(Arrays.asList(arns)).exceedsLimit()).isFalse();
+    }
+}
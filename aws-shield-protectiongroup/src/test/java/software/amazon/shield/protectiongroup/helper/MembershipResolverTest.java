@@ -0,0 +1,122 @@
+package software.amazon.shield.protectiongroup.helper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.shield.ShieldClient;
+import software.amazon.awssdk.services.shield.model.ListResourcesInProtectionGroupRequest;
+import software.amazon.awssdk.services.shield.model.ListResourcesInProtectionGroupResponse;
+import software.amazon.awssdk.services.shield.model.ResourceNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+@ExtendWith(MockitoExtension.class)
+public class MembershipResolverTest {
+
+    private AmazonWebServicesClientProxy proxy;
+    private ProxyClient<ShieldClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        this.proxy = spy(new AmazonWebServicesClientProxy(
+            new LoggerProxy(),
+            new Credentials("accessKey", "secretKey", "token"),
+            () -> Duration.ofSeconds(600).toMillis()
+        ));
+        final ShieldClient shieldClient = mock(ShieldClient.class);
+        this.proxyClient = this.proxy.newProxy(() -> shieldClient);
+    }
+
+    @Test
+    public void resolvesAllPages() {
+        stubPages();
+        final List<List<String>> pages = new ArrayList<>();
+
+        final MembershipResolver.Resolution resolution = MembershipResolver.builder()
+            .memberSink(pages::add)
+            .build()
+            .resolve(ProtectionGroupTestData.PROTECTION_GROUP_ID, null, this.proxyClient);
+
+        assertThat(resolution.isComplete()).isTrue();
+        assertThat(resolution.getMemberCount()).isEqualTo(3);
+        assertThat(pages).containsExactly(
+            ProtectionGroupTestData.MEMBERS,
+            ProtectionGroupTestData.MEMBERS.subList(0, 1)
+        );
+    }
+
+    @Test
+    public void resumesFromTokenAfterTimeBudget() {
+        stubPages();
+        final MembershipResolver resolver = MembershipResolver.builder()
+            .timeBudget(Duration.ZERO)
+            .build();
+
+        final MembershipResolver.Resolution first =
+            resolver.resolve(ProtectionGroupTestData.PROTECTION_GROUP_ID, null, this.proxyClient);
+
+        assertThat(first.isComplete()).isFalse();
+        assertThat(first.getMemberCount()).isEqualTo(2);
+        assertThat(first.getNextToken()).isEqualTo(ProtectionGroupTestData.NEXT_TOKEN);
+
+        final MembershipResolver.Resolution second =
+            resolver.resolve(ProtectionGroupTestData.PROTECTION_GROUP_ID, first.getNextToken(), this.proxyClient);
+
+        assertThat(second.isComplete()).isTrue();
+        assertThat(second.getMemberCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void stopsAfterMaxPages() {
+        stubPages();
+
+        final MembershipResolver.Resolution resolution = MembershipResolver.builder()
+            .maxPages(1)
+            .build()
+            .resolve(ProtectionGroupTestData.PROTECTION_GROUP_ID, null, this.proxyClient);
+
+        assertThat(resolution.getMemberCount()).isEqualTo(2);
+        assertThat(resolution.getNextToken()).isEqualTo(ProtectionGroupTestData.NEXT_TOKEN);
+    }
+
+    @Test
+    public void throwsServiceErrors() {
+        doThrow(ResourceNotFoundException.builder().message("not found").build())
+            .when(this.proxy)
+            .injectCredentialsAndInvokeV2(any(ListResourcesInProtectionGroupRequest.class), any());
+
+        assertThatThrownBy(() -> MembershipResolver.builder()
+            .build()
+            .resolve(ProtectionGroupTestData.PROTECTION_GROUP_ID, null, this.proxyClient))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private void stubPages() {
+        doAnswer(invocation -> {
+            final ListResourcesInProtectionGroupRequest request = invocation.getArgument(0);
+            return request.nextToken() == null
+                ? ListResourcesInProtectionGroupResponse.builder()
+                    .resourceArns(ProtectionGroupTestData.MEMBERS)
+                    .nextToken(ProtectionGroupTestData.NEXT_TOKEN)
+                    .build()
+                : ListResourcesInProtectionGroupResponse.builder()
+                    .resourceArns(ProtectionGroupTestData.MEMBER_1)
+                    .build();
+        }).when(this.proxy).injectCredentialsAndInvokeV2(any(ListResourcesInProtectionGroupRequest.class), any());
+    }
+}